@@ -0,0 +1,126 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jerolba.bikey.benchmark.SetImplementation.BenchmarkSet;
+
+/**
+ * Compares {@code TableBikeySet} with {@code HashMap<R, HashSet<C>>} and
+ * {@code HashSet<Tuple<R, C>>}.
+ *
+ * <p>
+ * Each benchmark operates over all cells of a <tt>rows x columns</tt> matrix
+ * randomly filled up to <tt>fillRate</tt>, so results are expressed as time per
+ * complete pass.
+ *
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="BikeySetBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BikeySetBenchmark {
+
+    @Param({ "TABLE", "DOUBLE_SET", "TUPLE_SET" })
+    private SetImplementation implementation;
+
+    @Param({ "1000", "10000" })
+    private int rows;
+
+    @Param({ "100", "1000" })
+    private int columns;
+
+    @Param({ "0.1", "0.5", "1.0" })
+    private double fillRate;
+
+    private Cells cells;
+    private BenchmarkSet filled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cells = new Cells(rows, columns, fillRate);
+        filled = fill(implementation.create());
+    }
+
+    private BenchmarkSet fill(BenchmarkSet set) {
+        for (int i = 0; i < cells.size(); i++) {
+            set.add(cells.row(i), cells.column(i));
+        }
+        return set;
+    }
+
+    @Benchmark
+    public BenchmarkSet add() {
+        return fill(implementation.create());
+    }
+
+    @Benchmark
+    public void contains(Blackhole blackhole) {
+        for (int i = 0; i < cells.size(); i++) {
+            blackhole.consume(filled.contains(cells.row(i), cells.column(i)));
+        }
+    }
+
+    @Benchmark
+    public void remove(FilledSet toRemove, Blackhole blackhole) {
+        for (int i = 0; i < cells.size(); i++) {
+            blackhole.consume(toRemove.set.remove(cells.row(i), cells.column(i)));
+        }
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        filled.forEach((row, column) -> blackhole.consume(column));
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        Iterator<?> iterator = filled.iterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public Object toSet() {
+        return implementation.collect(cells);
+    }
+
+    /**
+     * Fresh filled set for each invocation of destructive benchmarks
+     */
+    @State(Scope.Thread)
+    public static class FilledSet {
+
+        private BenchmarkSet set;
+
+        @Setup(Level.Invocation)
+        public void setup(BikeySetBenchmark benchmark) {
+            set = benchmark.fill(benchmark.implementation.create());
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey.benchmark;
+
+import java.util.Random;
+
+/**
+ * Randomly selected cells of a <tt>rows x columns</tt> matrix, filled up to a
+ * given fill rate.
+ *
+ * <p>
+ * Row and column keys are created once so all implementations share the same
+ * key instances and hash codes are cached.
+ */
+final class Cells {
+
+    private static final long SEED = 1_000_003L;
+
+    final String[] rowKeys;
+    final String[] columnKeys;
+    final int[] rows;
+    final int[] columns;
+    final Integer[] values;
+
+    Cells(int rowsNumber, int columnsNumber, double fillRate) {
+        this.rowKeys = new String[rowsNumber];
+        for (int i = 0; i < rowsNumber; i++) {
+            rowKeys[i] = "row-" + i;
+        }
+        this.columnKeys = new String[columnsNumber];
+        for (int i = 0; i < columnsNumber; i++) {
+            columnKeys[i] = "column-" + i;
+        }
+        int total = rowsNumber * columnsNumber;
+        int[] positions = new int[total];
+        for (int i = 0; i < total; i++) {
+            positions[i] = i;
+        }
+        Random random = new Random(SEED);
+        for (int i = total - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = positions[i];
+            positions[i] = positions[j];
+            positions[j] = tmp;
+        }
+        int size = (int) (total * fillRate);
+        this.rows = new int[size];
+        this.columns = new int[size];
+        this.values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = positions[i] / columnsNumber;
+            columns[i] = positions[i] % columnsNumber;
+            values[i] = positions[i];
+        }
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    String row(int i) {
+        return rowKeys[rows[i]];
+    }
+
+    String column(int i) {
+        return columnKeys[columns[i]];
+    }
+
+    Integer value(int i) {
+        return values[i];
+    }
+
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey.benchmark;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.jerolba.bikey.BikeyCollectors;
+import com.jerolba.bikey.BikeyMap;
+import com.jerolba.bikey.MatrixBikeyMap;
+import com.jerolba.bikey.TableBikeyMap;
+import com.jerolba.bikey.TriConsumer;
+
+/**
+ * Map implementations compared in {@link BikeyMapBenchmark}.
+ */
+public enum MapImplementation {
+
+    TABLE {
+        @Override
+        BenchmarkMap create() {
+            return new BikeyBenchmarkMap(new TableBikeyMap<>());
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).collect(BikeyCollectors.toMap(cells::row, cells::column, cells::value,
+                    TableBikeyMap::new));
+        }
+    },
+
+    MATRIX {
+        @Override
+        BenchmarkMap create() {
+            return new BikeyBenchmarkMap(new MatrixBikeyMap<>());
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).collect(BikeyCollectors.toMap(cells::row, cells::column, cells::value,
+                    MatrixBikeyMap::new));
+        }
+    },
+
+    DOUBLE_MAP {
+        @Override
+        BenchmarkMap create() {
+            return new DoubleBenchmarkMap();
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).collect(groupingBy(cells::row, HashMap::new, toMap(cells::column, cells::value)));
+        }
+    },
+
+    TUPLE_MAP {
+        @Override
+        BenchmarkMap create() {
+            return new TupleBenchmarkMap();
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).collect(toMap(i -> new Tuple<>(cells.row(i), cells.column(i)), cells::value));
+        }
+    };
+
+    /**
+     * Creates a new empty map of this implementation
+     *
+     * @return an empty map
+     */
+    abstract BenchmarkMap create();
+
+    /**
+     * Collects all cells with a {@code Collector} building this implementation
+     *
+     * @param cells
+     *            cells to collect
+     * @return the collected map
+     */
+    abstract Object collect(Cells cells);
+
+    private static Stream<Integer> stream(Cells cells) {
+        return IntStream.range(0, cells.size()).boxed();
+    }
+
+    /**
+     * Minimal common API of the compared maps.
+     */
+    interface BenchmarkMap {
+
+        void put(String row, String column, Integer value);
+
+        Integer get(String row, String column);
+
+        Integer remove(String row, String column);
+
+        void forEach(TriConsumer<String, String, Integer> action);
+
+        Iterator<?> iterator();
+
+    }
+
+    private static final class BikeyBenchmarkMap implements BenchmarkMap {
+
+        private final BikeyMap<String, String, Integer> map;
+
+        BikeyBenchmarkMap(BikeyMap<String, String, Integer> map) {
+            this.map = map;
+        }
+
+        @Override
+        public void put(String row, String column, Integer value) {
+            map.put(row, column, value);
+        }
+
+        @Override
+        public Integer get(String row, String column) {
+            return map.get(row, column);
+        }
+
+        @Override
+        public Integer remove(String row, String column) {
+            return map.remove(row, column);
+        }
+
+        @Override
+        public void forEach(TriConsumer<String, String, Integer> action) {
+            map.forEach(action);
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return map.iterator();
+        }
+
+    }
+
+    private static final class DoubleBenchmarkMap implements BenchmarkMap {
+
+        private final Map<String, Map<String, Integer>> map = new HashMap<>();
+
+        @Override
+        public void put(String row, String column, Integer value) {
+            map.computeIfAbsent(row, r -> new HashMap<>()).put(column, value);
+        }
+
+        @Override
+        public Integer get(String row, String column) {
+            Map<String, Integer> columns = map.get(row);
+            return columns == null ? null : columns.get(column);
+        }
+
+        @Override
+        public Integer remove(String row, String column) {
+            Map<String, Integer> columns = map.get(row);
+            if (columns == null) {
+                return null;
+            }
+            Integer removed = columns.remove(column);
+            if (columns.isEmpty()) {
+                map.remove(row);
+            }
+            return removed;
+        }
+
+        @Override
+        public void forEach(TriConsumer<String, String, Integer> action) {
+            map.forEach((row, columns) -> columns.forEach((column, value) -> action.accept(row, column, value)));
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return map.values().stream().flatMap(columns -> columns.entrySet().stream()).iterator();
+        }
+
+    }
+
+    private static final class TupleBenchmarkMap implements BenchmarkMap {
+
+        private final Map<Tuple<String, String>, Integer> map = new HashMap<>();
+
+        @Override
+        public void put(String row, String column, Integer value) {
+            map.put(new Tuple<>(row, column), value);
+        }
+
+        @Override
+        public Integer get(String row, String column) {
+            return map.get(new Tuple<>(row, column));
+        }
+
+        @Override
+        public Integer remove(String row, String column) {
+            return map.remove(new Tuple<>(row, column));
+        }
+
+        @Override
+        public void forEach(TriConsumer<String, String, Integer> action) {
+            map.forEach((key, value) -> action.accept(key.getRow(), key.getColumn(), value));
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return map.entrySet().iterator();
+        }
+
+    }
+
+}
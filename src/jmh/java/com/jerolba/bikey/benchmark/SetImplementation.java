@@ -0,0 +1,219 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey.benchmark;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.jerolba.bikey.Bikey;
+import com.jerolba.bikey.BikeyCollectors;
+import com.jerolba.bikey.BikeySet;
+import com.jerolba.bikey.TableBikeySet;
+
+/**
+ * Set implementations compared in {@link BikeySetBenchmark}.
+ */
+public enum SetImplementation {
+
+    TABLE {
+        @Override
+        BenchmarkSet create() {
+            return new BikeyBenchmarkSet(new TableBikeySet<>());
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).<Bikey<String, String>> map(i -> new Tuple<>(cells.row(i), cells.column(i)))
+                    .collect(BikeyCollectors.toSet());
+        }
+    },
+
+    DOUBLE_SET {
+        @Override
+        BenchmarkSet create() {
+            return new DoubleBenchmarkSet();
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).collect(groupingBy(cells::row, HashMap::new, mapping(cells::column, toSet())));
+        }
+    },
+
+    TUPLE_SET {
+        @Override
+        BenchmarkSet create() {
+            return new TupleBenchmarkSet();
+        }
+
+        @Override
+        Object collect(Cells cells) {
+            return stream(cells).map(i -> new Tuple<>(cells.row(i), cells.column(i))).collect(toSet());
+        }
+    };
+
+    /**
+     * Creates a new empty set of this implementation
+     *
+     * @return an empty set
+     */
+    abstract BenchmarkSet create();
+
+    /**
+     * Collects all cells with a {@code Collector} building this implementation
+     *
+     * @param cells
+     *            cells to collect
+     * @return the collected set
+     */
+    abstract Object collect(Cells cells);
+
+    private static Stream<Integer> stream(Cells cells) {
+        return IntStream.range(0, cells.size()).boxed();
+    }
+
+    /**
+     * Minimal common API of the compared sets.
+     */
+    interface BenchmarkSet {
+
+        boolean add(String row, String column);
+
+        boolean contains(String row, String column);
+
+        boolean remove(String row, String column);
+
+        void forEach(BiConsumer<String, String> action);
+
+        Iterator<?> iterator();
+
+    }
+
+    private static final class BikeyBenchmarkSet implements BenchmarkSet {
+
+        private final BikeySet<String, String> set;
+
+        BikeyBenchmarkSet(BikeySet<String, String> set) {
+            this.set = set;
+        }
+
+        @Override
+        public boolean add(String row, String column) {
+            return set.add(row, column);
+        }
+
+        @Override
+        public boolean contains(String row, String column) {
+            return set.contains(row, column);
+        }
+
+        @Override
+        public boolean remove(String row, String column) {
+            return set.remove(row, column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, String> action) {
+            set.forEach(action);
+        }
+
+        @Override
+        public Iterator<Bikey<String, String>> iterator() {
+            return set.iterator();
+        }
+
+    }
+
+    private static final class DoubleBenchmarkSet implements BenchmarkSet {
+
+        private final Map<String, Set<String>> set = new HashMap<>();
+
+        @Override
+        public boolean add(String row, String column) {
+            return set.computeIfAbsent(row, r -> new HashSet<>()).add(column);
+        }
+
+        @Override
+        public boolean contains(String row, String column) {
+            Set<String> columns = set.get(row);
+            return columns != null && columns.contains(column);
+        }
+
+        @Override
+        public boolean remove(String row, String column) {
+            Set<String> columns = set.get(row);
+            if (columns == null) {
+                return false;
+            }
+            boolean removed = columns.remove(column);
+            if (columns.isEmpty()) {
+                set.remove(row);
+            }
+            return removed;
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, String> action) {
+            set.forEach((row, columns) -> columns.forEach(column -> action.accept(row, column)));
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return set.entrySet().stream()
+                    .flatMap(e -> e.getValue().stream().map(column -> new Tuple<>(e.getKey(), column)))
+                    .iterator();
+        }
+
+    }
+
+    private static final class TupleBenchmarkSet implements BenchmarkSet {
+
+        private final Set<Tuple<String, String>> set = new HashSet<>();
+
+        @Override
+        public boolean add(String row, String column) {
+            return set.add(new Tuple<>(row, column));
+        }
+
+        @Override
+        public boolean contains(String row, String column) {
+            return set.contains(new Tuple<>(row, column));
+        }
+
+        @Override
+        public boolean remove(String row, String column) {
+            return set.remove(new Tuple<>(row, column));
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, String> action) {
+            set.forEach(key -> action.accept(key.getRow(), key.getColumn()));
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return set.iterator();
+        }
+
+    }
+
+}
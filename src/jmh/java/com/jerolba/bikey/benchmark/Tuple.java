@@ -0,0 +1,70 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey.benchmark;
+
+import com.jerolba.bikey.Bikey;
+
+/**
+ * Composite key used by the {@code Map<Tuple<R, C>, V>} and
+ * {@code Set<Tuple<R, C>>} reference implementations.
+ *
+ * <p>
+ * The hash code combines both keys with a prime multiplier to avoid the
+ * collisions produced by naive XOR based implementations.
+ *
+ * @param <R>
+ *            row key type
+ * @param <C>
+ *            column key type
+ */
+final class Tuple<R, C> implements Bikey<R, C> {
+
+    private final R row;
+    private final C column;
+
+    Tuple(R row, C column) {
+        this.row = row;
+        this.column = column;
+    }
+
+    @Override
+    public R getRow() {
+        return row;
+    }
+
+    @Override
+    public C getColumn() {
+        return column;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * row.hashCode() + column.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Bikey)) {
+            return false;
+        }
+        Bikey<?, ?> other = (Bikey<?, ?>) obj;
+        return row.equals(other.getRow()) && column.equals(other.getColumn());
+    }
+
+}
@@ -0,0 +1,545 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of {@link IntKeyMap} that changes its representation as it
+ * grows, to reduce the memory of maps with few elements, like most rows of a
+ * {@link TableBikeyMap} with skewed data:
+ *
+ * <ul>
+ * <li>While the map has few elements, keys and values are stored in two
+ * parallel arrays, sorted by key and searched with a binary search.</li>
+ * <li>When it exceeds the small size, it is promoted to a {@link RadixTrie}.
+ * </li>
+ * <li>When the number of elements is a big enough fraction of the highest key,
+ * the density ratio, it is promoted to an {@link IntArrayMap} indexed by the
+ * key. If a new key makes the map half as dense as the ratio, or a negative key
+ * is added, it returns to a {@link RadixTrie}.</li>
+ * </ul>
+ *
+ * Removing elements doesn't demote the map to the small representation, until
+ * it is cleared.
+ *
+ * @param <V>
+ *            the type of mapped values
+ */
+@SuppressWarnings("unchecked")
+public class AdaptiveIntKeyMap<V> implements IntKeyMap<V>, Cloneable {
+
+    private static final int DEFAULT_SMALL_SIZE = 8;
+    private static final float DEFAULT_DENSE_RATIO = 0.5f;
+    private static final int MIN_DENSE_SIZE = 32;
+
+    private final int smallSize;
+    private final float denseRatio;
+
+    private int[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    // not null once promoted to RadixTrie or IntArrayMap
+    private IntKeyMap<V> map;
+    // highest key and if some key was negative, without updating on removal
+    private int maxKey = -1;
+    private boolean negativeKeys = false;
+
+    /**
+     * Constructs an empty map that is promoted to a {@link RadixTrie} after 8
+     * elements, and to an array when half of the keys up to the highest one are
+     * present.
+     */
+    public AdaptiveIntKeyMap() {
+        this(DEFAULT_SMALL_SIZE, DEFAULT_DENSE_RATIO);
+    }
+
+    /**
+     * Constructs an empty map with the given thresholds.
+     *
+     * @param smallSize
+     *            max number of elements stored in the sorted arrays
+     * @param denseRatio
+     *            fraction of present keys, from 0 to the highest key, from
+     *            which the map is stored in an array
+     * @throws IllegalArgumentException
+     *             if the small size is not positive or the ratio is not in the
+     *             (0, 1] range
+     */
+    public AdaptiveIntKeyMap(int smallSize, float denseRatio) {
+        if (smallSize <= 0) {
+            throw new IllegalArgumentException("Illegal small size: " + smallSize);
+        }
+        if (!(denseRatio > 0 && denseRatio <= 1)) {
+            throw new IllegalArgumentException("Illegal dense ratio: " + denseRatio);
+        }
+        this.smallSize = smallSize;
+        this.denseRatio = denseRatio;
+        this.keys = new int[Math.min(smallSize, 2)];
+        this.values = new Object[keys.length];
+    }
+
+    @Override
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        if (map == null) {
+            int i = Arrays.binarySearch(keys, 0, size, key);
+            if (i >= 0) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            if (size < smallSize) {
+                insertSmall(-i - 1, key, value);
+                return null;
+            }
+            promoteToTrie();
+        } else if (map instanceof IntArrayMap && (key < 0 || isSparse(key))) {
+            map = new RadixTrie<>(map);
+        }
+        V previous = map.put(key, value);
+        if (previous == null) {
+            maxKey = Math.max(maxKey, key);
+            negativeKeys |= key < 0;
+            if (map instanceof RadixTrie && isDense()) {
+                map = new IntArrayMap<>(map);
+            }
+        }
+        return previous;
+    }
+
+    private void insertSmall(int i, int key, V value) {
+        if (size == keys.length) {
+            int newCapacity = Math.min(smallSize, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(values, i, values, i + 1, size - i);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        maxKey = Math.max(maxKey, key);
+        negativeKeys |= key < 0;
+    }
+
+    private void promoteToTrie() {
+        RadixTrie<V> trie = new RadixTrie<>();
+        trie.loadSorted(keys, values, size);
+        map = trie;
+        keys = null;
+        values = null;
+        size = 0;
+    }
+
+    /**
+     * Only tries with enough elements and without negative keys can be stored
+     * in an array.
+     */
+    private boolean isDense() {
+        int mapSize = map.size();
+        return !negativeKeys && mapSize >= MIN_DENSE_SIZE && mapSize >= denseRatio * (maxKey + 1.0);
+    }
+
+    /**
+     * Returns true if adding the key to the array would leave it with less
+     * than half of the dense ratio of elements.
+     */
+    private boolean isSparse(int key) {
+        return key > maxKey && map.size() + 1 < denseRatio / 2 * (key + 1.0);
+    }
+
+    @Override
+    public V get(int key) {
+        if (map != null) {
+            return key < 0 && map instanceof IntArrayMap ? null : map.get(key);
+        }
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @Override
+    public V remove(int key) {
+        if (map != null) {
+            return key < 0 && map instanceof IntArrayMap ? null : map.remove(key);
+        }
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i < 0) {
+            return null;
+        }
+        V previous = (V) values[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        values[--size] = null;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return map != null ? map.size() : size;
+    }
+
+    @Override
+    public void clear() {
+        map = null;
+        keys = new int[Math.min(smallSize, 2)];
+        values = new Object[keys.length];
+        size = 0;
+        maxKey = -1;
+        negativeKeys = false;
+    }
+
+    @Override
+    public void forEach(IntObjectConsumer<V> action) {
+        Objects.requireNonNull(action);
+        if (map != null) {
+            map.forEach(action);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public void replaceAll(IntObjectFunction<? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        if (map != null) {
+            map.replaceAll(function);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            values[i] = Objects.requireNonNull(function.apply(keys[i], (V) values[i]));
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        Objects.requireNonNull(action);
+        if (map != null) {
+            map.forEachKey(action);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i]);
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (map != null) {
+            return map.containsValue(value);
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<IntObjectEntry<V>> iterator() {
+        if (map != null) {
+            return map.iterator();
+        }
+        return new SmallIterator<IntObjectEntry<V>>() {
+            @Override
+            IntObjectEntry<V> get(int i) {
+                return new IntObjectEntry<>(keys[i], (V) values[i]);
+            }
+        };
+    }
+
+    @Override
+    public IntObjectCursor<V> cursor() {
+        if (map != null) {
+            return map.cursor();
+        }
+        return new SmallCursor();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Set<IntObjectEntry<V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Current representation once promoted, or null while elements are stored
+     * in the sorted arrays.
+     */
+    IntKeyMap<V> promoted() {
+        return map;
+    }
+
+    /**
+     * Iterator over the sorted arrays of the small representation.
+     */
+    private abstract class SmallIterator<T> implements Iterator<T> {
+
+        private int current = 0;
+
+        abstract T get(int i);
+
+        @Override
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        @Override
+        public T next() {
+            if (current >= size) {
+                throw new NoSuchElementException();
+            }
+            return get(current++);
+        }
+
+    }
+
+    /**
+     * Cursor over the sorted arrays of the small representation.
+     */
+    private final class SmallCursor implements IntObjectCursor<V> {
+
+        private int current = -1;
+
+        @Override
+        public boolean next() {
+            if (current < size) {
+                current++;
+            }
+            return current < size;
+        }
+
+        @Override
+        public int key() {
+            checkPositioned();
+            return keys[current];
+        }
+
+        @Override
+        public V value() {
+            checkPositioned();
+            return (V) values[current];
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value);
+            checkPositioned();
+            Object previous = values[current];
+            values[current] = value;
+            return (V) previous;
+        }
+
+        private void checkPositioned() {
+            if (current < 0 || current >= size) {
+                throw new IllegalStateException();
+            }
+        }
+
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return AdaptiveIntKeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            AdaptiveIntKeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            if (map != null) {
+                return map.values().iterator();
+            }
+            return new SmallIterator<V>() {
+                @Override
+                V get(int i) {
+                    return (V) values[i];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void forEach(Consumer<? super V> action) {
+            Objects.requireNonNull(action);
+            AdaptiveIntKeyMap.this.forEach((key, value) -> action.accept(value));
+        }
+
+    }
+
+    private final class KeySet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return AdaptiveIntKeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            AdaptiveIntKeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            if (map != null) {
+                return map.keySet().iterator();
+            }
+            return new SmallIterator<Integer>() {
+                @Override
+                Integer get(int i) {
+                    return keys[i];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey((Integer) o);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> action) {
+            Objects.requireNonNull(action);
+            AdaptiveIntKeyMap.this.forEachKey(key -> action.accept(key));
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<IntObjectEntry<V>> {
+
+        @Override
+        public int size() {
+            return AdaptiveIntKeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            AdaptiveIntKeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<IntObjectEntry<V>> iterator() {
+            return AdaptiveIntKeyMap.this.iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Objects.requireNonNull(o, "Value can not be null");
+            IntObjectEntry<V> key = (IntObjectEntry<V>) o;
+            V value = get(key.getIntKey());
+            return (value != null && value.equals(key.getValue()));
+        }
+
+        @Override
+        public void forEach(Consumer<? super IntObjectEntry<V>> action) {
+            Objects.requireNonNull(action);
+            AdaptiveIntKeyMap.this.forEach((key, value) -> action.accept(new IntObjectEntry<>(key, value)));
+        }
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntKeyMap)) {
+            return false;
+        }
+        IntKeyMap<?> m = (IntKeyMap<?>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            boolean[] equals = { true };
+            forEach((key, value) -> {
+                if (equals[0] && !value.equals(m.get(key))) {
+                    equals[0] = false;
+                }
+            });
+            return equals[0];
+        } catch (ClassCastException unused) {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((key, value) -> hash[0] += 31 * key + value.hashCode());
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(key).append('=').append(value == this ? "(this Map)" : value);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>AdaptiveIntKeyMap</tt> instance: the
+     * elements themselves are not cloned.
+     *
+     * @return a shallow copy of this map
+     */
+    @Override
+    public Object clone() {
+        try {
+            AdaptiveIntKeyMap<V> newMap = (AdaptiveIntKeyMap<V>) super.clone();
+            if (map != null) {
+                newMap.map = map instanceof RadixTrie ? new RadixTrie<>(map) : new IntArrayMap<>((IntArrayMap<V>) map);
+            } else {
+                newMap.keys = keys.clone();
+                newMap.values = values.clone();
+            }
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes keys or values to and from a binary representation, used
+ * to persist bikey collections.
+ *
+ * <p>
+ * Implementations must read exactly the same bytes that were written for a
+ * value.
+ *
+ * @param <T>
+ *            the type of encoded objects
+ */
+public interface BikeyCodec<T> {
+
+    /**
+     * Codec for {@link String} values, written as its length and its UTF-8
+     * bytes.
+     */
+    BikeyCodec<String> STRING = new BikeyCodec<String>() {
+
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+    };
+
+    /**
+     * Codec for {@link Integer} values, written as 4 bytes.
+     */
+    BikeyCodec<Integer> INTEGER = new BikeyCodec<Integer>() {
+
+        @Override
+        public void write(DataOutput out, Integer value) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+
+    };
+
+    /**
+     * Codec for {@link Long} values, written as 8 bytes.
+     */
+    BikeyCodec<Long> LONG = new BikeyCodec<Long>() {
+
+        @Override
+        public void write(DataOutput out, Long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+
+    };
+
+    /**
+     * Codec for {@link Double} values, written as 8 bytes.
+     */
+    BikeyCodec<Double> DOUBLE = new BikeyCodec<Double>() {
+
+        @Override
+        public void write(DataOutput out, Double value) throws IOException {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double read(DataInput in) throws IOException {
+            return in.readDouble();
+        }
+
+    };
+
+    /**
+     * Writes the binary representation of a value.
+     *
+     * @param out
+     *            output where to write the value
+     * @param value
+     *            value to write
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Reads a value from its binary representation.
+     *
+     * @param in
+     *            input from where to read the value
+     * @return the read value
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    T read(DataInput in) throws IOException;
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * A cursor over the mappings of a {@link BikeyMap}. Unlike an iterator, a
+ * cursor doesn't return an object for each mapping: it moves over the
+ * mappings, and the row, column and value of the current one are read from
+ * the cursor.
+ *
+ * <p>
+ * The cursor is initially positioned before the first mapping, and
+ * {@link #next()} must be called to move it to each mapping. Traversal can be
+ * paused and resumed at any moment, and implementations backed by the internal
+ * structure of the map don't create objects while traversing a row.
+ *
+ * <p>
+ * If the map is structurally modified while the cursor is in use, except
+ * through {@link #setValue(Object)}, the results of the traversal are
+ * undefined.
+ *
+ * @param <R>
+ *            the type of rows of the map
+ * @param <C>
+ *            the type of columns of the map
+ * @param <V>
+ *            the type of mapped values
+ */
+public interface BikeyCursor<R, C, V> {
+
+    /**
+     * Moves the cursor to the next mapping.
+     *
+     * @return <tt>true</tt> if the cursor is positioned in a mapping, or
+     *         <tt>false</tt> if there are no more mappings
+     */
+    boolean next();
+
+    /**
+     * Returns the row of the current mapping.
+     *
+     * @return the row of the current mapping
+     * @throws IllegalStateException
+     *             if the cursor is not positioned in a mapping
+     */
+    R row();
+
+    /**
+     * Returns the column of the current mapping.
+     *
+     * @return the column of the current mapping
+     * @throws IllegalStateException
+     *             if the cursor is not positioned in a mapping
+     */
+    C column();
+
+    /**
+     * Returns the value of the current mapping.
+     *
+     * @return the value of the current mapping
+     * @throws IllegalStateException
+     *             if the cursor is not positioned in a mapping
+     */
+    V value();
+
+    /**
+     * Replaces the value of the current mapping, writing through to the map.
+     *
+     * @param value
+     *            new value to be stored in the current mapping
+     * @return the previous value of the current mapping
+     * @throws NullPointerException
+     *             if the specified value is null
+     * @throws IllegalStateException
+     *             if the cursor is not positioned in a mapping
+     */
+    V setValue(V value);
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+
+/**
+ * Cursors of a {@link BikeyMap} or an {@link IntKeyMap} implemented only with
+ * methods of the interfaces. They move over an iterator of the entries of the
+ * map, and values are replaced with <tt>put</tt>, which doesn't modify the
+ * structure of the map because the key is already present.
+ *
+ * <p>
+ * Implementations that can access their internal structure override
+ * <tt>cursor</tt> methods with their own cursors.
+ */
+final class BikeyCursors {
+
+    private BikeyCursors() {
+    }
+
+    static final class MapCursor<R, C, V> implements BikeyCursor<R, C, V> {
+
+        private final BikeyMap<R, C, V> map;
+        private final Iterator<BikeyEntry<R, C, V>> iterator;
+        private BikeyEntry<R, C, V> current;
+        private V currentValue;
+
+        MapCursor(BikeyMap<R, C, V> map) {
+            this.map = map;
+            this.iterator = map.entrySet().iterator();
+        }
+
+        @Override
+        public boolean next() {
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                currentValue = current.getValue();
+                return true;
+            }
+            current = null;
+            return false;
+        }
+
+        @Override
+        public R row() {
+            return current().getRow();
+        }
+
+        @Override
+        public C column() {
+            return current().getColumn();
+        }
+
+        @Override
+        public V value() {
+            current();
+            return currentValue;
+        }
+
+        @Override
+        public V setValue(V value) {
+            requireNonNull(value, "Value can not be null");
+            BikeyEntry<R, C, V> entry = current();
+            V previous = currentValue;
+            map.put(entry.getRow(), entry.getColumn(), value);
+            currentValue = value;
+            return previous;
+        }
+
+        private BikeyEntry<R, C, V> current() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            return current;
+        }
+
+    }
+
+    static final class IntMapCursor<V> implements IntObjectCursor<V> {
+
+        private final IntKeyMap<V> map;
+        private final Iterator<IntObjectEntry<V>> iterator;
+        private IntObjectEntry<V> current;
+        private V currentValue;
+
+        IntMapCursor(IntKeyMap<V> map) {
+            this.map = map;
+            this.iterator = map.iterator();
+        }
+
+        @Override
+        public boolean next() {
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                currentValue = current.getValue();
+                return true;
+            }
+            current = null;
+            return false;
+        }
+
+        @Override
+        public int key() {
+            return current().getIntKey();
+        }
+
+        @Override
+        public V value() {
+            current();
+            return currentValue;
+        }
+
+        @Override
+        public V setValue(V value) {
+            requireNonNull(value, "Value can not be null");
+            IntObjectEntry<V> entry = current();
+            V previous = currentValue;
+            map.put(entry.getIntKey(), value);
+            currentValue = value;
+            return previous;
+        }
+
+        private IntObjectEntry<V> current() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            return current;
+        }
+
+    }
+
+}
@@ -236,6 +236,22 @@ public interface BikeyMap<R, C, V> extends Iterable<BikeyEntry<R, C, V>> {
      */
     void forEach(TriConsumer<? super R, ? super C, ? super V> action);
 
+    /**
+     * Returns a cursor over the mappings of this map. The cursor can be paused
+     * and resumed, and replaces values through to the map with
+     * {@link BikeyCursor#setValue(Object)}.
+     *
+     * <p>
+     * The default implementation moves over the iterator of
+     * {@link #entrySet()}. Implementations backed by int keyed maps walk their
+     * rows without creating an entry object for each mapping.
+     *
+     * @return a cursor positioned before the first mapping of this map
+     */
+    default BikeyCursor<R, C, V> cursor() {
+        return new BikeyCursors.MapCursor<>(this);
+    }
+
     @Override
     default Spliterator<BikeyEntry<R, C, V>> spliterator() {
         return Spliterators.spliterator(iterator(), size(),
@@ -280,6 +296,45 @@ public interface BikeyMap<R, C, V> extends Iterable<BikeyEntry<R, C, V>> {
      */
     boolean containsColumn(Object column);
 
+    /**
+     * Returns a view of the values of a row, mapped by their column. Changes to
+     * the map are reflected in the view, and putting or removing values in the
+     * view puts or removes them in the map.
+     *
+     * <p>
+     * The default implementation scans the whole map to iterate the view or
+     * compute its size. Implementations with direct access to each row
+     * override it.
+     *
+     * @param row
+     *            the row whose values are returned
+     * @return a map view of the values in the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    default Map<C, V> row(R row) {
+        return new BikeyViews.MapRow<>(this, row);
+    }
+
+    /**
+     * Returns a view of the values of a column, mapped by their row. Changes to
+     * the map are reflected in the view, and putting or removing values in the
+     * view puts or removes them in the map.
+     *
+     * <p>
+     * The default implementation scans the whole map to iterate the view or
+     * compute its size.
+     *
+     * @param column
+     *            the column whose values are returned
+     * @return a map view of the values in the column
+     * @throws NullPointerException
+     *             if the specified column is null
+     */
+    default Map<R, V> column(C column) {
+        return new BikeyViews.MapColumn<>(this, column);
+    }
+
     /**
      * Returns <tt>true</tt> if this map contains no bikey-value mappings.
      *
@@ -566,4 +621,28 @@ public interface BikeyMap<R, C, V> extends Iterable<BikeyEntry<R, C, V>> {
         }
         return newValue;
     }
+
+    /**
+     * Replaces each value with the result of invoking the given function on
+     * its row, column and value until all mappings have been processed or the
+     * function throws an exception. Exceptions thrown by the function are
+     * relayed to the caller, and values already replaced are kept.
+     *
+     * <p>
+     * The default implementation replaces values with a {@link #cursor()}.
+     *
+     * @param function
+     *            the function to apply to each mapping
+     * @throws NullPointerException
+     *             if the specified function is null, or the function returns
+     *             a null value
+     */
+    default void replaceAll(TriFunction<? super R, ? super C, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        BikeyCursor<R, C, V> cursor = cursor();
+        while (cursor.next()) {
+            cursor.setValue(function.apply(cursor.row(), cursor.column(), cursor.value()));
+        }
+    }
+
 }
@@ -0,0 +1,272 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Reads {@link TableBikeySet} and {@link TableBikeyMap} instances written by
+ * {@link BikeyWriter}.
+ *
+ * <p>
+ * Collections are built directly from the decoded column positions, without
+ * looking up each column in the dictionary.
+ *
+ * @param <R>
+ *            the type of row keys
+ * @param <C>
+ *            the type of column keys
+ */
+public class BikeyReader<R, C> {
+
+    private final BikeyCodec<R> rowCodec;
+    private final BikeyCodec<C> columnCodec;
+
+    /**
+     * Creates a reader with the codecs used to read row and column keys.
+     *
+     * @param rowCodec
+     *            codec used to read row keys
+     * @param columnCodec
+     *            codec used to read column keys
+     */
+    public BikeyReader(BikeyCodec<R> rowCodec, BikeyCodec<C> columnCodec) {
+        this.rowCodec = requireNonNull(rowCodec);
+        this.columnCodec = requireNonNull(columnCodec);
+    }
+
+    /**
+     * Reads a set written with {@link BikeyWriter#write(TableBikeySet, java.io.DataOutput)}.
+     *
+     * @param in
+     *            input from where to read the set
+     * @return a new set with the read content
+     * @throws IOException
+     *             if an I/O error occurs or the input doesn't contain a set
+     */
+    public TableBikeySet<R, C> readSet(DataInput in) throws IOException {
+        return readSet(in, BitSetIntSet::new);
+    }
+
+    /**
+     * Reads a set written with {@link BikeyWriter#write(TableBikeySet, java.io.DataOutput)},
+     * storing the columns of each row in the set created by the supplier.
+     *
+     * @param in
+     *            input from where to read the set
+     * @param rowSetSupplier
+     *            supplier of the {@link IntSet} used to store each row
+     * @return a new set with the read content
+     * @throws IOException
+     *             if an I/O error occurs or the input doesn't contain a set
+     */
+    public TableBikeySet<R, C> readSet(DataInput in, Supplier<? extends IntSet> rowSetSupplier) throws IOException {
+        requireNonNull(rowSetSupplier);
+        checkMagic(in, BikeyWriter.SET_MAGIC);
+        List<C> columns = readColumns(in);
+        int[] columnCounts = new int[columns.size()];
+        int rowsCount = readVarInt(in);
+        TableBikeySet<R, C> set = new TableBikeySet<>(rowSetSupplier);
+        Map<R, IntSet> rows = new HashMap<>(rowsCount * 4 / 3 + 1);
+        int size = 0;
+        Positions positions = new Positions();
+        for (int i = 0; i < rowsCount; i++) {
+            R row = rowCodec.read(in);
+            positions.read(in, columns.size());
+            int n = positions.size;
+            int[] values = positions.values;
+            IntSet rowSet = set.newRowSet();
+            for (int j = 0; j < n; j++) {
+                rowSet.add(values[j]);
+                columnCounts[values[j]]++;
+            }
+            rows.put(row, rowSet);
+            size += n;
+        }
+        set.load(columns, columnCounts, rows, size);
+        return set;
+    }
+
+    /**
+     * Reads a map written with
+     * {@link BikeyWriter#write(TableBikeyMap, java.io.DataOutput, BikeyCodec)},
+     * storing the columns of each row in a {@link RadixTrie}.
+     *
+     * @param <V>
+     *            the type of values
+     * @param in
+     *            input from where to read the map
+     * @param valueCodec
+     *            codec used to read values
+     * @return a new map with the read content
+     * @throws IOException
+     *             if an I/O error occurs or the input doesn't contain a map
+     */
+    public <V> TableBikeyMap<R, C, V> readMap(DataInput in, BikeyCodec<V> valueCodec) throws IOException {
+        return readMap(in, valueCodec, RadixTrie::new);
+    }
+
+    /**
+     * Reads a map written with
+     * {@link BikeyWriter#write(TableBikeyMap, java.io.DataOutput, BikeyCodec)},
+     * storing the columns of each row in the map created by the supplier.
+     *
+     * @param <V>
+     *            the type of values
+     * @param in
+     *            input from where to read the map
+     * @param valueCodec
+     *            codec used to read values
+     * @param innerMapSupplier
+     *            supplier of the {@link IntKeyMap} used to store each row
+     * @return a new map with the read content
+     * @throws IOException
+     *             if an I/O error occurs or the input doesn't contain a map
+     */
+    public <V> TableBikeyMap<R, C, V> readMap(DataInput in, BikeyCodec<V> valueCodec,
+            Supplier<? extends IntKeyMap<V>> innerMapSupplier) throws IOException {
+        requireNonNull(valueCodec);
+        checkMagic(in, BikeyWriter.MAP_MAGIC);
+        TableBikeyMap<R, C, V> map = new TableBikeyMap<>(innerMapSupplier);
+        List<C> columns = readColumns(in);
+        int[] columnCounts = new int[columns.size()];
+        int rowsCount = readVarInt(in);
+        Map<R, IntKeyMap<V>> rows = new HashMap<>(rowsCount * 4 / 3 + 1);
+        int size = 0;
+        Positions positions = new Positions();
+        Object[] rowValues = new Object[16];
+        for (int i = 0; i < rowsCount; i++) {
+            R row = rowCodec.read(in);
+            positions.read(in, columns.size());
+            int n = positions.size;
+            int[] values = positions.values;
+            IntKeyMap<V> rowMap = map.newRowMap();
+            if (rowMap instanceof RadixTrie) {
+                if (rowValues.length < n) {
+                    rowValues = new Object[Math.max(n, rowValues.length * 2)];
+                }
+                for (int j = 0; j < n; j++) {
+                    rowValues[j] = valueCodec.read(in);
+                    columnCounts[values[j]]++;
+                }
+                ((RadixTrie<V>) rowMap).loadSorted(values, rowValues, n);
+            } else {
+                for (int j = 0; j < n; j++) {
+                    rowMap.put(values[j], valueCodec.read(in));
+                    columnCounts[values[j]]++;
+                }
+            }
+            rows.put(row, rowMap);
+            size += n;
+        }
+        map.load(columns, columnCounts, rows, size);
+        return map;
+    }
+
+    private List<C> readColumns(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        List<C> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            columns.add(columnCodec.read(in));
+        }
+        return columns;
+    }
+
+    private static void checkMagic(DataInput in, int magic) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException("Input doesn't contain a serialized bikey collection of the expected type");
+        }
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted input: malformed varint");
+    }
+
+    /**
+     * Column positions of a row, reusing the buffer between rows.
+     */
+    private static final class Positions {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void read(DataInput in, int columns) throws IOException {
+            int n = readVarInt(in);
+            if (n < 0 || n > columns) {
+                throw new IOException("Corrupted input: invalid number of columns in row " + n);
+            }
+            if (values.length < n) {
+                values = new int[Math.max(n, values.length * 2)];
+            }
+            int encoding = in.readByte();
+            if (encoding == BikeyWriter.BITMAP) {
+                int words = readVarInt(in);
+                int idx = 0;
+                for (int w = 0; w < words; w++) {
+                    long word = in.readLong();
+                    while (word != 0 && idx < n) {
+                        long position = ((long) w << 6) + Long.numberOfTrailingZeros(word);
+                        values[idx++] = checkPosition(position, columns);
+                        word &= word - 1;
+                    }
+                }
+                if (idx != n) {
+                    throw new IOException("Corrupted input: bitmap doesn't match number of columns");
+                }
+            } else if (encoding == BikeyWriter.DELTAS) {
+                int previous = -1;
+                for (int i = 0; i < n; i++) {
+                    int delta = readVarInt(in);
+                    if (delta < 0) {
+                        throw new IOException("Corrupted input: negative column position delta " + delta);
+                    }
+                    previous = checkPosition((long) previous + delta + 1, columns);
+                    values[i] = previous;
+                }
+            } else {
+                throw new IOException("Corrupted input: unknown row encoding " + encoding);
+            }
+            size = n;
+        }
+
+        /**
+         * Validates each position as it is decoded, so corrupted input fails
+         * with an IOException before any position is used. Positions are
+         * increasing by construction of both encodings.
+         */
+        private static int checkPosition(long position, int columns) throws IOException {
+            if (position < 0 || position >= columns) {
+                throw new IOException("Corrupted input: column position out of range " + position);
+            }
+            return (int) position;
+        }
+
+    }
+
+}
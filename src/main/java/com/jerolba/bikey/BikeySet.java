@@ -109,6 +109,26 @@ public interface BikeySet<R, C> extends Set<Bikey<R, C>> {
      */
     Set<C> columnKeySet();
 
+    /**
+     * Returns a view of the columns paired with a row in this set. Changes to
+     * the set are reflected in the view, and adding or removing columns in the
+     * view adds or removes them in the set.
+     *
+     * <p>
+     * The default implementation scans the whole set to iterate the view or
+     * compute its size. Implementations with direct access to each row
+     * override it.
+     *
+     * @param row
+     *            the row whose columns are returned
+     * @return a set view of the columns in the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    default Set<C> row(R row) {
+        return new BikeyViews.SetRow<>(this, row);
+    }
+
     /**
      * Returns <tt>true</tt> if this set contains the specified pair of
      * elements.
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Live views of one row or one column of a {@link BikeyMap} or a
+ * {@link BikeySet}, implemented only with methods of the interfaces. Lookups
+ * and modifications are delegated to the underlying collection, and iteration
+ * and size scan all its elements.
+ *
+ * <p>
+ * Implementations that can access the content of a row or column directly
+ * override <tt>row</tt> and <tt>column</tt> methods with their own views.
+ */
+final class BikeyViews {
+
+    private BikeyViews() {
+    }
+
+    static final class MapRow<R, C, V> extends AbstractMap<C, V> {
+
+        private final BikeyMap<R, C, V> map;
+        private final R row;
+
+        MapRow(BikeyMap<R, C, V> map, R row) {
+            this.map = map;
+            this.row = requireNonNull(row, "Row can not be null");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object column) {
+            return map.get(row, (C) column);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object column) {
+            return map.containsKey(row, (C) column);
+        }
+
+        @Override
+        public V put(C column, V value) {
+            return map.put(row, column, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object column) {
+            return map.remove(row, (C) column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super C, ? super V> action) {
+            requireNonNull(action);
+            map.forEach((r, c, v) -> {
+                if (row.equals(r)) {
+                    action.accept(c, v);
+                }
+            });
+        }
+
+        @Override
+        public Set<Entry<C, V>> entrySet() {
+            return new AbstractSet<Entry<C, V>>() {
+
+                @Override
+                public Iterator<Entry<C, V>> iterator() {
+                    return new FilterIterator<>(map.iterator(), e -> row.equals(e.getRow()),
+                            e -> new SimpleImmutableEntry<>(e.getColumn(), e.getValue()),
+                            e -> map.remove(e.getRow(), e.getColumn()));
+                }
+
+                @Override
+                public int size() {
+                    int[] size = { 0 };
+                    MapRow.this.forEach((c, v) -> size[0]++);
+                    return size[0];
+                }
+
+            };
+        }
+
+    }
+
+    static final class MapColumn<R, C, V> extends AbstractMap<R, V> {
+
+        private final BikeyMap<R, C, V> map;
+        private final C column;
+
+        MapColumn(BikeyMap<R, C, V> map, C column) {
+            this.map = map;
+            this.column = requireNonNull(column, "Column can not be null");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object row) {
+            return map.get((R) row, column);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object row) {
+            return map.containsKey((R) row, column);
+        }
+
+        @Override
+        public V put(R row, V value) {
+            return map.put(row, column, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object row) {
+            return map.remove((R) row, column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super R, ? super V> action) {
+            requireNonNull(action);
+            map.forEach((r, c, v) -> {
+                if (column.equals(c)) {
+                    action.accept(r, v);
+                }
+            });
+        }
+
+        @Override
+        public Set<Entry<R, V>> entrySet() {
+            return new AbstractSet<Entry<R, V>>() {
+
+                @Override
+                public Iterator<Entry<R, V>> iterator() {
+                    return new FilterIterator<>(map.iterator(), e -> column.equals(e.getColumn()),
+                            e -> new SimpleImmutableEntry<>(e.getRow(), e.getValue()),
+                            e -> map.remove(e.getRow(), e.getColumn()));
+                }
+
+                @Override
+                public int size() {
+                    int[] size = { 0 };
+                    MapColumn.this.forEach((r, v) -> size[0]++);
+                    return size[0];
+                }
+
+            };
+        }
+
+    }
+
+    static final class SetRow<R, C> extends AbstractSet<C> {
+
+        private final BikeySet<R, C> set;
+        private final R row;
+
+        SetRow(BikeySet<R, C> set, R row) {
+            this.set = set;
+            this.row = requireNonNull(row, "Row can not be null");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object column) {
+            return set.contains(row, (C) column);
+        }
+
+        @Override
+        public boolean add(C column) {
+            return set.add(row, column);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object column) {
+            return set.remove(row, (C) column);
+        }
+
+        @Override
+        public void forEach(Consumer<? super C> action) {
+            requireNonNull(action);
+            set.forEach((r, c) -> {
+                if (row.equals(r)) {
+                    action.accept(c);
+                }
+            });
+        }
+
+        @Override
+        public Iterator<C> iterator() {
+            return new FilterIterator<>(set.iterator(), e -> row.equals(e.getRow()), Bikey::getColumn,
+                    e -> set.remove(e.getRow(), e.getColumn()));
+        }
+
+        @Override
+        public int size() {
+            int[] size = { 0 };
+            forEach(c -> size[0]++);
+            return size[0];
+        }
+
+    }
+
+    /**
+     * Iterator over the elements of other iterator that match a condition,
+     * transformed by a function.
+     *
+     * <p>
+     * Elements are removed from the underlying collection with the remover
+     * function. The underlying iterator can not be used after modifying its
+     * collection, so the first time an element is removed the matching
+     * elements not yet visited are copied, and iteration continues over the
+     * copy.
+     */
+    private static final class FilterIterator<T, E> implements Iterator<E> {
+
+        private Iterator<? extends T> iterator;
+        private final Predicate<? super T> filter;
+        private final Function<? super T, ? extends E> mapper;
+        private final Consumer<? super T> remover;
+        private boolean copied = false;
+        private T next;
+        private T last;
+
+        FilterIterator(Iterator<? extends T> iterator, Predicate<? super T> filter,
+                Function<? super T, ? extends E> mapper, Consumer<? super T> remover) {
+            this.iterator = iterator;
+            this.filter = filter;
+            this.mapper = mapper;
+            this.remover = remover;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return mapper.apply(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (!copied) {
+                List<T> pending = new ArrayList<>();
+                while (next != null) {
+                    pending.add(next);
+                    advance();
+                }
+                iterator = pending.iterator();
+                copied = true;
+                advance();
+            }
+            remover.accept(last);
+            last = null;
+        }
+
+        private void advance() {
+            next = null;
+            while (iterator.hasNext()) {
+                T candidate = iterator.next();
+                if (filter.test(candidate)) {
+                    next = candidate;
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
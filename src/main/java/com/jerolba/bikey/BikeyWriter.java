@@ -0,0 +1,203 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes {@link TableBikeySet} and {@link TableBikeyMap} instances in a compact
+ * binary format, to be read with {@link BikeyReader}.
+ *
+ * <p>
+ * Each column and row key is written only once. Columns of each row are
+ * written as their position in the column dictionary, encoded as the varint
+ * deltas between consecutive positions, or as a raw bitmap when the row is
+ * dense enough to make it smaller. Map values are written after the columns of
+ * their row with the value codec.
+ *
+ * <pre>
+ * int     magic: "BKS1" for sets, "BKM1" for maps
+ * varint  number of columns
+ *         each column key
+ * varint  number of rows
+ *         for each row:
+ *           row key
+ *           varint  number of columns in the row
+ *           byte    encoding: 0 for deltas, 1 for bitmap
+ *           deltas: varint per column, position minus previous position minus 1
+ *           bitmap: varint number of words and each word as long
+ *           only in maps: each value, in column position order
+ * </pre>
+ *
+ * @param <R>
+ *            the type of row keys
+ * @param <C>
+ *            the type of column keys
+ */
+public class BikeyWriter<R, C> {
+
+    static final int SET_MAGIC = 0x424B5331;
+    static final int MAP_MAGIC = 0x424B4D31;
+    static final int DELTAS = 0;
+    static final int BITMAP = 1;
+
+    private final BikeyCodec<? super R> rowCodec;
+    private final BikeyCodec<? super C> columnCodec;
+
+    /**
+     * Creates a writer with the codecs used to write row and column keys.
+     *
+     * @param rowCodec
+     *            codec used to write row keys
+     * @param columnCodec
+     *            codec used to write column keys
+     */
+    public BikeyWriter(BikeyCodec<? super R> rowCodec, BikeyCodec<? super C> columnCodec) {
+        this.rowCodec = requireNonNull(rowCodec);
+        this.columnCodec = requireNonNull(columnCodec);
+    }
+
+    /**
+     * Writes the content of a set.
+     *
+     * @param set
+     *            set to write
+     * @param out
+     *            output where to write the set
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public void write(TableBikeySet<R, C> set, DataOutput out) throws IOException {
+        out.writeInt(SET_MAGIC);
+        int[] remap = writeColumns(set.columnsValues(), out);
+        Map<R, IntSet> rows = set.rowSets();
+        writeVarInt(out, rows.size());
+        int[] positions = new int[16];
+        for (Map.Entry<R, IntSet> row : rows.entrySet()) {
+            rowCodec.write(out, row.getKey());
+            IntSet rowSet = row.getValue();
+            int n = 0;
+            for (int idx = rowSet.next(0); idx >= 0; idx = rowSet.next(idx + 1)) {
+                if (n == positions.length) {
+                    positions = Arrays.copyOf(positions, n * 2);
+                }
+                positions[n++] = remap[idx];
+            }
+            writePositions(out, positions, n);
+        }
+    }
+
+    /**
+     * Writes the content of a map, encoding values with the value codec.
+     *
+     * @param <V>
+     *            the type of values
+     * @param map
+     *            map to write
+     * @param out
+     *            output where to write the map
+     * @param valueCodec
+     *            codec used to write values
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public <V> void write(TableBikeyMap<R, C, V> map, DataOutput out, BikeyCodec<? super V> valueCodec)
+            throws IOException {
+        requireNonNull(valueCodec);
+        out.writeInt(MAP_MAGIC);
+        List<C> columns = map.columnsValues();
+        int[] remap = writeColumns(columns, out);
+        int[] original = new int[remap.length];
+        for (int i = 0; i < remap.length; i++) {
+            if (remap[i] >= 0) {
+                original[remap[i]] = i;
+            }
+        }
+        Map<R, IntKeyMap<V>> rows = map.rowMaps();
+        writeVarInt(out, rows.size());
+        int[] positions = new int[16];
+        for (Map.Entry<R, IntKeyMap<V>> row : rows.entrySet()) {
+            rowCodec.write(out, row.getKey());
+            IntKeyMap<V> rowMap = row.getValue();
+            if (positions.length < rowMap.size()) {
+                positions = new int[Math.max(rowMap.size(), positions.length * 2)];
+            }
+            int[] rowPositions = positions;
+            int[] n = { 0 };
+            rowMap.forEachKey(idx -> rowPositions[n[0]++] = remap[idx]);
+            Arrays.sort(rowPositions, 0, n[0]);
+            writePositions(out, rowPositions, n[0]);
+            for (int i = 0; i < n[0]; i++) {
+                valueCodec.write(out, rowMap.get(original[rowPositions[i]]));
+            }
+        }
+    }
+
+    /**
+     * Writes live columns, and returns the new position of each column, without
+     * the gaps of released positions.
+     */
+    private int[] writeColumns(List<C> columns, DataOutput out) throws IOException {
+        int[] remap = new int[columns.size()];
+        int live = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            remap[i] = columns.get(i) == null ? -1 : live++;
+        }
+        writeVarInt(out, live);
+        for (C column : columns) {
+            if (column != null) {
+                columnCodec.write(out, column);
+            }
+        }
+        return remap;
+    }
+
+    private static void writePositions(DataOutput out, int[] positions, int n) throws IOException {
+        writeVarInt(out, n);
+        int words = n == 0 ? 0 : (positions[n - 1] >>> 6) + 1;
+        if ((long) words * Long.BYTES < n) {
+            out.writeByte(BITMAP);
+            long[] bitmap = new long[words];
+            for (int i = 0; i < n; i++) {
+                bitmap[positions[i] >>> 6] |= 1L << positions[i];
+            }
+            writeVarInt(out, words);
+            for (long word : bitmap) {
+                out.writeLong(word);
+            }
+        } else {
+            out.writeByte(DELTAS);
+            int previous = -1;
+            for (int i = 0; i < n; i++) {
+                writeVarInt(out, positions[i] - previous - 1);
+                previous = positions[i];
+            }
+        }
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+}
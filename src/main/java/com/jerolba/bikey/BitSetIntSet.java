@@ -0,0 +1,194 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of {@link IntSet} backed by a {@link BitSet}. Memory depends
+ * on the highest value in the set, not on the number of values, but bulk
+ * operations with other <tt>BitSetIntSet</tt> are resolved word by word.
+ */
+public class BitSetIntSet implements IntSet {
+
+    private BitSet bitSet;
+
+    /**
+     * Constructs an empty set.
+     */
+    public BitSetIntSet() {
+        this.bitSet = new BitSet();
+    }
+
+    /**
+     * Constructs an empty set with space for values up to {@code nbits - 1}
+     * without resizing.
+     *
+     * @param nbits
+     *            the initial number of bits
+     * @throws NegativeArraySizeException
+     *             if the specified initial size is negative
+     */
+    public BitSetIntSet(int nbits) {
+        this.bitSet = new BitSet(nbits);
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (bitSet.get(value)) {
+            return false;
+        }
+        bitSet.set(value);
+        return true;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return value >= 0 && bitSet.get(value);
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (value < 0 || !bitSet.get(value)) {
+            return false;
+        }
+        bitSet.clear(value);
+        return true;
+    }
+
+    @Override
+    public int next(int from) {
+        return bitSet.nextSetBit(from);
+    }
+
+    @Override
+    public int size() {
+        return bitSet.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bitSet.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        bitSet.clear();
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        requireNonNull(action);
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            action.accept(i);
+        }
+    }
+
+    @Override
+    public boolean addAll(IntSet other) {
+        if (!(other instanceof BitSetIntSet)) {
+            return IntSet.super.addAll(other);
+        }
+        BitSet otherBitSet = ((BitSetIntSet) other).bitSet;
+        BitSet added = (BitSet) otherBitSet.clone();
+        added.andNot(bitSet);
+        if (added.isEmpty()) {
+            return false;
+        }
+        bitSet.or(added);
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(IntSet other) {
+        if (!(other instanceof BitSetIntSet)) {
+            return IntSet.super.retainAll(other);
+        }
+        BitSet otherBitSet = ((BitSetIntSet) other).bitSet;
+        if (!bitSet.intersects(otherBitSet)) {
+            boolean modified = !bitSet.isEmpty();
+            bitSet.clear();
+            return modified;
+        }
+        int before = bitSet.cardinality();
+        bitSet.and(otherBitSet);
+        return bitSet.cardinality() != before;
+    }
+
+    @Override
+    public boolean removeAll(IntSet other) {
+        if (!(other instanceof BitSetIntSet)) {
+            return IntSet.super.removeAll(other);
+        }
+        BitSet otherBitSet = ((BitSetIntSet) other).bitSet;
+        if (!bitSet.intersects(otherBitSet)) {
+            return false;
+        }
+        bitSet.andNot(otherBitSet);
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(IntSet other) {
+        if (!(other instanceof BitSetIntSet)) {
+            return IntSet.super.containsAll(other);
+        }
+        BitSet missing = (BitSet) ((BitSetIntSet) other).bitSet.clone();
+        missing.andNot(bitSet);
+        return missing.isEmpty();
+    }
+
+    /**
+     * Returns a copy of this set, with its own bitset.
+     *
+     * @return a copy of this set
+     */
+    @Override
+    public BitSetIntSet clone() {
+        try {
+            BitSetIntSet newOne = (BitSetIntSet) super.clone();
+            newOne.bitSet = (BitSet) bitSet.clone();
+            return newOne;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return bitSet.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BitSetIntSet)) {
+            return false;
+        }
+        return bitSet.equals(((BitSetIntSet) obj).bitSet);
+    }
+
+    @Override
+    public String toString() {
+        return bitSet.toString();
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock free array of elements indexed by position, used by the key
+ * dictionaries of {@link ConcurrentTableBikeyMap} and
+ * {@link PersistentBikeyMap}.
+ *
+ * <p>
+ * Elements are stored in an array of chunks, where each chunk doubles the size
+ * of the previous one, so existing chunks never need to be copied and an
+ * element set in a position is visible to all threads without locking.
+ *
+ * @param <E>
+ *            the type of elements
+ */
+final class ChunkedArray<E> {
+
+    private static final int FIRST_CHUNK_BITS = 5;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+    private static final int CHUNKS = Integer.SIZE - FIRST_CHUNK_BITS;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<E>> chunks = new AtomicReferenceArray<>(CHUNKS);
+
+    /**
+     * Sets the element at the position, creating its chunk if needed.
+     *
+     * @param idx
+     *            non negative position of the element
+     * @param element
+     *            element to store
+     */
+    void set(int idx, E element) {
+        int chunk = chunkOf(idx);
+        AtomicReferenceArray<E> values = chunks.get(chunk);
+        if (values == null) {
+            chunks.compareAndSet(chunk, null, new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunk));
+            values = chunks.get(chunk);
+        }
+        values.set(offsetOf(idx, chunk), element);
+    }
+
+    /**
+     * Returns the element at a position previously set.
+     *
+     * @param idx
+     *            position of the element
+     * @return the element at the position
+     */
+    E get(int idx) {
+        int chunk = chunkOf(idx);
+        return chunks.get(chunk).get(offsetOf(idx, chunk));
+    }
+
+    private static int chunkOf(int idx) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(idx + FIRST_CHUNK_SIZE) - FIRST_CHUNK_BITS;
+    }
+
+    private static int offsetOf(int idx, int chunk) {
+        return idx + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunk);
+    }
+
+}
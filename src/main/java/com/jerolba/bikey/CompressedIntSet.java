@@ -0,0 +1,911 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of {@link IntSet} compressed with the same strategy than
+ * Roaring bitmaps: values are grouped in chunks of 65536 values sharing the
+ * higher 16 bits, and each chunk is stored in the container that better fits
+ * its population:
+ *
+ * <ul>
+ * <li>a sorted array of the lower 16 bits, while the chunk has 4096 values or
+ * less</li>
+ * <li>a bitmap of 1024 longs when it has more than 4096 values</li>
+ * <li>a list of runs of consecutive values, only created by
+ * {@link #optimize()} when it is smaller than the other two</li>
+ * </ul>
+ *
+ * Memory follows the number of values and not the highest value: a set with
+ * only the value 900000 uses a single array container with one element, while
+ * a {@link java.util.BitSet} needs more than 110KB.
+ */
+public class CompressedIntSet implements IntSet {
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private char[] keys;
+    private Container[] containers;
+    private int count = 0;
+    private int size = 0;
+
+    /**
+     * Constructs an empty set.
+     */
+    public CompressedIntSet() {
+        this.keys = new char[DEFAULT_CAPACITY];
+        this.containers = new Container[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IndexOutOfBoundsException("value < 0: " + value);
+        }
+        char high = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, count, high);
+        if (i < 0) {
+            ArrayContainer container = new ArrayContainer(DEFAULT_CAPACITY);
+            container.add((char) value);
+            insertContainer(-i - 1, high, container);
+            size++;
+            return true;
+        }
+        Container container = containers[i];
+        int before = container.cardinality();
+        containers[i] = container.add((char) value);
+        if (containers[i].cardinality() == before) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, count, (char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, count, (char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        Container container = containers[i];
+        int before = container.cardinality();
+        container = container.remove((char) value);
+        if (container.cardinality() == before) {
+            return false;
+        }
+        size--;
+        if (container.cardinality() == 0) {
+            removeContainer(i);
+        } else {
+            containers[i] = container;
+        }
+        return true;
+    }
+
+    @Override
+    public int next(int from) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int i = Arrays.binarySearch(keys, 0, count, (char) (from >>> 16));
+        if (i >= 0) {
+            int low = containers[i].next(from & 0xFFFF);
+            if (low >= 0) {
+                return keys[i] << 16 | low;
+            }
+            i++;
+        } else {
+            i = -i - 1;
+        }
+        // containers are never empty
+        return i < count ? keys[i] << 16 | containers[i].next(0) : -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        keys = new char[DEFAULT_CAPACITY];
+        containers = new Container[DEFAULT_CAPACITY];
+        count = 0;
+        size = 0;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        requireNonNull(action);
+        for (int i = 0; i < count; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    @Override
+    public boolean addAll(IntSet other) {
+        if (!(other instanceof CompressedIntSet)) {
+            return IntSet.super.addAll(other);
+        }
+        CompressedIntSet set = (CompressedIntSet) other;
+        if (set == this || set.count == 0) {
+            return false;
+        }
+        int before = size;
+        char[] newKeys = new char[count + set.count];
+        Container[] newContainers = new Container[count + set.count];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        size = 0;
+        while (i < count || j < set.count) {
+            if (j == set.count || (i < count && keys[i] < set.keys[j])) {
+                newKeys[n] = keys[i];
+                newContainers[n] = containers[i++];
+            } else if (i == count || set.keys[j] < keys[i]) {
+                newKeys[n] = set.keys[j];
+                newContainers[n] = set.containers[j++].clone();
+            } else {
+                newKeys[n] = keys[i];
+                newContainers[n] = containers[i++].or(set.containers[j++]);
+            }
+            size += newContainers[n++].cardinality();
+        }
+        keys = newKeys;
+        containers = newContainers;
+        count = n;
+        return size != before;
+    }
+
+    @Override
+    public boolean retainAll(IntSet other) {
+        if (!(other instanceof CompressedIntSet)) {
+            return IntSet.super.retainAll(other);
+        }
+        CompressedIntSet set = (CompressedIntSet) other;
+        if (set == this) {
+            return false;
+        }
+        int before = size;
+        int n = 0;
+        int j = 0;
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < set.count && set.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < set.count && set.keys[j] == keys[i]) {
+                Container container = containers[i].and(set.containers[j]);
+                if (container.cardinality() > 0) {
+                    keys[n] = keys[i];
+                    containers[n++] = container;
+                    size += container.cardinality();
+                }
+            }
+        }
+        Arrays.fill(containers, n, count, null);
+        count = n;
+        return size != before;
+    }
+
+    @Override
+    public boolean removeAll(IntSet other) {
+        if (!(other instanceof CompressedIntSet)) {
+            return IntSet.super.removeAll(other);
+        }
+        CompressedIntSet set = (CompressedIntSet) other;
+        if (set == this) {
+            boolean modified = size > 0;
+            clear();
+            return modified;
+        }
+        int before = size;
+        int n = 0;
+        int j = 0;
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < set.count && set.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = containers[i];
+            if (j < set.count && set.keys[j] == keys[i]) {
+                container = container.andNot(set.containers[j]);
+            }
+            if (container.cardinality() > 0) {
+                keys[n] = keys[i];
+                containers[n++] = container;
+                size += container.cardinality();
+            }
+        }
+        Arrays.fill(containers, n, count, null);
+        count = n;
+        return size != before;
+    }
+
+    @Override
+    public boolean containsAll(IntSet other) {
+        if (!(other instanceof CompressedIntSet)) {
+            return IntSet.super.containsAll(other);
+        }
+        CompressedIntSet set = (CompressedIntSet) other;
+        if (set.size > size) {
+            return false;
+        }
+        int i = 0;
+        for (int j = 0; j < set.count; j++) {
+            while (i < count && keys[i] < set.keys[j]) {
+                i++;
+            }
+            if (i == count || keys[i] != set.keys[j] || !containers[i].containsAll(set.containers[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts each container to the representation that uses less memory,
+     * creating run containers for chunks with long sequences of consecutive
+     * values, and trims the unused capacity of arrays. Useful once the set is
+     * fully loaded and mostly read.
+     */
+    public void optimize() {
+        for (int i = 0; i < count; i++) {
+            containers[i] = optimize(containers[i]);
+        }
+        if (count < keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(count, 1));
+            containers = Arrays.copyOf(containers, Math.max(count, 1));
+        }
+    }
+
+    private static Container optimize(Container container) {
+        int cardinality = container.cardinality();
+        int runs = 0;
+        int last = -2;
+        for (int v = container.next(0); v >= 0; v = container.next(v + 1)) {
+            if (v != last + 1) {
+                runs++;
+            }
+            last = v;
+        }
+        int runBytes = runs * 4;
+        int arrayBytes = cardinality * 2;
+        int bitmapBytes = BITMAP_WORDS * 8;
+        if (runBytes < Math.min(arrayBytes, bitmapBytes)) {
+            return new RunContainer(container, runs);
+        }
+        if (arrayBytes <= bitmapBytes) {
+            return new ArrayContainer(container);
+        }
+        return container.toBitmap();
+    }
+
+    private void insertContainer(int i, char key, Container container) {
+        if (count == keys.length) {
+            int newCapacity = IntArrayMap.growCapacity(keys.length, count + 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, count - i);
+        System.arraycopy(containers, i, containers, i + 1, count - i);
+        keys[i] = key;
+        containers[i] = container;
+        count++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, count - i - 1);
+        containers[--count] = null;
+    }
+
+    /**
+     * Returns a deep copy of this set.
+     *
+     * @return a copy of this set
+     */
+    @Override
+    public CompressedIntSet clone() {
+        try {
+            CompressedIntSet newOne = (CompressedIntSet) super.clone();
+            newOne.keys = keys.clone();
+            newOne.containers = new Container[containers.length];
+            for (int i = 0; i < count; i++) {
+                newOne.containers[i] = containers[i].clone();
+            }
+            return newOne;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach(v -> hash[0] += v);
+        return hash[0];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompressedIntSet)) {
+            return false;
+        }
+        CompressedIntSet set = (CompressedIntSet) obj;
+        return size == set.size && containsAll(set);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Values of a chunk, identified by their lower 16 bits. Modifications
+     * return the container that must replace the current one, which can be
+     * itself or a container of other type.
+     */
+    private abstract static class Container implements Cloneable {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        /**
+         * Returns the first value greater than or equal to from, or -1. From can
+         * be 0x10000 when iterating past the last value of a chunk.
+         */
+        abstract int next(int from);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        /**
+         * Sets the bits of its values in a bitmap of 1024 words.
+         */
+        abstract void setBits(long[] words);
+
+        /**
+         * Clears the bits of its values in a bitmap of 1024 words.
+         */
+        abstract void clearBits(long[] words);
+
+        /**
+         * Returns the container as a bitmap, that can be itself.
+         */
+        abstract BitmapContainer toBitmap();
+
+        Container or(Container other) {
+            BitmapContainer bitmap = toBitmap();
+            other.setBits(bitmap.words);
+            bitmap.cardinality = BitmapContainer.cardinality(bitmap.words);
+            return bitmap.shrink();
+        }
+
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.clone().and(this);
+            }
+            BitmapContainer bitmap = toBitmap();
+            long[] otherWords = other.toBitmap().words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                bitmap.words[i] &= otherWords[i];
+            }
+            bitmap.cardinality = BitmapContainer.cardinality(bitmap.words);
+            return bitmap.shrink();
+        }
+
+        Container andNot(Container other) {
+            BitmapContainer bitmap = toBitmap();
+            other.clearBits(bitmap.words);
+            bitmap.cardinality = BitmapContainer.cardinality(bitmap.words);
+            return bitmap.shrink();
+        }
+
+        boolean containsAll(Container other) {
+            if (other.cardinality() > cardinality()) {
+                return false;
+            }
+            for (int v = other.next(0); v >= 0; v = other.next(v + 1)) {
+                if (!contains((char) v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Container clone() {
+            try {
+                return (Container) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new InternalError(e);
+            }
+        }
+
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality = 0;
+
+        ArrayContainer(int capacity) {
+            this.values = new char[capacity];
+        }
+
+        ArrayContainer(Container container) {
+            this.values = new char[container.cardinality()];
+            for (int v = container.next(0); v >= 0; v = container.next(v + 1)) {
+                values[cardinality++] = (char) v;
+            }
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX_SIZE) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                int newCapacity = values.length < 64 ? values.length * 2 : values.length + (values.length >> 1);
+                values = Arrays.copyOf(values, Math.min(Math.max(newCapacity, 1), ARRAY_MAX_SIZE));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int next(int from) {
+            if (from > 0xFFFF) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < cardinality ? values[i] : -1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        void setBits(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        void clearBits(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] &= ~(1L << values[i]);
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            setBits(bitmap.words);
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (!(other instanceof ArrayContainer)) {
+                return super.or(other);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                char a = values[i];
+                char b = array.values[j];
+                if (a <= b) {
+                    i++;
+                    j += a == b ? 1 : 0;
+                    merged[n++] = a;
+                } else {
+                    j++;
+                    merged[n++] = b;
+                }
+            }
+            while (i < cardinality) {
+                merged[n++] = values[i++];
+            }
+            while (j < array.cardinality) {
+                merged[n++] = array.values[j++];
+            }
+            if (n > ARRAY_MAX_SIZE) {
+                BitmapContainer bitmap = new BitmapContainer();
+                for (int k = 0; k < n; k++) {
+                    bitmap.words[merged[k] >>> 6] |= 1L << merged[k];
+                }
+                bitmap.cardinality = n;
+                return bitmap;
+            }
+            values = merged;
+            cardinality = n;
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    values[n++] = values[i];
+                }
+            }
+            cardinality = n;
+            return this;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    values[n++] = values[i];
+                }
+            }
+            cardinality = n;
+            return this;
+        }
+
+        @Override
+        public ArrayContainer clone() {
+            ArrayContainer newOne = (ArrayContainer) super.clone();
+            newOne.values = Arrays.copyOf(values, Math.max(cardinality, 1));
+            return newOne;
+        }
+
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality = 0;
+
+        BitmapContainer() {
+            this.words = new long[BITMAP_WORDS];
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static int cardinality(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            long word = words[low >>> 6];
+            long newWord = word | (1L << low);
+            if (word != newWord) {
+                words[low >>> 6] = newWord;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long word = words[low >>> 6];
+            long newWord = word & ~(1L << low);
+            if (word != newWord) {
+                words[low >>> 6] = newWord;
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        /**
+         * Converts the bitmap to an array if the chunk is not dense anymore.
+         */
+        Container shrink() {
+            return cardinality > ARRAY_MAX_SIZE ? this : new ArrayContainer(this);
+        }
+
+        @Override
+        int next(int from) {
+            int u = from >>> 6;
+            if (u >= BITMAP_WORDS) {
+                return -1;
+            }
+            long word = words[u] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (u << 6) + Long.numberOfTrailingZeros(word);
+                }
+                if (++u == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[u];
+            }
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int u = 0; u < BITMAP_WORDS; u++) {
+                long word = words[u];
+                while (word != 0) {
+                    action.accept(base | (u << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        void setBits(long[] target) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        void clearBits(long[] target) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                target[i] &= ~words[i];
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+
+        @Override
+        boolean containsAll(Container other) {
+            if (!(other instanceof BitmapContainer)) {
+                return super.containsAll(other);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                if ((otherWords[i] & ~words[i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public BitmapContainer clone() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+    }
+
+    private static final class RunContainer extends Container {
+
+        // pairs of first value and length minus one of each run
+        private final char[] runs;
+        private final int cardinality;
+
+        RunContainer(Container container, int runsCount) {
+            this.runs = new char[runsCount * 2];
+            this.cardinality = container.cardinality();
+            int n = -2;
+            int last = -2;
+            for (int v = container.next(0); v >= 0; v = container.next(v + 1)) {
+                if (v == last + 1) {
+                    runs[n + 1]++;
+                } else {
+                    n += 2;
+                    runs[n] = (char) v;
+                }
+                last = v;
+            }
+        }
+
+        /**
+         * Returns the position of the run that starts at low, or at the
+         * nearest value smaller than low, or -1 if low is before the first run.
+         */
+        private int runOf(int low) {
+            int lo = 0;
+            int hi = runs.length / 2 - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (runs[mid * 2] <= low) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return hi;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            int run = runOf(low);
+            return run >= 0 && low - runs[run * 2] <= runs[run * 2 + 1];
+        }
+
+        /**
+         * Runs are immutable, modifications are applied to an equivalent array
+         * or bitmap container.
+         */
+        private Container toModifiable() {
+            return cardinality > ARRAY_MAX_SIZE ? toBitmap() : new ArrayContainer(this);
+        }
+
+        @Override
+        Container add(char low) {
+            return contains(low) ? this : toModifiable().add(low);
+        }
+
+        @Override
+        Container remove(char low) {
+            return contains(low) ? toModifiable().remove(low) : this;
+        }
+
+        @Override
+        int next(int from) {
+            int run = runOf(from);
+            if (run >= 0 && from - runs[run * 2] <= runs[run * 2 + 1]) {
+                return from;
+            }
+            run++;
+            return run * 2 < runs.length ? runs[run * 2] : -1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < runs.length; i += 2) {
+                int end = runs[i] + runs[i + 1];
+                for (int v = runs[i]; v <= end; v++) {
+                    action.accept(base | v);
+                }
+            }
+        }
+
+        @Override
+        void setBits(long[] words) {
+            for (int i = 0; i < runs.length; i += 2) {
+                int end = runs[i] + runs[i + 1];
+                for (int v = runs[i]; v <= end; v++) {
+                    words[v >>> 6] |= 1L << v;
+                }
+            }
+        }
+
+        @Override
+        void clearBits(long[] words) {
+            for (int i = 0; i < runs.length; i += 2) {
+                int end = runs[i] + runs[i + 1];
+                for (int v = runs[i]; v <= end; v++) {
+                    words[v >>> 6] &= ~(1L << v);
+                }
+            }
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            setBits(bitmap.words);
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+
+        @Override
+        Container and(Container other) {
+            return toModifiable().and(other);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return toModifiable().andNot(other);
+        }
+
+        @Override
+        public RunContainer clone() {
+            // immutable
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Thread safe and lock free version of {@link RadixTrie}.
+ *
+ * <p>
+ * The map holds a reference to an immutable trie. Updates copy only the nodes
+ * in the path to the key, sharing the rest of nodes, and publish the new trie
+ * with a compare-and-set over the reference, retrying if other thread has
+ * published an update meanwhile.
+ *
+ * <p>
+ * Readers never block nor retry: each read operation works over the trie
+ * published when it started, so iterators, spliterators and <tt>forEach</tt>
+ * methods traverse a consistent snapshot of the map.
+ *
+ * <p>
+ * Functions passed to <tt>compute</tt>, <tt>merge</tt> and similar methods may
+ * be applied more than once if other thread updates the map concurrently.
+ *
+ * @param <V>
+ *            Type of the associated element
+ */
+public class ConcurrentRadixTrie<V> implements IntKeyMap<V> {
+
+    private final AtomicReference<RadixTrie<V>> trie;
+
+    /**
+     * Constructs an empty {@code ConcurrentRadixTrie}
+     */
+    public ConcurrentRadixTrie() {
+        this.trie = new AtomicReference<>(new RadixTrie<>());
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentRadixTrie} with the same mappings as
+     * the specified {@code IntKeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public ConcurrentRadixTrie(IntKeyMap<? extends V> m) {
+        this();
+        putAll(m);
+    }
+
+    @Override
+    public V put(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        return update(key, (k, oldValue) -> value, true);
+    }
+
+    @Override
+    public V get(int key) {
+        return trie.get().get(key);
+    }
+
+    @Override
+    public V remove(int key) {
+        return update(key, (k, oldValue) -> null, true);
+    }
+
+    @Override
+    public V putIfAbsent(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        return update(key, (k, oldValue) -> oldValue == null ? value : oldValue, true);
+    }
+
+    @Override
+    public boolean remove(int key, Object value) {
+        V previous = update(key, (k, oldValue) -> oldValue != null && oldValue.equals(value) ? null : oldValue, true);
+        return previous != null && previous.equals(value);
+    }
+
+    @Override
+    public boolean replace(int key, V oldValue, V newValue) {
+        requireNonNull(newValue, "Value can not be null");
+        V previous = update(key, (k, v) -> v != null && v.equals(oldValue) ? newValue : v, true);
+        return previous != null && previous.equals(oldValue);
+    }
+
+    @Override
+    public V replace(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        return update(key, (k, oldValue) -> oldValue == null ? null : value, true);
+    }
+
+    @Override
+    public V computeIfAbsent(int key, Function<Integer, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        return update(key, (k, oldValue) -> oldValue == null ? mappingFunction.apply(k) : oldValue, false);
+    }
+
+    @Override
+    public V computeIfPresent(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(key, (k, oldValue) -> oldValue == null ? null : remappingFunction.apply(k, oldValue), false);
+    }
+
+    @Override
+    public V compute(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(key, remappingFunction, false);
+    }
+
+    @Override
+    public V merge(int key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        requireNonNull(value);
+        return update(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value),
+                false);
+    }
+
+    /**
+     * Replaces the value associated with a key with the result of a function
+     * over the current value, removing the key if the result is null. The
+     * function is applied again if the trie was modified by other thread.
+     *
+     * @param key
+     *            key whose value is updated
+     * @param function
+     *            function to apply to the key and current value, or null if
+     *            there is no value
+     * @param returnPrevious
+     *            if <tt>true</tt> returns the value before the update, if
+     *            <tt>false</tt> the new value
+     * @return the previous or new value
+     */
+    private V update(int key, BiFunction<Integer, ? super V, ? extends V> function, boolean returnPrevious) {
+        for (;;) {
+            RadixTrie<V> current = trie.get();
+            V oldValue = current.get(key);
+            V newValue = function.apply(key, oldValue);
+            RadixTrie<V> next;
+            if (newValue == oldValue) {
+                next = current;
+            } else if (newValue == null) {
+                next = current.dissoc(key);
+            } else {
+                next = current.assoc(key, newValue);
+            }
+            if (next == current || trie.compareAndSet(current, next)) {
+                return returnPrevious ? oldValue : newValue;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return trie.get().size();
+    }
+
+    @Override
+    public void clear() {
+        trie.set(new RadixTrie<>());
+    }
+
+    @Override
+    public void forEach(IntObjectConsumer<V> action) {
+        trie.get().forEach(action);
+    }
+
+    @Override
+    public void forEach(Consumer<? super IntObjectEntry<V>> action) {
+        trie.get().forEach(action);
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        trie.get().forEachKey(action);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return trie.get().containsValue(value);
+    }
+
+    @Override
+    public Iterator<IntObjectEntry<V>> iterator() {
+        return trie.get().iterator();
+    }
+
+    @Override
+    public Spliterator<IntObjectEntry<V>> spliterator() {
+        return trie.get().spliterator();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Set<IntObjectEntry<V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return ConcurrentRadixTrie.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentRadixTrie.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return trie.get().values().iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return trie.get().values().spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super V> action) {
+            trie.get().values().forEach(action);
+        }
+
+    }
+
+    private final class KeySet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return ConcurrentRadixTrie.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentRadixTrie.this.clear();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return trie.get().keySet().iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey((Integer) o);
+        }
+
+        @Override
+        public Spliterator<Integer> spliterator() {
+            return trie.get().keySet().spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> action) {
+            trie.get().keySet().forEach(action);
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<IntObjectEntry<V>> {
+
+        @Override
+        public int size() {
+            return ConcurrentRadixTrie.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentRadixTrie.this.clear();
+        }
+
+        @Override
+        public Iterator<IntObjectEntry<V>> iterator() {
+            return ConcurrentRadixTrie.this.iterator();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            requireNonNull(o, "Value can not be null");
+            IntObjectEntry<V> key = (IntObjectEntry<V>) o;
+            V value = get(key.getIntKey());
+            return (value != null && value.equals(key.getValue()));
+        }
+
+        @Override
+        public Spliterator<IntObjectEntry<V>> spliterator() {
+            return ConcurrentRadixTrie.this.spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super IntObjectEntry<V>> action) {
+            ConcurrentRadixTrie.this.forEach(action);
+        }
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        return trie.get().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return trie.get().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return trie.get().toString();
+    }
+
+}
@@ -0,0 +1,1043 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.jerolba.bikey.TableBikeyMap.SimpleBikeyEntry;
+
+/**
+ * Thread safe implementation of {@code BikeyMap} with the same table layout
+ * than {@link TableBikeyMap}: each row has an {@link IntKeyMap} indexed by
+ * column position.
+ *
+ * <p>
+ * Rows are stored in a {@link ConcurrentHashMap}, and access to the
+ * {@code IntKeyMap} of a row is guarded by one of a fixed set of read-write
+ * locks, selected by the row hash. Reads on any row can run concurrently, and
+ * writes only block operations on rows sharing the same lock. The column
+ * dictionary is lock free and counts the values of each column: when the last
+ * value of a column is removed, the column leaves the dictionary and its
+ * position is reused by new columns, so the dictionary doesn't grow with
+ * columns no longer present in the map.
+ *
+ * <p>
+ * All operations over a single bikey, including <tt>compute</tt>,
+ * <tt>merge</tt> and the other default methods of {@code BikeyMap}, are
+ * atomic. Iterators, spliterators and <tt>forEach</tt> methods are weakly
+ * consistent: each row is copied while holding its lock, and actions are
+ * called without holding any lock.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ * @param <V>
+ *            the type of mapped values
+ */
+public class ConcurrentTableBikeyMap<R, C, V> implements BikeyMap<R, C, V> {
+
+    private static final int MAX_LOCKS = 1 << 16;
+
+    private final Supplier<? extends IntKeyMap<V>> innerMapSupplier;
+    private final ConcurrentHashMap<R, IntKeyMap<V>> rows;
+    private final ReentrantReadWriteLock[] locks;
+    private final LongAdder size = new LongAdder();
+    private volatile ColumnDictionary<C> columns = new ColumnDictionary<>();
+
+    public ConcurrentTableBikeyMap() {
+        this(() -> new RadixTrie<>());
+    }
+
+    public ConcurrentTableBikeyMap(Supplier<? extends IntKeyMap<V>> innerMapSupplier) {
+        this(innerMapSupplier, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty map with the specified supplier of rows and number of
+     * locks.
+     *
+     * @param innerMapSupplier
+     *            supplier of the {@code IntKeyMap} used to store each row
+     * @param concurrencyLevel
+     *            expected number of concurrent writers. The number of locks is
+     *            the next power of two
+     * @throws IllegalArgumentException
+     *             if the concurrency level is not positive
+     */
+    public ConcurrentTableBikeyMap(Supplier<? extends IntKeyMap<V>> innerMapSupplier, int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+        }
+        int locksSize = 1;
+        while (locksSize < concurrencyLevel && locksSize < MAX_LOCKS) {
+            locksSize <<= 1;
+        }
+        this.innerMapSupplier = innerMapSupplier;
+        this.rows = new ConcurrentHashMap<>();
+        this.locks = new ReentrantReadWriteLock[locksSize];
+        for (int i = 0; i < locksSize; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentTableBikeyMap} with the same mappings
+     * as the specified {@code BikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public ConcurrentTableBikeyMap(BikeyMap<R, C, V> m) {
+        this();
+        putAll(m);
+    }
+
+    private ReentrantReadWriteLock lockOf(Object row) {
+        int h = row.hashCode();
+        return locks[(h ^ (h >>> 16)) & (locks.length - 1)];
+    }
+
+    @Override
+    public V put(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            return putLocked(row, column, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V get(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        Lock lock = lockOf(row).readLock();
+        lock.lock();
+        try {
+            return getLocked(row, column);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            return removeLocked(row, column);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Methods with Locked suffix must be called holding the write lock (or read
+     * lock if only reads) of the row. The column dictionary is always read
+     * inside the lock, because clear replaces it holding all locks.
+     */
+
+    private V getLocked(R row, C column) {
+        ColumnInfo columnInfo = columns.index.get(column);
+        if (columnInfo != null) {
+            IntKeyMap<V> intMap = rows.get(row);
+            if (intMap != null) {
+                return intMap.get(columnInfo.index);
+            }
+        }
+        return null;
+    }
+
+    private V putLocked(R row, C column, V value) {
+        IntKeyMap<V> intMap = rows.get(row);
+        if (intMap == null) {
+            intMap = innerMapSupplier.get();
+            rows.put(row, intMap);
+        }
+        ColumnInfo columnInfo = columns.acquire(column);
+        V prev = intMap.put(columnInfo.index, value);
+        if (prev == null) {
+            size.increment();
+        } else {
+            columns.release(column, columnInfo);
+        }
+        return prev;
+    }
+
+    private V removeLocked(R row, C column) {
+        ColumnInfo columnInfo = columns.index.get(column);
+        if (columnInfo != null) {
+            IntKeyMap<V> intMap = rows.get(row);
+            if (intMap != null) {
+                V prev = intMap.remove(columnInfo.index);
+                if (prev != null) {
+                    size.decrement();
+                    columns.release(column, columnInfo);
+                    if (intMap.isEmpty()) {
+                        rows.remove(row);
+                    }
+                    return prev;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public V putIfAbsent(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            V v = getLocked(row, column);
+            if (v == null) {
+                putLocked(row, column, value);
+            }
+            return v;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(R row, C column, Object value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            Object currentValue = getLocked(row, column);
+            if (currentValue == null || !currentValue.equals(value)) {
+                return false;
+            }
+            removeLocked(row, column);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(R row, C column, V oldValue, V newValue) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(newValue, "Value can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            Object currentValue = getLocked(row, column);
+            if (currentValue == null || !currentValue.equals(oldValue)) {
+                return false;
+            }
+            putLocked(row, column, newValue);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V replace(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            V currentValue = getLocked(row, column);
+            if (currentValue != null) {
+                putLocked(row, column, value);
+            }
+            return currentValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The function is applied at most once, holding the lock of the row, so it
+     * should be short and must not modify this map.
+     */
+    @Override
+    public V computeIfAbsent(R row, C column, BiFunction<R, C, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        return update(row, column, (r, c, oldValue) -> oldValue != null ? oldValue : mappingFunction.apply(r, c));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The function is applied at most once, holding the lock of the row, so it
+     * should be short and must not modify this map.
+     */
+    @Override
+    public V computeIfPresent(R row, C column,
+            TriFunction<? super R, ? super C, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(row, column, (r, c, oldValue) -> oldValue == null ? null
+                : remappingFunction.apply(r, c, oldValue));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The function is applied once, holding the lock of the row, so it should
+     * be short and must not modify this map.
+     */
+    @Override
+    public V compute(R row, C column, TriFunction<? super R, ? super C, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(row, column, remappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The function is applied at most once, holding the lock of the row, so it
+     * should be short and must not modify this map.
+     */
+    @Override
+    public V merge(R row, C column, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        requireNonNull(value);
+        return update(row, column, (r, c, oldValue) -> oldValue == null ? value
+                : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Atomically replaces the value of a bikey with the result of a function,
+     * removing the mapping if the result is null.
+     *
+     * @return the new value associated with the bikey, or null if none
+     */
+    private V update(R row, C column, TriFunction<? super R, ? super C, ? super V, ? extends V> function) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        Lock lock = lockOf(row).writeLock();
+        lock.lock();
+        try {
+            V oldValue = getLocked(row, column);
+            V newValue = function.apply(row, column, oldValue);
+            if (newValue == null) {
+                if (oldValue != null) {
+                    removeLocked(row, column);
+                }
+            } else if (newValue != oldValue) {
+                putLocked(row, column, newValue);
+            }
+            return newValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        long sum = size.sum();
+        if (sum < 0) {
+            return 0;
+        }
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    /**
+     * Removes all of the mappings from this map. All row locks are acquired,
+     * blocking any other operation until the map is cleared.
+     */
+    @Override
+    public void clear() {
+        for (ReentrantReadWriteLock lock : locks) {
+            lock.writeLock().lock();
+        }
+        try {
+            rows.clear();
+            columns = new ColumnDictionary<>();
+            size.reset();
+        } finally {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        requireNonNull(value, "Value can not be null");
+        for (Map.Entry<R, IntKeyMap<V>> entry : rows.entrySet()) {
+            Lock lock = lockOf(entry.getKey()).readLock();
+            lock.lock();
+            try {
+                if (entry.getValue().containsValue(value)) {
+                    return true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsRow(Object row) {
+        requireNonNull(row, "row can not be null");
+        return rows.containsKey(row);
+    }
+
+    @Override
+    public boolean containsColumn(Object column) {
+        requireNonNull(column, "column can not be null");
+        ColumnInfo columnInfo = columns.index.get(column);
+        return columnInfo != null && columnInfo.count.get() > 0;
+    }
+
+    @Override
+    public Set<Bikey<R, C>> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public BikeySet<R, C> bikeySet() {
+        BikeySet<R, C> result = new TableBikeySet<>();
+        forEachBikey(result::add);
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return Collections.unmodifiableSet(rows.keySet());
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return new ColumnKeySet();
+    }
+
+    @Override
+    public Set<BikeyEntry<R, C, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public void forEachBikey(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        for (R row : rows.keySet()) {
+            RowSnapshot snapshot = snapshot(row);
+            if (snapshot != null) {
+                snapshot.forEach((c, v) -> action.accept(row, c));
+            }
+        }
+    }
+
+    @Override
+    public void forEach(TriConsumer<? super R, ? super C, ? super V> action) {
+        requireNonNull(action);
+        for (R row : rows.keySet()) {
+            RowSnapshot snapshot = snapshot(row);
+            if (snapshot != null) {
+                snapshot.forEach((c, v) -> action.accept(row, c, v));
+            }
+        }
+    }
+
+    @Override
+    public Iterator<BikeyEntry<R, C, V>> iterator() {
+        return new BikeyMapIterator<>(SimpleBikeyEntry::new);
+    }
+
+    @Override
+    public Spliterator<BikeyEntry<R, C, V>> spliterator() {
+        return new BikeyMapSpliterator<>(rows.keySet().spliterator(), SimpleBikeyEntry::new,
+                Spliterator.DISTINCT + Spliterator.NONNULL + Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Copies the content of a row holding its read lock, resolving the column
+     * positions with the column dictionary.
+     *
+     * @param row
+     *            row to copy
+     * @return the copy of the row, or null if the row does not exist
+     */
+    private RowSnapshot snapshot(R row) {
+        Lock lock = lockOf(row).readLock();
+        lock.lock();
+        try {
+            IntKeyMap<V> intMap = rows.get(row);
+            if (intMap == null || intMap.isEmpty()) {
+                return null;
+            }
+            ColumnDictionary<C> dictionary = columns;
+            RowSnapshot snapshot = new RowSnapshot(intMap.size());
+            intMap.forEach((idx, v) -> snapshot.add(dictionary.get(idx), v));
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class RowSnapshot {
+
+        private final Object[] columnsValues;
+        private final Object[] values;
+        private int size = 0;
+
+        RowSnapshot(int capacity) {
+            this.columnsValues = new Object[capacity];
+            this.values = new Object[capacity];
+        }
+
+        void add(C column, V value) {
+            columnsValues[size] = column;
+            values[size] = value;
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        C column(int i) {
+            return (C) columnsValues[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int i) {
+            return (V) values[i];
+        }
+
+        void forEach(BiConsumer<C, V> action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(column(i), value(i));
+            }
+        }
+
+    }
+
+    /**
+     * Weakly consistent iterator over the rows, which copies each row when it
+     * is reached.
+     *
+     * @param <T>
+     *            type of the iterated elements, created from each row, column
+     *            and value
+     */
+    private final class BikeyMapIterator<T> implements Iterator<T> {
+
+        private final TriFunction<R, C, V, T> factory;
+        private final Iterator<R> rowsIterator = rows.keySet().iterator();
+        private R currentRow;
+        private RowSnapshot current;
+        private int index;
+
+        BikeyMapIterator(TriFunction<R, C, V, T> factory) {
+            this.factory = factory;
+            moveToNextRow();
+        }
+
+        private void moveToNextRow() {
+            current = null;
+            while (current == null && rowsIterator.hasNext()) {
+                currentRow = rowsIterator.next();
+                current = snapshot(currentRow);
+            }
+            index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public T next() {
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            T res = factory.apply(currentRow, current.column(index), current.value(index));
+            index++;
+            if (index == current.size) {
+                moveToNextRow();
+            }
+            return res;
+        }
+
+    }
+
+    /**
+     * Weakly consistent spliterator which splits the row keys with the
+     * {@link ConcurrentHashMap} spliterator, copying each row when it is
+     * reached.
+     *
+     * @param <T>
+     *            type of the traversed elements, created from each row, column
+     *            and value
+     */
+    private final class BikeyMapSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<R> rowsSpliterator;
+        private final TriFunction<R, C, V, T> factory;
+        private final int characteristics;
+        private long estimatedSize;
+        private R currentRow;
+        private RowSnapshot current;
+        private int index;
+
+        BikeyMapSpliterator(Spliterator<R> rowsSpliterator, TriFunction<R, C, V, T> factory, int characteristics) {
+            this(rowsSpliterator, factory, characteristics, size());
+        }
+
+        private BikeyMapSpliterator(Spliterator<R> rowsSpliterator, TriFunction<R, C, V, T> factory,
+                int characteristics, long estimatedSize) {
+            this.rowsSpliterator = rowsSpliterator;
+            this.factory = factory;
+            this.characteristics = characteristics;
+            this.estimatedSize = estimatedSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            requireNonNull(action);
+            while (current == null || index == current.size) {
+                current = null;
+                if (!rowsSpliterator.tryAdvance(row -> {
+                    currentRow = row;
+                    current = snapshot(row);
+                    index = 0;
+                })) {
+                    return false;
+                }
+            }
+            action.accept(factory.apply(currentRow, current.column(index), current.value(index)));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            requireNonNull(action);
+            if (current != null) {
+                for (; index < current.size; index++) {
+                    action.accept(factory.apply(currentRow, current.column(index), current.value(index)));
+                }
+                current = null;
+            }
+            rowsSpliterator.forEachRemaining(row -> {
+                RowSnapshot snapshot = snapshot(row);
+                if (snapshot != null) {
+                    snapshot.forEach((c, v) -> action.accept(factory.apply(row, c, v)));
+                }
+            });
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<R> split = rowsSpliterator.trySplit();
+            if (split == null) {
+                return null;
+            }
+            estimatedSize >>>= 1;
+            return new BikeyMapSpliterator<>(split, factory, characteristics, estimatedSize);
+        }
+
+        /**
+         * Returns the size of the map when the spliterator was created, divided
+         * by two on each split. It is not exact because the map can be modified
+         * concurrently, so the spliterator is not {@code SIZED}.
+         */
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return ConcurrentTableBikeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentTableBikeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new BikeyMapIterator<>((r, c, v) -> v);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return new BikeyMapSpliterator<>(rows.keySet().spliterator(), (r, c, v) -> v,
+                    Spliterator.NONNULL + Spliterator.CONCURRENT);
+        }
+
+        @Override
+        public void forEach(Consumer<? super V> action) {
+            requireNonNull(action);
+            ConcurrentTableBikeyMap.this.forEach((r, c, v) -> action.accept(v));
+        }
+
+    }
+
+    private final class KeySet extends AbstractSet<Bikey<R, C>> {
+
+        @Override
+        public int size() {
+            return ConcurrentTableBikeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentTableBikeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Bikey<R, C>> iterator() {
+            return new BikeyMapIterator<>((r, c, v) -> new BikeyImpl<>(r, c));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            requireNonNull(o, "Value can not be null");
+            Bikey<R, C> key = (Bikey<R, C>) o;
+            return containsKey(key.getRow(), key.getColumn());
+        }
+
+        @Override
+        public Spliterator<Bikey<R, C>> spliterator() {
+            return new BikeyMapSpliterator<>(rows.keySet().spliterator(), (r, c, v) -> new BikeyImpl<>(r, c),
+                    Spliterator.DISTINCT + Spliterator.NONNULL + Spliterator.CONCURRENT);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Bikey<R, C>> action) {
+            requireNonNull(action);
+            ConcurrentTableBikeyMap.this.forEachBikey((r, c) -> action.accept(new BikeyImpl<>(r, c)));
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<BikeyEntry<R, C, V>> {
+
+        @Override
+        public int size() {
+            return ConcurrentTableBikeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentTableBikeyMap.this.clear();
+        }
+
+        @Override
+        public Iterator<BikeyEntry<R, C, V>> iterator() {
+            return ConcurrentTableBikeyMap.this.iterator();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            requireNonNull(o, "Value can not be null");
+            BikeyEntry<R, C, V> key = (BikeyEntry<R, C, V>) o;
+            V value = get(key.getRow(), key.getColumn());
+            return (value != null && value.equals(key.getValue()));
+        }
+
+        @Override
+        public Spliterator<BikeyEntry<R, C, V>> spliterator() {
+            return ConcurrentTableBikeyMap.this.spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super BikeyEntry<R, C, V>> action) {
+            ConcurrentTableBikeyMap.this.forEach((r, c, v) -> action.accept(new SimpleBikeyEntry<>(r, c, v)));
+        }
+
+    }
+
+    /**
+     * Live view of the columns with at least one value. Columns whose last
+     * value is being removed can still be in the dictionary, and are filtered.
+     */
+    private final class ColumnKeySet extends AbstractSet<C> {
+
+        @Override
+        public int size() {
+            int count = 0;
+            for (ColumnInfo columnInfo : columns.index.values()) {
+                if (columnInfo.count.get() > 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsColumn(o);
+        }
+
+        @Override
+        public Iterator<C> iterator() {
+            Iterator<Map.Entry<C, ColumnInfo>> it = columns.index.entrySet().iterator();
+            return new Iterator<C>() {
+
+                private C next = findNext();
+
+                private C findNext() {
+                    while (it.hasNext()) {
+                        Map.Entry<C, ColumnInfo> entry = it.next();
+                        if (entry.getValue().count.get() > 0) {
+                            return entry.getKey();
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public C next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    C res = next;
+                    next = findNext();
+                    return res;
+                }
+
+            };
+        }
+
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (BikeyEntry<R, C, V> entry : entrySet()) {
+            h += entry.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof BikeyMap)) {
+            return false;
+        }
+        BikeyMap<R, C, V> m = (BikeyMap<R, C, V>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            for (BikeyEntry<R, C, V> e : entrySet()) {
+                R row = e.getRow();
+                C column = e.getColumn();
+                V value = e.getValue();
+                if (!value.equals(m.get(row, column))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException unused) {
+            return false;
+        } catch (NullPointerException unused) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        Iterator<BikeyEntry<R, C, V>> i = entrySet().iterator();
+        if (!i.hasNext()) {
+            return "{}";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (;;) {
+            BikeyEntry<R, C, V> e = i.next();
+            R row = e.getRow();
+            C column = e.getColumn();
+            V value = e.getValue();
+            sb.append("[");
+            sb.append(row == this ? "(this Map)" : row);
+            sb.append(',').append(' ');
+            sb.append(column == this ? "(this Map)" : column);
+            sb.append("]");
+            sb.append('=');
+            sb.append(value == this ? "(this Map)" : value);
+            if (!i.hasNext()) {
+                return sb.append('}').toString();
+            }
+            sb.append(',').append(' ');
+        }
+    }
+
+    /**
+     * Position of a column and number of values in the column, including
+     * values being added. A count of -1 marks a column whose position has been
+     * released, which can not be acquired again.
+     */
+    private static class ColumnInfo {
+
+        private final int index;
+        private final AtomicInteger count = new AtomicInteger();
+
+        ColumnInfo(int index) {
+            this.index = index;
+        }
+
+        boolean tryAcquire() {
+            int current;
+            do {
+                current = count.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!count.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        boolean release() {
+            return count.decrementAndGet() == 0 && count.compareAndSet(0, -1);
+        }
+
+    }
+
+    /**
+     * Lock free dictionary of columns, which assigns consecutive positions to
+     * new columns. Positions are resolved to columns with a
+     * {@link ChunkedArray}.
+     *
+     * <p>
+     * A column is removed from the dictionary when its count drops to zero,
+     * and its position is reused by a new column. Row maps never contain a
+     * released position, because the count includes every value stored in a
+     * row with the position.
+     *
+     * @param <C>
+     *            the type of columns
+     */
+    private static final class ColumnDictionary<C> {
+
+        private final ConcurrentHashMap<C, ColumnInfo> index = new ConcurrentHashMap<>();
+        private final ChunkedArray<C> values = new ChunkedArray<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Integer> released = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Registers the column if needed and increments its count before a
+         * value is stored with its position.
+         */
+        ColumnInfo acquire(C column) {
+            while (true) {
+                ColumnInfo columnInfo = index.get(column);
+                if (columnInfo == null) {
+                    columnInfo = index.computeIfAbsent(column, this::newColumn);
+                }
+                if (columnInfo.tryAcquire()) {
+                    return columnInfo;
+                }
+                index.remove(column, columnInfo);
+            }
+        }
+
+        /**
+         * Decrements the count of the column after a value with its position is
+         * removed, releasing the position if it was the last value.
+         */
+        void release(C column, ColumnInfo columnInfo) {
+            if (columnInfo.release()) {
+                index.remove(column, columnInfo);
+                released.add(columnInfo.index);
+            }
+        }
+
+        private ColumnInfo newColumn(C column) {
+            Integer reused = released.poll();
+            int idx = reused == null ? nextIndex.getAndIncrement() : reused;
+            values.set(idx, column);
+            return new ColumnInfo(idx);
+        }
+
+        C get(int idx) {
+            return values.get(idx);
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implements a radix array mapped trie with primitive double values, with the
+ * same structure than {@link RadixTrie}.
+ *
+ * <p>
+ * Leaf nodes store the values in a compressed <tt>double[]</tt> array, so values
+ * are not boxed and each mapping costs only the size of the primitive value in
+ * the leaf array. Nodes are managed by {@link PrimitiveRadixTrie}.
+ *
+ * <p>
+ * The key is a primitive <tt>int</tt> and allows all range of integer values.
+ * Iteration over its elements is done in preorder.
+ */
+public class DoubleRadixTrie extends PrimitiveRadixTrie implements IntKeyDoubleMap {
+
+    private final double missingValue;
+
+    /**
+     * Constructs an empty {@code DoubleRadixTrie} with 0.0 as missing value
+     */
+    public DoubleRadixTrie() {
+        this(0.0);
+    }
+
+    /**
+     * Constructs an empty {@code DoubleRadixTrie} with the given missing value
+     *
+     * @param missingValue
+     *            value returned when there is no mapping for a key
+     */
+    public DoubleRadixTrie(double missingValue) {
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * Constructs a new {@code DoubleRadixTrie} with the same mappings and missing
+     * value as the specified {@code IntKeyDoubleMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public DoubleRadixTrie(IntKeyDoubleMap m) {
+        this(m.getMissingValue());
+        putAll(m);
+    }
+
+    @Override
+    Object newValues(int length) {
+        return new double[length];
+    }
+
+    @Override
+    public double getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public double put(int key, double value) {
+        int sizeBefore = size;
+        Node leaf = leafFor(key);
+        double[] values = (double[]) leaf.values;
+        int arrIdx = valueIndex(leaf, key);
+        double previous = size == sizeBefore ? values[arrIdx] : missingValue;
+        values[arrIdx] = value;
+        return previous;
+    }
+
+    @Override
+    public double get(int key) {
+        Node leaf = findLeaf(key);
+        int arrIdx = valueIndex(leaf, key);
+        return arrIdx < 0 ? missingValue : ((double[]) leaf.values)[arrIdx];
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return valueIndex(findLeaf(key), key) >= 0;
+    }
+
+    @Override
+    public double addTo(int key, double delta) {
+        int sizeBefore = size;
+        Node leaf = leafFor(key);
+        double[] values = (double[]) leaf.values;
+        int arrIdx = valueIndex(leaf, key);
+        double previous = size == sizeBefore ? values[arrIdx] : missingValue;
+        values[arrIdx] = previous + delta;
+        return previous;
+    }
+
+    @Override
+    public double remove(int key) {
+        Node leaf = findLeaf(key);
+        int arrIdx = valueIndex(leaf, key);
+        if (arrIdx < 0) {
+            return missingValue;
+        }
+        double previous = ((double[]) leaf.values)[arrIdx];
+        removeKey(key);
+        return previous;
+    }
+
+    /**
+     * Returns a new trie with the mappings of this trie and the given key
+     * associated with the value. This trie is not modified: only the nodes in
+     * the path to the key are copied, and the rest are shared by both tries.
+     *
+     * <p>
+     * Shared nodes must not be modified, so the returned trie, and this trie,
+     * can only be modified with persistent operations.
+     *
+     * @param key
+     *            key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified key
+     * @return a trie with the new mapping
+     */
+    DoubleRadixTrie assoc(int key, double value) {
+        DoubleRadixTrie copy = (DoubleRadixTrie) copyPath(key);
+        copy.put(key, value);
+        return copy;
+    }
+
+    /**
+     * Returns a new trie with the mappings of this trie without the given key.
+     * This trie is not modified, and nodes not in the path to the key are
+     * shared by both tries.
+     *
+     * @param key
+     *            key whose mapping is to be removed
+     * @return a trie without the key, or this trie if it does not contain the
+     *         key
+     */
+    DoubleRadixTrie dissoc(int key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        DoubleRadixTrie copy = (DoubleRadixTrie) copyPath(key);
+        copy.remove(key);
+        return copy;
+    }
+
+    @Override
+    public void forEach(IntDoubleConsumer action) {
+        requireNonNull(action);
+        anyLeaf(leaf -> {
+            double[] values = (double[]) leaf.values;
+            int prefixBits = leaf.getPrefixBits();
+            int arrIdx = 0;
+            for (int bits = leaf.bitmap; bits != 0; bits &= bits - 1) {
+                action.accept(prefixBits + Integer.numberOfTrailingZeros(bits), values[arrIdx++]);
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public boolean containsValue(double value) {
+        return anyLeaf(leaf -> {
+            for (double v : (double[]) leaf.values) {
+                if (Double.compare(v, value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntKeyDoubleMap)) {
+            return false;
+        }
+        IntKeyDoubleMap m = (IntKeyDoubleMap) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        boolean[] equals = { true };
+        forEach((key, value) -> {
+            if (equals[0] && !(m.containsKey(key) && Double.compare(value, m.get(key)) == 0)) {
+                equals[0] = false;
+            }
+        });
+        return equals[0];
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((key, value) -> hash[0] += key ^ Double.hashCode(value));
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+}
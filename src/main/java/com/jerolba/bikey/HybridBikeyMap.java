@@ -0,0 +1,111 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * Implementation of {@link BikeyMap} with the structure of
+ * {@link TableBikeyMap} that chooses the inner map of each row by its fill
+ * rate: the number of values in the row compared with the number of columns
+ * of the map that contain any value.
+ *
+ * <p>
+ * Rows start as a {@link RadixTrie}, and are converted to an
+ * {@link IntArrayMap}, as in {@link MatrixBikeyMap}, when their fill rate
+ * reaches the dense threshold. They return to a {@link RadixTrie} when it
+ * falls below the sparse threshold. The gap between both thresholds avoids
+ * converting a row back and forth when it is close to one of them.
+ *
+ * <p>
+ * The fill rate is checked only when a row is modified, so rows that are not
+ * modified keep their representation while the number of columns grows.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ * @param <V>
+ *            the type of mapped values
+ */
+public class HybridBikeyMap<R, C, V> extends TableBikeyMap<R, C, V> {
+
+    private static final float DEFAULT_DENSE_THRESHOLD = 0.6f;
+    private static final float DEFAULT_SPARSE_THRESHOLD = 0.3f;
+
+    private final float denseThreshold;
+    private final float sparseThreshold;
+
+    /**
+     * Constructs a new {@code HybridBikeyMap} that converts rows to arrays with
+     * a fill rate of 60%, and back to tries below 30%.
+     */
+    public HybridBikeyMap() {
+        this(DEFAULT_DENSE_THRESHOLD, DEFAULT_SPARSE_THRESHOLD);
+    }
+
+    /**
+     * Constructs a new {@code HybridBikeyMap} with the given thresholds.
+     *
+     * @param denseThreshold
+     *            fill rate from which a row is stored in an array
+     * @param sparseThreshold
+     *            fill rate under which a row stored in an array returns to a
+     *            trie
+     * @throws IllegalArgumentException
+     *             if thresholds are not in the (0, 1] range or the sparse
+     *             threshold is not lower than the dense threshold
+     */
+    public HybridBikeyMap(float denseThreshold, float sparseThreshold) {
+        super(RadixTrie::new);
+        if (!(denseThreshold > 0 && denseThreshold <= 1)) {
+            throw new IllegalArgumentException("Illegal dense threshold: " + denseThreshold);
+        }
+        if (!(sparseThreshold > 0 && sparseThreshold < denseThreshold)) {
+            throw new IllegalArgumentException("Illegal sparse threshold: " + sparseThreshold);
+        }
+        this.denseThreshold = denseThreshold;
+        this.sparseThreshold = sparseThreshold;
+    }
+
+    /**
+     * Constructs a new {@code HybridBikeyMap} with the same mappings as the
+     * specified {@code BikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public HybridBikeyMap(BikeyMap<R, C, V> m) {
+        this();
+        putAll(m);
+    }
+
+    @Override
+    IntKeyMap<V> resizedRow(IntKeyMap<V> rowMap) {
+        // live columns, without the positions released by removed columns
+        int columns = columnKeySet().size();
+        int rowSize = rowMap.size();
+        if (rowMap instanceof IntArrayMap) {
+            if (rowSize < sparseThreshold * columns) {
+                return new RadixTrie<>(rowMap);
+            }
+        } else if (rowSize >= denseThreshold * columns) {
+            return new IntArrayMap<>(rowMap);
+        }
+        return rowMap;
+    }
+
+}
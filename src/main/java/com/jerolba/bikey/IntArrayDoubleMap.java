@@ -0,0 +1,165 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a <tt>Map<Integer, Double></tt> over a <tt>double[]</tt>
+ * array, where the keys values are límited to [0, maxSize) range. Presence of
+ * each key is tracked with a bitmap by {@link PrimitiveArrayMap}.
+ *
+ * <p>
+ * references to negative keys can raise an
+ * {@link ArrayIndexOutOfBoundsException}
+ */
+class IntArrayDoubleMap extends PrimitiveArrayMap implements IntKeyDoubleMap {
+
+    private final double missingValue;
+    private double[] array;
+
+    IntArrayDoubleMap(double missingValue) {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    IntArrayDoubleMap(int minCapacity, double missingValue) {
+        super(minCapacity);
+        this.missingValue = missingValue;
+        this.array = new double[minCapacity];
+    }
+
+    @Override
+    int capacity() {
+        return array.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    @Override
+    public double getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public double put(int key, double value) {
+        if (insert(key)) {
+            array[key] = value;
+            return missingValue;
+        }
+        double previous = array[key];
+        array[key] = value;
+        return previous;
+    }
+
+    @Override
+    public double get(int key) {
+        return containsKey(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public double addTo(int key, double delta) {
+        if (insert(key)) {
+            array[key] = missingValue + delta;
+            return missingValue;
+        }
+        double previous = array[key];
+        array[key] = previous + delta;
+        return previous;
+    }
+
+    @Override
+    public double remove(int key) {
+        return unmark(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public void forEach(IntDoubleConsumer action) {
+        requireNonNull(action);
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            action.accept(key, array[key]);
+        }
+    }
+
+    @Override
+    public boolean containsValue(double value) {
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (Double.compare(array[key], value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of this <tt>IntArrayDoubleMap</tt> instance.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        IntArrayDoubleMap newMap = (IntArrayDoubleMap) super.clone();
+        newMap.array = array.clone();
+        return newMap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntKeyDoubleMap)) {
+            return false;
+        }
+        IntKeyDoubleMap m = (IntKeyDoubleMap) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (!(m.containsKey(key) && Double.compare(array[key], m.get(key)) == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            hash += key ^ Double.hashCode(array[key]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+}
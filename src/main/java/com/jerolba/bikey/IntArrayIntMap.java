@@ -0,0 +1,165 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a <tt>Map<Integer, Integer></tt> over a <tt>int[]</tt>
+ * array, where the keys values are límited to [0, maxSize) range. Presence of
+ * each key is tracked with a bitmap by {@link PrimitiveArrayMap}.
+ *
+ * <p>
+ * references to negative keys can raise an
+ * {@link ArrayIndexOutOfBoundsException}
+ */
+class IntArrayIntMap extends PrimitiveArrayMap implements IntKeyIntMap {
+
+    private final int missingValue;
+    private int[] array;
+
+    IntArrayIntMap(int missingValue) {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    IntArrayIntMap(int minCapacity, int missingValue) {
+        super(minCapacity);
+        this.missingValue = missingValue;
+        this.array = new int[minCapacity];
+    }
+
+    @Override
+    int capacity() {
+        return array.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    @Override
+    public int getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public int put(int key, int value) {
+        if (insert(key)) {
+            array[key] = value;
+            return missingValue;
+        }
+        int previous = array[key];
+        array[key] = value;
+        return previous;
+    }
+
+    @Override
+    public int get(int key) {
+        return containsKey(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public int addTo(int key, int delta) {
+        if (insert(key)) {
+            array[key] = missingValue + delta;
+            return missingValue;
+        }
+        int previous = array[key];
+        array[key] = previous + delta;
+        return previous;
+    }
+
+    @Override
+    public int remove(int key) {
+        return unmark(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public void forEach(IntIntConsumer action) {
+        requireNonNull(action);
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            action.accept(key, array[key]);
+        }
+    }
+
+    @Override
+    public boolean containsValue(int value) {
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (Integer.compare(array[key], value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of this <tt>IntArrayIntMap</tt> instance.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        IntArrayIntMap newMap = (IntArrayIntMap) super.clone();
+        newMap.array = array.clone();
+        return newMap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntKeyIntMap)) {
+            return false;
+        }
+        IntKeyIntMap m = (IntKeyIntMap) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (!(m.containsKey(key) && Integer.compare(array[key], m.get(key)) == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            hash += key ^ Integer.hashCode(array[key]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a <tt>Map<Integer, Long></tt> over a <tt>long[]</tt>
+ * array, where the keys values are límited to [0, maxSize) range. Presence of
+ * each key is tracked with a bitmap by {@link PrimitiveArrayMap}.
+ *
+ * <p>
+ * references to negative keys can raise an
+ * {@link ArrayIndexOutOfBoundsException}
+ */
+class IntArrayLongMap extends PrimitiveArrayMap implements IntKeyLongMap {
+
+    private final long missingValue;
+    private long[] array;
+
+    IntArrayLongMap(long missingValue) {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    IntArrayLongMap(int minCapacity, long missingValue) {
+        super(minCapacity);
+        this.missingValue = missingValue;
+        this.array = new long[minCapacity];
+    }
+
+    @Override
+    int capacity() {
+        return array.length;
+    }
+
+    @Override
+    void resize(int capacity) {
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    @Override
+    public long getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public long put(int key, long value) {
+        if (insert(key)) {
+            array[key] = value;
+            return missingValue;
+        }
+        long previous = array[key];
+        array[key] = value;
+        return previous;
+    }
+
+    @Override
+    public long get(int key) {
+        return containsKey(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public long addTo(int key, long delta) {
+        if (insert(key)) {
+            array[key] = missingValue + delta;
+            return missingValue;
+        }
+        long previous = array[key];
+        array[key] = previous + delta;
+        return previous;
+    }
+
+    @Override
+    public long remove(int key) {
+        return unmark(key) ? array[key] : missingValue;
+    }
+
+    @Override
+    public void forEach(IntLongConsumer action) {
+        requireNonNull(action);
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            action.accept(key, array[key]);
+        }
+    }
+
+    @Override
+    public boolean containsValue(long value) {
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (Long.compare(array[key], value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of this <tt>IntArrayLongMap</tt> instance.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        IntArrayLongMap newMap = (IntArrayLongMap) super.clone();
+        newMap.array = array.clone();
+        return newMap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntKeyLongMap)) {
+            return false;
+        }
+        IntKeyLongMap m = (IntKeyLongMap) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            if (!(m.containsKey(key) && Long.compare(array[key], m.get(key)) == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+            hash += key ^ Long.hashCode(array[key]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+}
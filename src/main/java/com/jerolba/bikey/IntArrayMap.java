@@ -16,7 +16,9 @@
 package com.jerolba.bikey;
 
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntConsumer;
 
 /**
@@ -93,6 +95,11 @@ class IntArrayMap<V> implements IntKeyMap<V>, Cloneable {
         return new EntryIterator();
     }
 
+    @Override
+    public IntObjectCursor<V> cursor() {
+        return new ArrayCursor();
+    }
+
     @Override
     public V put(int key, V value) {
         Objects.requireNonNull(value);
@@ -150,6 +157,52 @@ class IntArrayMap<V> implements IntKeyMap<V>, Cloneable {
         return (V) previous;
     }
 
+    /**
+     * Computes the new value of a key with its current value, or null if
+     * absent, accessing its position in the array once. If the new value is
+     * null the mapping is removed.
+     */
+    private V update(int key, Function<? super V, ? extends V> remapping) {
+        V oldValue = get(key);
+        V newValue = remapping.apply(oldValue);
+        if (newValue != null) {
+            if (oldValue == null) {
+                put(key, newValue);
+            } else {
+                array[key] = newValue;
+            }
+        } else if (oldValue != null) {
+            array[key] = null;
+            size--;
+        }
+        return newValue;
+    }
+
+    @Override
+    public V computeIfAbsent(int key, Function<Integer, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        return update(key, oldValue -> oldValue == null ? mappingFunction.apply(key) : oldValue);
+    }
+
+    @Override
+    public V computeIfPresent(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        return update(key, oldValue -> oldValue == null ? null : remappingFunction.apply(key, oldValue));
+    }
+
+    @Override
+    public V compute(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        return update(key, oldValue -> remappingFunction.apply(key, oldValue));
+    }
+
+    @Override
+    public V merge(int key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Objects.requireNonNull(value);
+        return update(key, oldValue -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
     @Override
     public int size() {
         return size;
@@ -172,6 +225,17 @@ class IntArrayMap<V> implements IntKeyMap<V>, Cloneable {
         }
     }
 
+    @Override
+    public void replaceAll(IntObjectFunction<? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        for (int i = 0; i <= maxIndex; i++) {
+            Object v = array[i];
+            if (v != null) {
+                array[i] = Objects.requireNonNull(function.apply(i, (V) v));
+            }
+        }
+    }
+
     @Override
     public void forEachKey(IntConsumer action) {
         Objects.requireNonNull(action);
@@ -402,6 +466,51 @@ class IntArrayMap<V> implements IntKeyMap<V>, Cloneable {
 
     }
 
+    private final class ArrayCursor implements IntObjectCursor<V> {
+
+        private int current = -1;
+        private boolean positioned = false;
+
+        @Override
+        public boolean next() {
+            int i = current + 1;
+            while (i <= maxIndex && array[i] == null) {
+                i++;
+            }
+            current = i;
+            positioned = i <= maxIndex;
+            return positioned;
+        }
+
+        @Override
+        public int key() {
+            checkPositioned();
+            return current;
+        }
+
+        @Override
+        public V value() {
+            checkPositioned();
+            return (V) array[current];
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value);
+            checkPositioned();
+            Object previous = array[current];
+            array[current] = value;
+            return (V) previous;
+        }
+
+        private void checkPositioned() {
+            if (!positioned) {
+                throw new IllegalStateException();
+            }
+        }
+
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == this) {
@@ -0,0 +1,255 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An object that maps a pair of keys, row and column, to a primitive int
+ * value, without boxing it.
+ *
+ * <p>
+ * Because a primitive can not be <tt>null</tt>, methods which return a value
+ * return the <em>missing value</em> of the map, defined on its construction,
+ * if there is no mapping for the pair of keys.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public interface IntBikeyMap<R, C> {
+
+    /**
+     * Returns the value returned by this map when there is no mapping for a
+     * bikey.
+     *
+     * @return the missing value of this map
+     */
+    int getMissingValue();
+
+    /**
+     * Associates the specified value with the specified row and column in this
+     * map. If the map previously contained a mapping for the pair of keys, the
+     * old value is replaced by the specified value.
+     *
+     * @param row
+     *            row key with which the specified value is to be associated
+     * @param column
+     *            column key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified row and column
+     * @return the previous value associated with the row and column, or the
+     *         missing value if there was no mapping
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    int put(R row, C column, int value);
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     *
+     * @param m
+     *            mappings to be stored in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    default void putAll(IntBikeyMap<? extends R, ? extends C> m) {
+        m.forEach(this::put);
+    }
+
+    /**
+     * Returns the value to which the specified row and column is mapped, or the
+     * missing value if this map contains no mapping for the pair of keys.
+     *
+     * @param row
+     *            the row key whose associated value is to be returned
+     * @param column
+     *            the column key whose associated value is to be returned
+     * @return the value associated to the row and column, or the missing value
+     *         if there is no mapping
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    int getInt(R row, C column);
+
+    /**
+     * Returns the value to which the specified row and column is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the pair of
+     * keys.
+     *
+     * @param row
+     *            the row key whose associated value is to be returned
+     * @param column
+     *            the column key whose associated value is to be returned
+     * @param defaultValue
+     *            the default mapping of the pair of keys
+     * @return the value associated to the row and column, or
+     *         {@code defaultValue} if there is no mapping
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    default int getOrDefault(R row, C column, int defaultValue) {
+        return containsKey(row, column) ? getInt(row, column) : defaultValue;
+    }
+
+    /**
+     * Removes the mapping for a row and column from this map if it is present.
+     *
+     * @param row
+     *            the row key of the mapping to remove
+     * @param column
+     *            the column key of the mapping to remove
+     * @return the previous value associated with the row and column, or the
+     *         missing value if there was no mapping
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    int removeInt(R row, C column);
+
+    /**
+     * Adds an increment to the value associated with a row and column. If there
+     * is no mapping, the pair of keys is associated with the missing value plus
+     * the increment.
+     *
+     * @param row
+     *            the row key whose value is incremented
+     * @param column
+     *            the column key whose value is incremented
+     * @param delta
+     *            the increment
+     * @return the previous value associated with the row and column, or the
+     *         missing value if there was no mapping
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    int addTo(R row, C column, int delta);
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the specified
+     * row and column.
+     *
+     * @param row
+     *            row key whose presence in this map is to be tested
+     * @param column
+     *            column key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the pair of keys
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    boolean containsKey(R row, C column);
+
+    /**
+     * Returns <tt>true</tt> if this map contains one or more bikeys with the
+     * specified row.
+     *
+     * @param row
+     *            row whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a bikey with the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    boolean containsRow(Object row);
+
+    /**
+     * Returns <tt>true</tt> if this map contains one or more bikeys with the
+     * specified column.
+     *
+     * @param column
+     *            column whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a bikey with the column
+     * @throws NullPointerException
+     *             if the specified column is null
+     */
+    boolean containsColumn(Object column);
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more bikeys to the
+     * specified value. This operation require time linear in the map size.
+     *
+     * @param value
+     *            value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more bikeys to the
+     *         specified value
+     */
+    boolean containsValue(int value);
+
+    /**
+     * Returns the number of bikey-value mappings in this map.
+     *
+     * @return the number of bikey-value mappings in this map
+     */
+    int size();
+
+    /**
+     * Returns <tt>true</tt> if this map contains no bikey-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no bikey-value mappings
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map. The map will be empty after
+     * this call returns.
+     */
+    void clear();
+
+    /**
+     * Returns a {@link Set} view of the rows contained in this map.
+     *
+     * @return a set view of the rows contained in this map
+     */
+    Set<R> rowKeySet();
+
+    /**
+     * Returns a {@link Set} view of the columns contained in this map.
+     *
+     * @return a set view of the columns contained in this map
+     */
+    Set<C> columnKeySet();
+
+    /**
+     * Returns a {@link BikeySet} with all bikeys contained in this map.
+     *
+     * @return a set with the bikeys contained in this map
+     */
+    BikeySet<R, C> bikeySet();
+
+    /**
+     * Performs the given action for each bikey of the map.
+     *
+     * @param action
+     *            The action to be performed for each row and column
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEachBikey(BiConsumer<? super R, ? super C> action);
+
+    /**
+     * Performs the given action for each row, column and value of the map,
+     * without boxing the value.
+     *
+     * @param action
+     *            The action to be performed for each row, column and value
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEach(BikeyIntConsumer<? super R, ? super C> action);
+
+}
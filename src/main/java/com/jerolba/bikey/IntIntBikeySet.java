@@ -0,0 +1,248 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Set of pairs of primitive int keys, row and column, for dense int
+ * identifiers. Has the same behaviour than a
+ * {@code BikeySet<Integer, Integer>}, but without boxing rows or
+ * columns.
+ *
+ * <p>
+ * Rows are stored in a {@link RadixTrie} and each row keeps its columns in a
+ * {@link BitSet}, using the column value as the bit index, so no column
+ * dictionary is needed. Because of that columns can not be negative.
+ */
+public class IntIntBikeySet implements Cloneable {
+
+    private RadixTrie<BitSet> rows;
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty set
+     */
+    public IntIntBikeySet() {
+        this.rows = new RadixTrie<>();
+    }
+
+    /**
+     * Constructs a new set containing the elements in the specified set.
+     *
+     * @param set
+     *            the set whose elements are to be placed into this set
+     * @throws NullPointerException
+     *             if the specified set is null
+     */
+    public IntIntBikeySet(IntIntBikeySet set) {
+        this();
+        set.forEach(this::add);
+    }
+
+    /**
+     * Adds the specified row and column to this set if it is not already
+     * present.
+     *
+     * @param row
+     *            row of the element to be added to this set
+     * @param column
+     *            column of the element to be added to this set
+     * @return <tt>true</tt> if this set did not already contain the element
+     * @throws IndexOutOfBoundsException
+     *             if the specified column is negative
+     */
+    public boolean add(int row, int column) {
+        checkColumn(column);
+        BitSet bitSet = rows.get(row);
+        if (bitSet == null) {
+            bitSet = new BitSet();
+            rows.put(row, bitSet);
+        }
+        if (!bitSet.get(column)) {
+            bitSet.set(column);
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the specified row and column from this set if it is present.
+     *
+     * @param row
+     *            row of the element to be removed from this set
+     * @param column
+     *            column of the element to be removed from this set
+     * @return <tt>true</tt> if this set contained the element
+     */
+    public boolean remove(int row, int column) {
+        if (column < 0) {
+            return false;
+        }
+        BitSet bitSet = rows.get(row);
+        if (bitSet != null && bitSet.get(column)) {
+            bitSet.clear(column);
+            size--;
+            if (bitSet.isEmpty()) {
+                rows.remove(row);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains the specified row and column.
+     *
+     * @param row
+     *            row of the element whose presence is to be tested
+     * @param column
+     *            column of the element whose presence is to be tested
+     * @return <tt>true</tt> if this set contains the element
+     */
+    public boolean contains(int row, int column) {
+        if (column < 0) {
+            return false;
+        }
+        BitSet bitSet = rows.get(row);
+        return bitSet != null && bitSet.get(column);
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains one or more elements with the
+     * specified row.
+     *
+     * @param row
+     *            row whose presence in this set is to be tested
+     * @return <tt>true</tt> if this set contains an element with the row
+     */
+    public boolean containsRow(int row) {
+        return rows.containsKey(row);
+    }
+
+    /**
+     * Returns a {@link Set} view of the rows contained in this set.
+     *
+     * @return a set view of the rows contained in this set
+     */
+    public Set<Integer> rowKeySet() {
+        return rows.keySet();
+    }
+
+    /**
+     * Performs the given action for each row and column of the set, without
+     * boxing them.
+     *
+     * @param action
+     *            The action to be performed for each element
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    public void forEach(IntIntConsumer action) {
+        requireNonNull(action);
+        rows.forEach((row, bitSet) -> {
+            for (int column = bitSet.nextSetBit(0); column >= 0; column = bitSet.nextSetBit(column + 1)) {
+                action.accept(row, column);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains no elements.
+     *
+     * @return <tt>true</tt> if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this set.
+     */
+    public void clear() {
+        rows.clear();
+        size = 0;
+    }
+
+    private static void checkColumn(int column) {
+        if (column < 0) {
+            throw new IndexOutOfBoundsException("Column can not be negative: " + column);
+        }
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>IntIntBikeySet</tt> instance.
+     *
+     * @return a copy of this set
+     */
+    @Override
+    public Object clone() {
+        try {
+            IntIntBikeySet newSet = (IntIntBikeySet) super.clone();
+            newSet.rows = new RadixTrie<>();
+            this.rows.forEach((row, bitSet) -> newSet.rows.put(row, (BitSet) bitSet.clone()));
+            return newSet;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntIntBikeySet)) {
+            return false;
+        }
+        IntIntBikeySet set = (IntIntBikeySet) o;
+        return set.size == size && rows.equals(set.rows);
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((r, c) -> hash[0] += 31 * r + c);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        forEach((r, c) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append('[').append(r).append(',').append(' ').append(c).append(']');
+        });
+        return sb.append(']').toString();
+    }
+
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An object that maps a pair of primitive int keys, row and column, to values.
+ * A map cannot contain duplicate pairs of keys; each pair can map to at most
+ * one value.
+ *
+ * <p>
+ * Has the same behaviour than a {@code BikeyMap<Integer, Integer, V>},
+ * but without boxing rows or columns.
+ *
+ * @param <V>
+ *            the type of mapped values
+ */
+public interface IntIntKeyMap<V> {
+
+    /**
+     * Associates the specified value with the specified row and column in this
+     * map. If the map previously contained a mapping for the pair of keys, the
+     * old value is replaced by the specified value.
+     *
+     * @param row
+     *            row key with which the specified value is to be associated
+     * @param column
+     *            column key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified row and column
+     * @return the previous value associated with the row and column, or
+     *         <tt>null</tt> if there was no mapping
+     * @throws NullPointerException
+     *             if the specified value is null
+     */
+    V put(int row, int column, V value);
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     *
+     * @param m
+     *            mappings to be stored in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    default void putAll(IntIntKeyMap<? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    /**
+     * Returns the value to which the specified row and column is mapped, or
+     * {@code null} if this map contains no mapping for the pair of keys.
+     *
+     * @param row
+     *            the row key whose associated value is to be returned
+     * @param column
+     *            the column key whose associated value is to be returned
+     * @return the value to which the row and column is mapped, or {@code null}
+     *         if this map contains no mapping for them
+     */
+    V get(int row, int column);
+
+    /**
+     * Returns the value to which the specified row and column is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the pair of
+     * keys.
+     *
+     * @param row
+     *            the row key whose associated value is to be returned
+     * @param column
+     *            the column key whose associated value is to be returned
+     * @param defaultValue
+     *            the default mapping of the pair of keys
+     * @return the value to which the row and column is mapped, or
+     *         {@code defaultValue} if this map contains no mapping for them
+     */
+    default V getOrDefault(int row, int column, V defaultValue) {
+        V v = get(row, column);
+        return v != null ? v : defaultValue;
+    }
+
+    /**
+     * If the specified row and column is not already associated with a value
+     * associates it with the given value and returns {@code null}, else returns
+     * the current value.
+     *
+     * @param row
+     *            row key with which the specified value is to be associated
+     * @param column
+     *            column key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified row and column
+     * @return the previous value associated with the row and column, or
+     *         {@code null} if there was no mapping
+     * @throws NullPointerException
+     *             if the specified value is null
+     */
+    default V putIfAbsent(int row, int column, V value) {
+        Objects.requireNonNull(value);
+        V v = get(row, column);
+        if (v == null) {
+            v = put(row, column, value);
+        }
+        return v;
+    }
+
+    /**
+     * Removes the mapping for a row and column from this map if it is present.
+     *
+     * @param row
+     *            the row key of the mapping to remove
+     * @param column
+     *            the column key of the mapping to remove
+     * @return the previous value associated with the row and column, or
+     *         <tt>null</tt> if there was no mapping
+     */
+    V remove(int row, int column);
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the specified
+     * row and column.
+     *
+     * @param row
+     *            row key whose presence in this map is to be tested
+     * @param column
+     *            column key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the pair of keys
+     */
+    default boolean containsKey(int row, int column) {
+        return get(row, column) != null;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains one or more mappings with the
+     * specified row.
+     *
+     * @param row
+     *            row whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping with the row
+     */
+    boolean containsRow(int row);
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more pairs of keys to the
+     * specified value. This operation require time linear in the map size.
+     *
+     * @param value
+     *            value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more pairs of keys to the
+     *         specified value
+     * @throws NullPointerException
+     *             if the specified value is null
+     */
+    boolean containsValue(Object value);
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return the number of mappings in this map
+     */
+    int size();
+
+    /**
+     * Returns <tt>true</tt> if this map contains no mappings.
+     *
+     * @return <tt>true</tt> if this map contains no mappings
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map. The map will be empty after
+     * this call returns.
+     */
+    void clear();
+
+    /**
+     * Returns a {@link Set} view of the rows contained in this map.
+     *
+     * @return a set view of the rows contained in this map
+     */
+    Set<Integer> rowKeySet();
+
+    /**
+     * Performs the given action for each row, column and value of the map,
+     * without boxing rows and columns.
+     *
+     * @param action
+     *            The action to be performed for each row, column and value
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEach(IntIntObjectConsumer<? super V> action);
+
+    /**
+     * Performs the given action for each pair of row and column of the map,
+     * without boxing them.
+     *
+     * @param action
+     *            The action to be performed for each row and column
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEachKey(IntIntConsumer action);
+
+}
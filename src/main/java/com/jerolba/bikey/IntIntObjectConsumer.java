@@ -0,0 +1,45 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * Represents an operation that accepts a primitive int row, a primitive int
+ * column and a value, and returns no result. This is the specialization of
+ * {@link TriConsumer} for primitive int rows and columns.
+ *
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #accept(int, int, Object)}.
+ *
+ * @param <V>
+ *            the type of the value argument to the operation
+ */
+@FunctionalInterface
+public interface IntIntObjectConsumer<V> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param row
+     *            the row argument
+     * @param column
+     *            the column argument
+     * @param value
+     *            the value argument
+     */
+    void accept(int row, int column, V value);
+
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.function.IntConsumer;
+
+/**
+ * An object that maps int keys to primitive long values. A map cannot contain
+ * duplicate keys; each key can map to at most one value.
+ *
+ * <p>
+ * Has the same behaviour than a {@code Map<Integer, Long>}, but without boxing
+ * keys or values. Because a primitive can not be <tt>null</tt>, methods which
+ * return a value return the <em>missing value</em> of the map, defined on its
+ * construction, if there is no mapping for the key. Any value, including the
+ * missing value, can be stored in the map.
+ */
+public interface IntKeyLongMap {
+
+    /**
+     * Returns the value returned by this map when there is no mapping for a
+     * key.
+     *
+     * @return the missing value of this map
+     */
+    long getMissingValue();
+
+    /**
+     * Associates the specified value with the specified key in this map. If
+     * the map previously contained a mapping for the key, the old value is
+     * replaced by the specified value.
+     *
+     * @param key
+     *            key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified key
+     * @return the previous value associated with <tt>key</tt>, or the missing
+     *         value if there was no mapping for <tt>key</tt>.
+     */
+    long put(int key, long value);
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     *
+     * @param m
+     *            mappings to be stored in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    default void putAll(IntKeyLongMap m) {
+        m.forEach(this::put);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the missing
+     * value if this map contains no mapping for the key.
+     *
+     * @param key
+     *            the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or the missing
+     *         value if this map contains no mapping for the key
+     */
+    long get(int key);
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key
+     *            the key whose associated value is to be returned
+     * @param defaultValue
+     *            the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     *         {@code defaultValue} if this map contains no mapping for the key
+     */
+    default long getOrDefault(int key, long defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     *
+     * @param key
+     *            the key to remove
+     * @return the previous value associated with <tt>key</tt>, or the missing
+     *         value if there was no mapping for <tt>key</tt>.
+     */
+    long remove(int key);
+
+    /**
+     * Adds an increment to the value associated with a key. If there is no
+     * mapping for the key, the key is associated with the missing value plus
+     * the increment.
+     *
+     * @param key
+     *            the key whose value is incremented
+     * @param delta
+     *            the increment
+     * @return the previous value associated with <tt>key</tt>, or the missing
+     *         value if there was no mapping for <tt>key</tt>.
+     */
+    long addTo(int key, long delta);
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the specified
+     * key.
+     *
+     * @param key
+     *            key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains the specified key
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    int size();
+
+    /**
+     * Returns <tt>true</tt> if this map contains no key-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no key-value mappings
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    void clear();
+
+    /**
+     * Performs the given action for each key and value of this map, without
+     * boxing them.
+     *
+     * @param action
+     *            The action to be performed for each key and value
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEach(IntLongConsumer action);
+
+    /**
+     * Performs the given action for each key of this map.
+     *
+     * @param action
+     *            The action to be performed for each key
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    void forEachKey(IntConsumer action);
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the specified
+     * value. This operation require time linear in the map size.
+     *
+     * @param value
+     *            value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the specified
+     *         value
+     */
+    boolean containsValue(long value);
+
+}
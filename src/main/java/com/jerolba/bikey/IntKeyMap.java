@@ -207,6 +207,19 @@ public interface IntKeyMap<T> extends Iterable<IntObjectEntry<T>> {
         return StreamSupport.stream(spliterator(), false);
     }
 
+    /**
+     * Returns a cursor over the mappings of this map, that can replace values
+     * through to the map with {@link IntObjectCursor#setValue(Object)}.
+     *
+     * <p>
+     * The default implementation moves over the iterator of the map.
+     *
+     * @return a cursor positioned before the first mapping of this map
+     */
+    default IntObjectCursor<T> cursor() {
+        return new BikeyCursors.IntMapCursor<>(this);
+    }
+
     @Override
     default Spliterator<IntObjectEntry<T>> spliterator() {
         return Spliterators.spliterator(this.iterator(), this.size(), Spliterator.DISTINCT);
@@ -477,4 +490,27 @@ public interface IntKeyMap<T> extends Iterable<IntObjectEntry<T>> {
         return newValue;
     }
 
+    /**
+     * Replaces each value with the result of invoking the given function on
+     * its key and value until all mappings have been processed or the
+     * function throws an exception. Exceptions thrown by the function are
+     * relayed to the caller, and values already replaced are kept.
+     *
+     * <p>
+     * The default implementation replaces values with a {@link #cursor()}.
+     *
+     * @param function
+     *            the function to apply to each mapping
+     * @throws NullPointerException
+     *             if the specified function is null, or the function returns
+     *             a null value
+     */
+    default void replaceAll(IntObjectFunction<? super T, ? extends T> function) {
+        Objects.requireNonNull(function);
+        IntObjectCursor<T> cursor = cursor();
+        while (cursor.next()) {
+            cursor.setValue(function.apply(cursor.key(), cursor.value()));
+        }
+    }
+
 }
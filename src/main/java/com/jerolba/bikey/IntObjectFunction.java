@@ -0,0 +1,48 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.function.BiFunction;
+
+/**
+ * Represents a function that accepts two arguments and produces a result. This
+ * is the two-arity specialization of {@link BiFunction} but with the first
+ * parameter specialized to primitive int values.
+ *
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #apply(int, Object)}.
+ *
+ * @param <T>
+ *            the type of the second argument to the function
+ * @param <R>
+ *            the type of the result of the function
+ */
+@FunctionalInterface
+public interface IntObjectFunction<T, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param i
+     *            the first function argument
+     * @param t
+     *            the second function argument
+     * @return the function result
+     */
+    R apply(int i, T t);
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A set of non negative int values, used by {@link TableBikeySet} to store the
+ * column positions present in each row.
+ *
+ * Has the same behaviour than a {@code Set<Integer>}, but with int primitive
+ * values, and values are iterated in ascending order, like the bits of a
+ * {@link java.util.BitSet}.
+ */
+public interface IntSet extends Cloneable {
+
+    /**
+     * Adds the specified value to this set if it is not already present.
+     *
+     * @param value
+     *            value to be added to this set
+     * @return <tt>true</tt> if this set did not already contain the specified
+     *         value
+     * @throws IndexOutOfBoundsException
+     *             if the specified value is negative
+     */
+    boolean add(int value);
+
+    /**
+     * Returns <tt>true</tt> if this set contains the specified value.
+     *
+     * @param value
+     *            value whose presence in this set is to be tested
+     * @return <tt>true</tt> if this set contains the specified value
+     */
+    boolean contains(int value);
+
+    /**
+     * Removes the specified value from this set if it is present.
+     *
+     * @param value
+     *            value to be removed from this set, if present
+     * @return <tt>true</tt> if this set contained the specified value
+     */
+    boolean remove(int value);
+
+    /**
+     * Returns the first value of this set that is greater than or equal to the
+     * specified value, or -1 if there is no such value. To iterate over the
+     * values of the set use the following loop:
+     *
+     * <pre>
+     * {@code
+     * for (int i = set.next(0); i >= 0; i = set.next(i + 1)) {
+     *     // operate on value i here
+     * }}
+     * </pre>
+     *
+     * @param from
+     *            the value to start checking from (inclusive)
+     * @return the next value in the set, or -1 if there is no such value
+     * @throws IndexOutOfBoundsException
+     *             if the specified value is negative
+     */
+    int next(int from);
+
+    /**
+     * Returns the number of values in this set (its cardinality).
+     *
+     * @return the number of values in this set
+     */
+    int size();
+
+    /**
+     * Returns <tt>true</tt> if this set contains no values.
+     *
+     * @return <tt>true</tt> if this set contains no values
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the values from this set.
+     */
+    void clear();
+
+    /**
+     * Performs the given action for each value of the set, in ascending order,
+     * until all values have been processed or the action throws an exception.
+     *
+     * @param action
+     *            The action to be performed for each value
+     * @throws NullPointerException
+     *             if the specified action is null
+     */
+    default void forEach(IntConsumer action) {
+        requireNonNull(action);
+        for (int i = next(0); i >= 0; i = next(i + 1)) {
+            action.accept(i);
+        }
+    }
+
+    /**
+     * Adds all of the values in the specified set to this set.
+     *
+     * @param other
+     *            set containing values to be added to this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     */
+    default boolean addAll(IntSet other) {
+        boolean modified = false;
+        for (int i = other.next(0); i >= 0; i = other.next(i + 1)) {
+            modified |= add(i);
+        }
+        return modified;
+    }
+
+    /**
+     * Retains only the values in this set that are contained in the specified
+     * set.
+     *
+     * @param other
+     *            set containing values to be retained in this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     */
+    default boolean retainAll(IntSet other) {
+        boolean modified = false;
+        for (int i = next(0); i >= 0; i = next(i + 1)) {
+            if (!other.contains(i)) {
+                modified |= remove(i);
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Removes from this set all of its values that are contained in the
+     * specified set.
+     *
+     * @param other
+     *            set containing values to be removed from this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     */
+    default boolean removeAll(IntSet other) {
+        boolean modified = false;
+        for (int i = other.next(0); i >= 0; i = other.next(i + 1)) {
+            modified |= remove(i);
+        }
+        return modified;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains all of the values of the
+     * specified set.
+     *
+     * @param other
+     *            set to be checked for containment in this set
+     * @return <tt>true</tt> if this set contains all of the values of the
+     *         specified set
+     */
+    default boolean containsAll(IntSet other) {
+        for (int i = other.next(0); i >= 0; i = other.next(i + 1)) {
+            if (!contains(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of this set.
+     *
+     * @return a copy of this set
+     */
+    IntSet clone();
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Minimal stack of primitive <tt>int</tt> values, used to keep the free
+ * positions of the column dictionaries without boxing.
+ */
+class IntStack implements Cloneable {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] values;
+    private int size = 0;
+
+    IntStack() {
+        this.values = new int[DEFAULT_CAPACITY];
+    }
+
+    void push(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, IntArrayMap.growCapacity(values.length, size + 1));
+        }
+        values[size++] = value;
+    }
+
+    int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[--size];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+        values = new int[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public IntStack clone() {
+        IntStack newOne = new IntStack();
+        newOne.values = Arrays.copyOf(values, values.length);
+        newOne.size = size;
+        return newOne;
+    }
+
+}
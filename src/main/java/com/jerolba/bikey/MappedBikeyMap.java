@@ -0,0 +1,343 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import com.jerolba.bikey.TableBikeyMap.SimpleBikeyEntry;
+
+/**
+ * Read only {@link BikeyMap} backed by a memory mapped file.
+ *
+ * <p>
+ * A map is persisted with
+ * {@link #write(BikeyMap, Path, BikeyCodec, BikeyCodec, BikeyCodec)} and opened
+ * with {@link #open(Path, BikeyCodec, BikeyCodec, BikeyCodec)}. Opening a file
+ * only decodes rows and columns dictionaries: bikeys are looked up directly in
+ * the mapped file and values are decoded each time they are read. Mapped pages
+ * are loaded by the operating system on demand and shared between processes
+ * mapping the same file.
+ *
+ * <p>
+ * All methods that modify the map throw {@link UnsupportedOperationException}.
+ *
+ * @param <R>
+ *            the type of row keys maintained by this map
+ * @param <C>
+ *            the type of column keys maintained by this map
+ * @param <V>
+ *            the type of mapped values
+ */
+public class MappedBikeyMap<R, C, V> implements BikeyMap<R, C, V> {
+
+    private final MappedBikeyTable<R, C> table;
+    private final BikeyCodec<V> valueCodec;
+
+    private MappedBikeyMap(MappedBikeyTable<R, C> table, BikeyCodec<V> valueCodec) {
+        this.table = table;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Writes the content of a map to a file, to be opened as a
+     * <tt>MappedBikeyMap</tt>.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param <V>
+     *            the type of values
+     * @param map
+     *            map to write
+     * @param path
+     *            file where to write the map, replaced if exists
+     * @param rowCodec
+     *            codec used to write row keys
+     * @param columnCodec
+     *            codec used to write column keys
+     * @param valueCodec
+     *            codec used to write values
+     * @throws IOException
+     *             if an I/O error occurs writing the file
+     */
+    public static <R, C, V> void write(BikeyMap<R, C, V> map, Path path, BikeyCodec<? super R> rowCodec,
+            BikeyCodec<? super C> columnCodec, BikeyCodec<? super V> valueCodec) throws IOException {
+        requireNonNull(valueCodec);
+        MappedBikeyTable.Writer<R, C, V> writer = new MappedBikeyTable.Writer<>();
+        map.forEach(writer::add);
+        writer.write(path, MappedBikeyTable.MAP_MAGIC, rowCodec, columnCodec, valueCodec);
+    }
+
+    /**
+     * Opens a map written with
+     * {@link #write(BikeyMap, Path, BikeyCodec, BikeyCodec, BikeyCodec)}.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param <V>
+     *            the type of values
+     * @param path
+     *            file containing the map
+     * @param rowCodec
+     *            codec used to read row keys
+     * @param columnCodec
+     *            codec used to read column keys
+     * @param valueCodec
+     *            codec used to read values
+     * @return a read only map with the content of the file
+     * @throws IOException
+     *             if an I/O error occurs or the file is not a bikey map
+     */
+    public static <R, C, V> MappedBikeyMap<R, C, V> open(Path path, BikeyCodec<R> rowCodec,
+            BikeyCodec<C> columnCodec, BikeyCodec<V> valueCodec) throws IOException {
+        requireNonNull(valueCodec);
+        MappedBikeyTable<R, C> table = MappedBikeyTable.open(path, MappedBikeyTable.MAP_MAGIC, rowCodec,
+                columnCodec);
+        return new MappedBikeyMap<>(table, valueCodec);
+    }
+
+    @Override
+    public V put(R row, C column, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public V get(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        long entry = table.position(row, column);
+        return entry < 0 ? null : table.readValue(entry, valueCodec);
+    }
+
+    @Override
+    public boolean containsKey(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        return table.position(row, column) >= 0;
+    }
+
+    @Override
+    public V remove(R row, C column) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int size() {
+        return (int) table.entries();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<Bikey<R, C>> keySet() {
+        return bikeySet();
+    }
+
+    /**
+     * Returns a read only {@link BikeySet} view of the bikeys contained in this
+     * map, backed by the same mapped file.
+     *
+     * @return a bikey set view of the bikeys contained in this map
+     */
+    @Override
+    public BikeySet<R, C> bikeySet() {
+        return new MappedBikeySet<>(table);
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return table.rowKeySet();
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return table.columnKeySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<BikeyEntry<R, C, V>> it = MappedBikeyMap.this.iterator();
+                return new Iterator<V>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return it.next().getValue();
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return MappedBikeyMap.this.size();
+            }
+
+        };
+    }
+
+    @Override
+    public Set<BikeyEntry<R, C, V>> entrySet() {
+        return new AbstractSet<BikeyEntry<R, C, V>>() {
+
+            @Override
+            public Iterator<BikeyEntry<R, C, V>> iterator() {
+                return MappedBikeyMap.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return MappedBikeyMap.this.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                requireNonNull(o, "Value can not be null");
+                BikeyEntry<R, C, V> key = (BikeyEntry<R, C, V>) o;
+                V value = get(key.getRow(), key.getColumn());
+                return (value != null && value.equals(key.getValue()));
+            }
+
+        };
+    }
+
+    @Override
+    public Iterator<BikeyEntry<R, C, V>> iterator() {
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        return new Iterator<BikeyEntry<R, C, V>>() {
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public BikeyEntry<R, C, V> next() {
+                cursor.next();
+                V value = table.readValue(cursor.entry(), valueCodec);
+                return new SimpleBikeyEntry<>(cursor.row(), cursor.column(), value);
+            }
+
+        };
+    }
+
+    @Override
+    public void forEachBikey(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+            action.accept(cursor.row(), cursor.column());
+        }
+    }
+
+    @Override
+    public void forEach(TriConsumer<? super R, ? super C, ? super V> action) {
+        requireNonNull(action);
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+            action.accept(cursor.row(), cursor.column(), table.readValue(cursor.entry(), valueCodec));
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        requireNonNull(value);
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+            if (value.equals(table.readValue(cursor.entry(), valueCodec))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsRow(Object row) {
+        return table.containsRow(row);
+    }
+
+    @Override
+    public boolean containsColumn(Object column) {
+        return table.containsColumn(column);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (BikeyEntry<R, C, V> entry : entrySet()) {
+            h += entry.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof BikeyMap)) {
+            return false;
+        }
+        BikeyMap<R, C, V> m = (BikeyMap<R, C, V>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            for (BikeyEntry<R, C, V> e : entrySet()) {
+                if (!e.getValue().equals(m.get(e.getRow(), e.getColumn()))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException unused) {
+            return false;
+        } catch (NullPointerException unused) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        forEach((r, c, v) -> sj.add("[" + r + ", " + c + "]=" + v));
+        return sj.toString();
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Read only {@link BikeySet} backed by a memory mapped file.
+ *
+ * <p>
+ * A set is persisted with {@link #write(BikeySet, Path, BikeyCodec, BikeyCodec)}
+ * and opened with {@link #open(Path, BikeyCodec, BikeyCodec)}. Opening a file
+ * only decodes rows and columns dictionaries: elements are looked up directly
+ * in the mapped file, whose pages are loaded by the operating system on demand
+ * and shared between processes mapping the same file.
+ *
+ * <p>
+ * All methods that modify the set throw {@link UnsupportedOperationException}.
+ *
+ * @param <R>
+ *            the type of row keys maintained by this set
+ * @param <C>
+ *            the type of column keys maintained by this set
+ */
+public class MappedBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements BikeySet<R, C> {
+
+    private final MappedBikeyTable<R, C> table;
+
+    MappedBikeySet(MappedBikeyTable<R, C> table) {
+        this.table = table;
+    }
+
+    /**
+     * Writes the content of a set to a file, to be opened as a
+     * <tt>MappedBikeySet</tt>.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param set
+     *            set to write
+     * @param path
+     *            file where to write the set, replaced if exists
+     * @param rowCodec
+     *            codec used to write row keys
+     * @param columnCodec
+     *            codec used to write column keys
+     * @throws IOException
+     *             if an I/O error occurs writing the file
+     */
+    public static <R, C> void write(BikeySet<R, C> set, Path path, BikeyCodec<? super R> rowCodec,
+            BikeyCodec<? super C> columnCodec) throws IOException {
+        MappedBikeyTable.Writer<R, C, Boolean> writer = new MappedBikeyTable.Writer<>();
+        set.forEach((r, c) -> writer.add(r, c, Boolean.TRUE));
+        writer.write(path, MappedBikeyTable.SET_MAGIC, rowCodec, columnCodec, null);
+    }
+
+    /**
+     * Opens a set written with
+     * {@link #write(BikeySet, Path, BikeyCodec, BikeyCodec)}.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param path
+     *            file containing the set
+     * @param rowCodec
+     *            codec used to read row keys
+     * @param columnCodec
+     *            codec used to read column keys
+     * @return a read only set with the content of the file
+     * @throws IOException
+     *             if an I/O error occurs or the file is not a bikey set
+     */
+    public static <R, C> MappedBikeySet<R, C> open(Path path, BikeyCodec<R> rowCodec, BikeyCodec<C> columnCodec)
+            throws IOException {
+        return new MappedBikeySet<>(MappedBikeyTable.open(path, MappedBikeyTable.SET_MAGIC, rowCodec, columnCodec));
+    }
+
+    @Override
+    public boolean add(R row, C column) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean add(Bikey<R, C> key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(R row, C column) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return table.rowKeySet();
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return table.columnKeySet();
+    }
+
+    @Override
+    public boolean contains(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        return table.position(row, column) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        requireNonNull(o, "Object can not be null");
+        Bikey<? extends R, ? extends C> key = (Bikey<? extends R, ? extends C>) o;
+        return contains(key.getRow(), key.getColumn());
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+            action.accept(cursor.row(), cursor.column());
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Bikey<R, C>> action) {
+        forEach((r, c) -> action.accept(new BikeyImpl<>(r, c)));
+    }
+
+    /**
+     * Returns an iterator over the elements in this set, ordered by their
+     * position in the file.
+     *
+     * @return an iterator over the pair of elements in this set
+     */
+    @Override
+    public Iterator<Bikey<R, C>> iterator() {
+        MappedBikeyTable<R, C>.Cursor cursor = table.cursor();
+        return new Iterator<Bikey<R, C>>() {
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public Bikey<R, C> next() {
+                cursor.next();
+                return new BikeyImpl<>(cursor.row(), cursor.column());
+            }
+
+        };
+    }
+
+    @Override
+    public int size() {
+        return (int) table.entries();
+    }
+
+}
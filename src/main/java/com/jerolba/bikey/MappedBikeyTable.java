@@ -0,0 +1,402 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads and writes the file format shared by {@link MappedBikeySet} and
+ * {@link MappedBikeyMap}. All numbers are big endian.
+ *
+ * <pre>
+ * Header (56 bytes)
+ *   int   magic: "BKYS" for sets, "BKYM" for maps
+ *   int   version
+ *   int   number of rows
+ *   int   number of columns
+ *   long  number of entries
+ *   long  dictionary section offset
+ *   long  index section offset
+ *   long  value section offset (0 in sets)
+ *   long  value index offset (0 in sets)
+ * Dictionary section
+ *   each row key, encoded with the row codec, in row position order
+ *   each column key, encoded with the column codec, in column position order
+ * Index section (8 bytes aligned)
+ *   long[rows + 1]  position of the first entry of each row, plus the total
+ *   int[entries]    column position of each entry, ascending inside each row
+ * Value section (8 bytes aligned, only in maps)
+ *   each value, encoded with the value codec, in entry order
+ * Value index (8 bytes aligned, only in maps)
+ *   long[entries + 1]  offset of each value from the value section start
+ * </pre>
+ *
+ * <p>
+ * When opened, dictionaries are decoded to the heap, and entries and values
+ * are read from the mapped file on demand: a lookup is a binary search on the
+ * columns of the row, and only found values are decoded.
+ */
+final class MappedBikeyTable<R, C> {
+
+    static final int SET_MAGIC = 0x424B5953;
+    static final int MAP_MAGIC = 0x424B594D;
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 56;
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long fileSize;
+    private final List<R> rows;
+    private final Map<R, Integer> rowIndex;
+    private final List<C> columns;
+    private final Map<C, Integer> columnIndex;
+    private final long entries;
+    private final long indexOffset;
+    private final long columnsOffset;
+    private final long valuesOffset;
+    private final long valueIndexOffset;
+
+    private MappedBikeyTable(Path path, int magic, BikeyCodec<R> rowCodec, BikeyCodec<C> columnCodec)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            this.fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Invalid bikey file: " + path);
+            }
+            this.segments = new MappedByteBuffer[(int) ((fileSize - 1) >>> SEGMENT_SHIFT) + 1];
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(MapMode.READ_ONLY, position, Math.min(1L << SEGMENT_SHIFT,
+                        fileSize - position));
+            }
+        }
+        if (getInt(0) != magic) {
+            throw new IOException("Invalid bikey file: " + path);
+        }
+        if (getInt(4) != VERSION) {
+            throw new IOException("Unsupported bikey file version: " + getInt(4));
+        }
+        int rowsCount = getInt(8);
+        int columnsCount = getInt(12);
+        this.entries = getLong(16);
+        this.indexOffset = getLong(32);
+        this.columnsOffset = indexOffset + 8L * (rowsCount + 1);
+        this.valuesOffset = getLong(40);
+        this.valueIndexOffset = getLong(48);
+        DataInput in = input(getLong(24));
+        this.rows = new ArrayList<>(rowsCount);
+        this.rowIndex = new HashMap<>();
+        for (int i = 0; i < rowsCount; i++) {
+            R row = rowCodec.read(in);
+            rows.add(row);
+            rowIndex.put(row, i);
+        }
+        this.columns = new ArrayList<>(columnsCount);
+        this.columnIndex = new HashMap<>();
+        for (int i = 0; i < columnsCount; i++) {
+            C column = columnCodec.read(in);
+            columns.add(column);
+            columnIndex.put(column, i);
+        }
+    }
+
+    static <R, C> MappedBikeyTable<R, C> open(Path path, int magic, BikeyCodec<R> rowCodec,
+            BikeyCodec<C> columnCodec) throws IOException {
+        return new MappedBikeyTable<>(path, magic, rowCodec, columnCodec);
+    }
+
+    long entries() {
+        return entries;
+    }
+
+    Set<R> rowKeySet() {
+        return Collections.unmodifiableSet(rowIndex.keySet());
+    }
+
+    Set<C> columnKeySet() {
+        return Collections.unmodifiableSet(columnIndex.keySet());
+    }
+
+    boolean containsRow(Object row) {
+        return rowIndex.containsKey(row);
+    }
+
+    boolean containsColumn(Object column) {
+        return columnIndex.containsKey(column);
+    }
+
+    /**
+     * Returns the entry position of a row and column, or -1 if it is not
+     * present.
+     */
+    long position(Object row, Object column) {
+        Integer rowIdx = rowIndex.get(row);
+        Integer columnIdx = columnIndex.get(column);
+        if (rowIdx == null || columnIdx == null) {
+            return -1;
+        }
+        long low = rowStart(rowIdx);
+        long high = rowStart(rowIdx + 1) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int midColumn = columnAt(mid);
+            if (midColumn < columnIdx) {
+                low = mid + 1;
+            } else if (midColumn > columnIdx) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    <V> V readValue(long entry, BikeyCodec<V> valueCodec) {
+        try {
+            return valueCodec.read(input(valuesOffset + getLong(valueIndexOffset + 8 * entry)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private long rowStart(int rowIdx) {
+        return getLong(indexOffset + 8L * rowIdx);
+    }
+
+    private int columnAt(long entry) {
+        return getInt(columnsOffset + 4 * entry);
+    }
+
+    private int getInt(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private DataInput input(long position) {
+        return new DataInputStream(new SegmentsInputStream(position));
+    }
+
+    /**
+     * Iterates over all entries of the file, in row and column position order.
+     */
+    final class Cursor {
+
+        private int rowIdx = 0;
+        private long entry = -1;
+        private long rowEnd = rows.isEmpty() ? 0 : rowStart(1);
+
+        boolean hasNext() {
+            return entry + 1 < entries;
+        }
+
+        void next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            entry++;
+            while (entry >= rowEnd) {
+                rowIdx++;
+                rowEnd = rowStart(rowIdx + 1);
+            }
+        }
+
+        R row() {
+            return rows.get(rowIdx);
+        }
+
+        C column() {
+            return columns.get(columnAt(entry));
+        }
+
+        long entry() {
+            return entry;
+        }
+
+    }
+
+    private final class SegmentsInputStream extends InputStream {
+
+        private long position;
+
+        SegmentsInputStream(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public int read() {
+            if (position >= fileSize) {
+                return -1;
+            }
+            int b = segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK)) & 0xFF;
+            position++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= fileSize) {
+                return -1;
+            }
+            ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+            segment.position((int) (position & SEGMENT_MASK));
+            int count = Math.min(len, segment.remaining());
+            segment.get(b, off, count);
+            position += count;
+            return count;
+        }
+
+    }
+
+    /**
+     * Collects the content of a collection grouping it by row and assigning
+     * positions to columns, and writes it with the file format.
+     */
+    static final class Writer<R, C, V> {
+
+        private final Map<R, RadixTrie<V>> rows = new LinkedHashMap<>();
+        private final List<C> columns = new ArrayList<>();
+        private final Map<C, Integer> columnIndex = new HashMap<>();
+        private long entries = 0;
+
+        void add(R row, C column, V value) {
+            Integer idx = columnIndex.get(column);
+            if (idx == null) {
+                idx = columns.size();
+                columns.add(column);
+                columnIndex.put(column, idx);
+            }
+            if (rows.computeIfAbsent(row, r -> new RadixTrie<>()).put(idx, value) == null) {
+                entries++;
+            }
+        }
+
+        void write(Path path, int magic, BikeyCodec<? super R> rowCodec, BikeyCodec<? super C> columnCodec,
+                BikeyCodec<? super V> valueCodec) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                CountingOutputStream counter = new CountingOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel)));
+                DataOutputStream out = new DataOutputStream(counter);
+                out.write(new byte[HEADER_SIZE]);
+
+                long dictionaryOffset = counter.count;
+                for (R row : rows.keySet()) {
+                    rowCodec.write(out, row);
+                }
+                for (C column : columns) {
+                    columnCodec.write(out, column);
+                }
+
+                long indexOffset = align(out, counter);
+                long start = 0;
+                out.writeLong(start);
+                for (RadixTrie<V> row : rows.values()) {
+                    start += row.size();
+                    out.writeLong(start);
+                }
+                for (RadixTrie<V> row : rows.values()) {
+                    for (IntObjectEntry<V> entry : row) {
+                        out.writeInt(entry.getIntKey());
+                    }
+                }
+
+                long valuesOffset = 0;
+                long valueIndexOffset = 0;
+                if (valueCodec != null) {
+                    valuesOffset = align(out, counter);
+                    long[] offsets = new long[(int) entries + 1];
+                    int i = 0;
+                    for (RadixTrie<V> row : rows.values()) {
+                        for (IntObjectEntry<V> entry : row) {
+                            offsets[i++] = counter.count - valuesOffset;
+                            valueCodec.write(out, entry.getValue());
+                        }
+                    }
+                    offsets[i] = counter.count - valuesOffset;
+                    valueIndexOffset = align(out, counter);
+                    for (long offset : offsets) {
+                        out.writeLong(offset);
+                    }
+                }
+                out.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(magic).putInt(VERSION).putInt(rows.size()).putInt(columns.size());
+                header.putLong(entries).putLong(dictionaryOffset).putLong(indexOffset);
+                header.putLong(valuesOffset).putLong(valueIndexOffset);
+                header.flip();
+                long position = 0;
+                while (header.hasRemaining()) {
+                    position += channel.write(header, position);
+                }
+            }
+        }
+
+        private static long align(DataOutputStream out, CountingOutputStream counter) throws IOException {
+            while ((counter.count & 7) != 0) {
+                out.write(0);
+            }
+            return counter.count;
+        }
+
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+    }
+
+}
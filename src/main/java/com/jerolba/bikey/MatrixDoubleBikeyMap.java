@@ -0,0 +1,64 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * Implementation of {@link DoubleBikeyMap} which stores each row in a
+ * <tt>double[]</tt> array indexed by the position of the column. Like
+ * {@link MatrixBikeyMap} it is recommended when the fill rate is high.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public class MatrixDoubleBikeyMap<R, C> extends TableDoubleBikeyMap<R, C> {
+
+    /**
+     * Constructs a new {@code MatrixDoubleBikeyMap} with 0.0 as missing value
+     */
+    public MatrixDoubleBikeyMap() {
+        super(IntArrayDoubleMap::new, 0.0);
+    }
+
+    /**
+     * Constructs a new {@code MatrixDoubleBikeyMap} with a given default capacity
+     * of the arrays and missing value.
+     *
+     * @param defaultCapacity
+     *            minimum and default capacity of the array
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public MatrixDoubleBikeyMap(int defaultCapacity, double missingValue) {
+        super(missing -> new IntArrayDoubleMap(defaultCapacity, missing), missingValue);
+    }
+
+    /**
+     * Constructs a new {@code MatrixDoubleBikeyMap} with the same mappings and
+     * missing value as the specified {@code DoubleBikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public MatrixDoubleBikeyMap(DoubleBikeyMap<R, C> m) {
+        this(m.columnKeySet().size(), m.getMissingValue());
+        this.putAll(m);
+    }
+
+}
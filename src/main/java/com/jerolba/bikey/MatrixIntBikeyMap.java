@@ -0,0 +1,64 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * Implementation of {@link IntBikeyMap} which stores each row in a
+ * <tt>int[]</tt> array indexed by the position of the column. Like
+ * {@link MatrixBikeyMap} it is recommended when the fill rate is high.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public class MatrixIntBikeyMap<R, C> extends TableIntBikeyMap<R, C> {
+
+    /**
+     * Constructs a new {@code MatrixIntBikeyMap} with 0 as missing value
+     */
+    public MatrixIntBikeyMap() {
+        super(IntArrayIntMap::new, 0);
+    }
+
+    /**
+     * Constructs a new {@code MatrixIntBikeyMap} with a given default capacity
+     * of the arrays and missing value.
+     *
+     * @param defaultCapacity
+     *            minimum and default capacity of the array
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public MatrixIntBikeyMap(int defaultCapacity, int missingValue) {
+        super(missing -> new IntArrayIntMap(defaultCapacity, missing), missingValue);
+    }
+
+    /**
+     * Constructs a new {@code MatrixIntBikeyMap} with the same mappings and
+     * missing value as the specified {@code IntBikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public MatrixIntBikeyMap(IntBikeyMap<R, C> m) {
+        this(m.columnKeySet().size(), m.getMissingValue());
+        this.putAll(m);
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+/**
+ * Implementation of {@link LongBikeyMap} which stores each row in a
+ * <tt>long[]</tt> array indexed by the position of the column. Like
+ * {@link MatrixBikeyMap} it is recommended when the fill rate is high.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public class MatrixLongBikeyMap<R, C> extends TableLongBikeyMap<R, C> {
+
+    /**
+     * Constructs a new {@code MatrixLongBikeyMap} with 0L as missing value
+     */
+    public MatrixLongBikeyMap() {
+        super(IntArrayLongMap::new, 0L);
+    }
+
+    /**
+     * Constructs a new {@code MatrixLongBikeyMap} with a given default capacity
+     * of the arrays and missing value.
+     *
+     * @param defaultCapacity
+     *            minimum and default capacity of the array
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public MatrixLongBikeyMap(int defaultCapacity, long missingValue) {
+        super(missing -> new IntArrayLongMap(defaultCapacity, missing), missingValue);
+    }
+
+    /**
+     * Constructs a new {@code MatrixLongBikeyMap} with the same mappings and
+     * missing value as the specified {@code LongBikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public MatrixLongBikeyMap(LongBikeyMap<R, C> m) {
+        this(m.columnKeySet().size(), m.getMissingValue());
+        this.putAll(m);
+    }
+
+}
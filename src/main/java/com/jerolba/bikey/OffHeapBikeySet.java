@@ -0,0 +1,595 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link BikeySet} implementation that keeps the bitmap of each row outside the
+ * Java heap, in direct buffers.
+ *
+ * <p>
+ * Like {@link TableBikeySet}, rows and columns are registered in dictionaries
+ * that assign them a position, but instead of creating a {@link BitSet} per
+ * row, all row bitmaps are stored consecutively in big direct buffers, with the
+ * same number of words per row. Only rows and columns dictionaries live in the
+ * heap, so the memory consumed in the heap, and the time spent by the garbage
+ * collector, doesn't depend on the number of elements of the set.
+ *
+ * <p>
+ * The number of words per row is doubled when a column doesn't fit in the
+ * current layout, copying all bitmaps to new buffers. Positions of removed rows
+ * and columns are reused by new ones. Direct memory is released when buffers
+ * are collected, after {@link #clear()} or when the set is not referenced.
+ *
+ * <p>
+ * All rows have the width of the widest one: the bitmap of every row has as
+ * many bits as the highest column position in the set, rounded up to a power
+ * of two. Each chunk of 1024 rows consumes <tt>8 * 2^strideShift</tt> KB,
+ * where <tt>2^strideShift</tt> is the number of words per row, so a set with
+ * a million columns in any row needs about 128 KB of direct memory for each
+ * row of the set. This implementation is intended for sets whose rows have a
+ * similar number of columns. If the direct memory can not hold a new layout,
+ * {@code add} throws an {@link OutOfMemoryError} explaining the required
+ * width, and the set is not modified.
+ *
+ * @param <R>
+ *            the type of row keys maintained by this set
+ * @param <C>
+ *            the type of column keys maintained by this set
+ */
+public class OffHeapBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements BikeySet<R, C>, Cloneable {
+
+    private static final int MAX_ROWS_SHIFT = 10;
+    private static final int MAX_CHUNK_WORDS_SHIFT = 27;
+
+    private List<R> rowsValues;
+    private Map<R, Slot> rowIndex;
+    private IntStack freeRows;
+    private List<C> columnsValues;
+    private Map<C, Slot> columnIndex;
+    private IntStack freeColumns;
+    private LongBuffer[] chunks;
+    private int strideShift;
+    private int chunkShift;
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty set
+     */
+    public OffHeapBikeySet() {
+        this.rowsValues = new ArrayList<>();
+        this.rowIndex = new HashMap<>();
+        this.freeRows = new IntStack();
+        this.columnsValues = new ArrayList<>();
+        this.columnIndex = new HashMap<>();
+        this.freeColumns = new IntStack();
+        resetLayout();
+    }
+
+    /**
+     * Constructs a new set containing the elements in the specified set.
+     *
+     * @param bikeySet
+     *            the collection whose elements are to be placed into this set
+     * @throws NullPointerException
+     *             if the specified collection is null
+     */
+    public OffHeapBikeySet(BikeySet<? extends R, ? extends C> bikeySet) {
+        this();
+        bikeySet.forEach((r, c) -> this.add(r, c));
+    }
+
+    @Override
+    public boolean add(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        Slot rowSlot = rowIndex.get(row);
+        if (rowSlot == null) {
+            rowSlot = newSlot(row, rowsValues, rowIndex, freeRows);
+        }
+        Slot columnSlot = columnIndex.get(column);
+        if (columnSlot == null) {
+            columnSlot = newSlot(column, columnsValues, columnIndex, freeColumns);
+        }
+        try {
+            ensureCapacity(rowSlot.index, columnSlot.index);
+        } catch (OutOfMemoryError e) {
+            if (rowSlot.count == 0) {
+                releaseSlot(row, rowSlot, rowsValues, rowIndex, freeRows);
+            }
+            if (columnSlot.count == 0) {
+                releaseSlot(column, columnSlot, columnsValues, columnIndex, freeColumns);
+            }
+            throw e;
+        }
+        LongBuffer chunk = chunks[rowSlot.index >>> chunkShift];
+        int pos = wordPosition(rowSlot.index, columnSlot.index);
+        long word = chunk.get(pos);
+        long mask = 1L << columnSlot.index;
+        if ((word & mask) != 0) {
+            return false;
+        }
+        chunk.put(pos, word | mask);
+        rowSlot.count++;
+        columnSlot.count++;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean add(Bikey<R, C> key) {
+        requireNonNull(key, "Key can not be null");
+        return add(key.getRow(), key.getColumn());
+    }
+
+    @Override
+    public boolean remove(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        Slot rowSlot = rowIndex.get(row);
+        Slot columnSlot = columnIndex.get(column);
+        if (rowSlot == null || columnSlot == null) {
+            return false;
+        }
+        LongBuffer chunk = chunks[rowSlot.index >>> chunkShift];
+        int pos = wordPosition(rowSlot.index, columnSlot.index);
+        long word = chunk.get(pos);
+        long mask = 1L << columnSlot.index;
+        if ((word & mask) == 0) {
+            return false;
+        }
+        chunk.put(pos, word & ~mask);
+        size--;
+        if (--rowSlot.count == 0) {
+            releaseSlot(row, rowSlot, rowsValues, rowIndex, freeRows);
+        }
+        if (--columnSlot.count == 0) {
+            releaseSlot(column, columnSlot, columnsValues, columnIndex, freeColumns);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        requireNonNull(o, "Object can not be null");
+        Bikey<? extends R, ? extends C> key = (Bikey<? extends R, ? extends C>) o;
+        return remove(key.getRow(), key.getColumn());
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return rowIndex.keySet();
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return columnIndex.keySet();
+    }
+
+    /**
+     * Returns a view of the columns paired with a row in this set. Changes to
+     * the set are reflected in the view, and adding or removing columns in the
+     * view adds or removes them in the set.
+     *
+     * <p>
+     * The view reads directly the bitmap of the row, and its size is known
+     * without iterating it.
+     *
+     * @param row
+     *            the row whose columns are returned
+     * @return a set view of the columns in the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    @Override
+    public Set<C> row(R row) {
+        requireNonNull(row, "Row can not be null");
+        return new RowSet(row);
+    }
+
+    @Override
+    public boolean contains(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        Slot rowSlot = rowIndex.get(row);
+        Slot columnSlot = columnIndex.get(column);
+        if (rowSlot == null || columnSlot == null) {
+            return false;
+        }
+        long word = chunks[rowSlot.index >>> chunkShift].get(wordPosition(rowSlot.index, columnSlot.index));
+        return (word & (1L << columnSlot.index)) != 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        requireNonNull(o, "Object can not be null");
+        Bikey<? extends R, ? extends C> key = (Bikey<? extends R, ? extends C>) o;
+        return contains(key.getRow(), key.getColumn());
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        for (int rowIdx = 0; rowIdx < rowsValues.size(); rowIdx++) {
+            R row = rowsValues.get(rowIdx);
+            if (row != null) {
+                for (int idx = nextSetBit(rowIdx, 0); idx >= 0; idx = nextSetBit(rowIdx, idx + 1)) {
+                    action.accept(row, columnsValues.get(idx));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Bikey<R, C>> action) {
+        forEach((r, c) -> action.accept(new BikeyImpl<>(r, c)));
+    }
+
+    /**
+     * Returns an iterator over the elements in this set. The elements are
+     * returned in no particular order.
+     *
+     * @return an iterator over the pair of elements in this set
+     */
+    @Override
+    public Iterator<Bikey<R, C>> iterator() {
+        if (isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return new BikeySetIterator();
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all of the elements from this set. The set will be empty after
+     * this call returns, and direct buffers are released to be collected.
+     */
+    @Override
+    public void clear() {
+        rowsValues.clear();
+        rowIndex.clear();
+        freeRows.clear();
+        columnsValues.clear();
+        columnIndex.clear();
+        freeColumns.clear();
+        resetLayout();
+        size = 0;
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>OffHeapBikeySet</tt> instance: the
+     * elements themselves are not cloned, but the direct buffers are copied.
+     *
+     * @return a shallow copy of this set
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            OffHeapBikeySet<R, C> newSet = (OffHeapBikeySet<R, C>) super.clone();
+            newSet.rowsValues = new ArrayList<>(this.rowsValues);
+            newSet.rowIndex = cloneIndex(this.rowIndex);
+            newSet.freeRows = this.freeRows.clone();
+            newSet.columnsValues = new ArrayList<>(this.columnsValues);
+            newSet.columnIndex = cloneIndex(this.columnIndex);
+            newSet.freeColumns = this.freeColumns.clone();
+            newSet.chunks = new LongBuffer[this.chunks.length];
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] != null) {
+                    LongBuffer source = chunks[i].duplicate();
+                    source.clear();
+                    LongBuffer target = allocate(chunkShift, strideShift);
+                    target.put(source);
+                    newSet.chunks[i] = target;
+                }
+            }
+            return newSet;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    private static <K> Map<K, Slot> cloneIndex(Map<K, Slot> index) {
+        Map<K, Slot> newIndex = new HashMap<>(index.size());
+        index.forEach((key, slot) -> newIndex.put(key, slot.clone()));
+        return newIndex;
+    }
+
+    private static <K> Slot newSlot(K key, List<K> values, Map<K, Slot> index, IntStack free) {
+        Slot slot;
+        if (free.isEmpty()) {
+            slot = new Slot(values.size());
+            values.add(key);
+        } else {
+            slot = new Slot(free.pop());
+            values.set(slot.index, key);
+        }
+        index.put(key, slot);
+        return slot;
+    }
+
+    /**
+     * Removes a row or column without values, keeping its position to be
+     * reused. Its bits are already cleared.
+     */
+    private static <K> void releaseSlot(K key, Slot slot, List<K> values, Map<K, Slot> index, IntStack free) {
+        values.set(slot.index, null);
+        index.remove(key);
+        free.push(slot.index);
+    }
+
+    private void resetLayout() {
+        this.strideShift = 0;
+        this.chunkShift = MAX_ROWS_SHIFT;
+        this.chunks = new LongBuffer[1];
+    }
+
+    private int wordPosition(int rowIdx, int columnIdx) {
+        return ((rowIdx & ((1 << chunkShift) - 1)) << strideShift) + (columnIdx >>> 6);
+    }
+
+    /**
+     * Grows the words per row if the column doesn't fit, and allocates the
+     * chunk containing the row if it doesn't exist.
+     */
+    private void ensureCapacity(int rowIdx, int columnIdx) {
+        int words = (columnIdx >>> 6) + 1;
+        if (words > (1 << strideShift)) {
+            int newStrideShift = strideShift;
+            while (words > (1 << newStrideShift)) {
+                newStrideShift++;
+            }
+            relayout(newStrideShift);
+        }
+        int chunkIdx = rowIdx >>> chunkShift;
+        if (chunkIdx >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, IntArrayMap.growCapacity(chunks.length, chunkIdx + 1));
+        }
+        if (chunks[chunkIdx] == null) {
+            chunks[chunkIdx] = allocate(chunkShift, strideShift);
+        }
+    }
+
+    /**
+     * Copies all row bitmaps to new buffers with more words per row. Chunks
+     * contain less rows when rows are wider, to keep each buffer under the
+     * maximum capacity of a ByteBuffer.
+     */
+    private void relayout(int newStrideShift) {
+        int newChunkShift = Math.min(MAX_ROWS_SHIFT, MAX_CHUNK_WORDS_SHIFT - newStrideShift);
+        int oldStride = 1 << strideShift;
+        LongBuffer[] newChunks = new LongBuffer[(rowsValues.size() >>> newChunkShift) + 1];
+        for (int rowIdx = 0; rowIdx < rowsValues.size(); rowIdx++) {
+            LongBuffer oldChunk = (rowIdx >>> chunkShift) < chunks.length ? chunks[rowIdx >>> chunkShift] : null;
+            if (rowsValues.get(rowIdx) == null || oldChunk == null) {
+                continue;
+            }
+            int newChunkIdx = rowIdx >>> newChunkShift;
+            if (newChunks[newChunkIdx] == null) {
+                newChunks[newChunkIdx] = allocate(newChunkShift, newStrideShift);
+            }
+            LongBuffer newChunk = newChunks[newChunkIdx];
+            int from = (rowIdx & ((1 << chunkShift) - 1)) << strideShift;
+            int to = (rowIdx & ((1 << newChunkShift) - 1)) << newStrideShift;
+            for (int i = 0; i < oldStride; i++) {
+                newChunk.put(to + i, oldChunk.get(from + i));
+            }
+        }
+        this.chunks = newChunks;
+        this.strideShift = newStrideShift;
+        this.chunkShift = newChunkShift;
+    }
+
+    /**
+     * Allocates a chunk of <tt>2^rowsShift</tt> rows with <tt>2^strideShift</tt>
+     * words per row, explaining the layout if there is not enough direct
+     * memory.
+     */
+    private static LongBuffer allocate(int rowsShift, int strideShift) {
+        int bytes = 1 << (rowsShift + strideShift + 3);
+        try {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder()).asLongBuffer();
+        } catch (OutOfMemoryError e) {
+            OutOfMemoryError error = new OutOfMemoryError("Can not allocate " + bytes + " bytes of direct memory for "
+                    + (1 << rowsShift) + " rows: every row has the width of the widest row, "
+                    + (1 << (strideShift + 6)) + " columns");
+            error.initCause(e);
+            throw error;
+        }
+    }
+
+    /**
+     * Returns the index of the first column with a bit set in the row, on or
+     * after the specified column index, or -1 if there is no one.
+     */
+    private int nextSetBit(int rowIdx, int fromColumn) {
+        int chunkIdx = rowIdx >>> chunkShift;
+        if (chunkIdx >= chunks.length || chunks[chunkIdx] == null) {
+            return -1;
+        }
+        LongBuffer chunk = chunks[chunkIdx];
+        int base = (rowIdx & ((1 << chunkShift) - 1)) << strideShift;
+        int wordsInUse = Math.min(1 << strideShift, (columnsValues.size() + 63) >>> 6);
+        int wordIdx = fromColumn >>> 6;
+        if (wordIdx >= wordsInUse) {
+            return -1;
+        }
+        long word = chunk.get(base + wordIdx) & (-1L << fromColumn);
+        while (true) {
+            if (word != 0) {
+                return (wordIdx << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIdx == wordsInUse) {
+                return -1;
+            }
+            word = chunk.get(base + wordIdx);
+        }
+    }
+
+    private class BikeySetIterator implements Iterator<Bikey<R, C>> {
+
+        private int rowIdx = -1;
+        private int columnIdx = -1;
+
+        BikeySetIterator() {
+            nextRow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return columnIdx != -1;
+        }
+
+        @Override
+        public Bikey<R, C> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Bikey<R, C> bikey = new BikeyImpl<>(rowsValues.get(rowIdx), columnsValues.get(columnIdx));
+            columnIdx = nextSetBit(rowIdx, columnIdx + 1);
+            if (columnIdx == -1) {
+                nextRow();
+            }
+            return bikey;
+        }
+
+        private void nextRow() {
+            while (++rowIdx < rowsValues.size()) {
+                if (rowsValues.get(rowIdx) != null) {
+                    columnIdx = nextSetBit(rowIdx, 0);
+                    // In theory no registered row is empty
+                    assert (columnIdx >= 0);
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class RowSet extends AbstractSet<C> {
+
+        private final R row;
+
+        RowSet(R row) {
+            this.row = row;
+        }
+
+        @Override
+        public int size() {
+            Slot rowSlot = rowIndex.get(row);
+            return rowSlot == null ? 0 : rowSlot.count;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object column) {
+            return OffHeapBikeySet.this.contains(row, (C) column);
+        }
+
+        @Override
+        public boolean add(C column) {
+            return OffHeapBikeySet.this.add(row, column);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object column) {
+            return OffHeapBikeySet.this.remove(row, (C) column);
+        }
+
+        @Override
+        public Iterator<C> iterator() {
+            Slot rowSlot = rowIndex.get(row);
+            if (rowSlot == null) {
+                return Collections.emptyIterator();
+            }
+            int rowIdx = rowSlot.index;
+            return new Iterator<C>() {
+
+                private int idx = nextSetBit(rowIdx, 0);
+                private C lastColumn;
+
+                @Override
+                public boolean hasNext() {
+                    return idx >= 0;
+                }
+
+                @Override
+                public C next() {
+                    if (idx < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    C column = columnsValues.get(idx);
+                    idx = nextSetBit(rowIdx, idx + 1);
+                    lastColumn = column;
+                    return column;
+                }
+
+                /**
+                 * Removes the last column from the set. Following columns are
+                 * still in the same positions of the row bitmap, so the
+                 * iterator doesn't need to be repositioned.
+                 */
+                @Override
+                public void remove() {
+                    if (lastColumn == null) {
+                        throw new IllegalStateException();
+                    }
+                    OffHeapBikeySet.this.remove(row, lastColumn);
+                    lastColumn = null;
+                }
+
+            };
+        }
+
+    }
+
+    private static class Slot {
+
+        private final int index;
+        private int count = 0;
+
+        Slot(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Slot clone() {
+            Slot newOne = new Slot(this.index);
+            newOne.count = this.count;
+            return newOne;
+        }
+    }
+
+}
@@ -0,0 +1,776 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import com.jerolba.bikey.TableBikeyMap.SimpleBikeyEntry;
+
+/**
+ * Immutable {@link BikeyMap} where each modification returns a new version of
+ * the map, sharing with the previous version all the nodes not in the path to
+ * the modified bikey.
+ *
+ * <p>
+ * Rows are stored in a {@link RadixTrie} indexed by row position, and each row
+ * in a {@code RadixTrie} indexed by column position. {@link #with} and
+ * {@link #without} copy only the nodes in the path to the bikey, so a version is
+ * a snapshot that can be kept and shared between threads without copying it,
+ * and readers never block. To apply many modifications, a {@link Builder}
+ * modifies in place a private copy of each row touched, and shares the rest of
+ * rows with the original version. The number of values of each column is kept
+ * in a persistent {@link IntRadixTrie}, with the same structural sharing.
+ *
+ * <p>
+ * Row and column dictionaries are shared by all versions derived from the same
+ * {@link #empty()} map, and only grow: keys removed from all versions keep its
+ * position.
+ *
+ * <p>
+ * All methods of {@code BikeyMap} that modify the map throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <R>
+ *            the type of row keys maintained by this map
+ * @param <C>
+ *            the type of column keys maintained by this map
+ * @param <V>
+ *            the type of mapped values
+ */
+public final class PersistentBikeyMap<R, C, V> implements BikeyMap<R, C, V> {
+
+    private final KeyDictionary<R> rowKeys;
+    private final KeyDictionary<C> columnKeys;
+    private final RadixTrie<RadixTrie<V>> rows;
+    private final IntRadixTrie columnCounts;
+    private final int size;
+
+    private PersistentBikeyMap(KeyDictionary<R> rowKeys, KeyDictionary<C> columnKeys, RadixTrie<RadixTrie<V>> rows,
+            IntRadixTrie columnCounts, int size) {
+        this.rowKeys = rowKeys;
+        this.columnKeys = columnKeys;
+        this.rows = rows;
+        this.columnCounts = columnCounts;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new empty map, with its own row and column dictionaries.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param <V>
+     *            the type of mapped values
+     * @return an empty map
+     */
+    public static <R, C, V> PersistentBikeyMap<R, C, V> empty() {
+        return new PersistentBikeyMap<>(new KeyDictionary<>(), new KeyDictionary<>(), new RadixTrie<>(),
+                new IntRadixTrie(), 0);
+    }
+
+    /**
+     * Returns a new map with the same mappings as the specified
+     * {@code BikeyMap}.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param <V>
+     *            the type of mapped values
+     * @param m
+     *            the map whose mappings are to be placed in the new map
+     * @return a map with the mappings of {@code m}
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public static <R, C, V> PersistentBikeyMap<R, C, V> copyOf(BikeyMap<? extends R, ? extends C, ? extends V> m) {
+        requireNonNull(m);
+        Builder<R, C, V> builder = PersistentBikeyMap.<R, C, V>empty().toBuilder();
+        m.forEach(builder::put);
+        return builder.build();
+    }
+
+    /**
+     * Returns a map with the mappings of this map and the specified bikey
+     * associated with the value. This map is not modified.
+     *
+     * @param row
+     *            row with which the specified value is to be associated
+     * @param column
+     *            column with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified bikey
+     * @return a map with the new mapping, or this map if the bikey was already
+     *         associated with the same value instance
+     * @throws NullPointerException
+     *             if the specified row, column or value is null
+     */
+    public PersistentBikeyMap<R, C, V> with(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+        int rowIdx = rowKeys.register(row);
+        int columnIdx = columnKeys.register(column);
+        RadixTrie<V> rowMap = rows.get(rowIdx);
+        V previous = null;
+        if (rowMap == null) {
+            rowMap = new RadixTrie<>();
+        } else {
+            previous = rowMap.get(columnIdx);
+            if (previous == value) {
+                return this;
+            }
+        }
+        RadixTrie<RadixTrie<V>> newRows = rows.assoc(rowIdx, rowMap.assoc(columnIdx, value));
+        if (previous != null) {
+            return new PersistentBikeyMap<>(rowKeys, columnKeys, newRows, columnCounts, size);
+        }
+        IntRadixTrie newCounts = columnCounts.assoc(columnIdx, columnCounts.get(columnIdx) + 1);
+        return new PersistentBikeyMap<>(rowKeys, columnKeys, newRows, newCounts, size + 1);
+    }
+
+    /**
+     * Returns a map with the mappings of this map without the specified bikey.
+     * This map is not modified.
+     *
+     * @param row
+     *            row whose mapping is to be removed
+     * @param column
+     *            column whose mapping is to be removed
+     * @return a map without the bikey, or this map if it does not contain the
+     *         bikey
+     * @throws NullPointerException
+     *             if the specified row or column is null
+     */
+    public PersistentBikeyMap<R, C, V> without(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        int rowIdx = rowKeys.indexOf(row);
+        int columnIdx = columnKeys.indexOf(column);
+        if (rowIdx < 0 || columnIdx < 0) {
+            return this;
+        }
+        RadixTrie<V> rowMap = rows.get(rowIdx);
+        if (rowMap == null || !rowMap.containsKey(columnIdx)) {
+            return this;
+        }
+        RadixTrie<V> newRowMap = rowMap.dissoc(columnIdx);
+        RadixTrie<RadixTrie<V>> newRows = newRowMap.isEmpty() ? rows.dissoc(rowIdx)
+                : rows.assoc(rowIdx, newRowMap);
+        int count = columnCounts.get(columnIdx);
+        IntRadixTrie newCounts = count == 1 ? columnCounts.dissoc(columnIdx)
+                : columnCounts.assoc(columnIdx, count - 1);
+        return new PersistentBikeyMap<>(rowKeys, columnKeys, newRows, newCounts, size - 1);
+    }
+
+    /**
+     * Returns a builder initialized with the mappings of this map. Maps built
+     * by the builder share with this map the rows not modified.
+     *
+     * @return a new builder
+     */
+    public Builder<R, C, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public V put(R row, C column, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public V get(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        RadixTrie<V> rowMap = rowMap(row);
+        if (rowMap == null) {
+            return null;
+        }
+        int columnIdx = columnKeys.indexOf(column);
+        return columnIdx < 0 ? null : rowMap.get(columnIdx);
+    }
+
+    private RadixTrie<V> rowMap(Object row) {
+        int rowIdx = rowKeys.indexOf(row);
+        return rowIdx < 0 ? null : rows.get(rowIdx);
+    }
+
+    @Override
+    public V remove(R row, C column) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns an unmodifiable {@link Set} view of the bikeys contained in this
+     * map.
+     *
+     * @return a set view of the keys contained in this map
+     */
+    @Override
+    public Set<Bikey<R, C>> keySet() {
+        return new AbstractSet<Bikey<R, C>>() {
+
+            @Override
+            public Iterator<Bikey<R, C>> iterator() {
+                Iterator<BikeyEntry<R, C, V>> it = PersistentBikeyMap.this.iterator();
+                return new Iterator<Bikey<R, C>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Bikey<R, C> next() {
+                        BikeyEntry<R, C, V> entry = it.next();
+                        return new BikeyImpl<>(entry.getRow(), entry.getColumn());
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return PersistentBikeyMap.this.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                requireNonNull(o, "Value can not be null");
+                Bikey<R, C> key = (Bikey<R, C>) o;
+                return containsKey(key.getRow(), key.getColumn());
+            }
+
+        };
+    }
+
+    /**
+     * Returns a new {@link BikeySet} with the bikeys contained in this map. As
+     * the map is immutable the set always has its content, but it is a copy:
+     * modifying the set does not modify the map.
+     *
+     * @return a new set with the keys contained in this map
+     */
+    @Override
+    public BikeySet<R, C> bikeySet() {
+        BikeySet<R, C> result = new TableBikeySet<>();
+        forEachBikey(result::add);
+        return result;
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return new AbstractSet<R>() {
+
+            @Override
+            public Iterator<R> iterator() {
+                return new KeyIterator<>(rows.cursor(), rowKeys);
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsRow(o);
+            }
+
+        };
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return new AbstractSet<C>() {
+
+            @Override
+            public Iterator<C> iterator() {
+                return new Iterator<C>() {
+
+                    private long next = columnCounts.nextKey(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public C next() {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        int columnIdx = (int) next;
+                        next = columnCounts.nextKey(columnIdx + 1);
+                        return columnKeys.get(columnIdx);
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return columnCounts.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsColumn(o);
+            }
+
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<BikeyEntry<R, C, V>> it = PersistentBikeyMap.this.iterator();
+                return new Iterator<V>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return it.next().getValue();
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return PersistentBikeyMap.this.size();
+            }
+
+        };
+    }
+
+    @Override
+    public Set<BikeyEntry<R, C, V>> entrySet() {
+        return new AbstractSet<BikeyEntry<R, C, V>>() {
+
+            @Override
+            public Iterator<BikeyEntry<R, C, V>> iterator() {
+                return PersistentBikeyMap.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return PersistentBikeyMap.this.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                requireNonNull(o, "Value can not be null");
+                BikeyEntry<R, C, V> key = (BikeyEntry<R, C, V>) o;
+                V value = get(key.getRow(), key.getColumn());
+                return (value != null && value.equals(key.getValue()));
+            }
+
+        };
+    }
+
+    @Override
+    public Iterator<BikeyEntry<R, C, V>> iterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public void forEachBikey(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        rows.forEach((rowIdx, rowMap) -> {
+            R row = rowKeys.get(rowIdx);
+            rowMap.forEachKey(columnIdx -> action.accept(row, columnKeys.get(columnIdx)));
+        });
+    }
+
+    @Override
+    public void forEach(TriConsumer<? super R, ? super C, ? super V> action) {
+        requireNonNull(action);
+        rows.forEach((rowIdx, rowMap) -> {
+            R row = rowKeys.get(rowIdx);
+            rowMap.forEach((columnIdx, value) -> action.accept(row, columnKeys.get(columnIdx), value));
+        });
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        requireNonNull(value);
+        IntObjectCursor<RadixTrie<V>> cursor = rows.cursor();
+        while (cursor.next()) {
+            if (cursor.value().containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsRow(Object row) {
+        requireNonNull(row, "Row can not be null");
+        return rowMap(row) != null;
+    }
+
+    @Override
+    public boolean containsColumn(Object column) {
+        requireNonNull(column, "Column can not be null");
+        int columnIdx = columnKeys.indexOf(column);
+        return columnIdx >= 0 && columnCounts.containsKey(columnIdx);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (BikeyEntry<R, C, V> entry : entrySet()) {
+            h += entry.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof BikeyMap)) {
+            return false;
+        }
+        BikeyMap<R, C, V> m = (BikeyMap<R, C, V>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            for (BikeyEntry<R, C, V> e : entrySet()) {
+                if (!e.getValue().equals(m.get(e.getRow(), e.getColumn()))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException unused) {
+            return false;
+        } catch (NullPointerException unused) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        forEach((r, c, v) -> sj.add("[" + r + ", " + c + "]=" + v));
+        return sj.toString();
+    }
+
+    private class EntryIterator implements Iterator<BikeyEntry<R, C, V>> {
+
+        private final IntObjectCursor<RadixTrie<V>> rowsCursor = rows.cursor();
+        private IntObjectCursor<V> rowCursor;
+        private R row;
+        private boolean hasNext;
+
+        EntryIterator() {
+            hasNext = advance();
+        }
+
+        private boolean advance() {
+            while (rowCursor == null || !rowCursor.next()) {
+                if (!rowsCursor.next()) {
+                    return false;
+                }
+                row = rowKeys.get(rowsCursor.key());
+                rowCursor = rowsCursor.value().cursor();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public BikeyEntry<R, C, V> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            BikeyEntry<R, C, V> entry = new SimpleBikeyEntry<>(row, columnKeys.get(rowCursor.key()),
+                    rowCursor.value());
+            hasNext = advance();
+            return entry;
+        }
+
+    }
+
+    private static class KeyIterator<K> implements Iterator<K> {
+
+        private final IntObjectCursor<?> cursor;
+        private final KeyDictionary<K> keys;
+        private boolean hasNext;
+
+        KeyIterator(IntObjectCursor<?> cursor, KeyDictionary<K> keys) {
+            this.cursor = cursor;
+            this.keys = keys;
+            this.hasNext = cursor.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            K key = keys.get(cursor.key());
+            hasNext = cursor.next();
+            return key;
+        }
+
+    }
+
+    /**
+     * Batch of modifications over a {@code PersistentBikeyMap}.
+     *
+     * <p>
+     * The first time a row is modified, the builder copies the nodes of the
+     * row and from then on modifies them in place. {@link #build()} returns a
+     * new version of the map with the modified rows, sharing the rest of rows
+     * with the original map, which is never modified.
+     *
+     * <p>
+     * A builder is not thread safe, but maps returned by {@code build} can be
+     * shared between threads.
+     *
+     * @param <R>
+     *            the type of row keys
+     * @param <C>
+     *            the type of column keys
+     * @param <V>
+     *            the type of mapped values
+     */
+    public static final class Builder<R, C, V> {
+
+        private final KeyDictionary<R> rowKeys;
+        private final KeyDictionary<C> columnKeys;
+        private final Map<Integer, RadixTrie<V>> ownedRows = new HashMap<>();
+        private final IntRadixTrie countChanges = new IntRadixTrie();
+        private RadixTrie<RadixTrie<V>> rows;
+        private IntRadixTrie columnCounts;
+        private int size;
+
+        private Builder(PersistentBikeyMap<R, C, V> map) {
+            this.rowKeys = map.rowKeys;
+            this.columnKeys = map.columnKeys;
+            this.rows = map.rows;
+            this.columnCounts = map.columnCounts;
+            this.size = map.size;
+        }
+
+        /**
+         * Associates the specified value with the specified bikey.
+         *
+         * @param row
+         *            row with which the specified value is to be associated
+         * @param column
+         *            column with which the specified value is to be associated
+         * @param value
+         *            value to be associated with the specified bikey
+         * @return the previous value associated with the bikey, or null if
+         *         there was no mapping for the bikey
+         * @throws NullPointerException
+         *             if the specified row, column or value is null
+         */
+        public V put(R row, C column, V value) {
+            requireNonNull(row, "Row can not be null");
+            requireNonNull(column, "Column can not be null");
+            requireNonNull(value, "Value can not be null");
+            int columnIdx = columnKeys.register(column);
+            V previous = ownedRow(rowKeys.register(row)).put(columnIdx, value);
+            if (previous == null) {
+                countChanges.addTo(columnIdx, 1);
+                size++;
+            }
+            return previous;
+        }
+
+        /**
+         * Removes the mapping for the specified bikey if present.
+         *
+         * @param row
+         *            row whose mapping is to be removed
+         * @param column
+         *            column whose mapping is to be removed
+         * @return the previous value associated with the bikey, or null if
+         *         there was no mapping for the bikey
+         * @throws NullPointerException
+         *             if the specified row or column is null
+         */
+        public V remove(R row, C column) {
+            requireNonNull(row, "Row can not be null");
+            requireNonNull(column, "Column can not be null");
+            int rowIdx = rowKeys.indexOf(row);
+            int columnIdx = columnKeys.indexOf(column);
+            if (rowIdx < 0 || columnIdx < 0 || !containsKey(rowIdx, columnIdx)) {
+                return null;
+            }
+            V previous = ownedRow(rowIdx).remove(columnIdx);
+            countChanges.addTo(columnIdx, -1);
+            size--;
+            return previous;
+        }
+
+        /**
+         * Returns the value to which the specified bikey is mapped in the
+         * builder, or null if there is no mapping for the bikey.
+         *
+         * @param row
+         *            the row whose associated value is to be returned
+         * @param column
+         *            the column whose associated value is to be returned
+         * @return the value associated with the bikey, or null
+         * @throws NullPointerException
+         *             if the specified row or column is null
+         */
+        public V get(R row, C column) {
+            requireNonNull(row, "Row can not be null");
+            requireNonNull(column, "Column can not be null");
+            int rowIdx = rowKeys.indexOf(row);
+            int columnIdx = columnKeys.indexOf(column);
+            if (rowIdx < 0 || columnIdx < 0) {
+                return null;
+            }
+            RadixTrie<V> rowMap = currentRow(rowIdx);
+            return rowMap == null ? null : rowMap.get(columnIdx);
+        }
+
+        /**
+         * Returns the number of mappings in the builder.
+         *
+         * @return the number of mappings
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns a map with the mappings of the builder. The builder can still
+         * be used to build new versions of the map, and its modifications are
+         * not visible in previously built maps.
+         *
+         * @return a map with the mappings of the builder
+         */
+        public PersistentBikeyMap<R, C, V> build() {
+            for (Map.Entry<Integer, RadixTrie<V>> entry : ownedRows.entrySet()) {
+                RadixTrie<V> rowMap = entry.getValue();
+                rows = rowMap.isEmpty() ? rows.dissoc(entry.getKey()) : rows.assoc(entry.getKey(), rowMap);
+            }
+            ownedRows.clear();
+            countChanges.forEach((columnIdx, change) -> {
+                int newCount = columnCounts.get(columnIdx) + change;
+                columnCounts = newCount == 0 ? columnCounts.dissoc(columnIdx) : columnCounts.assoc(columnIdx, newCount);
+            });
+            countChanges.clear();
+            return new PersistentBikeyMap<>(rowKeys, columnKeys, rows, columnCounts, size);
+        }
+
+        private boolean containsKey(int rowIdx, int columnIdx) {
+            RadixTrie<V> rowMap = currentRow(rowIdx);
+            return rowMap != null && rowMap.containsKey(columnIdx);
+        }
+
+        private RadixTrie<V> currentRow(int rowIdx) {
+            RadixTrie<V> rowMap = ownedRows.get(rowIdx);
+            return rowMap == null ? rows.get(rowIdx) : rowMap;
+        }
+
+        @SuppressWarnings("unchecked")
+        private RadixTrie<V> ownedRow(int rowIdx) {
+            RadixTrie<V> rowMap = ownedRows.get(rowIdx);
+            if (rowMap == null) {
+                RadixTrie<V> shared = rows.get(rowIdx);
+                rowMap = shared == null ? new RadixTrie<>() : (RadixTrie<V>) shared.clone();
+                ownedRows.put(rowIdx, rowMap);
+            }
+            return rowMap;
+        }
+
+    }
+
+    /**
+     * Thread safe and append only dictionary of keys, shared by all versions of
+     * a map. Keys are stored in a {@link ChunkedArray}, so a position never
+     * changes once assigned and readers don't need to lock.
+     */
+    private static final class KeyDictionary<K> {
+
+        private final ConcurrentHashMap<K, Integer> index = new ConcurrentHashMap<>();
+        private final ChunkedArray<K> keys = new ChunkedArray<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        int register(K key) {
+            Integer idx = index.get(key);
+            if (idx == null) {
+                idx = index.computeIfAbsent(key, this::newKey);
+            }
+            return idx;
+        }
+
+        int indexOf(Object key) {
+            Integer idx = index.get(key);
+            return idx == null ? -1 : idx;
+        }
+
+        private Integer newKey(K key) {
+            int idx = nextIndex.getAndIncrement();
+            keys.set(idx, key);
+            return idx;
+        }
+
+        K get(int idx) {
+            return keys.get(idx);
+        }
+
+    }
+
+}
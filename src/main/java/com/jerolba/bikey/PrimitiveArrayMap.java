@@ -0,0 +1,178 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Structure of the array maps with primitive values: {@link IntArrayIntMap},
+ * {@link IntArrayLongMap} and {@link IntArrayDoubleMap}.
+ *
+ * <p>
+ * Keys are positions in an array of values. This class tracks the presence of
+ * each key with a bitmap and decides when the array grows, while subclasses
+ * only create, resize and access the array of its primitive type.
+ */
+abstract class PrimitiveArrayMap implements Cloneable {
+
+    static final int DEFAULT_CAPACITY = 10;
+
+    private long[] present;
+    private int size = 0;
+    private int maxIndex = -1;
+
+    PrimitiveArrayMap(int minCapacity) {
+        this.present = new long[wordsFor(minCapacity)];
+    }
+
+    private static int wordsFor(int capacity) {
+        return (capacity + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Returns the length of the array of values.
+     */
+    abstract int capacity();
+
+    /**
+     * Copies the array of values into a new array of the given length.
+     *
+     * @param capacity
+     *            length of the new array
+     */
+    abstract void resize(int capacity);
+
+    /**
+     * Marks the key as present, growing the array of values if needed. The
+     * value of a new key is not initialized.
+     *
+     * @param key
+     *            key to mark
+     * @return <tt>true</tt> if the key was not present
+     */
+    final boolean insert(int key) {
+        if (key >= capacity()) {
+            grow(key + 1);
+        }
+        if (isPresent(key)) {
+            return false;
+        }
+        present[key >>> 6] |= 1L << key;
+        size++;
+        if (key > maxIndex) {
+            maxIndex = key;
+        }
+        return true;
+    }
+
+    private void grow(int neededCapacity) {
+        int newCapacity = IntArrayMap.growCapacity(Math.max(capacity(), 1), neededCapacity);
+        resize(newCapacity);
+        present = Arrays.copyOf(present, wordsFor(newCapacity));
+    }
+
+    private boolean isPresent(int key) {
+        return (present[key >>> 6] & (1L << key)) != 0;
+    }
+
+    /**
+     * Marks the key as not present. Its value is kept in the array until the
+     * key is inserted again.
+     *
+     * @param key
+     *            key to unmark
+     * @return <tt>true</tt> if the key was present
+     */
+    final boolean unmark(int key) {
+        if (!containsKey(key)) {
+            return false;
+        }
+        present[key >>> 6] &= ~(1L << key);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the first present key greater than or equal to from, or -1 if
+     * there is no such key.
+     *
+     * @param from
+     *            non negative key to start searching from
+     * @return the next present key, or -1
+     */
+    final int nextKey(int from) {
+        int u = from >>> 6;
+        int words = wordsFor(maxIndex + 1);
+        if (u >= words) {
+            return -1;
+        }
+        long word = present[u] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return u * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            if (++u == words) {
+                return -1;
+            }
+            word = present[u];
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return key <= maxIndex && isPresent(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(present, 0L);
+        size = 0;
+        maxIndex = -1;
+    }
+
+    public void forEachKey(IntConsumer action) {
+        requireNonNull(action);
+        int words = wordsFor(maxIndex + 1);
+        for (int i = 0; i < words; i++) {
+            for (long word = present[i]; word != 0; word &= word - 1) {
+                action.accept(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the presence bitmap. Subclasses copy their array of
+     * values.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        try {
+            PrimitiveArrayMap newMap = (PrimitiveArrayMap) super.clone();
+            newMap.present = present.clone();
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+}
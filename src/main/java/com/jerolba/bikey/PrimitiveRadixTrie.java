@@ -0,0 +1,431 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static com.jerolba.bikey.RadixTrie.BIT_MASK;
+import static com.jerolba.bikey.RadixTrie.BIT_SIZE;
+import static com.jerolba.bikey.RadixTrie.MASK_PATH;
+import static com.jerolba.bikey.RadixTrie.getIdxInNode;
+import static com.jerolba.bikey.RadixTrie.getKeyPrefixBits;
+import static com.jerolba.bikey.RadixTrie.nonPrefixBitsSharedInXor;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Structure of the radix tries with primitive values: {@link IntRadixTrie},
+ * {@link LongRadixTrie} and {@link DoubleRadixTrie}.
+ *
+ * <p>
+ * Nodes are navigated, created and removed in this class, with the same key
+ * layout than {@link RadixTrie}. Leaf nodes store its values in a compressed
+ * primitive array, and subclasses only create and access that array, casting
+ * it to its type.
+ */
+abstract class PrimitiveRadixTrie implements Cloneable {
+
+    Node root;
+    int size = 0;
+
+    /**
+     * Creates an array of values of the primitive type of the trie.
+     *
+     * @param length
+     *            length of the array
+     * @return the new array
+     */
+    abstract Object newValues(int length);
+
+    /**
+     * Returns the leaf node containing the key, creating it and the position of
+     * the key in the leaf if they don't exist. The value of a new position is
+     * not initialized, and the size of the trie is incremented, so callers
+     * detect the insertion comparing the size.
+     */
+    final Node leafFor(int key) {
+        if (root == null) {
+            root = newLeafNode(key);
+            size++;
+            return root;
+        }
+        Node previousNode = null;
+        int previousIndex = 0;
+        Node currentNode = root;
+        for (;;) {
+            int numberNonPrefixBits = currentNode.getNumberNonPrefixBits() + BIT_SIZE;
+            int currentNodePrefixBits = currentNode.getPrefixBits();
+            int keyPrefixBits = getKeyPrefixBits(key, numberNonPrefixBits);
+            if (keyPrefixBits != currentNodePrefixBits) {
+                int numberOfBitsInXor = nonPrefixBitsSharedInXor(keyPrefixBits ^ currentNodePrefixBits);
+                Node leaf = newLeafNode(key);
+                Node parentNode = currentNode.createParentNodeWith(key, leaf, numberOfBitsInXor);
+                if (previousNode == null) {
+                    root = parentNode;
+                } else {
+                    previousNode.setChild(previousIndex, parentNode);
+                }
+                size++;
+                return leaf;
+            }
+            if (numberNonPrefixBits == BIT_SIZE) {
+                int idx = key & BIT_MASK;
+                if (!currentNode.isPresent(idx)) {
+                    insertValue(currentNode, idx);
+                    size++;
+                }
+                return currentNode;
+            }
+            int idx = getIdxInNode(key, numberNonPrefixBits);
+            Node nextNode = currentNode.getChild(idx);
+            if (nextNode == null) {
+                Node leaf = newLeafNode(key);
+                currentNode.insertChild(idx, leaf);
+                size++;
+                return leaf;
+            }
+            previousNode = currentNode;
+            previousIndex = idx;
+            currentNode = nextNode;
+        }
+    }
+
+    /**
+     * Returns the leaf node that can contain the key, or null if there is no
+     * such node.
+     */
+    final Node findLeaf(int key) {
+        Node currentNode = root;
+        while (currentNode != null) {
+            int numberNonPrefixBits = currentNode.getNumberNonPrefixBits() + BIT_SIZE;
+            if (getKeyPrefixBits(key, numberNonPrefixBits) != currentNode.getPrefixBits()) {
+                return null;
+            }
+            if (numberNonPrefixBits == BIT_SIZE) {
+                return currentNode;
+            }
+            currentNode = currentNode.getChild(getIdxInNode(key, numberNonPrefixBits));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the position of the value of the key in the values of the leaf,
+     * or -1 if the key is not present.
+     */
+    static int valueIndex(Node leaf, int key) {
+        if (leaf != null) {
+            int idx = key & BIT_MASK;
+            if (leaf.isPresent(idx)) {
+                return leaf.getArrIdx(idx);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a key present in the trie.
+     */
+    final void removeKey(int key) {
+        if (removeKey(root, key)) {
+            root = null;
+        }
+        size--;
+    }
+
+    /**
+     * Removes an existing key from the subtree of a node, removing also the
+     * nodes that become empty.
+     *
+     * @return <tt>true</tt> if the node is empty after removing the key
+     */
+    private boolean removeKey(Node node, int key) {
+        if (node.isLeaf()) {
+            removeValue(node, key & BIT_MASK);
+        } else {
+            int idx = getIdxInNode(key, node.getNumberNonPrefixBits() + BIT_SIZE);
+            if (removeKey(node.getChild(idx), key)) {
+                node.removeChild(idx);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private Node newLeafNode(int key) {
+        Node node = new Node(key & MASK_PATH, 0);
+        node.bitmap = 1 << (key & BIT_MASK);
+        node.values = newValues(1);
+        return node;
+    }
+
+    private void insertValue(Node leaf, int idx) {
+        int length = Integer.bitCount(leaf.bitmap);
+        int arrIdx = leaf.getArrIdx(idx);
+        Object newValues = newValues(length + 1);
+        System.arraycopy(leaf.values, 0, newValues, 0, arrIdx);
+        System.arraycopy(leaf.values, arrIdx, newValues, arrIdx + 1, length - arrIdx);
+        leaf.values = newValues;
+        leaf.bitmap |= 1 << idx;
+    }
+
+    private void removeValue(Node leaf, int idx) {
+        int length = Integer.bitCount(leaf.bitmap) - 1;
+        int arrIdx = leaf.getArrIdx(idx);
+        Object newValues = newValues(length);
+        System.arraycopy(leaf.values, 0, newValues, 0, arrIdx);
+        System.arraycopy(leaf.values, arrIdx + 1, newValues, arrIdx, length - arrIdx);
+        leaf.values = newValues;
+        leaf.bitmap &= ~(1 << idx);
+    }
+
+    /**
+     * Applies the predicate to each leaf, in order, until it returns
+     * <tt>true</tt>.
+     *
+     * @return <tt>true</tt> if the predicate returned <tt>true</tt> for any
+     *         leaf
+     */
+    final boolean anyLeaf(Predicate<Node> predicate) {
+        return root != null && anyLeaf(root, predicate);
+    }
+
+    private static boolean anyLeaf(Node node, Predicate<Node> predicate) {
+        if (node.isLeaf()) {
+            return predicate.test(node);
+        }
+        for (Node child : node.children) {
+            if (anyLeaf(child, predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key,
+     * comparing keys as unsigned ints, or -1 if there is no such key. Used by
+     * {@link RadixTrieIntSet} to jump over empty ranges of keys.
+     */
+    long nextKey(int from) {
+        return root == null ? -1 : nextKey(root, from);
+    }
+
+    private static long nextKey(Node node, int from) {
+        int numberNonPrefixBits = node.getNumberNonPrefixBits() + BIT_SIZE;
+        int fromPrefixBits = getKeyPrefixBits(from, numberNonPrefixBits);
+        if (fromPrefixBits != node.getPrefixBits()) {
+            // all keys of the node are greater or all are lower
+            return Integer.compareUnsigned(fromPrefixBits, node.getPrefixBits()) < 0 ? firstKey(node) : -1;
+        }
+        int idx = getIdxInNode(from, numberNonPrefixBits);
+        if (node.isLeaf()) {
+            int bits = node.bitmap & (0xFFFFFFFF << idx);
+            return bits == 0 ? -1 : Integer.toUnsignedLong(node.getPrefixBits() + Integer.numberOfTrailingZeros(bits));
+        }
+        if (node.isPresent(idx)) {
+            long next = nextKey(node.getChild(idx), from);
+            if (next >= 0 || idx == BIT_MASK) {
+                return next;
+            }
+            idx++;
+        }
+        int bits = node.bitmap & (0xFFFFFFFF << idx);
+        return bits == 0 ? -1 : firstKey(node.children[node.getArrIdx(Integer.numberOfTrailingZeros(bits))]);
+    }
+
+    private static long firstKey(Node node) {
+        while (!node.isLeaf()) {
+            node = node.children[0];
+        }
+        return Integer.toUnsignedLong(node.getPrefixBits() + Integer.numberOfTrailingZeros(node.bitmap));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public void forEachKey(IntConsumer action) {
+        requireNonNull(action);
+        anyLeaf(leaf -> {
+            int prefixBits = leaf.getPrefixBits();
+            for (int bits = leaf.bitmap; bits != 0; bits &= bits - 1) {
+                action.accept(prefixBits + Integer.numberOfTrailingZeros(bits));
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns a copy of this trie, copying its nodes and arrays of values.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        try {
+            PrimitiveRadixTrie newMap = (PrimitiveRadixTrie) super.clone();
+            newMap.root = root == null ? null : copy(root);
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    private Node copy(Node node) {
+        Node copy = new Node(node.getPrefixBits(), node.getNumberNonPrefixBits());
+        copy.bitmap = node.bitmap;
+        if (node.isLeaf()) {
+            int length = Integer.bitCount(node.bitmap);
+            copy.values = newValues(length);
+            System.arraycopy(node.values, 0, copy.values, 0, length);
+        } else {
+            copy.children = new Node[node.children.length];
+            for (int i = 0; i < node.children.length; i++) {
+                copy.children[i] = copy(node.children[i]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this trie that shares its nodes, except the nodes in
+     * the path to the key, which are copied with its arrays. The copy can
+     * insert, update or remove the key in place without modifying this trie,
+     * and is the base of the persistent operations of subclasses.
+     *
+     * @param key
+     *            key whose path is copied
+     * @return a copy of this trie with its own path to the key
+     */
+    final PrimitiveRadixTrie copyPath(int key) {
+        try {
+            PrimitiveRadixTrie newMap = (PrimitiveRadixTrie) super.clone();
+            newMap.root = root == null ? null : copyPath(root, key);
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    private Node copyPath(Node node, int key) {
+        Node copy = new Node(node.getPrefixBits(), node.getNumberNonPrefixBits());
+        copy.bitmap = node.bitmap;
+        if (node.isLeaf()) {
+            int length = Integer.bitCount(node.bitmap);
+            copy.values = newValues(length);
+            System.arraycopy(node.values, 0, copy.values, 0, length);
+            return copy;
+        }
+        copy.children = node.children.clone();
+        int numberNonPrefixBits = node.getNumberNonPrefixBits() + BIT_SIZE;
+        if (getKeyPrefixBits(key, numberNonPrefixBits) == node.getPrefixBits()) {
+            int idx = getIdxInNode(key, numberNonPrefixBits);
+            Node child = node.getChild(idx);
+            if (child != null) {
+                copy.setChild(idx, copyPath(child, key));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Node of the trie. Internal nodes store its children and leaf nodes the
+     * values, both in arrays compressed with the bitmap.
+     */
+    static final class Node {
+
+        private final int path;
+        int bitmap = 0;
+        private Node[] children;
+        Object values;
+
+        private Node(int prefixBits, int numberNonPrefixBits) {
+            this.path = prefixBits + numberNonPrefixBits;
+        }
+
+        int getNumberNonPrefixBits() {
+            return path & BIT_MASK;
+        }
+
+        int getPrefixBits() {
+            return path & MASK_PATH;
+        }
+
+        boolean isLeaf() {
+            return (path & BIT_MASK) == 0;
+        }
+
+        boolean isEmpty() {
+            return bitmap == 0;
+        }
+
+        boolean isPresent(int idx) {
+            return (bitmap & (1 << idx)) != 0;
+        }
+
+        int getArrIdx(int idx) {
+            return Integer.bitCount(bitmap & ((1 << idx) - 1));
+        }
+
+        private Node getChild(int idx) {
+            return isPresent(idx) ? children[getArrIdx(idx)] : null;
+        }
+
+        private void setChild(int idx, Node child) {
+            children[getArrIdx(idx)] = child;
+        }
+
+        private void insertChild(int idx, Node child) {
+            int arrIdx = getArrIdx(idx);
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, arrIdx);
+            System.arraycopy(children, arrIdx, newChildren, arrIdx + 1, children.length - arrIdx);
+            newChildren[arrIdx] = child;
+            children = newChildren;
+            bitmap |= 1 << idx;
+        }
+
+        private void removeChild(int idx) {
+            int arrIdx = getArrIdx(idx);
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, arrIdx);
+            System.arraycopy(children, arrIdx + 1, newChildren, arrIdx, newChildren.length - arrIdx);
+            children = newChildren;
+            bitmap &= ~(1 << idx);
+        }
+
+        /**
+         * Create a new node parent of the current node with two childs: the
+         * current node and the given leaf node of the key.
+         */
+        private Node createParentNodeWith(int key, Node leaf, int numberNonPrefixBits) {
+            int parentNodePrefixBits = getKeyPrefixBits(key, numberNonPrefixBits + BIT_SIZE);
+            Node parentNode = new Node(parentNodePrefixBits, numberNonPrefixBits);
+            int idx1 = (path >>> numberNonPrefixBits) & BIT_MASK;
+            int idx2 = (key >>> numberNonPrefixBits) & BIT_MASK;
+            parentNode.children = idx1 < idx2 ? new Node[] { this, leaf } : new Node[] { leaf, this };
+            parentNode.bitmap = (1 << idx1) | (1 << idx2);
+            return parentNode;
+        }
+
+    }
+
+}
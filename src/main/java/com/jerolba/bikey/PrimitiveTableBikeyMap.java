@@ -0,0 +1,270 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Table structure shared by {@link TableIntBikeyMap},
+ * {@link TableLongBikeyMap} and {@link TableDoubleBikeyMap}: rows, the
+ * dictionary of columns with recycled positions, and the number of values.
+ *
+ * <p>
+ * Subclasses store the values in a map of primitive values for each row, of
+ * type <tt>M</tt>, and implement the methods which read or write values.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ * @param <M>
+ *            the type of the map of each row
+ */
+abstract class PrimitiveTableBikeyMap<R, C, M> implements Cloneable {
+
+    Map<R, M> rows;
+    private List<C> columnsValues;
+    private Map<C, ColumnInfo> columnIndex;
+    private IntStack freeColumns;
+    private int size = 0;
+
+    PrimitiveTableBikeyMap() {
+        this.rows = new HashMap<>();
+        this.columnsValues = new ArrayList<>();
+        this.columnIndex = new HashMap<>();
+        this.freeColumns = new IntStack();
+    }
+
+    /**
+     * Creates an empty map for a row.
+     */
+    abstract M newRow();
+
+    /**
+     * Returns the number of values in the map of a row.
+     */
+    abstract int rowSize(M rowMap);
+
+    /**
+     * Performs the action for each position of column in the map of a row.
+     */
+    abstract void forEachColumn(M rowMap, IntConsumer action);
+
+    /**
+     * Creates a map for a row with the values of another map, changing each
+     * position of column <tt>idx</tt> by <tt>remap[idx]</tt>.
+     */
+    abstract M remapRow(M rowMap, int[] remap);
+
+    /**
+     * Creates a copy of the map of a row which is not a
+     * {@link PrimitiveRadixTrie}.
+     */
+    abstract M copyRow(M rowMap);
+
+    final M rowOrNew(R row) {
+        M rowMap = rows.get(row);
+        if (rowMap == null) {
+            rowMap = newRow();
+            rows.put(row, rowMap);
+        }
+        return rowMap;
+    }
+
+    final ColumnInfo column(Object column) {
+        return columnIndex.get(column);
+    }
+
+    final ColumnInfo columnOrNew(C column) {
+        ColumnInfo columnInfo = columnIndex.get(column);
+        return columnInfo == null ? newColumn(column) : columnInfo;
+    }
+
+    final C columnAt(int idx) {
+        return columnsValues.get(idx);
+    }
+
+    /**
+     * Updates the counters after adding a value to a row in a column.
+     */
+    final void valueAdded(ColumnInfo columnInfo) {
+        size++;
+        columnInfo.count++;
+    }
+
+    /**
+     * Updates the counters after removing a value of a row in a column,
+     * removing the row and releasing the column if they become empty.
+     */
+    final void valueRemoved(R row, C column, M rowMap, ColumnInfo columnInfo) {
+        size--;
+        if (rowSize(rowMap) == 0) {
+            rows.remove(row);
+        }
+        columnInfo.count--;
+        if (columnInfo.count == 0) {
+            releaseColumn(column, columnInfo);
+        }
+    }
+
+    /**
+     * Registers a new column, reusing the position of a released column if
+     * there is any.
+     */
+    private ColumnInfo newColumn(C column) {
+        ColumnInfo columnInfo;
+        if (freeColumns.isEmpty()) {
+            columnInfo = new ColumnInfo(columnsValues.size());
+            columnsValues.add(column);
+        } else {
+            columnInfo = new ColumnInfo(freeColumns.pop());
+            columnsValues.set(columnInfo.index, column);
+        }
+        columnIndex.put(column, columnInfo);
+        return columnInfo;
+    }
+
+    /**
+     * Removes a column without values, keeping its position to be reused.
+     */
+    private void releaseColumn(C column, ColumnInfo columnInfo) {
+        columnsValues.set(columnInfo.index, null);
+        columnIndex.remove(column);
+        freeColumns.push(columnInfo.index);
+    }
+
+    /**
+     * Renumbers the columns with consecutive positions, removing the gaps left
+     * by released columns, and rebuilds the inner maps of all rows with the new
+     * positions. Relative order of columns is preserved.
+     */
+    public void compact() {
+        if (freeColumns.isEmpty()) {
+            return;
+        }
+        int[] remap = new int[columnsValues.size()];
+        List<C> newColumnsValues = new ArrayList<>(columnIndex.size());
+        for (int i = 0; i < columnsValues.size(); i++) {
+            C column = columnsValues.get(i);
+            if (column != null) {
+                remap[i] = newColumnsValues.size();
+                columnIndex.get(column).index = remap[i];
+                newColumnsValues.add(column);
+            }
+        }
+        for (Entry<R, M> entry : rows.entrySet()) {
+            entry.setValue(remapRow(entry.getValue(), remap));
+        }
+        columnsValues = newColumnsValues;
+        freeColumns.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        rows.clear();
+        columnsValues.clear();
+        columnIndex.clear();
+        freeColumns.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of this map: the rows and columns themselves are not
+     * cloned. Radix tries of the rows are copied node by node, without
+     * inserting again their values.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            PrimitiveTableBikeyMap<R, C, M> newMap = (PrimitiveTableBikeyMap<R, C, M>) super.clone();
+            newMap.columnsValues = new ArrayList<>(this.columnsValues);
+            newMap.freeColumns = this.freeColumns.clone();
+            newMap.columnIndex = new HashMap<>(this.columnIndex.size() * 4 / 3 + 1);
+            this.columnIndex.forEach((col, index) -> {
+                newMap.columnIndex.put(col, index.clone());
+            });
+            newMap.rows = new HashMap<>(this.rows.size() * 4 / 3 + 1);
+            this.rows.forEach((row, rowMap) -> {
+                M copy = rowMap instanceof PrimitiveRadixTrie ? (M) ((PrimitiveRadixTrie) rowMap).clone()
+                        : copyRow(rowMap);
+                newMap.rows.put(row, copy);
+            });
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    public boolean containsRow(Object row) {
+        requireNonNull(row, "row can not be null");
+        M rowMap = rows.get(row);
+        return rowMap != null && rowSize(rowMap) > 0;
+    }
+
+    public boolean containsColumn(Object column) {
+        requireNonNull(column, "column can not be null");
+        ColumnInfo columnInfo = columnIndex.get(column);
+        return columnInfo != null && columnInfo.count > 0;
+    }
+
+    public Set<R> rowKeySet() {
+        return rows.keySet();
+    }
+
+    public Set<C> columnKeySet() {
+        return columnIndex.keySet();
+    }
+
+    public BikeySet<R, C> bikeySet() {
+        BikeySet<R, C> result = new TableBikeySet<>();
+        forEachBikey(result::add);
+        return result;
+    }
+
+    public void forEachBikey(BiConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        rows.forEach((r, rowMap) -> forEachColumn(rowMap, idx -> action.accept(r, columnsValues.get(idx))));
+    }
+
+    static class ColumnInfo {
+
+        int index;
+        private int count = 0;
+
+        ColumnInfo(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public ColumnInfo clone() {
+            ColumnInfo newOne = new ColumnInfo(this.index);
+            newOne.count = this.count;
+            return newOne;
+        }
+    }
+
+}
@@ -19,7 +19,9 @@ import static java.util.Collections.emptyIterator;
 import static java.util.Objects.requireNonNull;
 
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntConsumer;
 
 /**
@@ -50,11 +52,11 @@ import java.util.function.IntConsumer;
  */
 public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
 
-    private static final int BIT_SIZE = 5;
+    static final int BIT_SIZE = 5;
     private static final int ARR_SIZE = 1 << BIT_SIZE;
     private static final int BIT_SHIFT = ARR_SIZE - BIT_SIZE;
-    private static final int MASK_PATH = 0xFFFFFFFF << BIT_SIZE;
-    private static final int BIT_MASK = 0xFFFFFFFF >>> BIT_SHIFT;
+    static final int MASK_PATH = 0xFFFFFFFF << BIT_SIZE;
+    static final int BIT_MASK = 0xFFFFFFFF >>> BIT_SHIFT;
 
     private static final int L1 = 0xFFFFFFFF << BIT_SIZE * 2;
     private static final int L2 = 0xFFFFFFFF << BIT_SIZE * 3;
@@ -62,6 +64,8 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
     private static final int L4 = 0xFFFFFFFF << BIT_SIZE * 5;
     private static final int L5 = 0xFFFFFFFF << BIT_SIZE * 6;
 
+    private static final int MAX_DEPTH = (Integer.SIZE + BIT_SIZE - 1) / BIT_SIZE;
+
     private RadixTrieNode root;
     private int size = 0;
 
@@ -85,6 +89,117 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         putAll(m);
     }
 
+    private RadixTrie(RadixTrieNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Constructs a new {@code RadixTrie} with the given keys and values,
+     * building its nodes bottom-up in one pass. Each node is created with an
+     * array of its final size, instead of growing it in each insertion.
+     *
+     * <p>
+     * Keys must be distinct and sorted in ascending order. Negative keys can
+     * be placed before positive keys, as {@link Arrays#sort(int[])} does, or
+     * after them, in the unsigned order used to iterate a {@code RadixTrie}.
+     *
+     * @param <V>
+     *            the type of values
+     * @param keys
+     *            sorted keys of the trie
+     * @param values
+     *            value of each key, in the same position
+     * @return a new trie with the mappings
+     * @throws NullPointerException
+     *             if the arrays or any value are null
+     * @throws IllegalArgumentException
+     *             if the arrays have different length, or keys are not sorted
+     *             or distinct
+     */
+    public static <V> RadixTrie<V> fromSorted(int[] keys, V[] values) {
+        requireNonNull(keys, "Keys can not be null");
+        requireNonNull(values, "Values can not be null");
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        RadixTrie<V> trie = new RadixTrie<>();
+        trie.loadSorted(keys, values, keys.length);
+        return trie;
+    }
+
+    /**
+     * Fills this empty trie with the first <tt>length</tt> keys and values,
+     * like {@link #fromSorted(int[], Object[])}. Used by
+     * {@link TableBikeyMap}, {@link BikeyReader} and {@link AdaptiveIntKeyMap}
+     * to build rows without copying their arrays.
+     */
+    void loadSorted(int[] keys, Object[] values, int length) {
+        assert isEmpty();
+        if (!isSorted(keys, length, false) && !isSorted(keys, length, true)) {
+            throw new IllegalArgumentException("Keys must be sorted and distinct");
+        }
+        for (int i = 0; i < length; i++) {
+            requireNonNull(values[i], "Value can not be null");
+        }
+        if (length > 0) {
+            root = build(keys, values, 0, length);
+            size = length;
+        }
+    }
+
+    private static boolean isSorted(int[] keys, int length, boolean unsigned) {
+        for (int i = 1; i < length; i++) {
+            int cmp = unsigned ? Integer.compareUnsigned(keys[i - 1], keys[i]) : Integer.compare(keys[i - 1], keys[i]);
+            if (cmp >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the node of a range of sorted keys. If all keys share the prefix
+     * of a leaf the node is a leaf, and in other case it's the node where the
+     * first and last keys diverge, like {@link #put(int, Object)} would create
+     * it.
+     *
+     * <p>
+     * Keys of each child are consecutive in the range, but children are not in
+     * ascending order if negative keys are placed before positive keys, so
+     * children are placed in the array by its index.
+     */
+    private static RadixTrieNode build(int[] keys, Object[] values, int from, int to) {
+        int first = keys[from];
+        int last = keys[to - 1];
+        if ((first >>> BIT_SIZE) == (last >>> BIT_SIZE)) {
+            RadixTrieNode leaf = new RadixTrieNode(first & MASK_PATH, 0);
+            for (int i = from; i < to; i++) {
+                leaf.bitmap |= 1 << (keys[i] & BIT_MASK);
+            }
+            leaf.arr = Arrays.copyOfRange(values, from, to, Object[].class);
+            return leaf;
+        }
+        int numberNonPrefixBits = nonPrefixBitsSharedInXor(first ^ last);
+        int prefixBits = getKeyPrefixBits(first, numberNonPrefixBits + BIT_SIZE);
+        RadixTrieNode node = new RadixTrieNode(prefixBits, numberNonPrefixBits);
+        for (int i = from; i < to; i++) {
+            node.bitmap |= 1 << ((keys[i] >>> numberNonPrefixBits) & BIT_MASK);
+        }
+        node.arr = new Object[Integer.bitCount(node.bitmap)];
+        int start = from;
+        while (start < to) {
+            int idx = (keys[start] >>> numberNonPrefixBits) & BIT_MASK;
+            int end = start + 1;
+            while (end < to && ((keys[end] >>> numberNonPrefixBits) & BIT_MASK) == idx) {
+                end++;
+            }
+            node.arr[node.getArrIdx(idx)] = build(keys, values, start, end);
+            start = end;
+        }
+        return node;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public V put(int key, V value) {
@@ -125,7 +240,92 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         }
     }
 
-    private static int nonPrefixBitsSharedInXor(int value) {
+    /**
+     * Returns a new trie with the mappings of this trie and the given key
+     * associated with the value. This trie is not modified: only the nodes in
+     * the path to the key are copied, and the rest are shared by both tries.
+     *
+     * <p>
+     * Shared nodes must not be modified, so the returned trie, and this trie,
+     * can only be modified with persistent operations.
+     *
+     * @param key
+     *            key with which the specified value is to be associated
+     * @param value
+     *            value to be associated with the specified key
+     * @return a trie with the new mapping
+     * @throws NullPointerException
+     *             if the specified value is null
+     */
+    RadixTrie<V> assoc(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        if (root == null) {
+            return new RadixTrie<>(newLeafNode(key, value), 1);
+        }
+        int newSize = get(key) == null ? size + 1 : size;
+        return new RadixTrie<>(assoc(root, key, value), newSize);
+    }
+
+    /**
+     * Returns a new trie with the mappings of this trie without the given key.
+     * This trie is not modified, and nodes not in the path to the key are
+     * shared by both tries.
+     *
+     * @param key
+     *            key whose mapping is to be removed
+     * @return a trie without the key, or this trie if it does not contain the
+     *         key
+     */
+    RadixTrie<V> dissoc(int key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return new RadixTrie<>(dissoc(root, key), size - 1);
+    }
+
+    static RadixTrieNode assoc(RadixTrieNode node, int key, Object value) {
+        int numberNonPrefixBits = node.getNumberNonPrefixBits() + BIT_SIZE;
+        int nodePrefixBits = node.getPrefixBits();
+        int keyPrefixBits = getKeyPrefixBits(key, numberNonPrefixBits);
+        if (keyPrefixBits != nodePrefixBits) {
+            int numberOfBitsInXor = nonPrefixBitsSharedInXor(keyPrefixBits ^ nodePrefixBits);
+            return node.createParentNodeWith(key, value, numberOfBitsInXor);
+        }
+        if (isLeafNode(numberNonPrefixBits)) {
+            return node.copyWith(key & BIT_MASK, value);
+        }
+        int idx = getIdxInNode(key, numberNonPrefixBits);
+        RadixTrieNode nextNode = (RadixTrieNode) node.get(idx);
+        if (nextNode == null) {
+            return node.copyWith(idx, newLeafNode(key, value));
+        }
+        return node.copyWith(idx, assoc(nextNode, key, value));
+    }
+
+    static RadixTrieNode dissoc(RadixTrieNode node, int key) {
+        int numberNonPrefixBits = node.getNumberNonPrefixBits() + BIT_SIZE;
+        if (getKeyPrefixBits(key, numberNonPrefixBits) != node.getPrefixBits()) {
+            return node;
+        }
+        if (isLeafNode(numberNonPrefixBits)) {
+            return node.copyWithout(key & BIT_MASK);
+        }
+        int idx = getIdxInNode(key, numberNonPrefixBits);
+        RadixTrieNode nextNode = (RadixTrieNode) node.get(idx);
+        if (nextNode == null) {
+            return node;
+        }
+        RadixTrieNode newNextNode = dissoc(nextNode, key);
+        if (newNextNode == nextNode) {
+            return node;
+        }
+        if (newNextNode == null) {
+            return node.copyWithout(idx);
+        }
+        return node.copyWith(idx, newNextNode);
+    }
+
+    static int nonPrefixBitsSharedInXor(int value) {
         if ((value & L1) == 0) {
             return BIT_SIZE * 1;
         }
@@ -159,6 +359,19 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
     @Override
     @SuppressWarnings("unchecked")
     public V get(int key) {
+        RadixTrieNode leaf = leafOf(key);
+        return leaf == null ? null : (V) leaf.get(key & BIT_MASK);
+    }
+
+    /**
+     * Returns the leaf node where the key is stored, or would be stored without
+     * creating new nodes.
+     *
+     * @param key
+     *            key to look for
+     * @return the leaf node of the key, or null if there is no leaf for it
+     */
+    private RadixTrieNode leafOf(int key) {
         RadixTrieNode currentNode = root;
         while (currentNode != null) {
             int numberNonPrefixBits = currentNode.getNumberNonPrefixBits() + BIT_SIZE;
@@ -166,13 +379,156 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
                 return null;
             }
             if (isLeafNode(numberNonPrefixBits)) {
-                return (V) currentNode.get(key & BIT_MASK);
+                return currentNode;
             }
             currentNode = (RadixTrieNode) currentNode.get(getIdxInNode(key, numberNonPrefixBits));
         }
         return null;
     }
 
+    /**
+     * Computes the new value of a key with its current value, or null if
+     * absent, descending the trie only once. If the new value is null the
+     * mapping is removed, and if it is not null it is stored in the slot found
+     * in the descent, creating the nodes needed like {@link #put(int, Object)}.
+     *
+     * <p>
+     * Only the removal of the last value of a leaf descends again, to remove
+     * the empty nodes. The function must not modify the trie.
+     *
+     * @param key
+     *            key whose value is computed
+     * @param remapping
+     *            function from the current value to the new value
+     * @return the new value associated with the key, or null if none
+     */
+    @SuppressWarnings("unchecked")
+    private V update(int key, Function<? super V, ? extends V> remapping) {
+        if (root == null) {
+            V newValue = remapping.apply(null);
+            if (newValue != null) {
+                root = newLeafNode(key, newValue);
+                size++;
+            }
+            return newValue;
+        }
+        RadixTrieNode previousNode = null;
+        int previousIndex = 0;
+        RadixTrieNode currentNode = root;
+        for (;;) {
+            int numberNonPrefixBits = currentNode.getNumberNonPrefixBits() + BIT_SIZE;
+            int currentNodePrefixBits = currentNode.getPrefixBits();
+            int keyPrefixBits = getKeyPrefixBits(key, numberNonPrefixBits);
+            if (keyPrefixBits != currentNodePrefixBits) {
+                V newValue = remapping.apply(null);
+                if (newValue != null) {
+                    int numberOfBitsInXor = nonPrefixBitsSharedInXor(keyPrefixBits ^ currentNodePrefixBits);
+                    RadixTrieNode parentNode = currentNode.createParentNodeWith(key, newValue, numberOfBitsInXor);
+                    if (previousNode == null) {
+                        root = parentNode;
+                    } else {
+                        previousNode.set(previousIndex, parentNode);
+                    }
+                    size++;
+                }
+                return newValue;
+            }
+            if (isLeafNode(numberNonPrefixBits)) {
+                int idx = key & BIT_MASK;
+                V oldValue = (V) currentNode.get(idx);
+                V newValue = remapping.apply(oldValue);
+                if (newValue != null) {
+                    if (newValue != oldValue) {
+                        incSize((V) currentNode.set(idx, newValue));
+                    }
+                } else if (oldValue != null) {
+                    if (Integer.bitCount(currentNode.bitmap) > 1) {
+                        currentNode.remove(idx);
+                        size--;
+                    } else {
+                        remove(key);
+                    }
+                }
+                return newValue;
+            }
+            int idx = getIdxInNode(key, numberNonPrefixBits);
+            RadixTrieNode nextNode = (RadixTrieNode) currentNode.get(idx);
+            if (nextNode == null) {
+                V newValue = remapping.apply(null);
+                if (newValue != null) {
+                    currentNode.set(idx, newLeafNode(key, newValue));
+                    size++;
+                }
+                return newValue;
+            }
+            previousNode = currentNode;
+            previousIndex = idx;
+            currentNode = nextNode;
+        }
+    }
+
+    @Override
+    public V putIfAbsent(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        int previousSize = size;
+        V current = update(key, oldValue -> oldValue == null ? value : oldValue);
+        return size == previousSize ? current : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean replace(int key, V oldValue, V newValue) {
+        requireNonNull(newValue, "Value can not be null");
+        RadixTrieNode leaf = leafOf(key);
+        if (leaf == null) {
+            return false;
+        }
+        int idx = key & BIT_MASK;
+        Object currentValue = leaf.get(idx);
+        if (currentValue == null || !currentValue.equals(oldValue)) {
+            return false;
+        }
+        leaf.set(idx, newValue);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V replace(int key, V value) {
+        requireNonNull(value, "Value can not be null");
+        RadixTrieNode leaf = leafOf(key);
+        if (leaf == null) {
+            return null;
+        }
+        int idx = key & BIT_MASK;
+        return leaf.get(idx) == null ? null : (V) leaf.set(idx, value);
+    }
+
+    @Override
+    public V computeIfAbsent(int key, Function<Integer, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        return update(key, oldValue -> oldValue == null ? mappingFunction.apply(key) : oldValue);
+    }
+
+    @Override
+    public V computeIfPresent(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(key, oldValue -> oldValue == null ? null : remappingFunction.apply(key, oldValue));
+    }
+
+    @Override
+    public V compute(int key, BiFunction<Integer, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return update(key, oldValue -> remappingFunction.apply(key, oldValue));
+    }
+
+    @Override
+    public V merge(int key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        requireNonNull(value);
+        return update(key, oldValue -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
     @Override
     public V remove(int key) {
         if (root == null) {
@@ -212,7 +568,7 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         return removed;
     }
 
-    private static int getKeyPrefixBits(int key, int numberNonPrefixBits) {
+    static int getKeyPrefixBits(int key, int numberNonPrefixBits) {
         if (numberNonPrefixBits < ARR_SIZE) {
             return key & (0xFFFFFFFF << numberNonPrefixBits);
         }
@@ -231,14 +587,16 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         return numberNonPrefixBits == BIT_SIZE;
     }
 
-    private static int getIdxInNode(int key, int numberNonPrefixBits) {
+    static int getIdxInNode(int key, int numberNonPrefixBits) {
         return (key >>> (numberNonPrefixBits - BIT_SIZE)) & BIT_MASK;
     }
 
     @Override
     public void forEachKey(IntConsumer action) {
         requireNonNull(action);
-        forEachKey(root, action);
+        if (root != null) {
+            forEachKey(root, action);
+        }
     }
 
     private static void forEachKey(RadixTrieNode node, IntConsumer action) {
@@ -287,6 +645,10 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
      * Returns a shallow copy of this <tt>RadixTrie</tt> instance: the elements
      * themselves are not cloned.
      *
+     * <p>
+     * The copy has the same structure: each node is copied with its bitmap and
+     * a copy of its array, without inserting the elements again.
+     *
      * @return a shallow copy of this map
      */
     @Override
@@ -294,17 +656,37 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
     public Object clone() {
         try {
             RadixTrie<V> newMap = (RadixTrie<V>) super.clone();
-            forEach(newMap::put);
+            newMap.root = root == null ? null : root.copy();
             return newMap;
         } catch (CloneNotSupportedException e) {
             throw new InternalError(e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If this trie is empty and the specified map is a {@code RadixTrie}, its
+     * structure is copied like in {@link #clone()}.
+     */
+    @Override
+    public void putAll(IntKeyMap<? extends V> m) {
+        if (root == null && m instanceof RadixTrie) {
+            RadixTrie<? extends V> trie = (RadixTrie<? extends V>) m;
+            root = trie.root == null ? null : trie.root.copy();
+            size = trie.size;
+            return;
+        }
+        IntKeyMap.super.putAll(m);
+    }
+
     @Override
     public void forEach(IntObjectConsumer<V> action) {
         requireNonNull(action);
-        forEach(root, action);
+        if (root != null) {
+            forEach(root, action);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -316,6 +698,40 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Values are replaced directly in the compressed array of each leaf node,
+     * walking the trie once.
+     */
+    @Override
+    public void replaceAll(IntObjectFunction<? super V, ? extends V> function) {
+        requireNonNull(function);
+        if (root != null) {
+            replaceAll(root, function);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replaceAll(RadixTrieNode node, IntObjectFunction<? super V, ? extends V> function) {
+        Object[] arr = node.arr;
+        if (node.isLeaf()) {
+            int prefix = node.getPrefixBits();
+            int i = 0;
+            for (int bits = node.bitmap; bits != 0; bits &= bits - 1) {
+                int key = prefix + Integer.numberOfTrailingZeros(bits);
+                arr[i] = requireNonNull(function.apply(key, (V) arr[i]));
+                i++;
+            }
+        } else {
+            int children = Integer.bitCount(node.bitmap);
+            for (int i = 0; i < children; i++) {
+                replaceAll((RadixTrieNode) arr[i], function);
+            }
+        }
+    }
+
     @Override
     public void forEach(Consumer<? super IntObjectEntry<V>> action) {
         requireNonNull(action);
@@ -332,8 +748,12 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
 
     @Override
     public Spliterator<IntObjectEntry<V>> spliterator() {
-        return Spliterators.spliterator(this.iterator(), this.size,
-                Spliterator.DISTINCT + Spliterator.NONNULL + Spliterator.SIZED);
+        return new EntrySpliterator();
+    }
+
+    @Override
+    public IntObjectCursor<V> cursor() {
+        return new TrieCursor();
     }
 
     @Override
@@ -426,6 +846,350 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
 
     }
 
+    /**
+     * Abstract implementation of {@code Spliterator} which traverses the trie
+     * keeping a stack of nodes and the bitmap of their pending children, without
+     * allocating any intermediate object per element. It is extended later by
+     * {@link EntrySpliterator} {@link ValueSpliterator} and
+     * {@link KeySpliterator}.
+     *
+     * <p>
+     * Each split takes half of the pending children bitmap of the shallowest
+     * node with pending children. Sizes are exact: the size of a split is
+     * computed counting the leaf bitmaps of its subtrees, visiting only nodes.
+     *
+     * @param <T>
+     *            type of the traversed elements
+     */
+    private abstract class TrieSpliterator<T> implements Spliterator<T> {
+
+        private final RadixTrieNode[] nodes = new RadixTrieNode[MAX_DEPTH];
+        private final int[] pending = new int[MAX_DEPTH];
+        private final int characteristics;
+        private int depth;
+        private long est;
+
+        int currentKey;
+        Object currentValue;
+
+        TrieSpliterator(int characteristics) {
+            this(root, root == null ? 0 : root.bitmap, size, characteristics);
+        }
+
+        TrieSpliterator(RadixTrieNode node, int bitmap, long est, int characteristics) {
+            this.characteristics = characteristics | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.est = est;
+            if (node == null) {
+                this.depth = -1;
+            } else {
+                this.nodes[0] = node;
+                this.pending[0] = bitmap;
+            }
+        }
+
+        /**
+         * Creates a new spliterator of the same type over some children of a
+         * node.
+         *
+         * @param node
+         *            node to traverse
+         * @param bitmap
+         *            children of the node to traverse
+         * @param size
+         *            number of elements under the children
+         * @return the new spliterator
+         */
+        abstract TrieSpliterator<T> split(RadixTrieNode node, int bitmap, long size);
+
+        /**
+         * Returns the element at current position
+         *
+         * @return current element
+         */
+        abstract T current();
+
+        /**
+         * Moves to the next element, updating <tt>currentKey</tt> and
+         * <tt>currentValue</tt>.
+         *
+         * @return <tt>true</tt> if there was a next element
+         */
+        final boolean advance() {
+            while (depth >= 0) {
+                int bits = pending[depth];
+                if (bits == 0) {
+                    depth--;
+                    continue;
+                }
+                RadixTrieNode node = nodes[depth];
+                int idx = Integer.numberOfTrailingZeros(bits);
+                pending[depth] = bits & (bits - 1);
+                Object value = node.arr[node.getArrIdx(idx)];
+                if (node.isLeaf()) {
+                    currentKey = node.getPrefixBits() + idx;
+                    currentValue = value;
+                    est--;
+                    return true;
+                }
+                RadixTrieNode child = (RadixTrieNode) value;
+                depth++;
+                nodes[depth] = child;
+                pending[depth] = child.bitmap;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            requireNonNull(action);
+            if (advance()) {
+                action.accept(current());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            requireNonNull(action);
+            while (advance()) {
+                action.accept(current());
+            }
+        }
+
+        @Override
+        public TrieSpliterator<T> trySplit() {
+            for (int level = 0; level <= depth; level++) {
+                int bits = pending[level];
+                int count = Integer.bitCount(bits);
+                if (level == depth && count == 1 && !nodes[level].isLeaf()) {
+                    // Only one child to traverse: go down and split its children
+                    RadixTrieNode child = (RadixTrieNode) nodes[level].get(Integer.numberOfTrailingZeros(bits));
+                    pending[level] = 0;
+                    depth++;
+                    nodes[depth] = child;
+                    pending[depth] = child.bitmap;
+                    continue;
+                }
+                // Pending children in upper levels are not being traversed and
+                // can be completely given. In the current level keep some.
+                int toSplit = level < depth ? (count + 1) >>> 1 : count >>> 1;
+                if (toSplit > 0) {
+                    int splitBits = lowestBits(bits, toSplit);
+                    pending[level] = bits & ~splitBits;
+                    long splitSize = count(nodes[level], splitBits);
+                    est -= splitSize;
+                    return split(nodes[level], splitBits, splitSize);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+
+    }
+
+    private static int lowestBits(int bits, int number) {
+        int result = 0;
+        for (int i = 0; i < number; i++) {
+            int lowest = bits & -bits;
+            result |= lowest;
+            bits ^= lowest;
+        }
+        return result;
+    }
+
+    private static long count(RadixTrieNode node, int bits) {
+        if (node.isLeaf()) {
+            return Integer.bitCount(bits);
+        }
+        long total = 0;
+        for (int pendingBits = bits; pendingBits != 0; pendingBits &= pendingBits - 1) {
+            RadixTrieNode child = (RadixTrieNode) node.get(Integer.numberOfTrailingZeros(pendingBits));
+            total += count(child, child.bitmap);
+        }
+        return total;
+    }
+
+    /**
+     * Cursor that walks the trie keeping the path to the current leaf in a
+     * stack of nodes, like {@link TrieSpliterator}. The value is read from, and
+     * written to, the compressed array of the leaf.
+     */
+    private final class TrieCursor implements IntObjectCursor<V> {
+
+        private final RadixTrieNode[] nodes = new RadixTrieNode[MAX_DEPTH];
+        private final int[] pending = new int[MAX_DEPTH];
+        private int depth;
+        private RadixTrieNode leaf;
+        private int arrIdx;
+        private int key;
+
+        TrieCursor() {
+            if (root == null) {
+                this.depth = -1;
+            } else {
+                this.nodes[0] = root;
+                this.pending[0] = root.bitmap;
+            }
+        }
+
+        @Override
+        public boolean next() {
+            while (depth >= 0) {
+                int bits = pending[depth];
+                if (bits == 0) {
+                    depth--;
+                    continue;
+                }
+                RadixTrieNode node = nodes[depth];
+                int idx = Integer.numberOfTrailingZeros(bits);
+                pending[depth] = bits & (bits - 1);
+                if (node.isLeaf()) {
+                    leaf = node;
+                    arrIdx = node.getArrIdx(idx);
+                    key = node.getPrefixBits() + idx;
+                    return true;
+                }
+                RadixTrieNode child = (RadixTrieNode) node.arr[node.getArrIdx(idx)];
+                depth++;
+                nodes[depth] = child;
+                pending[depth] = child.bitmap;
+            }
+            leaf = null;
+            return false;
+        }
+
+        @Override
+        public int key() {
+            checkPositioned();
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkPositioned();
+            return (V) leaf.arr[arrIdx];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            requireNonNull(value);
+            checkPositioned();
+            Object previous = leaf.arr[arrIdx];
+            leaf.arr[arrIdx] = value;
+            return (V) previous;
+        }
+
+        private void checkPositioned() {
+            if (leaf == null) {
+                throw new IllegalStateException();
+            }
+        }
+
+    }
+
+    private final class EntrySpliterator extends TrieSpliterator<IntObjectEntry<V>> {
+
+        EntrySpliterator() {
+            super(Spliterator.DISTINCT);
+        }
+
+        EntrySpliterator(RadixTrieNode node, int bitmap, long est) {
+            super(node, bitmap, est, Spliterator.DISTINCT);
+        }
+
+        @Override
+        TrieSpliterator<IntObjectEntry<V>> split(RadixTrieNode node, int bitmap, long size) {
+            return new EntrySpliterator(node, bitmap, size);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        IntObjectEntry<V> current() {
+            return new IntObjectEntry<>(currentKey, (V) currentValue);
+        }
+
+    }
+
+    private final class ValueSpliterator extends TrieSpliterator<V> {
+
+        ValueSpliterator() {
+            super(0);
+        }
+
+        ValueSpliterator(RadixTrieNode node, int bitmap, long est) {
+            super(node, bitmap, est, 0);
+        }
+
+        @Override
+        TrieSpliterator<V> split(RadixTrieNode node, int bitmap, long size) {
+            return new ValueSpliterator(node, bitmap, size);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V current() {
+            return (V) currentValue;
+        }
+
+    }
+
+    private final class KeySpliterator extends TrieSpliterator<Integer> implements Spliterator.OfInt {
+
+        KeySpliterator() {
+            super(Spliterator.DISTINCT);
+        }
+
+        KeySpliterator(RadixTrieNode node, int bitmap, long est) {
+            super(node, bitmap, est, Spliterator.DISTINCT);
+        }
+
+        @Override
+        KeySpliterator split(RadixTrieNode node, int bitmap, long size) {
+            return new KeySpliterator(node, bitmap, size);
+        }
+
+        @Override
+        public KeySpliterator trySplit() {
+            return (KeySpliterator) super.trySplit();
+        }
+
+        @Override
+        Integer current() {
+            return currentKey;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            requireNonNull(action);
+            if (advance()) {
+                action.accept(currentKey);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            requireNonNull(action);
+            while (advance()) {
+                action.accept(currentKey);
+            }
+        }
+
+    }
+
     private final class Values extends AbstractCollection<V> {
 
         @Override
@@ -453,7 +1217,7 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
 
         @Override
         public Spliterator<V> spliterator() {
-            return Spliterators.spliterator(this.iterator(), size, Spliterator.NONNULL + Spliterator.SIZED);
+            return new ValueSpliterator();
         }
 
         @Override
@@ -490,8 +1254,8 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
         }
 
         @Override
-        public Spliterator<Integer> spliterator() {
-            return Spliterators.spliterator(this.iterator(), size, Spliterator.NONNULL + Spliterator.SIZED);
+        public Spliterator.OfInt spliterator() {
+            return new KeySpliterator();
         }
 
         @Override
@@ -533,7 +1297,7 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
 
         @Override
         public Spliterator<IntObjectEntry<V>> spliterator() {
-            return Spliterators.spliterator(this.iterator(), size, Spliterator.NONNULL + Spliterator.SIZED);
+            return new EntrySpliterator();
         }
 
         @Override
@@ -710,6 +1474,27 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
             this.path = prefixBits + numberNonPrefixBits;
         }
 
+        /**
+         * Returns a copy of this node and all its descendants, with the same
+         * bitmaps and copies of their arrays. Values are not copied.
+         *
+         * @return a copy of the subtree of this node
+         */
+        RadixTrieNode copy() {
+            RadixTrieNode node = new RadixTrieNode(getPrefixBits(), getNumberNonPrefixBits());
+            node.bitmap = bitmap;
+            if (arr != null) {
+                node.arr = arr.clone();
+                if (!isLeaf()) {
+                    int children = Integer.bitCount(bitmap);
+                    for (int i = 0; i < children; i++) {
+                        node.arr[i] = ((RadixTrieNode) arr[i]).copy();
+                    }
+                }
+            }
+            return node;
+        }
+
         /**
          * Returns the number of bits that are not part of the path in this node
          * NumberPrefixBits = 32 - NumberNonPrefixBits - 5
@@ -794,6 +1579,64 @@ public class RadixTrie<V> implements IntKeyMap<V>, Cloneable {
             return null;
         }
 
+        /**
+         * Returns a copy of this node with a value stored in certain position.
+         * This node is not modified.
+         *
+         * @param idx
+         *            index of the element in the uncompressed array
+         * @param value
+         *            the value to store
+         * @return the new node
+         */
+        public RadixTrieNode copyWith(int idx, Object value) {
+            RadixTrieNode copy = new RadixTrieNode(getPrefixBits(), getNumberNonPrefixBits());
+            int bitIdx = 1 << idx;
+            if (isBitPresent(bitIdx)) {
+                copy.bitmap = bitmap;
+                copy.arr = arr.clone();
+                copy.arr[getArrIdx(idx)] = value;
+                return copy;
+            }
+            int arrLen = size();
+            copy.bitmap = bitmap | bitIdx;
+            copy.arr = new Object[arrLen + 1];
+            int arrIdx = copy.getArrIdx(idx);
+            if (arrLen > 0) {
+                System.arraycopy(arr, 0, copy.arr, 0, arrIdx);
+                System.arraycopy(arr, arrIdx, copy.arr, arrIdx + 1, arrLen - arrIdx);
+            }
+            copy.arr[arrIdx] = value;
+            return copy;
+        }
+
+        /**
+         * Returns a copy of this node without the value stored in certain
+         * position. This node is not modified.
+         *
+         * @param idx
+         *            index of the element in the uncompressed array
+         * @return the new node, this node if there was no value in <tt>idx</tt>
+         *         or <tt>null</tt> if the new node would be empty
+         */
+        public RadixTrieNode copyWithout(int idx) {
+            int bitIdx = 1 << idx;
+            if (!isBitPresent(bitIdx)) {
+                return this;
+            }
+            if (bitmap == bitIdx) {
+                return null;
+            }
+            RadixTrieNode copy = new RadixTrieNode(getPrefixBits(), getNumberNonPrefixBits());
+            int arrIdx = getArrIdx(idx);
+            int arrLen = arr.length - 1;
+            copy.bitmap = bitmap & ~bitIdx;
+            copy.arr = new Object[arrLen];
+            System.arraycopy(arr, 0, copy.arr, 0, arrIdx);
+            System.arraycopy(arr, arrIdx + 1, copy.arr, arrIdx, arrLen - arrIdx);
+            return copy;
+        }
+
         /**
          * Create a new node parent of the current node with two childs: the current
          * node and a new leaf node with the given key and value.
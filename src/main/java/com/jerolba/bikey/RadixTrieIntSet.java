@@ -0,0 +1,244 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of {@link IntSet} that stores the set as 64 bits words in a
+ * {@link LongRadixTrie}, keyed by the position of the word. Only words with
+ * some value are stored, so empty ranges of values don't use memory, while
+ * near values share the same word and trie leaf.
+ */
+public class RadixTrieIntSet implements IntSet {
+
+    private LongRadixTrie words;
+    private int size = 0;
+
+    /**
+     * Constructs an empty set.
+     */
+    public RadixTrieIntSet() {
+        this.words = new LongRadixTrie();
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IndexOutOfBoundsException("value < 0: " + value);
+        }
+        int key = value >>> 6;
+        long word = words.get(key);
+        long newWord = word | (1L << value);
+        if (word == newWord) {
+            return false;
+        }
+        words.put(key, newWord);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return value >= 0 && (words.get(value >>> 6) & (1L << value)) != 0;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int key = value >>> 6;
+        long word = words.get(key);
+        long newWord = word & ~(1L << value);
+        if (word == newWord) {
+            return false;
+        }
+        if (newWord == 0) {
+            words.remove(key);
+        } else {
+            words.put(key, newWord);
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public int next(int from) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int key = from >>> 6;
+        long word = words.get(key) & (-1L << from);
+        if (word != 0) {
+            return (key << 6) + Long.numberOfTrailingZeros(word);
+        }
+        long nextKey = words.nextKey(key + 1);
+        if (nextKey < 0) {
+            return -1;
+        }
+        return ((int) nextKey << 6) + Long.numberOfTrailingZeros(words.get((int) nextKey));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        words.clear();
+        size = 0;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        requireNonNull(action);
+        words.forEach((key, word) -> {
+            for (long bits = word; bits != 0; bits &= bits - 1) {
+                action.accept((key << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        });
+    }
+
+    @Override
+    public boolean addAll(IntSet other) {
+        if (!(other instanceof RadixTrieIntSet)) {
+            return IntSet.super.addAll(other);
+        }
+        if (other == this) {
+            return false;
+        }
+        int before = size;
+        ((RadixTrieIntSet) other).words.forEach((key, otherWord) -> {
+            long word = words.get(key);
+            long newWord = word | otherWord;
+            if (word != newWord) {
+                words.put(key, newWord);
+                size += Long.bitCount(newWord) - Long.bitCount(word);
+            }
+        });
+        return size != before;
+    }
+
+    @Override
+    public boolean retainAll(IntSet other) {
+        if (!(other instanceof RadixTrieIntSet)) {
+            return IntSet.super.retainAll(other);
+        }
+        LongRadixTrie otherWords = ((RadixTrieIntSet) other).words;
+        LongRadixTrie retained = new LongRadixTrie();
+        int before = size;
+        size = 0;
+        words.forEach((key, word) -> {
+            long newWord = word & otherWords.get(key);
+            if (newWord != 0) {
+                retained.put(key, newWord);
+                size += Long.bitCount(newWord);
+            }
+        });
+        words = retained;
+        return size != before;
+    }
+
+    @Override
+    public boolean removeAll(IntSet other) {
+        if (!(other instanceof RadixTrieIntSet)) {
+            return IntSet.super.removeAll(other);
+        }
+        if (other == this) {
+            boolean modified = size > 0;
+            clear();
+            return modified;
+        }
+        int before = size;
+        ((RadixTrieIntSet) other).words.forEach((key, otherWord) -> {
+            long word = words.get(key);
+            long newWord = word & ~otherWord;
+            if (word != newWord) {
+                if (newWord == 0) {
+                    words.remove(key);
+                } else {
+                    words.put(key, newWord);
+                }
+                size -= Long.bitCount(word) - Long.bitCount(newWord);
+            }
+        });
+        return size != before;
+    }
+
+    @Override
+    public boolean containsAll(IntSet other) {
+        if (!(other instanceof RadixTrieIntSet)) {
+            return IntSet.super.containsAll(other);
+        }
+        boolean[] contains = { true };
+        ((RadixTrieIntSet) other).words.forEach((key, otherWord) -> {
+            if (contains[0] && (otherWord & ~words.get(key)) != 0) {
+                contains[0] = false;
+            }
+        });
+        return contains[0];
+    }
+
+    /**
+     * Returns a copy of this set, with its own trie.
+     *
+     * @return a copy of this set
+     */
+    @Override
+    public RadixTrieIntSet clone() {
+        try {
+            RadixTrieIntSet newOne = (RadixTrieIntSet) super.clone();
+            newOne.words = (LongRadixTrie) words.clone();
+            return newOne;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return words.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RadixTrieIntSet)) {
+            return false;
+        }
+        return words.equals(((RadixTrieIntSet) obj).words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
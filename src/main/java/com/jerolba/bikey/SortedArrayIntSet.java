@@ -0,0 +1,286 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of {@link IntSet} that stores the values in a sorted
+ * <tt>int[]</tt>, using binary search to find them. It uses 4 bytes per value
+ * whatever is the value, and is the best option for rows with few columns, but
+ * insertions and removals are linear in the size of the set.
+ */
+public class SortedArrayIntSet implements IntSet {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private int[] values;
+    private int size = 0;
+
+    /**
+     * Constructs an empty set.
+     */
+    public SortedArrayIntSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty set with the specified initial capacity.
+     *
+     * @param initialCapacity
+     *            the initial capacity of the set
+     * @throws IllegalArgumentException
+     *             if the specified initial capacity is negative
+     */
+    public SortedArrayIntSet(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        this.values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IndexOutOfBoundsException("value < 0: " + value);
+        }
+        int i = Arrays.binarySearch(values, 0, size, value);
+        if (i >= 0) {
+            return false;
+        }
+        i = -i - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, IntArrayMap.growCapacity(values.length, size + 1));
+        }
+        System.arraycopy(values, i, values, i + 1, size - i);
+        values[i] = value;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        int i = Arrays.binarySearch(values, 0, size, value);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    @Override
+    public int next(int from) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int i = Arrays.binarySearch(values, 0, size, from);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < size ? values[i] : -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        values = new int[DEFAULT_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    public boolean addAll(IntSet other) {
+        if (!(other instanceof SortedArrayIntSet)) {
+            return IntSet.super.addAll(other);
+        }
+        SortedArrayIntSet set = (SortedArrayIntSet) other;
+        if (set == this || set.size == 0) {
+            return false;
+        }
+        int[] merged = new int[size + set.size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < set.size) {
+            int a = values[i];
+            int b = set.values[j];
+            if (a <= b) {
+                i++;
+                j += a == b ? 1 : 0;
+                merged[n++] = a;
+            } else {
+                j++;
+                merged[n++] = b;
+            }
+        }
+        while (i < size) {
+            merged[n++] = values[i++];
+        }
+        while (j < set.size) {
+            merged[n++] = set.values[j++];
+        }
+        if (n == size) {
+            return false;
+        }
+        values = merged;
+        size = n;
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(IntSet other) {
+        if (!(other instanceof SortedArrayIntSet)) {
+            return IntSet.super.retainAll(other);
+        }
+        return filter((SortedArrayIntSet) other, true);
+    }
+
+    @Override
+    public boolean removeAll(IntSet other) {
+        if (!(other instanceof SortedArrayIntSet)) {
+            return IntSet.super.removeAll(other);
+        }
+        if (other == this) {
+            boolean modified = size > 0;
+            clear();
+            return modified;
+        }
+        return filter((SortedArrayIntSet) other, false);
+    }
+
+    /**
+     * Keeps the values that are (or are not) in the other set, walking both
+     * arrays in order.
+     */
+    private boolean filter(SortedArrayIntSet set, boolean keepContained) {
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            int value = values[i];
+            while (j < set.size && set.values[j] < value) {
+                j++;
+            }
+            boolean contained = j < set.size && set.values[j] == value;
+            if (contained == keepContained) {
+                values[n++] = value;
+            }
+        }
+        boolean modified = n != size;
+        size = n;
+        return modified;
+    }
+
+    @Override
+    public boolean containsAll(IntSet other) {
+        if (!(other instanceof SortedArrayIntSet)) {
+            return IntSet.super.containsAll(other);
+        }
+        SortedArrayIntSet set = (SortedArrayIntSet) other;
+        if (set.size > size) {
+            return false;
+        }
+        int i = 0;
+        for (int j = 0; j < set.size; j++) {
+            int value = set.values[j];
+            while (i < size && values[i] < value) {
+                i++;
+            }
+            if (i == size || values[i] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of this set, with its own array.
+     *
+     * @return a copy of this set
+     */
+    @Override
+    public SortedArrayIntSet clone() {
+        try {
+            SortedArrayIntSet newOne = (SortedArrayIntSet) super.clone();
+            newOne.values = Arrays.copyOf(values, Math.max(size, 1));
+            return newOne;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < size; i++) {
+            hash += values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SortedArrayIntSet)) {
+            return false;
+        }
+        SortedArrayIntSet set = (SortedArrayIntSet) obj;
+        if (set.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i] != set.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',').append(' ');
+            }
+            sb.append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+}
@@ -20,8 +20,11 @@ import static java.util.Objects.requireNonNull;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
 
@@ -29,6 +32,8 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
     private Map<R, IntKeyMap<V>> rows;
     private List<C> columnsValues;
     private Map<C, ColumnInfo> columnIndex;
+    private IntStack freeColumns;
+    private List<Set<R>> rowsByColumn;
     private int size = 0;
 
     public TableBikeyMap() {
@@ -39,6 +44,7 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         this.rows = new HashMap<>();
         this.columnsValues = new ArrayList<>();
         this.columnIndex = new HashMap<>();
+        this.freeColumns = new IntStack();
         this.innerMapSupplier = innerMapSupplier;
     }
 
@@ -65,18 +71,56 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         IntKeyMap<V> intMap = rows.computeIfAbsent(row, r -> innerMapSupplier.get());
         ColumnInfo columnInfo = columnIndex.get(column);
         if (columnInfo == null) {
-            columnInfo = new ColumnInfo(columnsValues.size());
-            columnIndex.put(column, columnInfo);
-            columnsValues.add(column);
+            columnInfo = newColumn(column);
         }
         V prev = intMap.put(columnInfo.index, value);
         if (prev == null) {
-            size++;
-            columnInfo.inc();
+            valueAdded(row, intMap, columnInfo);
         }
         return prev;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Mappings are grouped by row before being stored, like in
+     * {@link #putAll(Stream)}.
+     */
+    @Override
+    public void putAll(BikeyMap<? extends R, ? extends C, ? extends V> m) {
+        requireNonNull(m);
+        RowBatches batches = new RowBatches();
+        m.forEach(batches::add);
+        batches.store();
+    }
+
+    /**
+     * Copies all of the mappings of the stream to this map. If the stream
+     * contains more than one mapping for a bikey, the last one is stored.
+     *
+     * <p>
+     * Mappings are grouped by row before touching the map. Then the columns of
+     * each row are resolved to their positions in one pass, and sorted, and
+     * each row map receives all its values in ascending order of position. If
+     * consecutive mappings have the same row, the row is not looked up again.
+     *
+     * <p>
+     * The map is not modified if the stream fails or contains a null key or
+     * value.
+     *
+     * @param entries
+     *            stream with the mappings to be stored in this map
+     * @throws NullPointerException
+     *             if the stream is null, or contains null keys or values
+     */
+    public void putAll(Stream<? extends BikeyEntry<? extends R, ? extends C, ? extends V>> entries) {
+        requireNonNull(entries);
+        RowBatches batches = new RowBatches();
+        entries.forEachOrdered(entry -> batches.add(entry.getRow(), entry.getColumn(), entry.getValue()));
+        batches.store();
+    }
+
     @Override
     public V get(R row, C column) {
         requireNonNull(row, "Row can not be null");
@@ -103,15 +147,7 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
             if (intMap != null) {
                 V prev = intMap.remove(columnInfo.index);
                 if (prev != null) {
-                    size--;
-                    if (intMap.isEmpty()) {
-                        rows.remove(row);
-                    }
-                    columnInfo.dec();
-                    if (columnInfo.count == 0) {
-                        columnsValues.set(columnInfo.index, null);
-                        columnIndex.remove(column);
-                    }
+                    valueRemoved(row, column, intMap, columnInfo);
                     return prev;
                 }
             }
@@ -119,6 +155,336 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         return null;
     }
 
+    @Override
+    public V putIfAbsent(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+        int previousSize = size;
+        V current = update(row, column, oldValue -> oldValue == null ? value : oldValue);
+        return size == previousSize ? current : null;
+    }
+
+    @Override
+    public boolean replace(R row, C column, V oldValue, V newValue) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(newValue, "Value can not be null");
+        IntKeyMap<V> intMap = rows.get(row);
+        ColumnInfo columnInfo = columnIndex.get(column);
+        return intMap != null && columnInfo != null && intMap.replace(columnInfo.index, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(R row, C column, V value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+        IntKeyMap<V> intMap = rows.get(row);
+        ColumnInfo columnInfo = columnIndex.get(column);
+        return intMap == null || columnInfo == null ? null : intMap.replace(columnInfo.index, value);
+    }
+
+    @Override
+    public V computeIfAbsent(R row, C column, BiFunction<R, C, ? extends V> mappingFunction) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(mappingFunction);
+        return update(row, column, oldValue -> oldValue == null ? mappingFunction.apply(row, column) : oldValue);
+    }
+
+    @Override
+    public V computeIfPresent(R row, C column,
+            TriFunction<? super R, ? super C, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(remappingFunction);
+        return update(row, column,
+                oldValue -> oldValue == null ? null : remappingFunction.apply(row, column, oldValue));
+    }
+
+    @Override
+    public V compute(R row, C column, TriFunction<? super R, ? super C, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(remappingFunction);
+        return update(row, column, oldValue -> remappingFunction.apply(row, column, oldValue));
+    }
+
+    @Override
+    public V merge(R row, C column, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+        requireNonNull(value, "Value can not be null");
+        requireNonNull(remappingFunction);
+        return update(row, column, oldValue -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Computes the new value of a bikey with its current value, or null if
+     * absent, looking up its row and column once. The row {@link IntKeyMap}
+     * computes the value in a single access to its slot, and the size of the
+     * row tells if a value was added or removed.
+     *
+     * <p>
+     * If the row or the column don't exist, and the new value is not null, it
+     * is stored with {@link #put(Object, Object, Object)}.
+     */
+    private V update(R row, C column, Function<? super V, ? extends V> remapping) {
+        ColumnInfo columnInfo = columnIndex.get(column);
+        IntKeyMap<V> intMap = columnInfo == null ? null : rows.get(row);
+        if (intMap == null) {
+            V newValue = remapping.apply(null);
+            if (newValue != null) {
+                put(row, column, newValue);
+            }
+            return newValue;
+        }
+        int previousSize = intMap.size();
+        V newValue = intMap.compute(columnInfo.index, (idx, oldValue) -> remapping.apply(oldValue));
+        int currentSize = intMap.size();
+        if (currentSize > previousSize) {
+            valueAdded(row, intMap, columnInfo);
+        } else if (currentSize < previousSize) {
+            valueRemoved(row, column, intMap, columnInfo);
+        }
+        return newValue;
+    }
+
+    /**
+     * Updates counters and indexes after a value is added to a row.
+     */
+    private void valueAdded(R row, IntKeyMap<V> intMap, ColumnInfo columnInfo) {
+        size++;
+        columnInfo.inc();
+        if (rowsByColumn != null) {
+            rowsByColumn.get(columnInfo.index).add(row);
+        }
+        IntKeyMap<V> resized = resizedRow(intMap);
+        if (resized != intMap) {
+            rows.put(row, resized);
+        }
+    }
+
+    /**
+     * Updates counters and indexes after a value is removed from a row,
+     * removing the row or the column if they become empty.
+     */
+    private void valueRemoved(R row, C column, IntKeyMap<V> intMap, ColumnInfo columnInfo) {
+        size--;
+        if (intMap.isEmpty()) {
+            rows.remove(row);
+        } else {
+            IntKeyMap<V> resized = resizedRow(intMap);
+            if (resized != intMap) {
+                rows.put(row, resized);
+            }
+        }
+        columnInfo.dec();
+        if (rowsByColumn != null) {
+            rowsByColumn.get(columnInfo.index).remove(row);
+        }
+        if (columnInfo.count == 0) {
+            releaseColumn(column, columnInfo);
+        }
+    }
+
+    /**
+     * Registers a new column, reusing the position of a released column if
+     * there is any.
+     */
+    private ColumnInfo newColumn(C column) {
+        ColumnInfo columnInfo;
+        if (freeColumns.isEmpty()) {
+            columnInfo = new ColumnInfo(columnsValues.size());
+            columnsValues.add(column);
+            if (rowsByColumn != null) {
+                rowsByColumn.add(new HashSet<>());
+            }
+        } else {
+            columnInfo = new ColumnInfo(freeColumns.pop());
+            columnsValues.set(columnInfo.index, column);
+            if (rowsByColumn != null) {
+                rowsByColumn.set(columnInfo.index, new HashSet<>());
+            }
+        }
+        columnIndex.put(column, columnInfo);
+        return columnInfo;
+    }
+
+    /**
+     * Removes a column without values, keeping its position to be reused.
+     */
+    private void releaseColumn(C column, ColumnInfo columnInfo) {
+        columnsValues.set(columnInfo.index, null);
+        columnIndex.remove(column);
+        freeColumns.push(columnInfo.index);
+        if (rowsByColumn != null) {
+            rowsByColumn.set(columnInfo.index, null);
+        }
+    }
+
+    /**
+     * Renumbers the columns with consecutive positions, removing the gaps left
+     * by released columns, and rebuilds the inner maps of all rows with the new
+     * positions. Relative order of columns is preserved.
+     *
+     * <p>
+     * Released positions are reused by new columns, but with a high churn of
+     * columns the positions can be sparse, making the inner maps bigger and
+     * slower. This operation is linear in the map size.
+     */
+    public void compact() {
+        if (freeColumns.isEmpty()) {
+            return;
+        }
+        int[] remap = new int[columnsValues.size()];
+        List<C> newColumnsValues = new ArrayList<>(columnIndex.size());
+        for (int i = 0; i < columnsValues.size(); i++) {
+            C column = columnsValues.get(i);
+            if (column != null) {
+                remap[i] = newColumnsValues.size();
+                columnIndex.get(column).index = remap[i];
+                newColumnsValues.add(column);
+            }
+        }
+        columnsValues = newColumnsValues;
+        freeColumns.clear();
+        for (Entry<R, IntKeyMap<V>> entry : rows.entrySet()) {
+            IntKeyMap<V> newOne = innerMapSupplier.get();
+            entry.getValue().forEach((idx, v) -> newOne.put(remap[idx], v));
+            entry.setValue(resizedRow(newOne));
+        }
+        if (rowsByColumn != null) {
+            rowsByColumn.removeIf(Objects::isNull);
+        }
+    }
+
+    /**
+     * Enables a secondary index from each column to the rows that have a value
+     * in it, built from the current content and kept up to date on each
+     * modification.
+     *
+     * <p>
+     * With the index, iterating a {@link #column(Object)} view is proportional
+     * to the number of values in the column instead of to the number of rows,
+     * at the cost of more memory and slower insertions and deletions. Calling
+     * it on an indexed map has no effect.
+     */
+    public void indexColumns() {
+        if (rowsByColumn != null) {
+            return;
+        }
+        rowsByColumn = new ArrayList<>(columnsValues.size());
+        for (C column : columnsValues) {
+            rowsByColumn.add(column == null ? null : new HashSet<>());
+        }
+        rows.forEach((row, intMap) -> intMap.forEachKey(idx -> rowsByColumn.get(idx).add(row)));
+    }
+
+    /**
+     * Returns <tt>true</tt> if the column index has been enabled with
+     * {@link #indexColumns()}.
+     *
+     * @return <tt>true</tt> if the columns are indexed
+     */
+    public boolean isColumnIndexed() {
+        return rowsByColumn != null;
+    }
+
+    /**
+     * Returns a view of the values of a row, mapped by their column. Changes to
+     * the map are reflected in the view, and putting or removing values in the
+     * view puts or removes them in the map.
+     *
+     * <p>
+     * The view accesses directly the inner map of the row, and its size and
+     * iteration are proportional to the size of the row.
+     *
+     * @param row
+     *            the row whose values are returned
+     * @return a map view of the values in the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    @Override
+    public Map<C, V> row(R row) {
+        requireNonNull(row, "Row can not be null");
+        return new RowView(row);
+    }
+
+    /**
+     * Returns a view of the values of a column, mapped by their row. Changes to
+     * the map are reflected in the view, and putting or removing values in the
+     * view puts or removes them in the map.
+     *
+     * <p>
+     * The size of the view is known without iterating it. If columns are
+     * indexed, iterating the view is proportional to the size of the column,
+     * otherwise all rows are visited.
+     *
+     * @param column
+     *            the column whose values are returned
+     * @return a map view of the values in the column
+     * @throws NullPointerException
+     *             if the specified column is null
+     */
+    @Override
+    public Map<R, V> column(C column) {
+        requireNonNull(column, "Column can not be null");
+        return new ColumnView(column);
+    }
+
+    /**
+     * Column keys by position, with null in released positions. Used by
+     * {@link BikeyWriter}.
+     */
+    List<C> columnsValues() {
+        return columnsValues;
+    }
+
+    /**
+     * Map of each row with the values of its columns by position. Used by
+     * {@link BikeyWriter}.
+     */
+    Map<R, IntKeyMap<V>> rowMaps() {
+        return rows;
+    }
+
+    /**
+     * Called each time a row that is not empty changes its size, allowing to
+     * replace its inner map with other representation of the same content.
+     * Used by {@link HybridBikeyMap}.
+     */
+    IntKeyMap<V> resizedRow(IntKeyMap<V> rowMap) {
+        return rowMap;
+    }
+
+    IntKeyMap<V> newRowMap() {
+        return innerMapSupplier.get();
+    }
+
+    /**
+     * Replaces the content of an empty map with already built rows, whose keys
+     * are positions in the columns list. Used by {@link BikeyReader}.
+     */
+    void load(List<C> columns, int[] columnCounts, Map<R, IntKeyMap<V>> rowMaps, int totalSize) {
+        columnsValues = columns;
+        columnIndex = new HashMap<>(columns.size() * 4 / 3 + 1);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo columnInfo = new ColumnInfo(i);
+            columnInfo.count = columnCounts[i];
+            columnIndex.put(columns.get(i), columnInfo);
+        }
+        freeColumns.clear();
+        rows = rowMaps;
+        size = totalSize;
+        if (rowsByColumn != null) {
+            rowsByColumn = null;
+            indexColumns();
+        }
+    }
+
     @Override
     public int size() {
         return size;
@@ -129,6 +495,10 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         rows.clear();
         columnsValues.clear();
         columnIndex.clear();
+        freeColumns.clear();
+        if (rowsByColumn != null) {
+            rowsByColumn.clear();
+        }
         size = 0;
     }
 
@@ -144,22 +514,42 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         try {
             TableBikeyMap<R, C, V> newMap = (TableBikeyMap<R, C, V>) super.clone();
             newMap.columnsValues = new ArrayList<>(this.columnsValues);
-            newMap.columnIndex = new HashMap<>(this.columnIndex.size());
+            newMap.freeColumns = this.freeColumns.clone();
+            newMap.columnIndex = new HashMap<>(this.columnIndex.size() * 4 / 3 + 1);
             this.columnIndex.forEach((col, index) -> {
                 newMap.columnIndex.put(col, index.clone());
             });
-            newMap.rows = new HashMap<>(this.rows.size());
-            this.rows.forEach((row, innerMap) -> {
-                IntKeyMap<V> newOne = innerMapSupplier.get();
-                newOne.putAll(innerMap);
-                newMap.rows.put(row, newOne);
-            });
+            newMap.rows = new HashMap<>(this.rows.size() * 4 / 3 + 1);
+            this.rows.forEach((row, innerMap) -> newMap.rows.put(row, newMap.copyRow(innerMap)));
+            if (this.rowsByColumn != null) {
+                newMap.rowsByColumn = new ArrayList<>(this.rowsByColumn.size());
+                for (Set<R> columnRows : this.rowsByColumn) {
+                    newMap.rowsByColumn.add(columnRows == null ? null : new HashSet<>(columnRows));
+                }
+            }
             return newMap;
         } catch (CloneNotSupportedException e) {
             throw new InternalError(e);
         }
     }
 
+    /**
+     * Copies the map of a row. Tries and arrays are copied with their
+     * structure, and other maps are rebuilt in a new inner map.
+     */
+    @SuppressWarnings("unchecked")
+    private IntKeyMap<V> copyRow(IntKeyMap<V> rowMap) {
+        if (rowMap instanceof RadixTrie) {
+            return (IntKeyMap<V>) ((RadixTrie<V>) rowMap).clone();
+        }
+        if (rowMap instanceof IntArrayMap) {
+            return new IntArrayMap<>((IntArrayMap<V>) rowMap);
+        }
+        IntKeyMap<V> newOne = innerMapSupplier.get();
+        newOne.putAll(rowMap);
+        return resizedRow(newOne);
+    }
+
     @Override
     public boolean containsValue(Object value) {
         requireNonNull(value, "Value can not be null");
@@ -241,6 +631,20 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Each row {@link IntKeyMap} replaces its values in place, so the map is
+     * traversed once without looking up rows or columns again.
+     */
+    @Override
+    public void replaceAll(TriFunction<? super R, ? super C, ? super V, ? extends V> function) {
+        requireNonNull(function);
+        rows.forEach((r, intKeyMap) -> intKeyMap.replaceAll((idx, v) -> requireNonNull(
+                function.apply(r, columnsValues.get(idx), v), "Value can not be null")));
+    }
+
     @Override
     public Iterator<BikeyEntry<R, C, V>> iterator() {
         if (isEmpty()) {
@@ -249,6 +653,24 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         return new BikeyMapEntryIterator();
     }
 
+    @Override
+    public Spliterator<BikeyEntry<R, C, V>> spliterator() {
+        return new BikeyMapSpliterator<>(SimpleBikeyEntry::new, Spliterator.DISTINCT + Spliterator.NONNULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The cursor moves over the entries of the rows map and the cursor of each
+     * row {@link IntKeyMap}, so only one object is created for each row.
+     * Values are replaced directly in the row.
+     */
+    @Override
+    public BikeyCursor<R, C, V> cursor() {
+        return new TableCursor();
+    }
+
     private class BikeyMapIterator {
 
         private final Iterator<Entry<R, IntKeyMap<V>>> rowsIterator = rows.entrySet().iterator();
@@ -285,6 +707,244 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         }
     }
 
+    private final class TableCursor implements BikeyCursor<R, C, V> {
+
+        private final Iterator<Entry<R, IntKeyMap<V>>> rowsIterator = rows.entrySet().iterator();
+        private IntObjectCursor<V> rowCursor = null;
+        private R currentRow = null;
+        private boolean positioned = false;
+
+        @Override
+        public boolean next() {
+            while (rowCursor == null || !rowCursor.next()) {
+                if (!rowsIterator.hasNext()) {
+                    rowCursor = null;
+                    positioned = false;
+                    return false;
+                }
+                Entry<R, IntKeyMap<V>> next = rowsIterator.next();
+                currentRow = next.getKey();
+                rowCursor = next.getValue().cursor();
+            }
+            positioned = true;
+            return true;
+        }
+
+        @Override
+        public R row() {
+            checkPositioned();
+            return currentRow;
+        }
+
+        @Override
+        public C column() {
+            checkPositioned();
+            return columnsValues.get(rowCursor.key());
+        }
+
+        @Override
+        public V value() {
+            checkPositioned();
+            return rowCursor.value();
+        }
+
+        @Override
+        public V setValue(V value) {
+            requireNonNull(value, "Value can not be null");
+            checkPositioned();
+            return rowCursor.setValue(value);
+        }
+
+        private void checkPositioned() {
+            if (!positioned) {
+                throw new IllegalStateException();
+            }
+        }
+
+    }
+
+    /**
+     * Implementation of {@code Spliterator} which splits first across rows and,
+     * when only one row remains, inside the row {@link IntKeyMap}.
+     *
+     * <p>
+     * Row keys, row maps and the accumulated number of elements are captured
+     * the first time the spliterator is split or advanced. Splitting by rows
+     * balances the number of elements in each half, and all sizes are exact.
+     * Rows are split internally only if its spliterator reports exact sizes.
+     *
+     * <p>
+     * If the map is structurally modified after the spliterator is bound, the
+     * results of the traversal are undefined.
+     *
+     * @param <T>
+     *            type of the traversed elements, created from each row, column
+     *            and value
+     */
+    private final class BikeyMapSpliterator<T> implements Spliterator<T> {
+
+        private static final int EXACT = Spliterator.SIZED | Spliterator.SUBSIZED;
+
+        private final TriFunction<R, C, V, T> factory;
+        private final int characteristics;
+        private R[] rowKeys;
+        private IntKeyMap<V>[] rowMaps;
+        private int[] accumulated;
+        private int index;
+        private int fence;
+        private R currentRow;
+        private Spliterator<IntObjectEntry<V>> current;
+
+        BikeyMapSpliterator(TriFunction<R, C, V, T> factory, int characteristics) {
+            this.factory = factory;
+            this.characteristics = characteristics;
+        }
+
+        private BikeyMapSpliterator(BikeyMapSpliterator<T> parent, int index, int fence) {
+            this(parent.factory, parent.characteristics);
+            this.rowKeys = parent.rowKeys;
+            this.rowMaps = parent.rowMaps;
+            this.accumulated = parent.accumulated;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private BikeyMapSpliterator(BikeyMapSpliterator<T> parent, R row, Spliterator<IntObjectEntry<V>> rowPart) {
+            this(parent, parent.fence, parent.fence);
+            this.currentRow = row;
+            this.current = rowPart;
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private void bind() {
+            if (rowKeys != null) {
+                return;
+            }
+            int rowsSize = rows.size();
+            rowKeys = (R[]) new Object[rowsSize];
+            rowMaps = new IntKeyMap[rowsSize];
+            accumulated = new int[rowsSize + 1];
+            int i = 0;
+            for (Entry<R, IntKeyMap<V>> entry : rows.entrySet()) {
+                rowKeys[i] = entry.getKey();
+                rowMaps[i] = entry.getValue();
+                accumulated[i + 1] = accumulated[i] + rowMaps[i].size();
+                i++;
+            }
+            index = 0;
+            fence = rowsSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            requireNonNull(action);
+            bind();
+            for (;;) {
+                if (current != null) {
+                    R row = currentRow;
+                    if (current.tryAdvance(e -> action.accept(create(row, e.getIntKey(), e.getValue())))) {
+                        return true;
+                    }
+                    current = null;
+                }
+                if (index >= fence) {
+                    return false;
+                }
+                currentRow = rowKeys[index];
+                current = rowMaps[index].spliterator();
+                index++;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            requireNonNull(action);
+            if (rowKeys == null) {
+                TableBikeyMap.this.forEach((r, c, v) -> action.accept(factory.apply(r, c, v)));
+                return;
+            }
+            if (current != null) {
+                R row = currentRow;
+                current.forEachRemaining(e -> action.accept(create(row, e.getIntKey(), e.getValue())));
+                current = null;
+            }
+            for (; index < fence; index++) {
+                R row = rowKeys[index];
+                rowMaps[index].forEach((idx, v) -> action.accept(create(row, idx, v)));
+            }
+        }
+
+        private T create(R row, int columnIdx, V value) {
+            return factory.apply(row, columnsValues.get(columnIdx), value);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            bind();
+            int rowsLeft = fence - index;
+            if (rowsLeft > 1) {
+                int mid = splitPoint();
+                BikeyMapSpliterator<T> prefix = new BikeyMapSpliterator<>(this, index, mid);
+                index = mid;
+                return prefix;
+            }
+            if (rowsLeft == 1 && current != null) {
+                BikeyMapSpliterator<T> lastRow = new BikeyMapSpliterator<>(this, index, fence);
+                index = fence;
+                return lastRow;
+            }
+            if (rowsLeft == 1) {
+                currentRow = rowKeys[index];
+                current = rowMaps[index].spliterator();
+                index++;
+            }
+            if (current == null || !current.hasCharacteristics(EXACT)) {
+                return null;
+            }
+            Spliterator<IntObjectEntry<V>> rowPart = current.trySplit();
+            return rowPart == null ? null : new BikeyMapSpliterator<>(this, currentRow, rowPart);
+        }
+
+        /**
+         * Finds the row which divides the remaining rows in two halves with a
+         * similar number of elements.
+         *
+         * @return index of first row of the second half
+         */
+        private int splitPoint() {
+            int target = (accumulated[index] + accumulated[fence]) >>> 1;
+            int low = index + 1;
+            int high = fence - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (accumulated[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (rowKeys == null) {
+                return size;
+            }
+            long rowsSize = accumulated[fence] - accumulated[index];
+            return current == null ? rowsSize : rowsSize + current.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            if (current == null || current.hasCharacteristics(EXACT)) {
+                return characteristics | EXACT;
+            }
+            return characteristics;
+        }
+
+    }
+
     private final class Values extends AbstractCollection<V> {
 
         @Override
@@ -312,8 +972,7 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
 
         @Override
         public Spliterator<V> spliterator() {
-            return Spliterators.spliterator(iterator(), size(),
-                    Spliterator.DISTINCT + Spliterator.NONNULL + Spliterator.SIZED);
+            return new BikeyMapSpliterator<>((r, c, v) -> v, Spliterator.NONNULL);
         }
 
         @Override
@@ -354,8 +1013,8 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
 
         @Override
         public Spliterator<Bikey<R, C>> spliterator() {
-            return Spliterators.spliterator(iterator(), size(),
-                    Spliterator.DISTINCT + Spliterator.NONNULL + Spliterator.SIZED);
+            return new BikeyMapSpliterator<>((r, c, v) -> new BikeyImpl<>(r, c),
+                    Spliterator.DISTINCT + Spliterator.NONNULL);
         }
 
         @Override
@@ -513,6 +1172,422 @@ public class TableBikeyMap<R, C, V> implements BikeyMap<R, C, V>, Cloneable {
         }
     }
 
+    private final class RowView extends AbstractMap<C, V> {
+
+        private final R row;
+
+        RowView(R row) {
+            this.row = row;
+        }
+
+        @Override
+        public int size() {
+            IntKeyMap<V> intMap = rows.get(row);
+            return intMap == null ? 0 : intMap.size();
+        }
+
+        @Override
+        public boolean containsKey(Object column) {
+            return get(column) != null;
+        }
+
+        @Override
+        public V get(Object column) {
+            ColumnInfo columnInfo = columnIndex.get(column);
+            if (columnInfo == null) {
+                return null;
+            }
+            IntKeyMap<V> intMap = rows.get(row);
+            return intMap == null ? null : intMap.get(columnInfo.index);
+        }
+
+        @Override
+        public V put(C column, V value) {
+            return TableBikeyMap.this.put(row, column, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object column) {
+            return TableBikeyMap.this.remove(row, (C) column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super C, ? super V> action) {
+            requireNonNull(action);
+            IntKeyMap<V> intMap = rows.get(row);
+            if (intMap != null) {
+                intMap.forEach((idx, value) -> action.accept(columnsValues.get(idx), value));
+            }
+        }
+
+        @Override
+        public Set<Entry<C, V>> entrySet() {
+            return new AbstractSet<Entry<C, V>>() {
+
+                @Override
+                public int size() {
+                    return RowView.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<C, V>> iterator() {
+                    IntKeyMap<V> intMap = rows.get(row);
+                    if (intMap == null) {
+                        return Collections.emptyIterator();
+                    }
+                    return new RowIterator(row, intMap);
+                }
+
+            };
+        }
+
+    }
+
+    private final class ColumnView extends AbstractMap<R, V> {
+
+        private final C column;
+
+        ColumnView(C column) {
+            this.column = column;
+        }
+
+        @Override
+        public int size() {
+            ColumnInfo columnInfo = columnIndex.get(column);
+            return columnInfo == null ? 0 : columnInfo.count;
+        }
+
+        @Override
+        public boolean containsKey(Object row) {
+            return get(row) != null;
+        }
+
+        @Override
+        public V get(Object row) {
+            ColumnInfo columnInfo = columnIndex.get(column);
+            if (columnInfo == null) {
+                return null;
+            }
+            IntKeyMap<V> intMap = rows.get(row);
+            return intMap == null ? null : intMap.get(columnInfo.index);
+        }
+
+        @Override
+        public V put(R row, V value) {
+            return TableBikeyMap.this.put(row, column, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object row) {
+            return TableBikeyMap.this.remove((R) row, column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super R, ? super V> action) {
+            requireNonNull(action);
+            ColumnInfo columnInfo = columnIndex.get(column);
+            if (columnInfo == null) {
+                return;
+            }
+            int idx = columnInfo.index;
+            if (rowsByColumn != null) {
+                for (R row : rowsByColumn.get(idx)) {
+                    action.accept(row, rows.get(row).get(idx));
+                }
+            } else {
+                rows.forEach((row, intMap) -> {
+                    V value = intMap.get(idx);
+                    if (value != null) {
+                        action.accept(row, value);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public Set<Entry<R, V>> entrySet() {
+            return new AbstractSet<Entry<R, V>>() {
+
+                @Override
+                public int size() {
+                    return ColumnView.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<R, V>> iterator() {
+                    ColumnInfo columnInfo = columnIndex.get(column);
+                    if (columnInfo == null) {
+                        return Collections.emptyIterator();
+                    }
+                    return new ColumnIterator(columnInfo.index);
+                }
+
+            };
+        }
+
+    }
+
+    /**
+     * Iterator over the values of a row. Removing a value modifies the inner
+     * map of the row, invalidating its iterator, so the first time a value is
+     * removed the positions not yet visited are copied, and iteration
+     * continues over the copy.
+     */
+    private final class RowIterator implements Iterator<Entry<C, V>> {
+
+        private final R row;
+        private Iterator<IntObjectEntry<V>> it;
+        private int[] pending;
+        private int pendingIdx;
+        private C lastColumn;
+
+        RowIterator(R row, IntKeyMap<V> intMap) {
+            this.row = row;
+            this.it = intMap.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it != null ? it.hasNext() : pendingIdx < pending.length;
+        }
+
+        @Override
+        public Entry<C, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int idx;
+            V value;
+            if (it != null) {
+                IntObjectEntry<V> entry = it.next();
+                idx = entry.getIntKey();
+                value = entry.getValue();
+            } else {
+                idx = pending[pendingIdx++];
+                value = rows.get(row).get(idx);
+            }
+            lastColumn = columnsValues.get(idx);
+            return new AbstractMap.SimpleImmutableEntry<>(lastColumn, value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastColumn == null) {
+                throw new IllegalStateException();
+            }
+            if (it != null) {
+                int[] positions = new int[rows.get(row).size()];
+                int count = 0;
+                while (it.hasNext()) {
+                    positions[count++] = it.next().getIntKey();
+                }
+                pending = Arrays.copyOf(positions, count);
+                it = null;
+            }
+            TableBikeyMap.this.remove(row, lastColumn);
+            lastColumn = null;
+        }
+
+    }
+
+    /**
+     * Iterator over the values of a column. Removing a value can modify the
+     * rows map or the column index, so the first time a value is removed the
+     * rows not yet visited are copied, and iteration continues over the copy.
+     */
+    private final class ColumnIterator implements Iterator<Entry<R, V>> {
+
+        private final int idx;
+        private final Iterator<R> indexedRows;
+        private final Iterator<Entry<R, IntKeyMap<V>>> allRows;
+        private Iterator<R> pending;
+        private Entry<R, V> next;
+        private R lastRow;
+
+        ColumnIterator(int idx) {
+            this.idx = idx;
+            this.indexedRows = rowsByColumn == null ? null : rowsByColumn.get(idx).iterator();
+            this.allRows = rowsByColumn == null ? rows.entrySet().iterator() : null;
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<R, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<R, V> current = next;
+            lastRow = current.getKey();
+            next = advance();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRow == null) {
+                throw new IllegalStateException();
+            }
+            if (pending == null) {
+                List<R> remaining = new ArrayList<>();
+                for (Entry<R, V> entry = next; entry != null; entry = advance()) {
+                    remaining.add(entry.getKey());
+                }
+                pending = remaining.iterator();
+                next = advance();
+            }
+            C column = columnsValues.get(idx);
+            TableBikeyMap.this.remove(lastRow, column);
+            lastRow = null;
+        }
+
+        private Entry<R, V> advance() {
+            if (pending != null) {
+                if (pending.hasNext()) {
+                    R row = pending.next();
+                    return new AbstractMap.SimpleImmutableEntry<>(row, rows.get(row).get(idx));
+                }
+                return null;
+            }
+            if (indexedRows != null) {
+                if (indexedRows.hasNext()) {
+                    R row = indexedRows.next();
+                    return new AbstractMap.SimpleImmutableEntry<>(row, rows.get(row).get(idx));
+                }
+                return null;
+            }
+            while (allRows.hasNext()) {
+                Entry<R, IntKeyMap<V>> row = allRows.next();
+                V value = row.getValue().get(idx);
+                if (value != null) {
+                    return new AbstractMap.SimpleImmutableEntry<>(row.getKey(), value);
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Mappings to be stored, grouped by row, keeping the columns and values of
+     * each row in insertion order.
+     */
+    private final class RowBatches {
+
+        private final Map<R, RowBatch> batches = new HashMap<>();
+        private R lastRow;
+        private RowBatch lastBatch;
+
+        void add(R row, C column, V value) {
+            requireNonNull(row, "Row can not be null");
+            requireNonNull(column, "Column can not be null");
+            requireNonNull(value, "Value can not be null");
+            if (lastBatch == null || !lastRow.equals(row)) {
+                lastBatch = batches.computeIfAbsent(row, r -> new RowBatch());
+                lastRow = row;
+            }
+            lastBatch.add(column, value);
+        }
+
+        /**
+         * Stores each row with its columns sorted by position. Positions and
+         * the index of the value are packed in a long, so sorting keeps the
+         * last value of a repeated column after the others.
+         *
+         * <p>
+         * Rows stored in an empty {@link RadixTrie} are built bottom-up from
+         * the sorted positions.
+         */
+        @SuppressWarnings("unchecked")
+        void store() {
+            long[] order = new long[0];
+            ColumnInfo[] infos = new ColumnInfo[0];
+            int[] sortedKeys = new int[0];
+            Object[] sortedValues = new Object[0];
+            C lastColumn = null;
+            ColumnInfo lastInfo = null;
+            for (Entry<R, RowBatch> entry : batches.entrySet()) {
+                R row = entry.getKey();
+                RowBatch batch = entry.getValue();
+                int n = batch.size;
+                if (order.length < n) {
+                    order = new long[n];
+                    infos = new ColumnInfo[n];
+                    sortedKeys = new int[n];
+                    sortedValues = new Object[n];
+                }
+                for (int i = 0; i < n; i++) {
+                    C column = (C) batch.columns[i];
+                    if (lastInfo == null || !lastColumn.equals(column)) {
+                        lastInfo = columnIndex.get(column);
+                        if (lastInfo == null) {
+                            lastInfo = newColumn(column);
+                        }
+                        lastColumn = column;
+                    }
+                    infos[i] = lastInfo;
+                    order[i] = ((long) lastInfo.index << 32) | i;
+                }
+                Arrays.sort(order, 0, n);
+                IntKeyMap<V> intMap = rows.computeIfAbsent(row, r -> innerMapSupplier.get());
+                boolean bottomUp = intMap instanceof RadixTrie && intMap.isEmpty();
+                int sorted = 0;
+                for (int k = 0; k < n; k++) {
+                    if (k + 1 < n && (order[k + 1] >>> 32) == (order[k] >>> 32)) {
+                        continue;
+                    }
+                    int i = (int) order[k];
+                    ColumnInfo columnInfo = infos[i];
+                    if (bottomUp) {
+                        sortedKeys[sorted] = columnInfo.index;
+                        sortedValues[sorted] = batch.values[i];
+                        sorted++;
+                    } else if (intMap.put(columnInfo.index, (V) batch.values[i]) != null) {
+                        continue;
+                    }
+                    size++;
+                    columnInfo.inc();
+                    if (rowsByColumn != null) {
+                        rowsByColumn.get(columnInfo.index).add(row);
+                    }
+                }
+                if (bottomUp) {
+                    ((RadixTrie<V>) intMap).loadSorted(sortedKeys, sortedValues, sorted);
+                }
+                IntKeyMap<V> resized = resizedRow(intMap);
+                if (resized != intMap) {
+                    rows.put(row, resized);
+                }
+            }
+        }
+
+    }
+
+    private static final class RowBatch {
+
+        private Object[] columns = new Object[4];
+        private Object[] values = new Object[4];
+        private int size = 0;
+
+        void add(Object column, Object value) {
+            if (size == columns.length) {
+                int newCapacity = IntArrayMap.growCapacity(size, size + 1);
+                columns = Arrays.copyOf(columns, newCapacity);
+                values = Arrays.copyOf(values, newCapacity);
+            }
+            columns[size] = column;
+            values[size] = value;
+            size++;
+        }
+
+    }
+
     private static class ColumnInfo {
 
         private int index;
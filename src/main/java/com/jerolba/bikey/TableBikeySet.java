@@ -22,21 +22,39 @@ import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements BikeySet<R, C>, Cloneable {
 
-    private Map<R, BitSet> valuesInRow;
+    private final Supplier<? extends IntSet> rowSetSupplier;
+    private Map<R, IntSet> valuesInRow;
     private List<C> columnsValues;
     private Map<C, ColumnInfo> columnIndex;
+    private IntStack freeColumns;
     private int size = 0;
 
     /**
-     * Constructs a new, empty set
+     * Constructs a new, empty set, storing the columns of each row in a
+     * {@link BitSetIntSet}
      */
     public TableBikeySet() {
+        this(BitSetIntSet::new);
+    }
+
+    /**
+     * Constructs a new, empty set, storing the columns of each row in the sets
+     * created by the supplier. With {@link CompressedIntSet} memory depends on
+     * the number of elements of each row, and not on the number of columns.
+     *
+     * @param rowSetSupplier
+     *            creates the set of column positions of each row
+     */
+    public TableBikeySet(Supplier<? extends IntSet> rowSetSupplier) {
+        this.rowSetSupplier = rowSetSupplier;
         this.valuesInRow = new HashMap<>();
         this.columnsValues = new ArrayList<>();
         this.columnIndex = new HashMap<>();
+        this.freeColumns = new IntStack();
     }
 
     /**
@@ -56,15 +74,12 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
     public boolean add(R row, C column) {
         requireNonNull(row, "Row can not be null");
         requireNonNull(column, "Column can not be null");
-        BitSet bitSet = valuesInRow.computeIfAbsent(row, st -> new BitSet());
+        IntSet rowSet = valuesInRow.computeIfAbsent(row, st -> rowSetSupplier.get());
         ColumnInfo columnInfo = columnIndex.get(column);
         if (columnInfo == null) {
-            columnInfo = new ColumnInfo(columnsValues.size());
-            columnIndex.put(column, columnInfo);
-            columnsValues.add(column);
+            columnInfo = newColumn(column);
         }
-        if (!bitSet.get(columnInfo.index)) {
-            bitSet.set(columnInfo.index);
+        if (rowSet.add(columnInfo.index)) {
             columnInfo.inc();
             size++;
             return true;
@@ -83,19 +98,18 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         requireNonNull(row, "Row can not be null");
         requireNonNull(column, "Column can not be null");
 
-        BitSet bitSet = valuesInRow.get(row);
-        if (bitSet != null) {
+        IntSet rowSet = valuesInRow.get(row);
+        if (rowSet != null) {
             ColumnInfo columnInfo = columnIndex.get(column);
-            if (columnInfo != null && bitSet.get(columnInfo.index)) {
-                bitSet.clear(columnInfo.index);
+            if (columnInfo != null && rowSet.contains(columnInfo.index)) {
+                rowSet.remove(columnInfo.index);
                 size--;
-                if (bitSet.isEmpty()) {
+                if (rowSet.isEmpty()) {
                     valuesInRow.remove(row);
                 }
                 columnInfo.dec();
                 if (columnInfo.count == 0) {
-                    columnsValues.set(columnInfo.index, null);
-                    columnIndex.remove(column);
+                    releaseColumn(column, columnInfo);
                 }
                 return true;
             }
@@ -103,6 +117,378 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         return false;
     }
 
+    /**
+     * Registers a new column, reusing the position of a released column if
+     * there is any.
+     */
+    private ColumnInfo newColumn(C column) {
+        ColumnInfo columnInfo;
+        if (freeColumns.isEmpty()) {
+            columnInfo = new ColumnInfo(columnsValues.size());
+            columnsValues.add(column);
+        } else {
+            columnInfo = new ColumnInfo(freeColumns.pop());
+            columnsValues.set(columnInfo.index, column);
+        }
+        columnIndex.put(column, columnInfo);
+        return columnInfo;
+    }
+
+    /**
+     * Removes a column without values, keeping its position to be reused.
+     */
+    private void releaseColumn(C column, ColumnInfo columnInfo) {
+        columnsValues.set(columnInfo.index, null);
+        columnIndex.remove(column);
+        freeColumns.push(columnInfo.index);
+    }
+
+    /**
+     * Renumbers the columns with consecutive positions, removing the gaps left
+     * by released columns, and rebuilds the sets of all rows with the new
+     * positions. Relative order of columns is preserved.
+     *
+     * <p>
+     * Released positions are reused by new columns, but with a high churn of
+     * columns the positions can be sparse, making the row sets bigger. This
+     * operation is linear in the set size.
+     */
+    public void compact() {
+        if (freeColumns.isEmpty()) {
+            return;
+        }
+        int[] remap = new int[columnsValues.size()];
+        List<C> newColumnsValues = new ArrayList<>(columnIndex.size());
+        for (int i = 0; i < columnsValues.size(); i++) {
+            C column = columnsValues.get(i);
+            if (column != null) {
+                remap[i] = newColumnsValues.size();
+                columnIndex.get(column).index = remap[i];
+                newColumnsValues.add(column);
+            }
+        }
+        for (Entry<R, IntSet> entry : valuesInRow.entrySet()) {
+            entry.setValue(translate(entry.getValue(), remap));
+        }
+        columnsValues = newColumnsValues;
+        freeColumns.clear();
+    }
+
+    /**
+     * Column keys by position, with null in released positions. Used by
+     * {@link BikeyWriter}.
+     */
+    List<C> columnsValues() {
+        return columnsValues;
+    }
+
+    /**
+     * Map of each row with the set of its column positions. Used by
+     * {@link BikeyWriter}.
+     */
+    Map<R, IntSet> rowSets() {
+        return valuesInRow;
+    }
+
+    /**
+     * Creates an empty set of column positions of the type used by this set.
+     * Used by {@link BikeyReader}.
+     */
+    IntSet newRowSet() {
+        return rowSetSupplier.get();
+    }
+
+    /**
+     * Replaces the content of an empty set with already built rows, whose
+     * values are positions in the columns list. Used by {@link BikeyReader}.
+     */
+    void load(List<C> columns, int[] columnCounts, Map<R, IntSet> rowSets, int totalSize) {
+        columnsValues = columns;
+        columnIndex = new HashMap<>(columns.size() * 4 / 3 + 1);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo columnInfo = new ColumnInfo(i);
+            columnInfo.count = columnCounts[i];
+            columnIndex.put(columns.get(i), columnInfo);
+        }
+        freeColumns.clear();
+        valuesInRow = rowSets;
+        size = totalSize;
+    }
+
+    /**
+     * Adds all of the elements in the specified collection to this set. If the
+     * collection is also a <tt>TableBikeySet</tt>, rows are merged with the bulk
+     * operations of their row sets, translating column positions only if both
+     * sets have not the same columns in the same positions.
+     *
+     * @param c
+     *            collection containing elements to be added to this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     * @throws NullPointerException
+     *             if the specified collection is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends Bikey<R, C>> c) {
+        if (!(c instanceof TableBikeySet)) {
+            return super.addAll(c);
+        }
+        TableBikeySet<R, C> other = (TableBikeySet<R, C>) c;
+        if (other == this) {
+            return false;
+        }
+        int[] remap = new int[other.columnsValues.size()];
+        for (int i = 0; i < remap.length; i++) {
+            C column = other.columnsValues.get(i);
+            if (column == null) {
+                remap[i] = i;
+            } else {
+                ColumnInfo columnInfo = columnIndex.get(column);
+                remap[i] = columnInfo != null ? columnInfo.index : newColumn(column).index;
+            }
+        }
+        boolean aligned = isIdentity(remap);
+        ColumnInfo[] infos = columnInfos();
+        boolean modified = false;
+        for (Entry<R, IntSet> entry : other.valuesInRow.entrySet()) {
+            IntSet added = aligned ? copyOf(entry.getValue()) : translate(entry.getValue(), remap);
+            IntSet rowSet = valuesInRow.get(entry.getKey());
+            if (rowSet != null) {
+                added.removeAll(rowSet);
+                if (added.isEmpty()) {
+                    continue;
+                }
+                rowSet.addAll(added);
+            } else {
+                valuesInRow.put(entry.getKey(), added);
+            }
+            size += updateCounts(added, infos, 1);
+            modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified
+     * collection. If the collection is also a <tt>TableBikeySet</tt>, rows are
+     * intersected with the bulk operations of their row sets.
+     *
+     * @param c
+     *            collection containing elements to be retained in this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     * @throws NullPointerException
+     *             if the specified collection is null
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (!(c instanceof TableBikeySet)) {
+            return super.retainAll(c);
+        }
+        TableBikeySet<?, ?> other = (TableBikeySet<?, ?>) c;
+        if (other == this) {
+            return false;
+        }
+        int[] remap = remapFrom(other);
+        boolean aligned = isIdentity(remap);
+        ColumnInfo[] infos = columnInfos();
+        boolean modified = false;
+        Iterator<Entry<R, IntSet>> it = valuesInRow.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<R, IntSet> entry = it.next();
+            IntSet rowSet = entry.getValue();
+            IntSet removed = rowSet.clone();
+            IntSet otherRowSet = other.valuesInRow.get(entry.getKey());
+            if (otherRowSet != null) {
+                removed.removeAll(aligned ? otherRowSet : translate(otherRowSet, remap));
+                if (removed.isEmpty()) {
+                    continue;
+                }
+                rowSet.removeAll(removed);
+            }
+            if (otherRowSet == null || rowSet.isEmpty()) {
+                it.remove();
+            }
+            size -= updateCounts(removed, infos, -1);
+            modified = true;
+        }
+        releaseEmptyColumns(infos);
+        return modified;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the
+     * specified collection. If the collection is also a <tt>TableBikeySet</tt>,
+     * rows are subtracted with the bulk operations of their row sets.
+     *
+     * @param c
+     *            collection containing elements to be removed from this set
+     * @return <tt>true</tt> if this set changed as a result of the call
+     * @throws NullPointerException
+     *             if the specified collection is null
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (!(c instanceof TableBikeySet)) {
+            return super.removeAll(c);
+        }
+        TableBikeySet<?, ?> other = (TableBikeySet<?, ?>) c;
+        if (other == this) {
+            boolean modified = !isEmpty();
+            clear();
+            return modified;
+        }
+        int[] remap = remapFrom(other);
+        boolean aligned = isIdentity(remap);
+        ColumnInfo[] infos = columnInfos();
+        boolean modified = false;
+        for (Entry<?, IntSet> entry : other.valuesInRow.entrySet()) {
+            IntSet rowSet = valuesInRow.get(entry.getKey());
+            if (rowSet == null) {
+                continue;
+            }
+            IntSet removed = aligned ? copyOf(entry.getValue()) : translate(entry.getValue(), remap);
+            removed.retainAll(rowSet);
+            if (removed.isEmpty()) {
+                continue;
+            }
+            rowSet.removeAll(removed);
+            if (rowSet.isEmpty()) {
+                valuesInRow.remove(entry.getKey());
+            }
+            size -= updateCounts(removed, infos, -1);
+            modified = true;
+        }
+        releaseEmptyColumns(infos);
+        return modified;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this set contains all of the elements of the
+     * specified collection. If the collection is also a <tt>TableBikeySet</tt>,
+     * rows are compared with the bulk operations of their row sets.
+     *
+     * @param c
+     *            collection to be checked for containment in this set
+     * @return <tt>true</tt> if this set contains all of the elements of the
+     *         specified collection
+     * @throws NullPointerException
+     *             if the specified collection is null
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (!(c instanceof TableBikeySet)) {
+            return super.containsAll(c);
+        }
+        TableBikeySet<?, ?> other = (TableBikeySet<?, ?>) c;
+        if (other == this) {
+            return true;
+        }
+        if (other.size() > size()) {
+            return false;
+        }
+        int[] remap = remapFrom(other);
+        boolean aligned = isIdentity(remap);
+        for (Entry<?, IntSet> entry : other.valuesInRow.entrySet()) {
+            IntSet rowSet = valuesInRow.get(entry.getKey());
+            if (rowSet == null) {
+                return false;
+            }
+            IntSet otherRowSet = entry.getValue();
+            if (!aligned) {
+                otherRowSet = translate(otherRowSet, remap);
+                if (otherRowSet.size() != entry.getValue().size()) {
+                    // some column of the row doesn't exist in this set
+                    return false;
+                }
+            }
+            if (!rowSet.containsAll(otherRowSet)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps each column position of other set to the position of the same
+     * column in this set, or -1 if the column doesn't exist. Released positions
+     * of the other set, without values, are mapped to themselves.
+     */
+    private int[] remapFrom(TableBikeySet<?, ?> other) {
+        int[] remap = new int[other.columnsValues.size()];
+        for (int i = 0; i < remap.length; i++) {
+            Object column = other.columnsValues.get(i);
+            if (column == null) {
+                remap[i] = i;
+            } else {
+                ColumnInfo columnInfo = columnIndex.get(column);
+                remap[i] = columnInfo == null ? -1 : columnInfo.index;
+            }
+        }
+        return remap;
+    }
+
+    private static boolean isIdentity(int[] remap) {
+        for (int i = 0; i < remap.length; i++) {
+            if (remap[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a new row set with the positions of other set translated to
+     * positions of this set, skipping columns that doesn't exist in this set.
+     */
+    private IntSet translate(IntSet rowSet, int[] remap) {
+        IntSet translated = rowSetSupplier.get();
+        for (int idx = rowSet.next(0); idx >= 0; idx = rowSet.next(idx + 1)) {
+            if (remap[idx] >= 0) {
+                translated.add(remap[idx]);
+            }
+        }
+        return translated;
+    }
+
+    /**
+     * Returns a new row set, of the type used by this set, with the same
+     * positions.
+     */
+    private IntSet copyOf(IntSet rowSet) {
+        IntSet copy = rowSetSupplier.get();
+        copy.addAll(rowSet);
+        return copy;
+    }
+
+    private ColumnInfo[] columnInfos() {
+        ColumnInfo[] infos = new ColumnInfo[columnsValues.size()];
+        for (ColumnInfo columnInfo : columnIndex.values()) {
+            infos[columnInfo.index] = columnInfo;
+        }
+        return infos;
+    }
+
+    /**
+     * Adds delta to the count of each column in the row set, and returns the
+     * number of columns.
+     */
+    private static int updateCounts(IntSet rowSet, ColumnInfo[] infos, int delta) {
+        int count = 0;
+        for (int idx = rowSet.next(0); idx >= 0; idx = rowSet.next(idx + 1)) {
+            infos[idx].count += delta;
+            count++;
+        }
+        return count;
+    }
+
+    private void releaseEmptyColumns(ColumnInfo[] infos) {
+        for (ColumnInfo columnInfo : infos) {
+            if (columnInfo != null && columnInfo.count == 0) {
+                releaseColumn(columnsValues.get(columnInfo.index), columnInfo);
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public boolean remove(Object o) {
@@ -121,16 +507,37 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         return columnIndex.keySet();
     }
 
+    /**
+     * Returns a view of the columns paired with a row in this set. Changes to
+     * the set are reflected in the view, and adding or removing columns in the
+     * view adds or removes them in the set.
+     *
+     * <p>
+     * The view accesses directly the set of the row, and its iteration is
+     * proportional to the size of the row.
+     *
+     * @param row
+     *            the row whose columns are returned
+     * @return a set view of the columns in the row
+     * @throws NullPointerException
+     *             if the specified row is null
+     */
+    @Override
+    public Set<C> row(R row) {
+        requireNonNull(row, "Row can not be null");
+        return new RowSet(row);
+    }
+
     @Override
     public boolean contains(R row, C column) {
         requireNonNull(row, "Row can not be null");
         requireNonNull(column, "Column can not be null");
 
-        BitSet bitSet = valuesInRow.get(row);
-        if (bitSet != null) {
+        IntSet rowSet = valuesInRow.get(row);
+        if (rowSet != null) {
             ColumnInfo columnInfo = columnIndex.get(column);
             if (columnInfo != null) {
-                return bitSet.get(columnInfo.index);
+                return rowSet.contains(columnInfo.index);
             }
         }
         return false;
@@ -149,8 +556,8 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         requireNonNull(action);
         valuesInRow.entrySet().forEach(entry -> {
             R row = entry.getKey();
-            BitSet valuesInRow = entry.getValue();
-            for (int idx = valuesInRow.nextSetBit(0); idx >= 0; idx = valuesInRow.nextSetBit(idx + 1)) {
+            IntSet valuesInRow = entry.getValue();
+            for (int idx = valuesInRow.next(0); idx >= 0; idx = valuesInRow.next(idx + 1)) {
                 C column = columnsValues.get(idx);
                 action.accept(row, column);
             }
@@ -195,6 +602,7 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         valuesInRow.clear();
         columnsValues.clear();
         columnIndex.clear();
+        freeColumns.clear();
         size = 0;
     }
 
@@ -210,12 +618,13 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         try {
             TableBikeySet<R, C> newSet = (TableBikeySet<R, C>) super.clone();
             newSet.columnsValues = new ArrayList<>(this.columnsValues);
+            newSet.freeColumns = this.freeColumns.clone();
             newSet.columnIndex = new HashMap<>(this.columnIndex.size());
             this.columnIndex.forEach((col, index) -> {
                 newSet.columnIndex.put(col, index.clone());
             });
             newSet.valuesInRow = new HashMap<>(this.valuesInRow.size());
-            this.valuesInRow.forEach((row, bitSet) -> newSet.valuesInRow.put(row, (BitSet) bitSet.clone()));
+            this.valuesInRow.forEach((row, rowSet) -> newSet.valuesInRow.put(row, rowSet.clone()));
             return newSet;
         } catch (CloneNotSupportedException e) {
             throw new InternalError(e);
@@ -224,10 +633,10 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
 
     private class BikeySetIterator implements Iterator<Bikey<R, C>> {
 
-        private final Iterator<Entry<R, BitSet>> rowsIterator;
+        private final Iterator<Entry<R, IntSet>> rowsIterator;
         private R currentRowKeyValue = null;
-        private BitSet currentBitSet = null;
-        private int bitSetIterator = -1;
+        private IntSet currentRowSet = null;
+        private int columnIterator = -1;
 
         BikeySetIterator() {
             this.rowsIterator = valuesInRow.entrySet().iterator();
@@ -236,7 +645,7 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
 
         @Override
         public boolean hasNext() {
-            return bitSetIterator != -1;
+            return columnIterator != -1;
         }
 
         @Override
@@ -244,10 +653,10 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            C column = columnsValues.get(bitSetIterator);
+            C column = columnsValues.get(columnIterator);
             Bikey<R, C> bikey = new BikeyImpl<>(currentRowKeyValue, column);
-            bitSetIterator = currentBitSet.nextSetBit(bitSetIterator + 1);
-            if (bitSetIterator == -1) {
+            columnIterator = currentRowSet.next(columnIterator + 1);
+            if (columnIterator == -1) {
                 iterateMap();
             }
             return bikey;
@@ -257,12 +666,12 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
             if (!rowsIterator.hasNext()) {
                 return;
             }
-            Entry<R, BitSet> next = rowsIterator.next();
+            Entry<R, IntSet> next = rowsIterator.next();
             currentRowKeyValue = next.getKey();
-            currentBitSet = next.getValue();
-            bitSetIterator = currentBitSet.nextSetBit(0);
-            // In theory no bitset is empty
-            assert (bitSetIterator >= 0);
+            currentRowSet = next.getValue();
+            columnIterator = currentRowSet.next(0);
+            // In theory no row set is empty
+            assert (columnIterator >= 0);
         }
     }
 
@@ -303,6 +712,94 @@ public class TableBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements Bik
         return hash;
     }
 
+    private final class RowSet extends AbstractSet<C> {
+
+        private final R row;
+
+        RowSet(R row) {
+            this.row = row;
+        }
+
+        @Override
+        public int size() {
+            IntSet rowSet = valuesInRow.get(row);
+            return rowSet == null ? 0 : rowSet.size();
+        }
+
+        @Override
+        public boolean contains(Object column) {
+            ColumnInfo columnInfo = columnIndex.get(column);
+            if (columnInfo == null) {
+                return false;
+            }
+            IntSet rowSet = valuesInRow.get(row);
+            return rowSet != null && rowSet.contains(columnInfo.index);
+        }
+
+        @Override
+        public boolean add(C column) {
+            return TableBikeySet.this.add(row, column);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object column) {
+            return TableBikeySet.this.remove(row, (C) column);
+        }
+
+        @Override
+        public void forEach(Consumer<? super C> action) {
+            requireNonNull(action);
+            IntSet rowSet = valuesInRow.get(row);
+            if (rowSet != null) {
+                for (int idx = rowSet.next(0); idx >= 0; idx = rowSet.next(idx + 1)) {
+                    action.accept(columnsValues.get(idx));
+                }
+            }
+        }
+
+        @Override
+        public Iterator<C> iterator() {
+            IntSet rowSet = valuesInRow.get(row);
+            if (rowSet == null) {
+                return Collections.emptyIterator();
+            }
+            return new Iterator<C>() {
+
+                private int idx = rowSet.next(0);
+                private C last;
+
+                @Override
+                public boolean hasNext() {
+                    return idx >= 0;
+                }
+
+                @Override
+                public C next() {
+                    if (idx < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    last = columnsValues.get(idx);
+                    idx = rowSet.next(idx + 1);
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    // Removal only clears a position lower than idx, so the
+                    // row set can still be traversed from idx
+                    TableBikeySet.this.remove(row, last);
+                    last = null;
+                }
+
+            };
+        }
+
+    }
+
     private static class ColumnInfo {
 
         private int index;
@@ -0,0 +1,268 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map.Entry;
+import java.util.function.IntConsumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Implementation of {@link DoubleBikeyMap} with the same structure than
+ * {@link TableBikeyMap}: each row has an {@link IntKeyDoubleMap} indexed by the
+ * position of the column, storing primitive double values.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public class TableDoubleBikeyMap<R, C> extends PrimitiveTableBikeyMap<R, C, IntKeyDoubleMap>
+        implements DoubleBikeyMap<R, C> {
+
+    private final DoubleFunction<? extends IntKeyDoubleMap> innerMapFactory;
+    private final double missingValue;
+
+    /**
+     * Constructs an empty map using {@link DoubleRadixTrie} for each row, with
+     * 0.0 as missing value.
+     */
+    public TableDoubleBikeyMap() {
+        this(0.0);
+    }
+
+    /**
+     * Constructs an empty map using {@link DoubleRadixTrie} for each row, with
+     * the given missing value.
+     *
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public TableDoubleBikeyMap(double missingValue) {
+        this(DoubleRadixTrie::new, missingValue);
+    }
+
+    /**
+     * Constructs an empty map with the given factory of row maps and missing
+     * value.
+     *
+     * @param innerMapFactory
+     *            creates the map of each row, given the missing value
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public TableDoubleBikeyMap(DoubleFunction<? extends IntKeyDoubleMap> innerMapFactory, double missingValue) {
+        this.innerMapFactory = innerMapFactory;
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * Constructs a new {@code TableDoubleBikeyMap} with the same mappings and
+     * missing value as the specified {@code DoubleBikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public TableDoubleBikeyMap(DoubleBikeyMap<R, C> m) {
+        this(m.getMissingValue());
+        putAll(m);
+    }
+
+    @Override
+    IntKeyDoubleMap newRow() {
+        return innerMapFactory.apply(missingValue);
+    }
+
+    @Override
+    int rowSize(IntKeyDoubleMap rowMap) {
+        return rowMap.size();
+    }
+
+    @Override
+    void forEachColumn(IntKeyDoubleMap rowMap, IntConsumer action) {
+        rowMap.forEachKey(action);
+    }
+
+    @Override
+    IntKeyDoubleMap remapRow(IntKeyDoubleMap rowMap, int[] remap) {
+        IntKeyDoubleMap newOne = newRow();
+        rowMap.forEach((idx, v) -> newOne.put(remap[idx], v));
+        return newOne;
+    }
+
+    @Override
+    IntKeyDoubleMap copyRow(IntKeyDoubleMap rowMap) {
+        if (rowMap instanceof IntArrayDoubleMap) {
+            return (IntKeyDoubleMap) ((IntArrayDoubleMap) rowMap).clone();
+        }
+        IntKeyDoubleMap newOne = newRow();
+        newOne.putAll(rowMap);
+        return newOne;
+    }
+
+    @Override
+    public double getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public double put(R row, C column, double value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        IntKeyDoubleMap intMap = rowOrNew(row);
+        ColumnInfo columnInfo = columnOrNew(column);
+        int sizeBefore = intMap.size();
+        double prev = intMap.put(columnInfo.index, value);
+        if (intMap.size() != sizeBefore) {
+            valueAdded(columnInfo);
+        }
+        return prev;
+    }
+
+    @Override
+    public double getDouble(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyDoubleMap intMap = rows.get(row);
+            if (intMap != null) {
+                return intMap.get(columnInfo.index);
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean containsKey(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyDoubleMap intMap = rows.get(row);
+            return intMap != null && intMap.containsKey(columnInfo.index);
+        }
+        return false;
+    }
+
+    @Override
+    public double addTo(R row, C column, double delta) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        IntKeyDoubleMap intMap = rowOrNew(row);
+        ColumnInfo columnInfo = columnOrNew(column);
+        int sizeBefore = intMap.size();
+        double prev = intMap.addTo(columnInfo.index, delta);
+        if (intMap.size() != sizeBefore) {
+            valueAdded(columnInfo);
+        }
+        return prev;
+    }
+
+    @Override
+    public double removeDouble(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyDoubleMap intMap = rows.get(row);
+            if (intMap != null && intMap.containsKey(columnInfo.index)) {
+                double prev = intMap.remove(columnInfo.index);
+                valueRemoved(row, column, intMap, columnInfo);
+                return prev;
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean containsValue(double value) {
+        for (IntKeyDoubleMap row : rows.values()) {
+            if (row.containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEach(BikeyDoubleConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        rows.forEach((r, intKeyMap) -> intKeyMap.forEach((idx, v) -> action.accept(r, columnAt(idx), v)));
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((r, c, v) -> hash[0] += (31 * r.hashCode() + c.hashCode()) ^ Double.hashCode(v));
+        return hash[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof DoubleBikeyMap)) {
+            return false;
+        }
+        DoubleBikeyMap<R, C> m = (DoubleBikeyMap<R, C>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            for (Entry<R, IntKeyDoubleMap> row : rows.entrySet()) {
+                R r = row.getKey();
+                boolean[] equals = { true };
+                row.getValue().forEach((idx, v) -> {
+                    C c = columnAt(idx);
+                    if (equals[0] && !(m.containsKey(r, c) && Double.compare(v, m.getDouble(r, c)) == 0)) {
+                        equals[0] = false;
+                    }
+                });
+                if (!equals[0]) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException unused) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((r, c, v) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append('[').append(r).append(',').append(' ').append(c).append(']').append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
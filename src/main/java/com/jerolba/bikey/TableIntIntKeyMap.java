@@ -0,0 +1,225 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link IntIntKeyMap} implementation for dense int identifiers. Rows are
+ * stored in a {@link RadixTrie} and each row keeps its columns in an
+ * {@link IntKeyMap}, using the column value as the int key, so neither rows nor
+ * columns are boxed and no column dictionary is needed.
+ *
+ * @param <V>
+ *            the type of mapped values
+ */
+public class TableIntIntKeyMap<V> implements IntIntKeyMap<V>, Cloneable {
+
+    private Supplier<? extends IntKeyMap<V>> innerMapSupplier;
+    private RadixTrie<IntKeyMap<V>> rows;
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty map, storing the columns of each row in a
+     * {@link RadixTrie}.
+     */
+    public TableIntIntKeyMap() {
+        this(RadixTrie::new);
+    }
+
+    /**
+     * Constructs a new, empty map, storing the columns of each row in the map
+     * created by the supplier.
+     *
+     * @param innerMapSupplier
+     *            supplier of the {@link IntKeyMap} used to store each row
+     */
+    public TableIntIntKeyMap(Supplier<? extends IntKeyMap<V>> innerMapSupplier) {
+        this.innerMapSupplier = requireNonNull(innerMapSupplier);
+        this.rows = new RadixTrie<>();
+    }
+
+    /**
+     * Constructs a new map with the same mappings as the specified map.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public TableIntIntKeyMap(IntIntKeyMap<? extends V> m) {
+        this();
+        putAll(m);
+    }
+
+    @Override
+    public V put(int row, int column, V value) {
+        requireNonNull(value, "Value can not be null");
+        IntKeyMap<V> intMap = rows.get(row);
+        if (intMap == null) {
+            intMap = innerMapSupplier.get();
+            rows.put(row, intMap);
+        }
+        V old = intMap.put(column, value);
+        if (old == null) {
+            size++;
+        }
+        return old;
+    }
+
+    @Override
+    public V get(int row, int column) {
+        IntKeyMap<V> intMap = rows.get(row);
+        if (intMap == null) {
+            return null;
+        }
+        return intMap.get(column);
+    }
+
+    @Override
+    public V remove(int row, int column) {
+        IntKeyMap<V> intMap = rows.get(row);
+        if (intMap == null) {
+            return null;
+        }
+        V old = intMap.remove(column);
+        if (old != null) {
+            size--;
+            if (intMap.isEmpty()) {
+                rows.remove(row);
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public boolean containsKey(int row, int column) {
+        IntKeyMap<V> intMap = rows.get(row);
+        return intMap != null && intMap.containsKey(column);
+    }
+
+    @Override
+    public boolean containsRow(int row) {
+        return rows.containsKey(row);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        requireNonNull(value);
+        for (IntKeyMap<V> intMap : rows.values()) {
+            if (intMap.containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        rows.clear();
+        size = 0;
+    }
+
+    @Override
+    public Set<Integer> rowKeySet() {
+        return rows.keySet();
+    }
+
+    @Override
+    public void forEach(IntIntObjectConsumer<? super V> action) {
+        requireNonNull(action);
+        rows.forEach((row, intMap) -> intMap.forEach((column, value) -> action.accept(row, column, value)));
+    }
+
+    @Override
+    public void forEachKey(IntIntConsumer action) {
+        requireNonNull(action);
+        rows.forEach((row, intMap) -> intMap.forEachKey(column -> action.accept(row, column)));
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>TableIntIntKeyMap</tt> instance: the
+     * values themselves are not cloned.
+     *
+     * @return a shallow copy of this map
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            TableIntIntKeyMap<V> newMap = (TableIntIntKeyMap<V>) super.clone();
+            newMap.rows = new RadixTrie<>();
+            this.rows.forEach((row, innerMap) -> {
+                IntKeyMap<V> newOne = innerMapSupplier.get();
+                newOne.putAll(innerMap);
+                newMap.rows.put(row, newOne);
+            });
+            return newMap;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((r, c, v) -> hash[0] += (31 * r + c) ^ v.hashCode());
+        return hash[0];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntIntKeyMap)) {
+            return false;
+        }
+        IntIntKeyMap<?> m = (IntIntKeyMap<?>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        boolean[] equals = { true };
+        forEach((r, c, v) -> {
+            if (equals[0] && !v.equals(m.get(r, c))) {
+                equals[0] = false;
+            }
+        });
+        return equals[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((r, c, v) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append('[').append(r).append(',').append(' ').append(c).append(']').append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
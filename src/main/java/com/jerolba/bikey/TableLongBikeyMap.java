@@ -0,0 +1,268 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map.Entry;
+import java.util.function.IntConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Implementation of {@link LongBikeyMap} with the same structure than
+ * {@link TableBikeyMap}: each row has an {@link IntKeyLongMap} indexed by the
+ * position of the column, storing primitive long values.
+ *
+ * @param <R>
+ *            the type of rows maintained by this map
+ * @param <C>
+ *            the type of columns maintained by this map
+ */
+public class TableLongBikeyMap<R, C> extends PrimitiveTableBikeyMap<R, C, IntKeyLongMap>
+        implements LongBikeyMap<R, C> {
+
+    private final LongFunction<? extends IntKeyLongMap> innerMapFactory;
+    private final long missingValue;
+
+    /**
+     * Constructs an empty map using {@link LongRadixTrie} for each row, with
+     * 0L as missing value.
+     */
+    public TableLongBikeyMap() {
+        this(0L);
+    }
+
+    /**
+     * Constructs an empty map using {@link LongRadixTrie} for each row, with
+     * the given missing value.
+     *
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public TableLongBikeyMap(long missingValue) {
+        this(LongRadixTrie::new, missingValue);
+    }
+
+    /**
+     * Constructs an empty map with the given factory of row maps and missing
+     * value.
+     *
+     * @param innerMapFactory
+     *            creates the map of each row, given the missing value
+     * @param missingValue
+     *            value returned when there is no mapping for a bikey
+     */
+    public TableLongBikeyMap(LongFunction<? extends IntKeyLongMap> innerMapFactory, long missingValue) {
+        this.innerMapFactory = innerMapFactory;
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * Constructs a new {@code TableLongBikeyMap} with the same mappings and
+     * missing value as the specified {@code LongBikeyMap}.
+     *
+     * @param m
+     *            the map whose mappings are to be placed in this map
+     * @throws NullPointerException
+     *             if the specified map is null
+     */
+    public TableLongBikeyMap(LongBikeyMap<R, C> m) {
+        this(m.getMissingValue());
+        putAll(m);
+    }
+
+    @Override
+    IntKeyLongMap newRow() {
+        return innerMapFactory.apply(missingValue);
+    }
+
+    @Override
+    int rowSize(IntKeyLongMap rowMap) {
+        return rowMap.size();
+    }
+
+    @Override
+    void forEachColumn(IntKeyLongMap rowMap, IntConsumer action) {
+        rowMap.forEachKey(action);
+    }
+
+    @Override
+    IntKeyLongMap remapRow(IntKeyLongMap rowMap, int[] remap) {
+        IntKeyLongMap newOne = newRow();
+        rowMap.forEach((idx, v) -> newOne.put(remap[idx], v));
+        return newOne;
+    }
+
+    @Override
+    IntKeyLongMap copyRow(IntKeyLongMap rowMap) {
+        if (rowMap instanceof IntArrayLongMap) {
+            return (IntKeyLongMap) ((IntArrayLongMap) rowMap).clone();
+        }
+        IntKeyLongMap newOne = newRow();
+        newOne.putAll(rowMap);
+        return newOne;
+    }
+
+    @Override
+    public long getMissingValue() {
+        return missingValue;
+    }
+
+    @Override
+    public long put(R row, C column, long value) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        IntKeyLongMap intMap = rowOrNew(row);
+        ColumnInfo columnInfo = columnOrNew(column);
+        int sizeBefore = intMap.size();
+        long prev = intMap.put(columnInfo.index, value);
+        if (intMap.size() != sizeBefore) {
+            valueAdded(columnInfo);
+        }
+        return prev;
+    }
+
+    @Override
+    public long getLong(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyLongMap intMap = rows.get(row);
+            if (intMap != null) {
+                return intMap.get(columnInfo.index);
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean containsKey(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyLongMap intMap = rows.get(row);
+            return intMap != null && intMap.containsKey(columnInfo.index);
+        }
+        return false;
+    }
+
+    @Override
+    public long addTo(R row, C column, long delta) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        IntKeyLongMap intMap = rowOrNew(row);
+        ColumnInfo columnInfo = columnOrNew(column);
+        int sizeBefore = intMap.size();
+        long prev = intMap.addTo(columnInfo.index, delta);
+        if (intMap.size() != sizeBefore) {
+            valueAdded(columnInfo);
+        }
+        return prev;
+    }
+
+    @Override
+    public long removeLong(R row, C column) {
+        requireNonNull(row, "Row can not be null");
+        requireNonNull(column, "Column can not be null");
+
+        ColumnInfo columnInfo = column(column);
+        if (columnInfo != null) {
+            IntKeyLongMap intMap = rows.get(row);
+            if (intMap != null && intMap.containsKey(columnInfo.index)) {
+                long prev = intMap.remove(columnInfo.index);
+                valueRemoved(row, column, intMap, columnInfo);
+                return prev;
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean containsValue(long value) {
+        for (IntKeyLongMap row : rows.values()) {
+            if (row.containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEach(BikeyLongConsumer<? super R, ? super C> action) {
+        requireNonNull(action);
+        rows.forEach((r, intKeyMap) -> intKeyMap.forEach((idx, v) -> action.accept(r, columnAt(idx), v)));
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((r, c, v) -> hash[0] += (31 * r.hashCode() + c.hashCode()) ^ Long.hashCode(v));
+        return hash[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LongBikeyMap)) {
+            return false;
+        }
+        LongBikeyMap<R, C> m = (LongBikeyMap<R, C>) o;
+        if (m.size() != size()) {
+            return false;
+        }
+        try {
+            for (Entry<R, IntKeyLongMap> row : rows.entrySet()) {
+                R r = row.getKey();
+                boolean[] equals = { true };
+                row.getValue().forEach((idx, v) -> {
+                    C c = columnAt(idx);
+                    if (equals[0] && !(m.containsKey(r, c) && Long.compare(v, m.getLong(r, c)) == 0)) {
+                        equals[0] = false;
+                    }
+                });
+                if (!equals[0]) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException unused) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((r, c, v) -> {
+            if (sb.length() > 1) {
+                sb.append(',').append(' ');
+            }
+            sb.append('[').append(r).append(',').append(' ').append(c).append(']').append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveIntKeyMapTest extends IntKeyMapTest {
+
+    @Override
+    public IntKeyMap<String> getNewIntKeyMap() {
+        return new AdaptiveIntKeyMap<>();
+    }
+
+    @Test
+    public void invalidThresholdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntKeyMap<>(0, 0.5f));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntKeyMap<>(8, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntKeyMap<>(8, 1.5f));
+    }
+
+    @Nested
+    class Promotion {
+
+        private final AdaptiveIntKeyMap<String> adaptive = (AdaptiveIntKeyMap<String>) map;
+
+        @Test
+        public void smallMapsUseSortedArrays() {
+            int[] keys = { 700, -3, 5, 90000, 0, 12, 6, 1 };
+            for (int key : keys) {
+                assertNull(adaptive.put(key, "v" + key));
+            }
+            assertNull(adaptive.promoted());
+            assertEquals("v5", adaptive.put(5, "five"));
+            assertEquals(8, adaptive.size());
+            assertEquals("five", adaptive.get(5));
+            assertEquals(Arrays.asList(-3, 0, 1, 5, 6, 12, 700, 90000), new ArrayList<>(adaptive.keySet()));
+            assertEquals("v700", adaptive.remove(700));
+            assertNull(adaptive.remove(700));
+            assertEquals(7, adaptive.size());
+            assertFalse(adaptive.containsKey(700));
+        }
+
+        @Test
+        public void growingSparseMapIsPromotedToRadixTrie() {
+            for (int i = 0; i < 100; i++) {
+                adaptive.put(i * 1000, "v" + i);
+                if (i < 8) {
+                    assertNull(adaptive.promoted());
+                }
+            }
+            assertTrue(adaptive.promoted() instanceof RadixTrie);
+            for (int i = 0; i < 100; i++) {
+                assertEquals("v" + i, adaptive.get(i * 1000));
+            }
+            assertEquals(100, adaptive.size());
+        }
+
+        @Test
+        public void denseMapIsPromotedToArray() {
+            for (int i = 0; i < 64; i++) {
+                adaptive.put(i, "v" + i);
+            }
+            assertTrue(adaptive.promoted() instanceof IntArrayMap);
+            assertEquals(64, adaptive.size());
+            assertNull(adaptive.get(-1));
+            assertNull(adaptive.remove(-1));
+            assertNull(adaptive.get(100));
+            for (int i = 0; i < 64; i++) {
+                assertEquals("v" + i, adaptive.get(i));
+            }
+        }
+
+        @Test
+        public void sparseOrNegativeKeysReturnToRadixTrie() {
+            for (int i = 0; i < 64; i++) {
+                adaptive.put(i, "v" + i);
+            }
+            adaptive.put(100, "v100");
+            assertTrue(adaptive.promoted() instanceof IntArrayMap);
+            adaptive.put(1_000_000, "big");
+            assertTrue(adaptive.promoted() instanceof RadixTrie);
+            assertEquals("big", adaptive.get(1_000_000));
+            adaptive.remove(1_000_000);
+
+            AdaptiveIntKeyMap<String> other = new AdaptiveIntKeyMap<>();
+            for (int i = 0; i < 64; i++) {
+                other.put(i, "v" + i);
+            }
+            other.put(-1, "negative");
+            assertTrue(other.promoted() instanceof RadixTrie);
+            assertEquals("negative", other.get(-1));
+            assertEquals(65, other.size());
+        }
+
+        @Test
+        public void clearReturnsToSortedArrays() {
+            for (int i = 0; i < 64; i++) {
+                adaptive.put(i, "v" + i);
+            }
+            adaptive.clear();
+            assertNull(adaptive.promoted());
+            assertTrue(adaptive.isEmpty());
+            adaptive.put(3, "three");
+            assertEquals("three", adaptive.get(3));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void cloneIsIndependentInAllRepresentations() {
+            for (int i = 0; i < 64; i++) {
+                adaptive.put(i, "v" + i);
+                AdaptiveIntKeyMap<String> cloned = (AdaptiveIntKeyMap<String>) adaptive.clone();
+                assertEquals(adaptive, cloned);
+                cloned.put(i, "changed");
+                cloned.put(5000, "new");
+                assertEquals("v" + i, adaptive.get(i));
+                assertFalse(adaptive.containsKey(5000));
+            }
+        }
+
+        @Test
+        public void behavesLikeATreeMap() {
+            Random rnd = new Random(1);
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            for (int i = 0; i < 20000; i++) {
+                int key = rnd.nextInt(i < 10000 ? 300 : 100000);
+                if (rnd.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key), adaptive.remove(key));
+                } else {
+                    assertEquals(expected.put(key, "v" + i), adaptive.put(key, "v" + i));
+                }
+            }
+            assertEquals(expected.size(), adaptive.size());
+            expected.forEach((k, v) -> assertEquals(v, adaptive.get(k)));
+            assertEquals(expected.keySet(), adaptive.keySet());
+        }
+
+        @Test
+        public void canBeUsedAsRowOfTableBikeyMap() {
+            TableBikeyMap<String, Integer, String> table = new TableBikeyMap<>(AdaptiveIntKeyMap::new);
+            for (int i = 0; i < 1000; i++) {
+                table.put("row" + (i % 10), i, "v" + i);
+            }
+            table.put("small", 1, "small");
+            assertEquals(1001, table.size());
+            assertEquals("v555", table.get("row5", 555));
+            assertEquals("small", table.get("small", 1));
+        }
+
+    }
+
+}
@@ -446,6 +446,13 @@ public abstract class BikeyMapTest {
             assertContainsAll(found);
         }
 
+        @Test
+        public void parallelStreamHasAllElements() {
+            Set<String> found = map.entrySet().parallelStream().map(bikeyEntry -> toString(bikeyEntry))
+                    .collect(toSet());
+            assertContainsAll(found);
+        }
+
         @Test
         public void iterateWithoutCallingHashNext() {
             Iterator<BikeyEntry<String, String, String>> iterator = map.iterator();
@@ -582,6 +589,18 @@ public abstract class BikeyMapTest {
             assertContainsAllValues(values);
         }
 
+        @Test
+        public void parallelStreamingValuesContainsValues() {
+            List<String> values = map.values().parallelStream().collect(toList());
+            assertContainsAllValues(values);
+        }
+
+        @Test
+        public void parallelStreamingKeySetContainsKeys() {
+            Set<Bikey<String, String>> keys = map.keySet().parallelStream().collect(toSet());
+            assertContainsAllKeys(keys);
+        }
+
         @Test
         public void clearingValuesModifiesTheMap() {
             map.values().clear();
@@ -771,4 +790,301 @@ public abstract class BikeyMapTest {
         assertEquals("{[1, 2]=one-two, [2, 3]=two-three}", map.toString());
     }
 
+    @Nested
+    class RowAndColumnViews {
+
+        @BeforeEach
+        void beforeEach() {
+            map.put("1", "1", "one-one");
+            map.put("1", "2", "one-two");
+            map.put("2", "1", "two-one");
+            map.put("3", "3", "three-three");
+        }
+
+        @Test
+        public void rowViewHasRowValues() {
+            Map<String, String> expected = new HashMap<>();
+            expected.put("1", "one-one");
+            expected.put("2", "one-two");
+            Map<String, String> row = map.row("1");
+            assertEquals(expected, row);
+            assertEquals(2, row.size());
+            assertEquals("one-two", row.get("2"));
+            assertNull(row.get("3"));
+            assertTrue(row.containsKey("1"));
+            assertFalse(row.containsKey("3"));
+            Map<String, String> iterated = new HashMap<>();
+            row.forEach(iterated::put);
+            assertEquals(expected, iterated);
+            assertTrue(map.row("4").isEmpty());
+        }
+
+        @Test
+        public void columnViewHasColumnValues() {
+            Map<String, String> expected = new HashMap<>();
+            expected.put("1", "one-one");
+            expected.put("2", "two-one");
+            Map<String, String> column = map.column("1");
+            assertEquals(expected, column);
+            assertEquals(2, column.size());
+            assertEquals("two-one", column.get("2"));
+            assertNull(column.get("3"));
+            Map<String, String> iterated = new HashMap<>();
+            column.forEach(iterated::put);
+            assertEquals(expected, iterated);
+            assertTrue(map.column("4").isEmpty());
+        }
+
+        @Test
+        public void rowViewIsLive() {
+            Map<String, String> row = map.row("4");
+            assertTrue(row.isEmpty());
+            map.put("4", "1", "four-one");
+            assertEquals(Collections.singletonMap("1", "four-one"), row);
+            row.put("2", "four-two");
+            assertEquals("four-two", map.get("4", "2"));
+            assertEquals("four-one", row.remove("1"));
+            assertFalse(map.containsKey("4", "1"));
+            row.remove("2");
+            assertTrue(row.isEmpty());
+            assertFalse(map.containsRow("4"));
+            assertEquals(4, map.size());
+        }
+
+        @Test
+        public void columnViewIsLive() {
+            Map<String, String> column = map.column("3");
+            column.put("1", "one-three");
+            assertEquals("one-three", map.get("1", "3"));
+            assertEquals(2, column.size());
+            column.remove("3");
+            assertFalse(map.containsKey("3", "3"));
+            assertEquals(Collections.singletonMap("1", "one-three"), column);
+        }
+
+        @Test
+        public void rowViewRemovesThroughIterator() {
+            Map<String, String> row = map.row("1");
+            Iterator<Map.Entry<String, String>> it = row.entrySet().iterator();
+            assertThrows(IllegalStateException.class, it::remove);
+            it.next();
+            it.remove();
+            assertThrows(IllegalStateException.class, it::remove);
+            assertTrue(it.hasNext());
+            it.next();
+            assertFalse(it.hasNext());
+            assertEquals(1, row.size());
+            assertEquals(3, map.size());
+            assertTrue(row.values().removeIf(v -> v.startsWith("one")));
+            assertFalse(map.containsRow("1"));
+            assertEquals("two-one", map.get("2", "1"));
+            assertEquals(2, map.size());
+        }
+
+        @Test
+        public void rowViewClearAndRetainRemoveFromMap() {
+            map.put("1", "3", "one-three");
+            Map<String, String> row = map.row("1");
+            assertTrue(row.keySet().retainAll(Arrays.asList("2", "3")));
+            assertEquals(2, row.size());
+            assertNull(map.get("1", "1"));
+            assertEquals("two-one", map.get("2", "1"));
+            row.clear();
+            assertTrue(row.isEmpty());
+            assertFalse(map.containsRow("1"));
+            assertEquals(2, map.size());
+        }
+
+        @Test
+        public void columnViewRemovesThroughIterator() {
+            Map<String, String> column = map.column("1");
+            assertTrue(column.entrySet().removeIf(e -> e.getKey().equals("2")));
+            assertNull(map.get("2", "1"));
+            assertEquals(Collections.singletonMap("1", "one-one"), column);
+            assertTrue(column.keySet().retainAll(Collections.emptySet()));
+            assertFalse(map.containsColumn("1"));
+            assertEquals("one-two", map.get("1", "2"));
+            map.put("4", "3", "four-three");
+            map.column("3").clear();
+            assertFalse(map.containsColumn("3"));
+            assertEquals(1, map.size());
+        }
+
+        @Test
+        public void viewsDoNotAcceptNullKeys() {
+            assertThrows(NullPointerException.class, () -> map.row(null));
+            assertThrows(NullPointerException.class, () -> map.column(null));
+        }
+
+    }
+
+    @Nested
+    class Cursor {
+
+        @BeforeEach
+        void beforeEach() {
+            for (int i = 0; i < 20; i++) {
+                for (int j = 0; j <= i % 7; j++) {
+                    map.put("row" + i, "col" + j, i + "-" + j);
+                }
+            }
+        }
+
+        @Test
+        public void cursorVisitsAllMappings() {
+            Map<Bikey<String, String>, String> found = new HashMap<>();
+            BikeyCursor<String, String, String> cursor = map.cursor();
+            while (cursor.next()) {
+                assertNull(found.put(new BikeyImpl<>(cursor.row(), cursor.column()), cursor.value()));
+                assertEquals(cursor.row().substring(3) + "-" + cursor.column().substring(3), cursor.value());
+            }
+            assertEquals(map.size(), found.size());
+            assertFalse(cursor.next());
+        }
+
+        @Test
+        public void cursorCanBeResumed() {
+            BikeyCursor<String, String, String> cursor = map.cursor();
+            int visited = 0;
+            while (visited < 10 && cursor.next()) {
+                visited++;
+            }
+            map.get("row1", "col1");
+            while (cursor.next()) {
+                visited++;
+            }
+            assertEquals(map.size(), visited);
+        }
+
+        @Test
+        public void setValueWritesThrough() {
+            BikeyCursor<String, String, String> cursor = map.cursor();
+            while (cursor.next()) {
+                String previous = cursor.value();
+                assertEquals(previous, cursor.setValue(previous + "!"));
+                assertEquals(previous + "!", cursor.value());
+            }
+            map.forEach((r, c, v) -> assertEquals(r.substring(3) + "-" + c.substring(3) + "!", v));
+            assertEquals(77, map.size());
+        }
+
+        @Test
+        public void cursorNotPositionedFails() {
+            BikeyCursor<String, String, String> cursor = map.cursor();
+            assertThrows(IllegalStateException.class, () -> cursor.row());
+            assertThrows(IllegalStateException.class, () -> cursor.value());
+            assertTrue(cursor.next());
+            assertThrows(NullPointerException.class, () -> cursor.setValue(null));
+            while (cursor.next()) {
+                assertNotNull(cursor.column());
+            }
+            assertThrows(IllegalStateException.class, () -> cursor.column());
+            assertThrows(IllegalStateException.class, () -> cursor.setValue("value"));
+        }
+
+        @Test
+        public void emptyMapCursor() {
+            map.clear();
+            assertFalse(map.cursor().next());
+        }
+
+    }
+
+    @Nested
+    class ReplaceAll {
+
+        @BeforeEach
+        void beforeEach() {
+            for (int i = 0; i < 50; i++) {
+                for (int j = 0; j <= i % 5; j++) {
+                    map.put("row" + i, "col" + j, "value");
+                }
+            }
+        }
+
+        @Test
+        public void replaceAllUsesRowColumnAndValue() {
+            int size = map.size();
+            map.replaceAll((r, c, v) -> r + "-" + c + "-" + v);
+            assertEquals(size, map.size());
+            map.forEach((r, c, v) -> assertEquals(r + "-" + c + "-value", v));
+            assertEquals("row7-col2-value", map.get("row7", "col2"));
+        }
+
+        @Test
+        public void replaceAllWithNullValueFails() {
+            assertThrows(NullPointerException.class, () -> map.replaceAll((r, c, v) -> null));
+            assertThrows(NullPointerException.class, () -> map.replaceAll(null));
+        }
+
+        @Test
+        public void replaceAllInEmptyMap() {
+            map.clear();
+            map.replaceAll((r, c, v) -> "other");
+            assertTrue(map.isEmpty());
+        }
+
+    }
+
+    @Nested
+    class ComputeOperations {
+
+        @Test
+        public void randomOperationsMatchHashMap() {
+            Map<Bikey<String, String>, String> expected = new HashMap<>();
+            Random random = new Random(21);
+            for (int i = 0; i < 20000; i++) {
+                String row = "row" + random.nextInt(40);
+                String column = "col" + random.nextInt(60);
+                Bikey<String, String> key = new BikeyImpl<>(row, column);
+                String value = Integer.toString(random.nextInt(4));
+                switch (random.nextInt(7)) {
+                case 0:
+                    assertEquals(expected.merge(key, value, (a, b) -> b.equals("0") ? null : a + b),
+                            map.merge(row, column, value, (a, b) -> b.equals("0") ? null : a + b));
+                    break;
+                case 1:
+                    assertEquals(expected.compute(key, (k, v) -> v == null ? value : null),
+                            map.compute(row, column, (r, c, v) -> v == null ? value : null));
+                    break;
+                case 2:
+                    assertEquals(expected.computeIfAbsent(key, k -> value),
+                            map.computeIfAbsent(row, column, (r, c) -> value));
+                    break;
+                case 3:
+                    assertEquals(expected.computeIfPresent(key, (k, v) -> v.length() > 3 ? null : v + value),
+                            map.computeIfPresent(row, column, (r, c, v) -> v.length() > 3 ? null : v + value));
+                    break;
+                case 4:
+                    assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(row, column, value));
+                    break;
+                case 5:
+                    assertEquals(expected.replace(key, value), map.replace(row, column, value));
+                    break;
+                default:
+                    assertEquals(expected.replace(key, "1", value), map.replace(row, column, "1", value));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            Map<Bikey<String, String>, String> found = new HashMap<>();
+            map.forEach((r, c, v) -> found.put(new BikeyImpl<>(r, c), v));
+            assertEquals(expected, found);
+            Set<String> columns = new HashSet<>();
+            expected.keySet().forEach(k -> columns.add(k.getColumn()));
+            assertEquals(columns, map.columnKeySet());
+        }
+
+        @Test
+        public void computeToNullRemovesRowAndColumn() {
+            map.put("row", "col", "value");
+            map.put("row", "other", "value");
+            assertNull(map.compute("row", "col", (r, c, v) -> null));
+            assertFalse(map.containsColumn("col"));
+            assertNull(map.merge("row", "other", "value", (a, b) -> null));
+            assertFalse(map.containsRow("row"));
+            assertTrue(map.isEmpty());
+        }
+
+    }
+
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.junit.jupiter.api.Test;
+
+public class BikeyReaderTest {
+
+    private BikeyReader<String, Integer> reader = new BikeyReader<>(BikeyCodec.STRING, BikeyCodec.INTEGER);
+
+    private DataInput input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private byte[] serializedSet() throws IOException {
+        TableBikeySet<String, Integer> set = new TableBikeySet<>();
+        set.add("one", 1);
+        set.add("two", 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BikeyWriter<String, Integer>(BikeyCodec.STRING, BikeyCodec.INTEGER).write(set,
+                new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void setCanNotBeReadAsMap() throws IOException {
+        byte[] bytes = serializedSet();
+        assertThrows(IOException.class, () -> reader.readMap(input(bytes), BikeyCodec.LONG));
+    }
+
+    @Test
+    public void setRowsAreStoredInSuppliedSets() throws IOException {
+        TableBikeySet<String, Integer> set = reader.readSet(input(serializedSet()), CompressedIntSet::new);
+        assertTrue(set.rowSets().values().stream().allMatch(CompressedIntSet.class::isInstance));
+        assertTrue(set.contains("one", 1));
+        assertTrue(set.contains("two", 2));
+        assertEquals(2, set.size());
+        set.add("one", 3);
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void truncatedInputFails() throws IOException {
+        byte[] bytes = serializedSet();
+        byte[] truncated = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(EOFException.class, () -> reader.readSet(input(truncated)));
+    }
+
+    @Test
+    public void unknownInputFails() {
+        assertThrows(IOException.class, () -> reader.readSet(input(new byte[] { 1, 2, 3, 4, 5, 6 })));
+    }
+
+    @Test
+    public void negativePositionDeltaFails() throws IOException {
+        byte[] bytes = setWithRowDeltas(3, 0, -5, 5);
+        assertThrows(IOException.class, () -> reader.readSet(input(bytes)));
+    }
+
+    @Test
+    public void positionOutOfColumnsInTheMiddleFails() throws IOException {
+        byte[] bytes = setWithRowDeltas(3, 0, 10, -10);
+        assertThrows(IOException.class, () -> reader.readSet(input(bytes)));
+    }
+
+    private byte[] setWithRowDeltas(int columns, int... deltas) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BikeyWriter.SET_MAGIC);
+        BikeyWriter.writeVarInt(out, columns);
+        for (int i = 0; i < columns; i++) {
+            BikeyCodec.INTEGER.write(out, i);
+        }
+        BikeyWriter.writeVarInt(out, 1);
+        BikeyCodec.STRING.write(out, "one");
+        BikeyWriter.writeVarInt(out, deltas.length);
+        out.writeByte(BikeyWriter.DELTAS);
+        for (int delta : deltas) {
+            BikeyWriter.writeVarInt(out, delta);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void varIntRoundTrip() throws IOException {
+        int[] values = { 0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int value : values) {
+            BikeyWriter.writeVarInt(out, value);
+        }
+        DataInput in = input(bytes.toByteArray());
+        for (int value : values) {
+            assertEquals(value, BikeyReader.readVarInt(in));
+        }
+    }
+
+}
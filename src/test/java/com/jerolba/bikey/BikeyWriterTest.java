@@ -0,0 +1,146 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BikeyWriterTest {
+
+    private BikeyWriter<String, Integer> writer = new BikeyWriter<>(BikeyCodec.STRING, BikeyCodec.INTEGER);
+    private BikeyReader<String, Integer> reader = new BikeyReader<>(BikeyCodec.STRING, BikeyCodec.INTEGER);
+
+    private byte[] write(TableBikeySet<String, Integer> set) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(set, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private byte[] write(TableBikeyMap<String, Integer, Long> map) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(map, new DataOutputStream(bytes), BikeyCodec.LONG);
+        return bytes.toByteArray();
+    }
+
+    private TableBikeySet<String, Integer> readSet(byte[] bytes) throws IOException {
+        return reader.readSet(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private TableBikeyMap<String, Integer, Long> readMap(byte[] bytes) throws IOException {
+        return reader.readMap(new DataInputStream(new ByteArrayInputStream(bytes)), BikeyCodec.LONG);
+    }
+
+    @Test
+    public void emptySetRoundTrip() throws IOException {
+        TableBikeySet<String, Integer> read = readSet(write(new TableBikeySet<>()));
+        assertTrue(read.isEmpty());
+        assertTrue(read.columnKeySet().isEmpty());
+    }
+
+    @Test
+    public void emptyMapRoundTrip() throws IOException {
+        TableBikeyMap<String, Integer, Long> read = readMap(write(new TableBikeyMap<>()));
+        assertTrue(read.isEmpty());
+        assertTrue(read.columnKeySet().isEmpty());
+    }
+
+    @Test
+    public void setRoundTrip() throws IOException {
+        TableBikeySet<String, Integer> set = new TableBikeySet<>();
+        Random rnd = new Random();
+        for (int i = 0; i < 20_000; i++) {
+            set.add("row" + rnd.nextInt(300), rnd.nextInt(1000));
+        }
+        TableBikeySet<String, Integer> read = readSet(write(set));
+        assertEquals(set, read);
+        assertEquals(set.rowKeySet(), read.rowKeySet());
+        assertEquals(set.columnKeySet(), read.columnKeySet());
+    }
+
+    @Test
+    public void mapRoundTrip() throws IOException {
+        TableBikeyMap<String, Integer, Long> map = new TableBikeyMap<>();
+        Random rnd = new Random();
+        for (int i = 0; i < 20_000; i++) {
+            map.put("row" + rnd.nextInt(300), rnd.nextInt(1000), rnd.nextLong());
+        }
+        TableBikeyMap<String, Integer, Long> read = readMap(write(map));
+        assertEquals(map, read);
+        assertEquals(map.columnKeySet(), read.columnKeySet());
+    }
+
+    @Test
+    public void denseRowsRoundTrip() throws IOException {
+        TableBikeySet<String, Integer> set = new TableBikeySet<>();
+        for (int i = 0; i < 5000; i++) {
+            set.add("dense", i);
+            if (i % 100 == 0) {
+                set.add("sparse", i);
+            }
+        }
+        byte[] bytes = write(set);
+        assertEquals(set, readSet(bytes));
+        // 5000 column keys of 8 bytes plus a bitmap of 79 words
+        assertTrue(bytes.length < 5000 * 8 + 100 * 8);
+    }
+
+    @Test
+    public void releasedColumnsAreNotWritten() throws IOException {
+        TableBikeyMap<String, Integer, Long> map = new TableBikeyMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("row" + (i % 3), i, (long) i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map.remove("row" + (i % 3), i);
+        }
+        TableBikeyMap<String, Integer, Long> read = readMap(write(map));
+        assertEquals(map, read);
+        assertEquals(50, read.columnKeySet().size());
+        read.put("row0", 1000, 1000L);
+        read.remove("row1", 1);
+        assertEquals(Long.valueOf(1000L), read.get("row0", 1000));
+        assertFalse(read.containsColumn(1));
+    }
+
+    @Test
+    public void readCollectionsCanBeModified() throws IOException {
+        TableBikeySet<String, Integer> set = new TableBikeySet<>();
+        set.add("one", 1);
+        set.add("one", 2);
+        TableBikeySet<String, Integer> read = readSet(write(set));
+        assertTrue(read.add("two", 3));
+        assertFalse(read.add("one", 2));
+        assertTrue(read.remove("one", 1));
+        assertEquals(2, read.size());
+        assertTrue(read.contains("two", 3));
+    }
+
+    @Test
+    public void readMapCanUseOtherInnerMap() throws IOException {
+        TableBikeyMap<String, Integer, Long> map = new TableBikeyMap<>(IntArrayMap::new);
+        map.put("one", 10, 10L);
+        map.put("one", 2, 2L);
+        map.put("two", 7, 7L);
+        TableBikeyMap<String, Integer, Long> read = reader.readMap(
+                new DataInputStream(new ByteArrayInputStream(write(map))), BikeyCodec.LONG, IntArrayMap::new);
+        assertEquals(map, read);
+    }
+
+}
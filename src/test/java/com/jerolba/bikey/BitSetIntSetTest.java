@@ -0,0 +1,41 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class BitSetIntSetTest extends IntSetTest {
+
+    @Override
+    public IntSet getNewIntSet() {
+        return new BitSetIntSet();
+    }
+
+    @Test
+    public void equalsComparesValues() {
+        IntSet other = new BitSetIntSet(1000);
+        set.add(10);
+        other.add(10);
+        assertEquals(other, set);
+        assertEquals(other.hashCode(), set.hashCode());
+        other.add(11);
+        assertNotEquals(other, set);
+        assertEquals("{10}", set.toString());
+    }
+
+}
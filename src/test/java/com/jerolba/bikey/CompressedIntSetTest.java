@@ -0,0 +1,167 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class CompressedIntSetTest extends IntSetTest {
+
+    @Override
+    public IntSet getNewIntSet() {
+        return new CompressedIntSet();
+    }
+
+    @Test
+    public void equalsComparesValues() {
+        IntSet other = new CompressedIntSet();
+        set.add(10);
+        set.add(900000);
+        other.add(900000);
+        other.add(10);
+        assertEquals(other, set);
+        assertEquals(other.hashCode(), set.hashCode());
+        other.add(11);
+        assertNotEquals(other, set);
+        assertEquals("{10, 900000}", set.toString());
+    }
+
+    @Nested
+    class Containers {
+
+        private final CompressedIntSet compressed = (CompressedIntSet) set;
+
+        @Test
+        public void denseChunkIsConvertedToBitmapAndBack() {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 10000; i++) {
+                compressed.add(i * 3);
+                expected.add(i * 3);
+            }
+            assertEquals(expected, values(compressed));
+            assertEquals(9, compressed.next(8));
+            for (int i = 0; i < 9000; i++) {
+                assertTrue(compressed.remove(i * 3));
+            }
+            assertEquals(expected.subList(9000, 10000), values(compressed));
+            assertTrue(compressed.contains(27000));
+            assertFalse(compressed.contains(26997));
+        }
+
+        @Test
+        public void optimizeCreatesRuns() {
+            for (int i = 1000; i < 60000; i++) {
+                compressed.add(i);
+            }
+            compressed.add(70000);
+            for (int i = 100000; i < 100010; i++) {
+                compressed.add(i);
+            }
+            CompressedIntSet copy = compressed.clone();
+            compressed.optimize();
+            assertEquals(copy, compressed);
+            assertEquals(values(copy), values(compressed));
+            assertTrue(compressed.contains(1000));
+            assertTrue(compressed.contains(59999));
+            assertFalse(compressed.contains(999));
+            assertFalse(compressed.contains(60000));
+            assertEquals(1000, compressed.next(0));
+            assertEquals(5000, compressed.next(5000));
+            assertEquals(70000, compressed.next(60000));
+        }
+
+        @Test
+        public void runsCanBeModified() {
+            for (int i = 0; i < 100; i++) {
+                compressed.add(i);
+                compressed.add(i + 50000);
+            }
+            compressed.optimize();
+            assertFalse(compressed.add(10));
+            assertTrue(compressed.add(200));
+            assertTrue(compressed.remove(50));
+            assertFalse(compressed.remove(50));
+            assertEquals(200, compressed.size());
+            assertFalse(compressed.contains(50));
+            assertTrue(compressed.contains(200));
+            assertEquals(51, compressed.next(50));
+        }
+
+        @Test
+        public void lastValueOfChunkEndsIteration() {
+            compressed.add(65535);
+            compressed.add(131071);
+            CompressedIntSet other = compressed.clone();
+            assertEquals(-1, compressed.next(131072));
+            compressed.optimize();
+            assertEquals(Arrays.asList(65535, 131071), values(compressed));
+            assertTrue(compressed.containsAll(other));
+            assertTrue(other.containsAll(compressed));
+            assertEquals(other, compressed);
+        }
+
+        @Test
+        public void lastValueOfChunkEndsIterationInAllContainers() {
+            for (int i = 0; i < 5000; i++) {
+                compressed.add(65535 - i * 2);
+            }
+            for (int i = 65000; i < 65536; i++) {
+                compressed.add(65536 + i);
+            }
+            CompressedIntSet copy = compressed.clone();
+            compressed.optimize();
+            assertEquals(values(copy), values(compressed));
+            assertTrue(compressed.containsAll(copy));
+            assertTrue(copy.containsAll(compressed));
+            assertEquals(-1, compressed.next(131072));
+        }
+
+        @Test
+        public void bulkOperationsWithRuns() {
+            CompressedIntSet other = new CompressedIntSet();
+            for (int i = 0; i < 20000; i++) {
+                compressed.add(i * 2);
+                other.add(i + 10000);
+            }
+            other.optimize();
+            TreeSet<Integer> expected = new TreeSet<>(values(compressed));
+            CompressedIntSet union = compressed.clone();
+            union.addAll(other);
+            CompressedIntSet intersection = compressed.clone();
+            intersection.retainAll(other);
+            CompressedIntSet difference = compressed.clone();
+            difference.removeAll(other);
+            Set<Integer> otherValues = new HashSet<>(values(other));
+            TreeSet<Integer> expectedUnion = new TreeSet<>(expected);
+            expectedUnion.addAll(otherValues);
+            TreeSet<Integer> expectedIntersection = new TreeSet<>(expected);
+            expectedIntersection.retainAll(otherValues);
+            TreeSet<Integer> expectedDifference = new TreeSet<>(expected);
+            expectedDifference.removeAll(otherValues);
+            assertEquals(new ArrayList<>(expectedUnion), values(union));
+            assertEquals(new ArrayList<>(expectedIntersection), values(intersection));
+            assertEquals(new ArrayList<>(expectedDifference), values(difference));
+            assertTrue(union.containsAll(other));
+            assertEquals(20000, other.size());
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentRadixTrieTest extends IntKeyMapTest {
+
+    private static final int THREADS = 8;
+
+    @Override
+    public IntKeyMap<String> getNewIntKeyMap() {
+        return new ConcurrentRadixTrie<>();
+    }
+
+    @Test
+    public void negative() {
+        map.put(-1, "-one");
+        assertTrue(map.containsKey(-1));
+        assertEquals("-one", map.get(-1));
+    }
+
+    @Test
+    public void randomlyAddAndRemoveValuesSparse() {
+        randomlyAddAndRemoveValues(100_000, 10_000);
+    }
+
+    @Test
+    public void randomlyAddAndRemoveValuesFullRange() {
+        randomlyAddAndRemoveValues(0, 10_000);
+    }
+
+    @Test
+    public void persistentOperationsDoNotModifyOriginalTrie() {
+        RadixTrie<String> original = new RadixTrie<>();
+        for (int i = 0; i < 1000; i += 3) {
+            original.put(i, Integer.toString(i));
+        }
+        RadixTrie<String> added = original.assoc(1, "1").assoc(100_000, "100000").assoc(-5, "-5");
+        RadixTrie<String> replaced = added.assoc(3, "three");
+        RadixTrie<String> removed = replaced.dissoc(0).dissoc(999).dissoc(7);
+
+        assertEquals(334, original.size());
+        assertNull(original.get(1));
+        assertEquals("3", original.get(3));
+        assertEquals(337, added.size());
+        assertEquals("-5", added.get(-5));
+        assertEquals("3", added.get(3));
+        assertEquals(337, replaced.size());
+        assertEquals("three", replaced.get(3));
+        assertEquals(335, removed.size());
+        assertNull(removed.get(0));
+        assertEquals("0", replaced.get(0));
+        assertSame(removed, removed.dissoc(7));
+    }
+
+    @Test
+    public void iteratorTraversesASnapshot() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        Iterator<IntObjectEntry<String>> iterator = map.iterator();
+        map.clear();
+        map.put(1000, "1000");
+        int count = 0;
+        while (iterator.hasNext()) {
+            IntObjectEntry<String> entry = iterator.next();
+            assertEquals(Integer.toString(entry.getIntKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(100, count);
+    }
+
+    @Test
+    public void concurrentMergesAreAtomic() throws Exception {
+        IntKeyMap<Integer> counters = new ConcurrentRadixTrie<>();
+        runInParallel(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                counters.merge(i % 100, 1, Integer::sum);
+            }
+        });
+        assertEquals(100, counters.size());
+        counters.forEach((key, value) -> assertEquals(THREADS * 100, value.intValue()));
+    }
+
+    @Test
+    public void concurrentWritersAndReaders() throws Exception {
+        runInParallel(thread -> {
+            int base = thread * 10_000;
+            for (int i = 0; i < 5_000; i++) {
+                int key = base + i;
+                assertNull(map.put(key, Integer.toString(key)));
+                assertEquals(Integer.toString(key), map.get(key));
+                if (i % 2 == 1) {
+                    assertEquals(Integer.toString(key), map.remove(key));
+                }
+                if (i % 1_000 == 0) {
+                    map.forEach((k, v) -> assertEquals(Integer.toString(k), v));
+                }
+            }
+        });
+        assertEquals(THREADS * 2_500, map.size());
+        assertEquals(THREADS * 2_500, map.values().parallelStream().distinct().count());
+    }
+
+    private void runInParallel(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+
+        void run(int thread);
+
+    }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTableBikeyMapTest extends BikeyMapTest {
+
+    private static final int THREADS = 8;
+
+    @Override
+    public BikeyMap<String, String, String> getNewBikeyMap() {
+        return new ConcurrentTableBikeyMap<>();
+    }
+
+    @Test
+    public void concurrencyLevelMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ConcurrentTableBikeyMap<String, String, String>(() -> new RadixTrie<>(), 0);
+        });
+    }
+
+    @Test
+    public void removedColumnIsNotContained() {
+        map.put("one", "1", "one-1");
+        map.remove("one", "1");
+        assertFalse(map.containsColumn("1"));
+        assertTrue(map.columnKeySet().isEmpty());
+        map.put("two", "1", "two-1");
+        assertEquals("two-1", map.get("two", "1"));
+        assertEquals(1, map.columnKeySet().size());
+    }
+
+    @Test
+    public void releasedColumnPositionsDoNotMixColumns() {
+        map.put("keep", "kept", "keep-kept");
+        for (int i = 0; i < 10_000; i++) {
+            String col = Integer.toString(i);
+            map.put("one", col, "one-" + col);
+            map.put("two", col, "two-" + col);
+            assertNull(map.get("one", Integer.toString(i - 1)));
+            map.remove("one", col);
+            map.remove("two", col);
+        }
+        assertEquals(1, map.size());
+        assertEquals("keep-kept", map.get("keep", "kept"));
+        assertEquals(Collections.singleton("kept"), map.columnKeySet());
+        assertFalse(map.containsColumn("9999"));
+    }
+
+    @Test
+    public void concurrentColumnChurnKeepsContent() throws Exception {
+        runInParallel(thread -> {
+            String row = "row" + thread;
+            for (int i = 0; i < 5_000; i++) {
+                String col = Integer.toString(i % 40);
+                map.put(row, col, row + col);
+                assertEquals(row + col, map.get(row, col));
+                assertEquals(row + col, map.remove(row, col));
+            }
+            map.put(row, "last", row + "last");
+        });
+        assertEquals(THREADS, map.size());
+        assertEquals(Collections.singleton("last"), map.columnKeySet());
+        map.forEach((r, c, v) -> assertEquals(r + c, v));
+    }
+
+    @Test
+    public void spliteratorEstimatesSize() {
+        for (int i = 0; i < 100; i++) {
+            map.put("row" + (i % 10), Integer.toString(i), "value");
+        }
+        Spliterator<BikeyEntry<String, String, String>> spliterator = map.spliterator();
+        assertEquals(100, spliterator.estimateSize());
+        Spliterator<BikeyEntry<String, String, String>> split = spliterator.trySplit();
+        if (split != null) {
+            assertEquals(50, spliterator.estimateSize());
+            assertEquals(50, split.estimateSize());
+        }
+        assertEquals(100, map.entrySet().parallelStream().count());
+    }
+
+    @Test
+    public void valuesSpliteratorIsNotDistinct() {
+        map.put("one", "1", "value");
+        map.put("one", "2", "value");
+        map.put("two", "1", "value");
+        assertEquals(0, map.values().spliterator().characteristics() & Spliterator.DISTINCT);
+        assertEquals(1, map.values().stream().distinct().count());
+        assertEquals(3, map.keySet().stream().distinct().count());
+        assertTrue(map.keySet().spliterator().hasCharacteristics(Spliterator.DISTINCT));
+        assertTrue(map.spliterator().hasCharacteristics(Spliterator.CONCURRENT));
+    }
+
+    @Test
+    public void canUseManyColumns() {
+        for (int i = 0; i < 100_000; i++) {
+            map.put(Integer.toString(i % 10), Integer.toString(i), Integer.toString(i));
+        }
+        assertEquals(100_000, map.size());
+        map.forEach((r, c, v) -> assertEquals(c, v));
+    }
+
+    @Test
+    public void concurrentMergesAreAtomic() throws Exception {
+        BikeyMap<String, String, Integer> counters = new ConcurrentTableBikeyMap<>(() -> new RadixTrie<>(), 2);
+        runInParallel(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                counters.merge("row" + (i % 3), "col" + (i % 7), 1, Integer::sum);
+            }
+        });
+        assertEquals(21, counters.size());
+        int total = 0;
+        for (Integer value : counters.values()) {
+            total += value;
+        }
+        assertEquals(THREADS * 10_000, total);
+    }
+
+    @Test
+    public void concurrentComputeIsAtomic() throws Exception {
+        BikeyMap<String, String, Integer> counters = new ConcurrentTableBikeyMap<>();
+        runInParallel(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                counters.compute("row", "col" + (i % 5), (r, c, v) -> v == null ? 1 : v + 1);
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            assertEquals(THREADS * 2_000, counters.get("row", "col" + i).intValue());
+        }
+    }
+
+    @Test
+    public void concurrentWritersAndReaders() throws Exception {
+        runInParallel(thread -> {
+            String row = "row" + thread;
+            for (int i = 0; i < 5_000; i++) {
+                String col = Integer.toString(i);
+                map.put(row, col, row + col);
+                assertEquals(row + col, map.get(row, col));
+                if (i % 2 == 1) {
+                    assertEquals(row + col, map.remove(row, col));
+                }
+                if (i % 1_000 == 0) {
+                    map.forEach((r, c, v) -> assertEquals(r + c, v));
+                }
+            }
+        });
+        assertEquals(THREADS * 2_500, map.size());
+        Set<String> values = map.values().parallelStream().collect(Collectors.toSet());
+        assertEquals(THREADS * 2_500, values.size());
+    }
+
+    private void runInParallel(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+
+        void run(int thread);
+
+    }
+
+    @Nested
+    class CopyMap {
+
+        @BeforeEach
+        void beforeEachTest() {
+            map.put("1", "one", "1-one");
+            map.put("1", "1", "1-1");
+            map.put("35", "thirtyfive", "35-thirtyfive");
+            map.put("100", "hundred", "100-hundred");
+        }
+
+        @Test
+        public void testConstructor() {
+            BikeyMap<String, String, String> newOne = new ConcurrentTableBikeyMap<>(map);
+            assertContainsAll(newOne);
+        }
+
+        @Test
+        public void testPutAll() {
+            BikeyMap<String, String, String> copy = new ConcurrentTableBikeyMap<>();
+            copy.putAll(map);
+            assertContainsAll(copy);
+        }
+
+        void assertContainsAll(BikeyMap<String, String, String> copy) {
+            assertEquals("1-one", copy.get("1", "one"));
+            assertEquals("1-1", copy.get("1", "1"));
+            assertEquals("35-thirtyfive", copy.get("35", "thirtyfive"));
+            assertEquals("100-hundred", copy.get("100", "hundred"));
+            assertEquals(4, copy.size());
+        }
+
+    }
+}
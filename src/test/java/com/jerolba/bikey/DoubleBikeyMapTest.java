@@ -0,0 +1,86 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+public abstract class DoubleBikeyMapTest extends PrimitiveBikeyMapTest<TableDoubleBikeyMap<String, String>> {
+
+    public abstract TableDoubleBikeyMap<String, String> getNewMap(double missingValue);
+
+    @Override
+    public TableDoubleBikeyMap<String, String> getNewMap(int missingValue) {
+        return getNewMap(v(missingValue));
+    }
+
+    static double v(int value) {
+        return value;
+    }
+
+    @Override
+    Object value(int value) {
+        return v(value);
+    }
+
+    @Override
+    Object put(TableDoubleBikeyMap<String, String> target, String row, String column, int value) {
+        return target.put(row, column, v(value));
+    }
+
+    @Override
+    Object get(TableDoubleBikeyMap<String, String> target, String row, String column) {
+        return target.getDouble(row, column);
+    }
+
+    @Override
+    Object getOrDefault(TableDoubleBikeyMap<String, String> target, String row, String column, int defaultValue) {
+        return target.getOrDefault(row, column, v(defaultValue));
+    }
+
+    @Override
+    Object remove(TableDoubleBikeyMap<String, String> target, String row, String column) {
+        return target.removeDouble(row, column);
+    }
+
+    @Override
+    Object addTo(TableDoubleBikeyMap<String, String> target, String row, String column, int delta) {
+        return target.addTo(row, column, v(delta));
+    }
+
+    @Override
+    boolean containsKey(TableDoubleBikeyMap<String, String> target, String row, String column) {
+        return target.containsKey(row, column);
+    }
+
+    @Override
+    boolean containsValue(TableDoubleBikeyMap<String, String> target, int value) {
+        return target.containsValue(v(value));
+    }
+
+    @Override
+    boolean isEmpty(TableDoubleBikeyMap<String, String> target) {
+        return target.isEmpty();
+    }
+
+    @Override
+    void forEach(TableDoubleBikeyMap<String, String> target, TriConsumer<String, String, Number> action) {
+        target.forEach(action::accept);
+    }
+
+    @Override
+    TableDoubleBikeyMap<String, String> copy(TableDoubleBikeyMap<String, String> target) {
+        return new TableDoubleBikeyMap<>(target);
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleRadixTrieTest extends IntKeyDoubleMapTest {
+
+    @Override
+    public IntKeyDoubleMap getNewMap(double missingValue) {
+        return new DoubleRadixTrie(missingValue);
+    }
+
+    @Test
+    public void defaultMissingValueIsZero() {
+        assertEquals(0.0, new DoubleRadixTrie().get(1));
+    }
+
+    @Test
+    public void acceptsAllRangeOfKeys() {
+        int[] keys = { Integer.MIN_VALUE, -100_000, -1, 0, 1, 31, 32, 100_000, Integer.MAX_VALUE };
+        for (int key : keys) {
+            map.put(key, v(key % 1000));
+        }
+        assertEquals(keys.length, map.size());
+        for (int key : keys) {
+            assertEquals(v(key % 1000), map.get(key));
+        }
+        for (int key : keys) {
+            assertEquals(v(key % 1000), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        map.put(1, v(1));
+        map.put(1000, v(1000));
+        DoubleRadixTrie cloned = (DoubleRadixTrie) ((DoubleRadixTrie) map).clone();
+        cloned.addTo(1, v(1));
+        cloned.put(5, v(5));
+        assertEquals(v(1), map.get(1));
+        assertFalse(map.containsKey(5));
+        assertEquals(v(2), cloned.get(1));
+        assertEquals(v(1000), cloned.get(1000));
+    }
+
+    @Test
+    public void toStringListsValues() {
+        map.put(1, v(10));
+        map.put(2, v(20));
+        assertEquals("{1=" + v(10) + ", 2=" + v(20) + "}", map.toString());
+    }
+
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class HybridBikeyMapTest extends BikeyMapTest {
+
+    public BikeyMap<String, String, String> getNewBikeyMap() {
+        return new HybridBikeyMap<>();
+    }
+
+    @Test
+    public void invalidThresholdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HybridBikeyMap<>(0f, 0.1f));
+        assertThrows(IllegalArgumentException.class, () -> new HybridBikeyMap<>(1.5f, 0.1f));
+        assertThrows(IllegalArgumentException.class, () -> new HybridBikeyMap<>(0.5f, 0.5f));
+        assertThrows(IllegalArgumentException.class, () -> new HybridBikeyMap<>(0.5f, 0f));
+    }
+
+    @Test
+    public void fillRateIgnoresReleasedColumns() {
+        HybridBikeyMap<String, Integer, String> hybrid = new HybridBikeyMap<>();
+        for (int i = 0; i < 100; i++) {
+            hybrid.put("removed", i, "removed" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            hybrid.remove("removed", i);
+        }
+        for (int i = 0; i < 10; i++) {
+            hybrid.put("one", i, "one" + i);
+        }
+        hybrid.put("two", 3, "two3");
+        assertEquals(10, hybrid.columnKeySet().size());
+        assertTrue(hybrid.rowMaps().get("one") instanceof IntArrayMap);
+        assertTrue(hybrid.rowMaps().get("two") instanceof RadixTrie);
+        assertEquals("two3", hybrid.get("two", 3));
+    }
+
+    @Nested
+    class RowRepresentation {
+
+        private final HybridBikeyMap<String, Integer, String> hybrid = new HybridBikeyMap<>();
+
+        @BeforeEach
+        void beforeEach() {
+            // 100 columns, a dense row and 99 rows with a single value
+            for (int i = 0; i < 100; i++) {
+                hybrid.put("sparse" + i, i, "sparse" + i);
+            }
+            for (int i = 0; i < 80; i++) {
+                hybrid.put("dense", i, "dense" + i);
+            }
+        }
+
+        private IntKeyMap<String> rowMap(String row) {
+            return hybrid.rowMaps().get(row);
+        }
+
+        @Test
+        public void denseRowsAreStoredInArrays() {
+            assertTrue(rowMap("dense") instanceof IntArrayMap);
+            assertTrue(rowMap("sparse50") instanceof RadixTrie);
+            for (int i = 0; i < 80; i++) {
+                assertEquals("dense" + i, hybrid.get("dense", i));
+            }
+            assertEquals(180, hybrid.size());
+        }
+
+        @Test
+        public void rowsReturnToTriesUnderSparseThreshold() {
+            for (int i = 0; i < 45; i++) {
+                hybrid.remove("dense", i);
+                assertTrue(rowMap("dense") instanceof IntArrayMap);
+            }
+            for (int i = 45; i < 51; i++) {
+                hybrid.remove("dense", i);
+            }
+            assertTrue(rowMap("dense") instanceof RadixTrie);
+            for (int i = 51; i < 80; i++) {
+                assertEquals("dense" + i, hybrid.get("dense", i));
+            }
+            assertEquals(129, hybrid.size());
+        }
+
+        @Test
+        public void hysteresisKeepsRepresentationBetweenThresholds() {
+            for (int i = 0; i < 30; i++) {
+                hybrid.remove("dense", i);
+            }
+            assertTrue(rowMap("dense") instanceof IntArrayMap);
+            for (int i = 0; i < 10; i++) {
+                hybrid.put("dense", i, "again" + i);
+            }
+            assertTrue(rowMap("dense") instanceof IntArrayMap);
+            for (int i = 0; i < 55; i++) {
+                hybrid.put("other", i, "other" + i);
+                assertTrue(rowMap("other") instanceof RadixTrie);
+            }
+            for (int i = 55; i < 61; i++) {
+                hybrid.put("other", i, "other" + i);
+            }
+            assertTrue(rowMap("other") instanceof IntArrayMap);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void cloneAndCompactKeepDenseRows() {
+            HybridBikeyMap<String, Integer, String> cloned = (HybridBikeyMap<String, Integer, String>) hybrid.clone();
+            assertTrue(cloned.rowMaps().get("dense") instanceof IntArrayMap);
+            assertEquals(hybrid, cloned);
+            for (int i = 80; i < 100; i++) {
+                hybrid.remove("sparse" + i, i);
+            }
+            hybrid.compact();
+            assertTrue(rowMap("dense") instanceof IntArrayMap);
+            for (int i = 0; i < 80; i++) {
+                assertEquals("dense" + i, hybrid.get("dense", i));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class IntArrayDoubleMapTest extends IntKeyDoubleMapTest {
+
+    private static final double MISSING_VALUE = 0;
+
+    @Override
+    public IntKeyDoubleMap getNewMap(double missingValue) {
+        return new IntArrayDoubleMap(missingValue);
+    }
+
+    @Test
+    public void doesNotAcceptNegative() {
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            map.put(-1, v(1));
+        });
+    }
+
+    @Test
+    public void canGrowFromInitialCapacity() {
+        IntKeyDoubleMap map = new IntArrayDoubleMap(1, MISSING_VALUE);
+        map.put(1, v(1));
+        map.put(100, v(100));
+        map.put(250, v(250));
+        assertEquals(v(1), map.get(1));
+        assertEquals(v(100), map.get(100));
+        assertEquals(v(250), map.get(250));
+        assertEquals(MISSING_VALUE, map.get(251));
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+public abstract class IntBikeyMapTest extends PrimitiveBikeyMapTest<TableIntBikeyMap<String, String>> {
+
+    static int v(int value) {
+        return value;
+    }
+
+    @Override
+    Object value(int value) {
+        return v(value);
+    }
+
+    @Override
+    Object put(TableIntBikeyMap<String, String> target, String row, String column, int value) {
+        return target.put(row, column, v(value));
+    }
+
+    @Override
+    Object get(TableIntBikeyMap<String, String> target, String row, String column) {
+        return target.getInt(row, column);
+    }
+
+    @Override
+    Object getOrDefault(TableIntBikeyMap<String, String> target, String row, String column, int defaultValue) {
+        return target.getOrDefault(row, column, v(defaultValue));
+    }
+
+    @Override
+    Object remove(TableIntBikeyMap<String, String> target, String row, String column) {
+        return target.removeInt(row, column);
+    }
+
+    @Override
+    Object addTo(TableIntBikeyMap<String, String> target, String row, String column, int delta) {
+        return target.addTo(row, column, v(delta));
+    }
+
+    @Override
+    boolean containsKey(TableIntBikeyMap<String, String> target, String row, String column) {
+        return target.containsKey(row, column);
+    }
+
+    @Override
+    boolean containsValue(TableIntBikeyMap<String, String> target, int value) {
+        return target.containsValue(v(value));
+    }
+
+    @Override
+    boolean isEmpty(TableIntBikeyMap<String, String> target) {
+        return target.isEmpty();
+    }
+
+    @Override
+    void forEach(TableIntBikeyMap<String, String> target, TriConsumer<String, String, Number> action) {
+        target.forEach(action::accept);
+    }
+
+    @Override
+    TableIntBikeyMap<String, String> copy(TableIntBikeyMap<String, String> target) {
+        return new TableIntBikeyMap<>(target);
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntBikeySetTest {
+
+    private IntIntBikeySet set = new IntIntBikeySet();
+
+    @Test
+    public void justCreatedIsEmpty() {
+        assertEquals(0, set.size());
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1, 2));
+    }
+
+    @Test
+    public void canAddElements() {
+        assertTrue(set.add(1, 2));
+        assertFalse(set.add(1, 2));
+        assertTrue(set.add(-7, 3));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1, 2));
+        assertTrue(set.contains(-7, 3));
+        assertFalse(set.contains(2, 1));
+        assertFalse(set.contains(1, -2));
+    }
+
+    @Test
+    public void negativeColumnsCanNotBeAdded() {
+        assertThrows(IndexOutOfBoundsException.class, () -> set.add(1, -1));
+    }
+
+    @Test
+    public void canRemoveElements() {
+        set.add(1, 2);
+        set.add(1, 3);
+        assertFalse(set.remove(1, 4));
+        assertFalse(set.remove(1, -4));
+        assertTrue(set.remove(1, 2));
+        assertTrue(set.containsRow(1));
+        assertTrue(set.remove(1, 3));
+        assertFalse(set.containsRow(1));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void clearRemovesAll() {
+        set.add(1, 2);
+        set.add(2, 3);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1, 2));
+        assertTrue(set.rowKeySet().isEmpty());
+    }
+
+    @Test
+    public void forEachIteratesInKeyOrder() {
+        set.add(2, 1);
+        set.add(1, 30);
+        set.add(1, 2);
+        List<String> keys = new ArrayList<>();
+        set.forEach((r, c) -> keys.add(r + "," + c));
+        assertEquals(Arrays.asList("1,2", "1,30", "2,1"), keys);
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), set.rowKeySet());
+        assertEquals("[[1, 2], [1, 30], [2, 1]]", set.toString());
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        set.add(1, 2);
+        set.add(3, 4);
+        IntIntBikeySet other = new IntIntBikeySet();
+        other.add(3, 4);
+        other.add(1, 2);
+        assertEquals(set, other);
+        assertEquals(set.hashCode(), other.hashCode());
+        other.add(5, 6);
+        assertNotEquals(set, other);
+        assertEquals(set, new IntIntBikeySet(set));
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        set.add(1, 2);
+        IntIntBikeySet cloned = (IntIntBikeySet) set.clone();
+        assertEquals(set, cloned);
+        cloned.add(1, 3);
+        set.remove(1, 2);
+        assertFalse(set.contains(1, 3));
+        assertTrue(cloned.contains(1, 2));
+        assertEquals(2, cloned.size());
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+public abstract class IntKeyLongMapTest extends PrimitiveIntKeyMapTest<IntKeyLongMap> {
+
+    public abstract IntKeyLongMap getNewMap(long missingValue);
+
+    @Override
+    public IntKeyLongMap getNewMap(int missingValue) {
+        return getNewMap(v(missingValue));
+    }
+
+    static long v(int value) {
+        return value;
+    }
+
+    @Override
+    Object value(int value) {
+        return v(value);
+    }
+
+    @Override
+    Object getMissingValue() {
+        return map.getMissingValue();
+    }
+
+    @Override
+    Object put(int key, int value) {
+        return map.put(key, v(value));
+    }
+
+    @Override
+    Object get(int key) {
+        return map.get(key);
+    }
+
+    @Override
+    Object getOrDefault(int key, int defaultValue) {
+        return map.getOrDefault(key, v(defaultValue));
+    }
+
+    @Override
+    Object remove(int key) {
+        return map.remove(key);
+    }
+
+    @Override
+    Object addTo(int key, int delta) {
+        return map.addTo(key, v(delta));
+    }
+
+    @Override
+    boolean containsKey(int key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    boolean containsValue(int value) {
+        return map.containsValue(v(value));
+    }
+
+    @Override
+    int size() {
+        return map.size();
+    }
+
+    @Override
+    boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    void clear() {
+        map.clear();
+    }
+
+    @Override
+    void forEach(BiConsumer<Integer, Object> action) {
+        map.forEach(action::accept);
+    }
+
+    @Override
+    void forEachKey(IntConsumer action) {
+        map.forEachKey(action);
+    }
+
+    @Override
+    Object copyToRadixTrie() {
+        LongRadixTrie other = new LongRadixTrie(map.getMissingValue());
+        other.putAll(map);
+        return other;
+    }
+
+}
@@ -768,4 +768,143 @@ public abstract class IntKeyMapTest {
         assertEquals("{1=one, 35=thirtyfive}", map.toString());
     }
 
+    @Nested
+    class Cursor {
+
+        @Test
+        public void cursorVisitsAllMappings() {
+            for (int i = 0; i < 3000; i += 7) {
+                map.put(i, Integer.toString(i));
+            }
+            Set<Integer> found = new HashSet<>();
+            IntObjectCursor<String> cursor = map.cursor();
+            while (cursor.next()) {
+                assertTrue(found.add(cursor.key()));
+                assertEquals(Integer.toString(cursor.key()), cursor.value());
+            }
+            assertEquals(map.keySet(), found);
+            assertFalse(cursor.next());
+        }
+
+        @Test
+        public void setValueWritesThrough() {
+            for (int i = 0; i < 100; i += 3) {
+                map.put(i, Integer.toString(i));
+            }
+            IntObjectCursor<String> cursor = map.cursor();
+            while (cursor.next()) {
+                assertEquals(Integer.toString(cursor.key()), cursor.setValue("value" + cursor.key()));
+                assertEquals("value" + cursor.key(), cursor.value());
+            }
+            map.forEach((k, v) -> assertEquals("value" + k, v));
+            assertEquals(34, map.size());
+        }
+
+        @Test
+        public void cursorNotPositionedFails() {
+            map.put(1, "one");
+            IntObjectCursor<String> cursor = map.cursor();
+            assertThrows(IllegalStateException.class, () -> cursor.key());
+            assertTrue(cursor.next());
+            assertThrows(NullPointerException.class, () -> cursor.setValue(null));
+            assertFalse(cursor.next());
+            assertThrows(IllegalStateException.class, () -> cursor.value());
+            assertThrows(IllegalStateException.class, () -> cursor.setValue("one"));
+        }
+
+        @Test
+        public void emptyMapCursor() {
+            assertFalse(map.cursor().next());
+        }
+
+    }
+
+    @Nested
+    class ReplaceAll {
+
+        @Test
+        public void replaceAllUsesKeyAndValue() {
+            for (int i = 0; i < 5000; i += 3) {
+                map.put(i, "value");
+            }
+            map.replaceAll((k, v) -> k + "-" + v);
+            assertEquals(1667, map.size());
+            map.forEach((k, v) -> assertEquals(k + "-value", v));
+            assertEquals("300-value", map.get(300));
+        }
+
+        @Test
+        public void replaceAllWithNullValueFails() {
+            map.put(1, "one");
+            assertThrows(NullPointerException.class, () -> map.replaceAll((k, v) -> null));
+            assertThrows(NullPointerException.class, () -> map.replaceAll(null));
+        }
+
+        @Test
+        public void replaceAllInEmptyMap() {
+            map.replaceAll((k, v) -> "other");
+            assertTrue(map.isEmpty());
+        }
+
+    }
+
+    @Nested
+    class ComputeOperations {
+
+        @Test
+        public void randomOperationsMatchHashMap() {
+            Map<Integer, String> expected = new HashMap<>();
+            Random random = new Random(21);
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(2000) * (random.nextBoolean() ? 1 : 37);
+                String value = Integer.toString(random.nextInt(4));
+                switch (random.nextInt(7)) {
+                case 0:
+                    assertEquals(expected.merge(key, value, (a, b) -> b.equals("0") ? null : a + b),
+                            map.merge(key, value, (a, b) -> b.equals("0") ? null : a + b));
+                    break;
+                case 1:
+                    assertEquals(expected.compute(key, (k, v) -> v == null ? value : null),
+                            map.compute(key, (k, v) -> v == null ? value : null));
+                    break;
+                case 2:
+                    assertEquals(expected.computeIfAbsent(key, k -> value), map.computeIfAbsent(key, k -> value));
+                    break;
+                case 3:
+                    assertEquals(expected.computeIfPresent(key, (k, v) -> v.length() > 3 ? null : v + value),
+                            map.computeIfPresent(key, (k, v) -> v.length() > 3 ? null : v + value));
+                    break;
+                case 4:
+                    assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+                    break;
+                case 5:
+                    assertEquals(expected.replace(key, value), map.replace(key, value));
+                    break;
+                default:
+                    assertEquals(expected.replace(key, "1", value), map.replace(key, "1", value));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            Map<Integer, String> found = new HashMap<>();
+            map.forEach(found::put);
+            assertEquals(expected, found);
+        }
+
+        @Test
+        public void computeToNullRemovesLastValue() {
+            map.put(10, "ten");
+            map.put(2000, "two thousand");
+            assertNull(map.compute(2000, (k, v) -> null));
+            assertNull(map.computeIfPresent(10, (k, v) -> null));
+            assertTrue(map.isEmpty());
+            assertEquals("one", map.merge(1, "one", (a, b) -> a + b));
+            assertEquals("1=one", toString(map.iterator().next()));
+        }
+
+        private String toString(IntObjectEntry<String> entry) {
+            return entry.getIntKey() + "=" + entry.getValue();
+        }
+
+    }
+
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public abstract class IntSetTest {
+
+    IntSet set = getNewIntSet();
+
+    public abstract IntSet getNewIntSet();
+
+    static List<Integer> values(IntSet set) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = set.next(0); i >= 0; i = set.next(i + 1)) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void justCreatedIsEmpty() {
+        assertEquals(0, set.size());
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+    }
+
+    @Test
+    public void addedValuesAreContained() {
+        assertTrue(set.add(1));
+        assertTrue(set.add(70000));
+        assertFalse(set.add(1));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1));
+        assertTrue(set.contains(70000));
+        assertFalse(set.contains(2));
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    public void negativeValuesCanNotBeAdded() {
+        assertThrows(IndexOutOfBoundsException.class, () -> set.add(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.next(-1));
+    }
+
+    @Test
+    public void removedValuesAreNotContained() {
+        set.add(1);
+        set.add(2);
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.remove(3));
+        assertFalse(set.remove(-1));
+        assertFalse(set.contains(1));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(2));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void nextIteratesInAscendingOrder() {
+        int[] values = { 900000, 3, 65535, 65536, 0, 131072, 64, 63 };
+        for (int value : values) {
+            set.add(value);
+        }
+        assertEquals(Arrays.asList(0, 3, 63, 64, 65535, 65536, 131072, 900000), values(set));
+        assertEquals(63, set.next(4));
+        assertEquals(65536, set.next(65536));
+        assertEquals(131072, set.next(65537));
+        assertEquals(-1, set.next(900001));
+        List<Integer> visited = new ArrayList<>();
+        set.forEach(visited::add);
+        assertEquals(values(set), visited);
+    }
+
+    @Test
+    public void clearRemovesAllValues() {
+        set.add(1);
+        set.add(100000);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+        set.add(5);
+        assertEquals(Arrays.asList(5), values(set));
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        set.add(1);
+        set.add(100000);
+        IntSet cloned = set.clone();
+        cloned.add(2);
+        set.remove(1);
+        assertEquals(Arrays.asList(1, 2, 100000), values(cloned));
+        assertEquals(Arrays.asList(100000), values(set));
+    }
+
+    @Test
+    public void behavesLikeATreeSet() {
+        Random rnd = new Random(1);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50000; i++) {
+            // dense and sparse zones
+            int value = rnd.nextBoolean() ? rnd.nextInt(10000) : rnd.nextInt(2000000);
+            if (rnd.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), values(set));
+        for (int i = 0; i < 1000; i++) {
+            int value = rnd.nextInt(2000000);
+            assertEquals(expected.contains(value), set.contains(value));
+            Integer next = expected.ceiling(value);
+            assertEquals(next == null ? -1 : next, set.next(value));
+        }
+    }
+
+    @Nested
+    class BulkOperations {
+
+        private final Random rnd = new Random(2);
+        private final TreeSet<Integer> expected = new TreeSet<>();
+        private final TreeSet<Integer> otherExpected = new TreeSet<>();
+        private final IntSet other = getNewIntSet();
+
+        private void fill() {
+            // a dense zone, a sparse one and a full range
+            for (int i = 0; i < 20000; i++) {
+                int value = rnd.nextInt(3) == 0 ? rnd.nextInt(20000) : rnd.nextInt(1000000);
+                set.add(value);
+                expected.add(value);
+                value = rnd.nextInt(3) == 0 ? rnd.nextInt(20000) : rnd.nextInt(1000000);
+                other.add(value);
+                otherExpected.add(value);
+            }
+            for (int i = 300000; i < 310000; i++) {
+                other.add(i);
+                otherExpected.add(i);
+            }
+        }
+
+        private void assertContent() {
+            assertEquals(expected.size(), set.size());
+            assertEquals(new ArrayList<>(expected), values(set));
+        }
+
+        @Test
+        public void addAll() {
+            fill();
+            assertTrue(set.addAll(other));
+            expected.addAll(otherExpected);
+            assertContent();
+            assertFalse(set.addAll(other));
+            assertFalse(set.addAll(set));
+        }
+
+        @Test
+        public void retainAll() {
+            fill();
+            assertTrue(set.retainAll(other));
+            expected.retainAll(otherExpected);
+            assertContent();
+            assertFalse(set.retainAll(other));
+            assertFalse(set.retainAll(set));
+        }
+
+        @Test
+        public void removeAll() {
+            fill();
+            assertTrue(set.removeAll(other));
+            expected.removeAll(otherExpected);
+            assertContent();
+            assertFalse(set.removeAll(other));
+        }
+
+        @Test
+        public void containsAll() {
+            fill();
+            assertFalse(set.containsAll(other));
+            assertTrue(set.containsAll(set));
+            IntSet subset = set.clone();
+            subset.remove(subset.next(0));
+            assertTrue(set.containsAll(subset));
+            assertFalse(subset.containsAll(set));
+        }
+
+        @Test
+        public void otherSetIsNotModified() {
+            fill();
+            set.addAll(other);
+            set.add(2000000);
+            set.retainAll(other);
+            set.removeAll(other);
+            assertEquals(new ArrayList<>(otherExpected), values(other));
+        }
+
+        @Test
+        public void worksWithOtherImplementations() {
+            fill();
+            IntSet original = set.clone();
+            expected.addAll(otherExpected);
+            List<IntSet> others = Arrays.asList(new BitSetIntSet(), new CompressedIntSet(), new SortedArrayIntSet(),
+                    new RadixTrieIntSet());
+            for (IntSet otherImpl : others) {
+                otherExpected.forEach(otherImpl::add);
+                set = original.clone();
+                assertTrue(set.addAll(otherImpl));
+                assertContent();
+                assertTrue(set.containsAll(otherImpl));
+                assertTrue(set.removeAll(otherImpl));
+                assertFalse(set.containsAll(otherImpl));
+                for (IntSet anotherImpl : others) {
+                    assertTrue(otherImpl.containsAll(anotherImpl) || anotherImpl.isEmpty());
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+public abstract class LongBikeyMapTest extends PrimitiveBikeyMapTest<TableLongBikeyMap<String, String>> {
+
+    public abstract TableLongBikeyMap<String, String> getNewMap(long missingValue);
+
+    @Override
+    public TableLongBikeyMap<String, String> getNewMap(int missingValue) {
+        return getNewMap(v(missingValue));
+    }
+
+    static long v(int value) {
+        return value;
+    }
+
+    @Override
+    Object value(int value) {
+        return v(value);
+    }
+
+    @Override
+    Object put(TableLongBikeyMap<String, String> target, String row, String column, int value) {
+        return target.put(row, column, v(value));
+    }
+
+    @Override
+    Object get(TableLongBikeyMap<String, String> target, String row, String column) {
+        return target.getLong(row, column);
+    }
+
+    @Override
+    Object getOrDefault(TableLongBikeyMap<String, String> target, String row, String column, int defaultValue) {
+        return target.getOrDefault(row, column, v(defaultValue));
+    }
+
+    @Override
+    Object remove(TableLongBikeyMap<String, String> target, String row, String column) {
+        return target.removeLong(row, column);
+    }
+
+    @Override
+    Object addTo(TableLongBikeyMap<String, String> target, String row, String column, int delta) {
+        return target.addTo(row, column, v(delta));
+    }
+
+    @Override
+    boolean containsKey(TableLongBikeyMap<String, String> target, String row, String column) {
+        return target.containsKey(row, column);
+    }
+
+    @Override
+    boolean containsValue(TableLongBikeyMap<String, String> target, int value) {
+        return target.containsValue(v(value));
+    }
+
+    @Override
+    boolean isEmpty(TableLongBikeyMap<String, String> target) {
+        return target.isEmpty();
+    }
+
+    @Override
+    void forEach(TableLongBikeyMap<String, String> target, TriConsumer<String, String, Number> action) {
+        target.forEach(action::accept);
+    }
+
+    @Override
+    TableLongBikeyMap<String, String> copy(TableLongBikeyMap<String, String> target) {
+        return new TableLongBikeyMap<>(target);
+    }
+
+}
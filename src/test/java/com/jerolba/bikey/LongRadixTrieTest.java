@@ -0,0 +1,104 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+public class LongRadixTrieTest extends IntKeyLongMapTest {
+
+    @Override
+    public IntKeyLongMap getNewMap(long missingValue) {
+        return new LongRadixTrie(missingValue);
+    }
+
+    @Test
+    public void defaultMissingValueIsZero() {
+        assertEquals(0L, new LongRadixTrie().get(1));
+    }
+
+    @Test
+    public void acceptsAllRangeOfKeys() {
+        int[] keys = { Integer.MIN_VALUE, -100_000, -1, 0, 1, 31, 32, 100_000, Integer.MAX_VALUE };
+        for (int key : keys) {
+            map.put(key, v(key % 1000));
+        }
+        assertEquals(keys.length, map.size());
+        for (int key : keys) {
+            assertEquals(v(key % 1000), map.get(key));
+        }
+        for (int key : keys) {
+            assertEquals(v(key % 1000), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        map.put(1, v(1));
+        map.put(1000, v(1000));
+        LongRadixTrie cloned = (LongRadixTrie) ((LongRadixTrie) map).clone();
+        cloned.addTo(1, v(1));
+        cloned.put(5, v(5));
+        assertEquals(v(1), map.get(1));
+        assertFalse(map.containsKey(5));
+        assertEquals(v(2), cloned.get(1));
+        assertEquals(v(1000), cloned.get(1000));
+    }
+
+    @Test
+    public void nextKeyFindsCeilingInUnsignedOrder() {
+        LongRadixTrie trie = new LongRadixTrie();
+        assertEquals(-1, trie.nextKey(0));
+        int[] keys = { 5, 31, 32, 1000, 33_000, 1 << 20, Integer.MAX_VALUE, -1 };
+        for (int key : keys) {
+            trie.put(key, 1L);
+        }
+        assertEquals(5, trie.nextKey(0));
+        assertEquals(5, trie.nextKey(5));
+        assertEquals(31, trie.nextKey(6));
+        assertEquals(32, trie.nextKey(32));
+        assertEquals(1000, trie.nextKey(33));
+        assertEquals(33_000, trie.nextKey(1001));
+        assertEquals(1 << 20, trie.nextKey(33_001));
+        assertEquals(Integer.MAX_VALUE, trie.nextKey((1 << 20) + 1));
+        assertEquals(0xFFFFFFFFL, trie.nextKey(Integer.MIN_VALUE));
+        Random rnd = new Random(1);
+        TreeSet<Integer> expected = new TreeSet<>();
+        trie.clear();
+        for (int i = 0; i < 5000; i++) {
+            int key = rnd.nextInt(rnd.nextBoolean() ? 2000 : 10_000_000);
+            expected.add(key);
+            trie.put(key, 1L);
+        }
+        for (int i = 0; i < 5000; i++) {
+            int from = rnd.nextInt(10_100_000);
+            Integer next = expected.ceiling(from);
+            assertEquals(next == null ? -1 : next.longValue(), trie.nextKey(from));
+        }
+    }
+
+    @Test
+    public void toStringListsValues() {
+        map.put(1, v(10));
+        map.put(2, v(20));
+        assertEquals("{1=" + v(10) + ", 2=" + v(20) + "}", map.toString());
+    }
+
+}
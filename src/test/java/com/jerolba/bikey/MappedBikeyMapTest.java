@@ -0,0 +1,139 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MappedBikeyMapTest {
+
+    private Path file;
+    private TableBikeyMap<String, Integer, String> source = new TableBikeyMap<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        file = Files.createTempFile("bikey", ".map");
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private MappedBikeyMap<String, Integer, String> writeAndOpen() throws IOException {
+        MappedBikeyMap.write(source, file, BikeyCodec.STRING, BikeyCodec.INTEGER, BikeyCodec.STRING);
+        return MappedBikeyMap.open(file, BikeyCodec.STRING, BikeyCodec.INTEGER, BikeyCodec.STRING);
+    }
+
+    @Test
+    public void emptyMapCanBeMapped() throws IOException {
+        MappedBikeyMap<String, Integer, String> map = writeAndOpen();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("one", 1));
+        assertTrue(map.entrySet().isEmpty());
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    public void getReturnsSameValues() throws IOException {
+        source.put("one", 1, "one-1");
+        source.put("one", 3, "one-3");
+        source.put("two", 2, "dos");
+        source.put("three", 1, "");
+        MappedBikeyMap<String, Integer, String> map = writeAndOpen();
+        assertEquals(4, map.size());
+        assertEquals("one-1", map.get("one", 1));
+        assertEquals("one-3", map.get("one", 3));
+        assertEquals("dos", map.get("two", 2));
+        assertEquals("", map.get("three", 1));
+        assertNull(map.get("one", 2));
+        assertNull(map.get("four", 1));
+        assertTrue(map.containsKey("one", 3));
+        assertFalse(map.containsKey("two", 3));
+        assertTrue(map.containsRow("three"));
+        assertFalse(map.containsRow("four"));
+        assertTrue(map.containsColumn(3));
+        assertFalse(map.containsColumn(4));
+        assertTrue(map.containsValue("dos"));
+        assertFalse(map.containsValue("two"));
+    }
+
+    @Test
+    public void viewsHaveSameContent() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            source.put("row" + (i % 17), i, "value" + i);
+        }
+        MappedBikeyMap<String, Integer, String> map = writeAndOpen();
+        assertEquals(source, map);
+        assertEquals(map, source);
+        assertEquals(source.hashCode(), map.hashCode());
+        assertEquals(source.rowKeySet(), map.rowKeySet());
+        assertEquals(source.columnKeySet(), map.columnKeySet());
+        assertEquals(map.bikeySet(), source.bikeySet());
+        assertEquals(source.keySet(), map.keySet());
+        assertEquals(new HashSet<>(source.values()), new HashSet<>(map.values()));
+        assertEquals(source.entrySet(), map.entrySet());
+        int[] count = { 0 };
+        map.forEach((r, c, v) -> {
+            assertEquals("value" + c, v);
+            count[0]++;
+        });
+        assertEquals(1000, count[0]);
+    }
+
+    @Test
+    public void randomContentIsKept() throws IOException {
+        Random rnd = new Random();
+        for (int i = 0; i < 20_000; i++) {
+            int value = rnd.nextInt();
+            source.put(Integer.toString(rnd.nextInt(500)), rnd.nextInt(2000), Integer.toString(value));
+        }
+        MappedBikeyMap<String, Integer, String> map = writeAndOpen();
+        assertEquals(source.size(), map.size());
+        source.forEach((r, c, v) -> assertEquals(v, map.get(r, c)));
+        for (int i = 0; i < 20_000; i++) {
+            String row = Integer.toString(rnd.nextInt(500));
+            Integer column = rnd.nextInt(2000);
+            assertEquals(source.get(row, column), map.get(row, column));
+        }
+    }
+
+    @Test
+    public void canNotBeModified() throws IOException {
+        source.put("one", 1, "one");
+        MappedBikeyMap<String, Integer, String> map = writeAndOpen();
+        assertThrows(UnsupportedOperationException.class, () -> map.put("two", 2, "two"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("one", 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.clear());
+        assertThrows(UnsupportedOperationException.class, () -> map.bikeySet().add("two", 2));
+    }
+
+    @Test
+    public void setFilesCanNotBeOpenedAsMaps() throws IOException {
+        MappedBikeySet.write(new TableBikeySet<>(), file, BikeyCodec.STRING, BikeyCodec.INTEGER);
+        assertThrows(IOException.class,
+                () -> MappedBikeyMap.open(file, BikeyCodec.STRING, BikeyCodec.INTEGER, BikeyCodec.STRING));
+    }
+
+}
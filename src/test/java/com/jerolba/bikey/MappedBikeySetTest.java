@@ -0,0 +1,133 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MappedBikeySetTest {
+
+    private Path file;
+    private TableBikeySet<String, Integer> source = new TableBikeySet<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        file = Files.createTempFile("bikey", ".set");
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private MappedBikeySet<String, Integer> writeAndOpen() throws IOException {
+        MappedBikeySet.write(source, file, BikeyCodec.STRING, BikeyCodec.INTEGER);
+        return MappedBikeySet.open(file, BikeyCodec.STRING, BikeyCodec.INTEGER);
+    }
+
+    @Test
+    public void emptySetCanBeMapped() throws IOException {
+        MappedBikeySet<String, Integer> set = writeAndOpen();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains("one", 1));
+        assertFalse(set.iterator().hasNext());
+        assertTrue(set.rowKeySet().isEmpty());
+    }
+
+    @Test
+    public void containsSameElements() throws IOException {
+        source.add("one", 1);
+        source.add("one", 3);
+        source.add("two", 2);
+        source.add("three", 1);
+        MappedBikeySet<String, Integer> set = writeAndOpen();
+        assertEquals(4, set.size());
+        assertTrue(set.contains("one", 1));
+        assertTrue(set.contains("one", 3));
+        assertTrue(set.contains(new BikeyImpl<>("two", 2)));
+        assertFalse(set.contains("one", 2));
+        assertFalse(set.contains("four", 1));
+        assertEquals(source.rowKeySet(), set.rowKeySet());
+        assertEquals(source.columnKeySet(), set.columnKeySet());
+        assertEquals(set, source);
+        assertEquals(source.hashCode(), set.hashCode());
+    }
+
+    @Test
+    public void iteratesAllElements() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            source.add("row" + (i % 13), i);
+        }
+        MappedBikeySet<String, Integer> set = writeAndOpen();
+        Set<Bikey<String, Integer>> iterated = new HashSet<>();
+        for (Bikey<String, Integer> bikey : set) {
+            iterated.add(bikey);
+        }
+        assertEquals(iterated, source);
+        List<String> forEach = new ArrayList<>();
+        set.forEach((r, c) -> forEach.add(r + c));
+        assertEquals(1000, forEach.size());
+    }
+
+    @Test
+    public void randomContentIsKept() throws IOException {
+        Random rnd = new Random();
+        for (int i = 0; i < 20_000; i++) {
+            source.add(Integer.toString(rnd.nextInt(500)), rnd.nextInt(2000));
+        }
+        MappedBikeySet<String, Integer> set = writeAndOpen();
+        assertEquals(source.size(), set.size());
+        source.forEach((r, c) -> assertTrue(set.contains(r, c)));
+        for (int i = 0; i < 20_000; i++) {
+            String row = Integer.toString(rnd.nextInt(500));
+            Integer column = rnd.nextInt(2000);
+            assertEquals(source.contains(row, column), set.contains(row, column));
+        }
+    }
+
+    @Test
+    public void canNotBeModified() throws IOException {
+        source.add("one", 1);
+        MappedBikeySet<String, Integer> set = writeAndOpen();
+        assertThrows(UnsupportedOperationException.class, () -> set.add("two", 2));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove("one", 1));
+        assertThrows(UnsupportedOperationException.class, () -> set.clear());
+        assertThrows(UnsupportedOperationException.class, () -> set.rowKeySet().clear());
+    }
+
+    @Test
+    public void otherFilesCanNotBeOpened() throws IOException {
+        Files.write(file, new byte[100]);
+        assertThrows(IOException.class, () -> MappedBikeySet.open(file, BikeyCodec.STRING, BikeyCodec.INTEGER));
+    }
+
+    @Test
+    public void mapFilesCanNotBeOpenedAsSets() throws IOException {
+        TableBikeyMap<String, Integer, Long> map = new TableBikeyMap<>();
+        map.put("one", 1, 1L);
+        MappedBikeyMap.write(map, file, BikeyCodec.STRING, BikeyCodec.INTEGER, BikeyCodec.LONG);
+        assertThrows(IOException.class, () -> MappedBikeySet.open(file, BikeyCodec.STRING, BikeyCodec.INTEGER));
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapBikeySetTest extends BikeySetTest {
+
+    private final OffHeapBikeySet<String, Integer> offHeap = (OffHeapBikeySet<String, Integer>) set;
+
+    @Override
+    public BikeySet<String, Integer> getNewBikeySet() {
+        return new OffHeapBikeySet<>();
+    }
+
+    @Test
+    public void canCreateNewBikeySetFromOtherOne() {
+        set.add("one", 1);
+        set.add("two", 2);
+        set.add("three", 3);
+        BikeySet<String, Integer> copy = new OffHeapBikeySet<>(set);
+        assertEquals(set.size(), copy.size());
+        set.forEach((r, c) -> assertTrue(copy.contains(r, c)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void canBeCloned() {
+        set.add("one", 1);
+        set.add("one", 11);
+        set.add("two", 2);
+        set.add("three", 3);
+        BikeySet<String, Integer> clone = (OffHeapBikeySet<String, Integer>) offHeap.clone();
+        assertEquals(set.size(), clone.size());
+        set.forEach((r, c) -> assertTrue(clone.contains(r, c)));
+    }
+
+    @Test
+    public void wideRowsKeepContentWhenLayoutGrows() {
+        for (int i = 0; i < 3000; i++) {
+            set.add("row" + (i % 5), i * 7);
+        }
+        for (int i = 0; i < 3000; i++) {
+            set.add("row" + i, i);
+        }
+        assertEquals(6000 - 1, set.size());
+        for (int i = 0; i < 3000; i++) {
+            assertTrue(set.contains("row" + (i % 5), i * 7));
+            assertTrue(set.contains("row" + i, i));
+        }
+        assertFalse(set.contains("row4", 1));
+        Set<Bikey<String, Integer>> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        assertEquals(set.size(), iterated.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clonedSetIsIndependent() {
+        for (int i = 0; i < 200; i++) {
+            set.add("row" + (i % 3), i);
+        }
+        OffHeapBikeySet<String, Integer> clone = (OffHeapBikeySet<String, Integer>) offHeap.clone();
+        assertEquals(set, clone);
+        clone.add("other", 1000);
+        set.remove("row0", 0);
+        assertTrue(clone.contains("row0", 0));
+        assertFalse(set.contains("other", 1000));
+        assertEquals(set.size() + 2, clone.size());
+    }
+
+}
@@ -0,0 +1,321 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class PersistentBikeyMapTest {
+
+    private PersistentBikeyMap<String, Integer, String> empty = PersistentBikeyMap.empty();
+
+    @Test
+    public void emptyMapIsEmpty() {
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("one", 1));
+        assertFalse(empty.containsRow("one"));
+        assertFalse(empty.containsColumn(1));
+        assertTrue(empty.entrySet().isEmpty());
+        assertFalse(empty.iterator().hasNext());
+        assertEquals("{}", empty.toString());
+    }
+
+    @Test
+    public void withReturnsNewVersion() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1");
+        assertNotSame(empty, map);
+        assertEquals(1, map.size());
+        assertEquals("one-1", map.get("one", 1));
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("one", 1));
+    }
+
+    @Test
+    public void withReplacesValue() {
+        PersistentBikeyMap<String, Integer, String> map1 = empty.with("one", 1, "one-1");
+        PersistentBikeyMap<String, Integer, String> map2 = map1.with("one", 1, "other");
+        assertEquals(1, map2.size());
+        assertEquals("other", map2.get("one", 1));
+        assertEquals("one-1", map1.get("one", 1));
+        assertSame(map2, map2.with("one", 1, map2.get("one", 1)));
+    }
+
+    @Test
+    public void withoutReturnsNewVersion() {
+        PersistentBikeyMap<String, Integer, String> map1 = empty.with("one", 1, "one-1").with("one", 2, "one-2");
+        PersistentBikeyMap<String, Integer, String> map2 = map1.without("one", 1);
+        assertEquals(1, map2.size());
+        assertNull(map2.get("one", 1));
+        assertFalse(map2.containsColumn(1));
+        assertTrue(map2.containsRow("one"));
+        assertEquals(2, map1.size());
+        assertEquals("one-1", map1.get("one", 1));
+        assertTrue(map1.containsColumn(1));
+
+        PersistentBikeyMap<String, Integer, String> map3 = map2.without("one", 2);
+        assertTrue(map3.isEmpty());
+        assertFalse(map3.containsRow("one"));
+        assertTrue(map3.rowKeySet().isEmpty());
+    }
+
+    @Test
+    public void withoutNotPresentReturnsSameVersion() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1");
+        assertSame(map, map.without("one", 2));
+        assertSame(map, map.without("two", 1));
+        assertSame(map, map.without("three", 3));
+    }
+
+    @Test
+    public void nullKeysAreRejected() {
+        assertThrows(NullPointerException.class, () -> empty.with(null, 1, "value"));
+        assertThrows(NullPointerException.class, () -> empty.with("one", null, "value"));
+        assertThrows(NullPointerException.class, () -> empty.with("one", 1, null));
+        assertThrows(NullPointerException.class, () -> empty.without(null, 1));
+        assertThrows(NullPointerException.class, () -> empty.get("one", null));
+        assertThrows(NullPointerException.class, () -> empty.containsRow(null));
+        assertThrows(NullPointerException.class, () -> empty.containsColumn(null));
+    }
+
+    @Test
+    public void mutatorsAreNotSupported() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1");
+        assertThrows(UnsupportedOperationException.class, () -> map.put("two", 2, "two-2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("one", 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.clear());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void versionsAreIndependent() {
+        Random random = new Random(17);
+        List<PersistentBikeyMap<String, Integer, String>> versions = new ArrayList<>();
+        List<Map<String, String>> models = new ArrayList<>();
+        PersistentBikeyMap<String, Integer, String> map = empty;
+        Map<String, String> model = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String row = "row" + random.nextInt(30);
+            int column = random.nextInt(60);
+            if (random.nextInt(3) == 0) {
+                map = map.without(row, column);
+                model.remove(row + "-" + column);
+            } else {
+                String value = row + "-" + column + "-" + i;
+                map = map.with(row, column, value);
+                model.put(row + "-" + column, value);
+            }
+            if (i % 100 == 0) {
+                versions.add(map);
+                models.add(new HashMap<>(model));
+            }
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertSameContent(models.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    public void keySetsFollowContent() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1").with("one", 2, "one-2")
+                .with("two", 2, "two-2").without("one", 2);
+        assertEquals(new HashSet<>(Arrays.asList("one", "two")), map.rowKeySet());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), map.columnKeySet());
+        assertTrue(map.rowKeySet().contains("two"));
+        assertFalse(map.columnKeySet().contains(3));
+
+        PersistentBikeyMap<String, Integer, String> other = map.without("one", 1);
+        assertEquals(Collections.singleton("two"), other.rowKeySet());
+        assertEquals(Collections.singleton(2), other.columnKeySet());
+        assertEquals(2, map.rowKeySet().size());
+    }
+
+    @Test
+    public void keySetIsUnmodifiableView() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1").with("two", 2, "two-2");
+        Set<Bikey<String, Integer>> keySet = map.keySet();
+        assertEquals(2, keySet.size());
+        assertTrue(keySet.contains(new BikeyImpl<>("one", 1)));
+        assertFalse(keySet.contains(new BikeyImpl<>("one", 2)));
+        assertEquals(keySet, map.bikeySet());
+        assertThrows(UnsupportedOperationException.class, () -> keySet.add(new BikeyImpl<>("three", 3)));
+        assertThrows(UnsupportedOperationException.class, () -> keySet.remove(new BikeyImpl<>("one", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> keySet.clear());
+
+        BikeySet<String, Integer> copy = map.bikeySet();
+        copy.add("three", 3);
+        assertFalse(map.containsKey("three", 3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void columnCountsAreSharedBetweenVersions() {
+        PersistentBikeyMap<String, Integer, String> map = empty;
+        for (int i = 0; i < 100; i++) {
+            map = map.with("row" + (i % 10), i / 10, "value");
+        }
+        PersistentBikeyMap.Builder<String, Integer, String> builder = map.toBuilder();
+        for (int i = 0; i < 10; i++) {
+            builder.remove("row" + i, 5);
+        }
+        builder.remove("row0", 3);
+        builder.put("new", 100, "new");
+        builder.remove("new", 100);
+        PersistentBikeyMap<String, Integer, String> built = builder.build();
+        assertEquals(10, map.columnKeySet().size());
+        assertTrue(map.containsColumn(5));
+        assertEquals(9, built.columnKeySet().size());
+        assertFalse(built.containsColumn(5));
+        assertFalse(built.containsColumn(100));
+        assertTrue(built.containsColumn(3));
+
+        PersistentBikeyMap<String, Integer, String> removed = built;
+        for (int i = 1; i < 10; i++) {
+            assertTrue(removed.containsColumn(3));
+            removed = removed.without("row" + i, 3);
+        }
+        assertFalse(removed.containsColumn(3));
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 4, 6, 7, 8, 9)), removed.columnKeySet());
+        assertEquals(9, built.columnKeySet().size());
+    }
+
+    @Test
+    public void equalsOtherImplementations() {
+        TableBikeyMap<String, Integer, String> table = new TableBikeyMap<>();
+        table.put("one", 1, "one-1");
+        table.put("two", 2, "two-2");
+        PersistentBikeyMap<String, Integer, String> map = PersistentBikeyMap.copyOf(table);
+        assertEquals(table, map);
+        assertEquals(map, table);
+        assertEquals(table.hashCode(), map.hashCode());
+        assertEquals(table.bikeySet(), map.bikeySet());
+        assertNotEquals(map, map.with("three", 3, "three-3"));
+    }
+
+    @Test
+    public void valuesAndCursorReadContent() {
+        PersistentBikeyMap<String, Integer, String> map = empty.with("one", 1, "one-1").with("two", 2, "two-2");
+        assertTrue(map.values().containsAll(Arrays.asList("one-1", "two-2")));
+        assertTrue(map.containsValue("two-2"));
+        assertFalse(map.containsValue("one-2"));
+        BikeyCursor<String, Integer, String> cursor = map.cursor();
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(cursor.row() + "-" + cursor.column(), cursor.value());
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Nested
+    class BuilderBatch {
+
+        @Test
+        public void builderDoesNotModifyOriginal() {
+            PersistentBikeyMap<String, Integer, String> original = empty.with("one", 1, "one-1").with("two", 2,
+                    "two-2");
+            PersistentBikeyMap.Builder<String, Integer, String> builder = original.toBuilder();
+            assertEquals("one-1", builder.put("one", 1, "other"));
+            assertNull(builder.put("one", 3, "one-3"));
+            assertEquals("two-2", builder.remove("two", 2));
+            assertNull(builder.remove("two", 2));
+            assertEquals("other", builder.get("one", 1));
+            assertEquals(2, builder.size());
+
+            PersistentBikeyMap<String, Integer, String> built = builder.build();
+            assertEquals(2, built.size());
+            assertEquals("other", built.get("one", 1));
+            assertEquals("one-3", built.get("one", 3));
+            assertFalse(built.containsRow("two"));
+            assertFalse(built.containsColumn(2));
+
+            assertEquals(2, original.size());
+            assertEquals("one-1", original.get("one", 1));
+            assertEquals("two-2", original.get("two", 2));
+            assertNull(original.get("one", 3));
+        }
+
+        @Test
+        public void builtVersionsAreNotModifiedByBuilder() {
+            PersistentBikeyMap.Builder<String, Integer, String> builder = empty.toBuilder();
+            builder.put("one", 1, "one-1");
+            PersistentBikeyMap<String, Integer, String> first = builder.build();
+            builder.put("one", 2, "one-2");
+            builder.remove("one", 1);
+            PersistentBikeyMap<String, Integer, String> second = builder.build();
+
+            assertEquals(1, first.size());
+            assertEquals("one-1", first.get("one", 1));
+            assertNull(first.get("one", 2));
+            assertEquals(1, second.size());
+            assertNull(second.get("one", 1));
+            assertEquals("one-2", second.get("one", 2));
+        }
+
+        @Test
+        public void builderFollowsModel() {
+            Random random = new Random(31);
+            PersistentBikeyMap.Builder<String, Integer, String> builder = empty.toBuilder();
+            Map<String, String> model = new HashMap<>();
+            PersistentBikeyMap<String, Integer, String> previous = empty;
+            Map<String, String> previousModel = new HashMap<>();
+            for (int i = 0; i < 5000; i++) {
+                String row = "row" + random.nextInt(40);
+                int column = random.nextInt(80);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(model.remove(row + "-" + column), builder.remove(row, column));
+                } else {
+                    String value = row + "-" + column + "-" + i;
+                    assertEquals(model.put(row + "-" + column, value), builder.put(row, column, value));
+                }
+                if (i % 500 == 0) {
+                    PersistentBikeyMap<String, Integer, String> built = builder.build();
+                    assertSameContent(model, built);
+                    assertSameContent(previousModel, previous);
+                    previous = built;
+                    previousModel = new HashMap<>(model);
+                }
+            }
+            assertSameContent(model, builder.build());
+        }
+
+    }
+
+    private static void assertSameContent(Map<String, String> model, PersistentBikeyMap<String, Integer, String> map) {
+        assertEquals(model.size(), map.size());
+        Map<String, String> content = new HashMap<>();
+        Set<Integer> columns = new HashSet<>();
+        map.forEach((r, c, v) -> {
+            content.put(r + "-" + c, v);
+            columns.add(c);
+        });
+        assertEquals(model, content);
+        Map<String, String> iterated = new HashMap<>();
+        for (BikeyEntry<String, Integer, String> entry : map) {
+            iterated.put(entry.getRow() + "-" + entry.getColumn(), entry.getValue());
+        }
+        assertEquals(model, iterated);
+        assertEquals(columns, map.columnKeySet());
+        for (Map.Entry<String, String> entry : model.entrySet()) {
+            String[] parts = entry.getKey().split("-");
+            assertEquals(entry.getValue(), map.get(parts[0], Integer.parseInt(parts[1])));
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the bikey maps with primitive values. Subclasses of each value type
+ * call the methods of its map, receiving values as int and returning them
+ * boxed, so they can be compared with the values created by {@link #value}.
+ *
+ * @param <M>
+ *            type of the tested map
+ */
+public abstract class PrimitiveBikeyMapTest<M extends PrimitiveTableBikeyMap<String, String, ?>> {
+
+    static final int MISSING = -1;
+
+    M map = getNewMap(MISSING);
+
+    public abstract M getNewMap(int missingValue);
+
+    abstract Object value(int value);
+
+    abstract Object put(M target, String row, String column, int value);
+
+    abstract Object get(M target, String row, String column);
+
+    abstract Object getOrDefault(M target, String row, String column, int defaultValue);
+
+    abstract Object remove(M target, String row, String column);
+
+    abstract Object addTo(M target, String row, String column, int delta);
+
+    abstract boolean containsKey(M target, String row, String column);
+
+    abstract boolean containsValue(M target, int value);
+
+    abstract boolean isEmpty(M target);
+
+    abstract void forEach(M target, TriConsumer<String, String, Number> action);
+
+    /**
+     * Returns a new map with the content of the target, created with the copy
+     * constructor.
+     */
+    abstract M copy(M target);
+
+    @SuppressWarnings("unchecked")
+    private M cloneOf(M target) {
+        return (M) target.clone();
+    }
+
+    @Test
+    public void justCreatedIsEmpty() {
+        assertEquals(0, map.size());
+        assertTrue(isEmpty(map));
+        assertEquals(value(MISSING), get(map, "one", "1"));
+    }
+
+    @Test
+    public void doesNotAcceptNullKeys() {
+        assertThrows(NullPointerException.class, () -> {
+            put(map, null, "1", 1);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            put(map, "one", null, 1);
+        });
+    }
+
+    @Test
+    public void putAndGetValues() {
+        assertEquals(value(MISSING), put(map, "one", "1", 11));
+        assertEquals(value(MISSING), put(map, "one", "2", 12));
+        assertEquals(value(MISSING), put(map, "two", "1", 21));
+        assertEquals(value(11), put(map, "one", "1", 111));
+        assertEquals(3, map.size());
+        assertEquals(value(111), get(map, "one", "1"));
+        assertEquals(value(12), get(map, "one", "2"));
+        assertEquals(value(21), get(map, "two", "1"));
+        assertEquals(value(MISSING), get(map, "two", "2"));
+        assertEquals(value(5), getOrDefault(map, "two", "2", 5));
+        assertTrue(containsKey(map, "two", "1"));
+        assertFalse(containsKey(map, "two", "2"));
+    }
+
+    @Test
+    public void addToCountsValues() {
+        for (int i = 0; i < 1000; i++) {
+            addTo(map, "row" + (i % 10), "col" + (i % 7), 1);
+        }
+        assertEquals(70, map.size());
+        double[] total = { 0 };
+        forEach(map, (r, c, value) -> total[0] += value.doubleValue() - MISSING);
+        assertEquals(1000, total[0]);
+    }
+
+    @Test
+    public void removeUpdatesRowsAndColumns() {
+        put(map, "one", "1", 11);
+        put(map, "two", "2", 22);
+        assertEquals(value(11), remove(map, "one", "1"));
+        assertEquals(value(MISSING), remove(map, "one", "1"));
+        assertEquals(1, map.size());
+        assertFalse(map.containsRow("one"));
+        assertFalse(map.containsColumn("1"));
+        assertTrue(map.containsRow("two"));
+        assertTrue(map.containsColumn("2"));
+        assertEquals(Collections.singleton("two"), map.rowKeySet());
+        assertEquals(Collections.singleton("2"), map.columnKeySet());
+    }
+
+    @Test
+    public void canStoreMissingValue() {
+        put(map, "one", "1", MISSING);
+        assertTrue(containsKey(map, "one", "1"));
+        assertEquals(1, map.size());
+        assertEquals(value(MISSING), remove(map, "one", "1"));
+        assertTrue(isEmpty(map));
+    }
+
+    @Test
+    public void containsValueFindsStoredValues() {
+        put(map, "one", "1", 11);
+        assertTrue(containsValue(map, 11));
+        assertFalse(containsValue(map, 12));
+    }
+
+    @Test
+    public void bikeySetContainsAllKeys() {
+        put(map, "one", "1", 11);
+        put(map, "two", "2", 22);
+        BikeySet<String, String> bikeySet = map.bikeySet();
+        assertEquals(2, bikeySet.size());
+        assertTrue(bikeySet.contains("one", "1"));
+        assertTrue(bikeySet.contains("two", "2"));
+        Set<String> keys = new HashSet<>();
+        map.forEachBikey((r, c) -> keys.add(r + c));
+        assertEquals(new HashSet<>(Arrays.asList("one1", "two2")), keys);
+    }
+
+    @Test
+    public void clearRemovesAll() {
+        put(map, "one", "1", 11);
+        map.clear();
+        assertTrue(isEmpty(map));
+        assertFalse(map.containsRow("one"));
+        assertEquals(value(MISSING), get(map, "one", "1"));
+    }
+
+    @Test
+    public void equalsAndCopies() {
+        for (int i = 0; i < 100; i++) {
+            put(map, "row" + (i % 10), "col" + i, i);
+        }
+        M copy = copy(map);
+        assertEquals(map, copy);
+        assertEquals(copy, map);
+        assertEquals(map.hashCode(), copy.hashCode());
+        addTo(copy, "row0", "col0", 1);
+        assertNotEquals(map, copy);
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        for (int i = 0; i < 200; i++) {
+            put(map, "row" + (i % 7), "col" + i, i);
+        }
+        M cloned = cloneOf(map);
+        assertEquals(map, cloned);
+        addTo(cloned, "row0", "col0", 1);
+        put(cloned, "row0", "new", 5);
+        remove(cloned, "row1", "col1");
+        assertEquals(value(0), get(map, "row0", "col0"));
+        assertFalse(containsKey(map, "row0", "new"));
+        assertEquals(value(1), get(map, "row1", "col1"));
+        assertEquals(200, map.size());
+        assertEquals(value(1), get(cloned, "row0", "col0"));
+        assertEquals(value(199), get(cloned, "row3", "col199"));
+        assertEquals(200, cloned.size());
+    }
+
+    @Test
+    public void compactKeepsValues() {
+        for (int i = 0; i < 100; i++) {
+            put(map, "row" + (i % 3), "col" + i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            remove(map, "row" + (i % 3), "col" + i);
+        }
+        map.compact();
+        assertEquals(50, map.size());
+        for (int i = 1; i < 100; i += 2) {
+            assertEquals(value(i), get(map, "row" + (i % 3), "col" + i));
+        }
+        assertEquals(map, cloneOf(map));
+    }
+
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the int keyed maps with primitive values. Subclasses of each value
+ * type call the methods of its map, receiving values as int and returning them
+ * boxed, so they can be compared with the values created by {@link #value}.
+ *
+ * @param <M>
+ *            type of the tested map
+ */
+public abstract class PrimitiveIntKeyMapTest<M> {
+
+    static final int MISSING = -1;
+
+    M map = getNewMap(MISSING);
+
+    public abstract M getNewMap(int missingValue);
+
+    abstract Object value(int value);
+
+    abstract Object getMissingValue();
+
+    abstract Object put(int key, int value);
+
+    abstract Object get(int key);
+
+    abstract Object getOrDefault(int key, int defaultValue);
+
+    abstract Object remove(int key);
+
+    abstract Object addTo(int key, int delta);
+
+    abstract boolean containsKey(int key);
+
+    abstract boolean containsValue(int value);
+
+    abstract int size();
+
+    abstract boolean isEmpty();
+
+    abstract void clear();
+
+    abstract void forEach(BiConsumer<Integer, Object> action);
+
+    abstract void forEachKey(IntConsumer action);
+
+    /**
+     * Returns a radix trie of the same value type with the content of the map.
+     */
+    abstract Object copyToRadixTrie();
+
+    @Test
+    public void justCreatedIsEmpty() {
+        assertEquals(0, size());
+        assertTrue(isEmpty());
+        assertEquals(value(MISSING), getMissingValue());
+    }
+
+    @Test
+    public void returnsMissingValueIfKeyDoesNotExist() {
+        assertEquals(value(MISSING), get(3));
+        assertFalse(containsKey(3));
+        assertEquals(value(7), getOrDefault(3, 7));
+    }
+
+    @Test
+    public void putReturnsPreviousValue() {
+        assertEquals(value(MISSING), put(3, 30));
+        assertEquals(value(30), put(3, 31));
+        assertEquals(value(31), get(3));
+        assertEquals(1, size());
+    }
+
+    @Test
+    public void canStoreMissingValue() {
+        put(1, MISSING);
+        assertTrue(containsKey(1));
+        assertEquals(value(MISSING), get(1));
+        assertEquals(1, size());
+    }
+
+    @Test
+    public void removeReturnsPreviousValue() {
+        put(1, 10);
+        put(2, 20);
+        assertEquals(value(10), remove(1));
+        assertFalse(containsKey(1));
+        assertEquals(value(MISSING), remove(1));
+        assertEquals(1, size());
+        assertEquals(value(20), get(2));
+    }
+
+    @Test
+    public void addToIncrementsValues() {
+        assertEquals(value(MISSING), addTo(5, 3));
+        assertEquals(value(2), get(5));
+        assertEquals(value(2), addTo(5, 10));
+        assertEquals(value(12), get(5));
+        assertEquals(1, size());
+    }
+
+    @Test
+    public void forEachVisitsAllValues() {
+        for (int i = 0; i < 1000; i += 3) {
+            put(i, i * 2);
+        }
+        Set<Integer> keys = new HashSet<>();
+        forEach((key, value) -> {
+            assertEquals(value(key * 2), value);
+            assertTrue(keys.add(key));
+        });
+        assertEquals(334, keys.size());
+        Set<Integer> onlyKeys = new HashSet<>();
+        forEachKey(onlyKeys::add);
+        assertEquals(keys, onlyKeys);
+    }
+
+    @Test
+    public void containsValueFindsStoredValues() {
+        put(10, 100);
+        assertTrue(containsValue(100));
+        assertFalse(containsValue(10));
+    }
+
+    @Test
+    public void clearRemovesAll() {
+        put(10, 100);
+        put(20, 200);
+        clear();
+        assertTrue(isEmpty());
+        assertFalse(containsKey(10));
+        put(20, 1);
+        assertEquals(value(1), get(20));
+    }
+
+    @Test
+    public void equalsOtherImplementation() {
+        for (int i = 0; i < 500; i += 7) {
+            put(i, i);
+        }
+        Object other = copyToRadixTrie();
+        assertEquals(map, other);
+        assertEquals(other, map);
+        assertEquals(map.hashCode(), other.hashCode());
+        put(7, 8);
+        assertNotEquals(map, other);
+    }
+
+    @Test
+    public void randomlyAddAndRemoveValues() {
+        Random rnd = new Random(1);
+        Map<Integer, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int key = rnd.nextInt(50_000);
+            if (rnd.nextInt(3) == 0) {
+                Object removed = expected.remove(key);
+                assertEquals(removed == null ? value(MISSING) : removed, remove(key));
+            } else {
+                Object previous = expected.put(key, value(i));
+                assertEquals(previous == null ? value(MISSING) : previous, put(key, i));
+            }
+            assertEquals(expected.size(), size());
+        }
+        expected.forEach((key, value) -> assertEquals(value, get(key)));
+    }
+
+}
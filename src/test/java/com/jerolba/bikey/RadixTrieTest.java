@@ -15,8 +15,10 @@
  */
 package com.jerolba.bikey;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -117,4 +119,256 @@ public class RadixTrieTest extends IntKeyMapTest {
 
     }
 
+    @Nested
+    class SplitIteration {
+
+        @Test
+        public void emptyMapCanNotBeSplitted() {
+            Spliterator<IntObjectEntry<String>> spliterator = map.spliterator();
+            assertEquals(0, spliterator.estimateSize());
+            assertNull(spliterator.trySplit());
+            assertFalse(spliterator.tryAdvance(e -> fail("Empty map")));
+        }
+
+        @Test
+        public void singleLeafIsSplittedInsideNode() {
+            for (int i = 0; i < 32; i++) {
+                map.put(i, Integer.toString(i));
+            }
+            Spliterator<IntObjectEntry<String>> spliterator = map.spliterator();
+            Spliterator<IntObjectEntry<String>> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            assertEquals(16, prefix.estimateSize());
+            assertEquals(16, spliterator.estimateSize());
+        }
+
+        @Test
+        public void splitsWithExactSizes() {
+            Random rnd = new Random(1);
+            for (int i = 0; i < 10_000; i++) {
+                int key = rnd.nextInt(1_000_000) - 500_000;
+                map.put(key, Integer.toString(key));
+            }
+            Set<Integer> keys = new HashSet<>();
+            splitAndCollect(map.spliterator(), keys);
+            assertEquals(map.keySet(), keys);
+        }
+
+        @Test
+        public void splitsAfterAdvancing() {
+            for (int i = 0; i < 1_000; i++) {
+                map.put(i * 7, Integer.toString(i * 7));
+            }
+            Spliterator<IntObjectEntry<String>> spliterator = map.spliterator();
+            Set<Integer> keys = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                assertTrue(spliterator.tryAdvance(e -> keys.add(e.getIntKey())));
+            }
+            Spliterator<IntObjectEntry<String>> other = spliterator.trySplit();
+            assertNotNull(other);
+            assertEquals(900, spliterator.estimateSize() + other.estimateSize());
+            splitAndCollect(spliterator, keys);
+            splitAndCollect(other, keys);
+            assertEquals(map.keySet(), keys);
+        }
+
+        @Test
+        public void keySpliteratorIsPrimitive() {
+            for (int i = 0; i < 1_000; i++) {
+                map.put(i * 3, Integer.toString(i * 3));
+            }
+            Spliterator<Integer> spliterator = map.keySet().spliterator();
+            assertTrue(spliterator instanceof Spliterator.OfInt);
+            Spliterator.OfInt intSpliterator = (Spliterator.OfInt) spliterator;
+            Spliterator.OfInt prefix = intSpliterator.trySplit();
+            long[] sum = new long[1];
+            prefix.forEachRemaining((int key) -> sum[0] += key);
+            intSpliterator.forEachRemaining((int key) -> sum[0] += key);
+            assertEquals(3L * 999 * 1000 / 2, sum[0]);
+        }
+
+        @Test
+        public void valuesAreCollectedInParallel() {
+            for (int i = 0; i < 10_000; i++) {
+                map.put(i * 31, Integer.toString(i * 31));
+            }
+            Set<String> values = map.values().parallelStream().collect(Collectors.toSet());
+            assertEquals(new HashSet<>(map.values()), values);
+        }
+
+        private void splitAndCollect(Spliterator<IntObjectEntry<String>> spliterator, Set<Integer> keys) {
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+            long size = spliterator.estimateSize();
+            Spliterator<IntObjectEntry<String>> other = spliterator.trySplit();
+            if (other == null) {
+                int[] count = new int[1];
+                spliterator.forEachRemaining(e -> {
+                    assertTrue(keys.add(e.getIntKey()));
+                    count[0]++;
+                });
+                assertEquals(size, count[0]);
+                return;
+            }
+            assertEquals(size, spliterator.estimateSize() + other.estimateSize());
+            splitAndCollect(spliterator, keys);
+            splitAndCollect(other, keys);
+        }
+
+    }
+
+    @Nested
+    class FromSorted {
+
+        private int[] randomKeys(Random random, int count, int bound, boolean negatives) {
+            Set<Integer> keys = new HashSet<>();
+            while (keys.size() < count) {
+                int key = bound > 0 ? random.nextInt(bound) : random.nextInt();
+                keys.add(negatives || key >= 0 ? key : -key - 1);
+            }
+            return keys.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        private void assertSameAsPut(int[] keys) {
+            String[] values = Arrays.stream(keys).mapToObj(Integer::toString).toArray(String[]::new);
+            RadixTrie<String> built = RadixTrie.fromSorted(keys, values);
+            RadixTrie<String> expected = new RadixTrie<>();
+            for (int i = 0; i < keys.length; i++) {
+                expected.put(keys[i], values[i]);
+            }
+            assertEquals(expected.size(), built.size());
+            assertEquals(expected, built);
+            List<Integer> expectedOrder = new ArrayList<>();
+            expected.forEachKey(expectedOrder::add);
+            List<Integer> builtOrder = new ArrayList<>();
+            built.forEachKey(builtOrder::add);
+            assertEquals(expectedOrder, builtOrder);
+            for (int key : keys) {
+                assertEquals(Integer.toString(key), built.get(key));
+            }
+        }
+
+        @Test
+        public void buildsSameTrieAsPut() {
+            Random random = new Random(23);
+            assertSameAsPut(new int[0]);
+            assertSameAsPut(new int[] { 7 });
+            assertSameAsPut(new int[] { 0, 1, 2, 31, 32, 33, 1023, 1024 });
+            assertSameAsPut(new int[] { Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE });
+            assertSameAsPut(randomKeys(random, 1000, 1200, false));
+            assertSameAsPut(randomKeys(random, 5000, 0, false));
+            assertSameAsPut(randomKeys(random, 5000, 0, true));
+        }
+
+        @Test
+        public void acceptsUnsignedOrder() {
+            int[] keys = { 0, 5, 100000, -100, -1 };
+            RadixTrie<String> trie = RadixTrie.fromSorted(keys, new String[] { "a", "b", "c", "d", "e" });
+            assertEquals("d", trie.get(-100));
+            assertEquals(5, trie.size());
+            List<Integer> order = new ArrayList<>();
+            trie.forEachKey(order::add);
+            assertEquals(Arrays.asList(0, 5, 100000, -100, -1), order);
+        }
+
+        @Test
+        public void builtTrieCanBeModified() {
+            int[] keys = randomKeys(new Random(5), 2000, 100000, true);
+            String[] values = Arrays.stream(keys).mapToObj(Integer::toString).toArray(String[]::new);
+            RadixTrie<String> built = RadixTrie.fromSorted(keys, values);
+            Map<Integer, String> expected = new HashMap<>();
+            built.forEach(expected::put);
+            Random random = new Random(6);
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(200000) - 100000;
+                if (random.nextBoolean()) {
+                    assertEquals(expected.put(key, "new" + i), built.put(key, "new" + i));
+                } else {
+                    assertEquals(expected.remove(key), built.remove(key));
+                }
+            }
+            Map<Integer, String> found = new HashMap<>();
+            built.forEach(found::put);
+            assertEquals(expected, found);
+        }
+
+        @Test
+        public void invalidInputFails() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> RadixTrie.fromSorted(new int[] { 1, 2 }, new String[] { "one" }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> RadixTrie.fromSorted(new int[] { 2, 1 }, new String[] { "two", "one" }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> RadixTrie.fromSorted(new int[] { 1, 1 }, new String[] { "one", "one" }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> RadixTrie.fromSorted(new int[] { 5, -1, 3 }, new String[] { "5", "-1", "3" }));
+            assertThrows(NullPointerException.class,
+                    () -> RadixTrie.fromSorted(new int[] { 1, 2 }, new String[] { "one", null }));
+        }
+
+    }
+
+    @Nested
+    class StructuralCopy {
+
+        private final RadixTrie<String> trie = new RadixTrie<>();
+
+        @BeforeEach
+        void beforeEach() {
+            Random random = new Random(24);
+            for (int i = 0; i < 3000; i++) {
+                int key = random.nextInt();
+                trie.put(key, Integer.toString(key));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void cloneIsIndependent() {
+            RadixTrie<String> cloned = (RadixTrie<String>) trie.clone();
+            assertEquals(trie, cloned);
+            Map<Integer, String> original = new HashMap<>();
+            trie.forEach(original::put);
+            Map<Integer, String> expectedClone = new HashMap<>(original);
+            cloned.replaceAll((k, v) -> v + "!");
+            expectedClone.replaceAll((k, v) -> v + "!");
+            List<Integer> keys = new ArrayList<>(original.keySet());
+            for (int i = 0; i < 1000; i++) {
+                cloned.remove(keys.get(i));
+                expectedClone.remove(keys.get(i));
+                cloned.put(i, "new");
+                expectedClone.put(i, "new");
+            }
+            Map<Integer, String> found = new HashMap<>();
+            trie.forEach(found::put);
+            assertEquals(original, found);
+            trie.clear();
+            found.clear();
+            cloned.forEach(found::put);
+            assertEquals(expectedClone, found);
+            assertEquals(expectedClone.size(), cloned.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void cloneOfEmptyTrie() {
+            RadixTrie<String> cloned = (RadixTrie<String>) new RadixTrie<String>().clone();
+            assertTrue(cloned.isEmpty());
+            cloned.put(1, "one");
+            assertEquals("one", cloned.get(1));
+        }
+
+        @Test
+        public void putAllCopiesStructureOnlyIntoEmptyTrie() {
+            RadixTrie<String> copy = new RadixTrie<>(trie);
+            assertEquals(trie, copy);
+            copy.put(5, "five");
+            assertNotEquals(trie, copy);
+            RadixTrie<String> merged = new RadixTrie<>();
+            merged.put(5, "five");
+            merged.putAll(trie);
+            assertEquals(copy, merged);
+        }
+
+    }
+
 }
@@ -15,7 +15,10 @@
  */
 package com.jerolba.bikey;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -27,6 +30,465 @@ public class TableBikeyMapTest extends BikeyMapTest {
         return new TableBikeyMap<>();
     }
 
+    @Nested
+    class SplitIteration {
+
+        @Test
+        public void splitsAcrossRowsWithExactSizes() {
+            for (int i = 0; i < 1000; i++) {
+                for (int j = 0; j <= i % 20; j++) {
+                    map.put(Integer.toString(i), Integer.toString(j), i + "-" + j);
+                }
+            }
+            List<BikeyEntry<String, String, String>> found = new ArrayList<>();
+            splitAndCollect(map.entrySet().spliterator(), found);
+            assertEquals(map.size(), found.size());
+            assertEquals(map.size(), new HashSet<>(found).size());
+            for (BikeyEntry<String, String, String> entry : found) {
+                assertEquals(entry.getValue(), map.get(entry.getRow(), entry.getColumn()));
+            }
+        }
+
+        @Test
+        public void splitsInsideSingleRow() {
+            for (int j = 0; j < 5000; j++) {
+                map.put("row", Integer.toString(j), "row-" + j);
+            }
+            Spliterator<BikeyEntry<String, String, String>> spliterator = map.spliterator();
+            Spliterator<BikeyEntry<String, String, String>> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            assertEquals(map.size(), prefix.estimateSize() + spliterator.estimateSize());
+            List<BikeyEntry<String, String, String>> found = new ArrayList<>();
+            splitAndCollect(prefix, found);
+            splitAndCollect(spliterator, found);
+            assertEquals(map.size(), new HashSet<>(found).size());
+        }
+
+        @Test
+        public void splitsAfterAdvancing() {
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 100; j++) {
+                    map.put(Integer.toString(i), Integer.toString(j), i + "-" + j);
+                }
+            }
+            Spliterator<BikeyEntry<String, String, String>> spliterator = map.spliterator();
+            List<BikeyEntry<String, String, String>> found = new ArrayList<>();
+            assertTrue(spliterator.tryAdvance(found::add));
+            Spliterator<BikeyEntry<String, String, String>> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            long prefixSize = prefix.estimateSize();
+            int advanced = 0;
+            while (prefix.tryAdvance(found::add)) {
+                advanced++;
+            }
+            assertEquals(prefixSize, advanced);
+            spliterator.forEachRemaining(found::add);
+            assertEquals(map.size(), new HashSet<>(found).size());
+        }
+
+        @Test
+        public void valuesAreCountedInParallel() {
+            for (int i = 0; i < 2000; i++) {
+                for (int j = 0; j < 50; j++) {
+                    map.put(Integer.toString(i), Integer.toString(j), Integer.toString(i * j));
+                }
+            }
+            long expected = map.values().stream().mapToLong(Long::parseLong).sum();
+            assertEquals(expected, map.values().parallelStream().mapToLong(Long::parseLong).sum());
+            assertEquals(map.size(), map.keySet().parallelStream().distinct().count());
+        }
+
+        private void splitAndCollect(Spliterator<BikeyEntry<String, String, String>> spliterator,
+                List<BikeyEntry<String, String, String>> found) {
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+            long expected = spliterator.estimateSize();
+            Spliterator<BikeyEntry<String, String, String>> prefix = spliterator.trySplit();
+            if (prefix == null) {
+                int before = found.size();
+                spliterator.forEachRemaining(found::add);
+                assertEquals(expected, found.size() - before);
+                return;
+            }
+            assertEquals(expected, prefix.estimateSize() + spliterator.estimateSize());
+            splitAndCollect(prefix, found);
+            splitAndCollect(spliterator, found);
+        }
+
+    }
+
+    @Nested
+    class ColumnRecycling {
+
+        private final List<IntKeyMap<String>> rowMaps = new ArrayList<>();
+        private final TableBikeyMap<String, String, String> table = new TableBikeyMap<>(() -> {
+            IntKeyMap<String> rowMap = new RadixTrie<>();
+            rowMaps.add(rowMap);
+            return rowMap;
+        });
+
+        @Test
+        public void releasedColumnPositionIsReused() {
+            table.put("row", "first", "row-first");
+            table.put("other", "second", "other-second");
+            table.remove("row", "first");
+            table.put("other", "third", "other-third");
+            assertEquals(new HashSet<>(Arrays.asList(0, 1)), rowMaps.get(1).keySet());
+            assertEquals("other-third", table.get("other", "third"));
+            assertEquals("other-second", table.get("other", "second"));
+            assertFalse(table.containsColumn("first"));
+        }
+
+        @Test
+        public void compactRenumbersColumnsDensely() {
+            for (int i = 0; i < 100; i++) {
+                table.put("row" + (i % 3), "col" + i, i + "");
+            }
+            for (int i = 0; i < 100; i += 2) {
+                table.remove("row" + (i % 3), "col" + i);
+            }
+            table.compact();
+            Set<Integer> keys = new HashSet<>();
+            table.forEach((r, c, v) -> assertEquals("col" + v, c));
+            for (IntKeyMap<String> rowMap : rowMaps.subList(3, rowMaps.size())) {
+                keys.addAll(rowMap.keySet());
+            }
+            assertEquals(50, keys.size());
+            assertEquals(49, Collections.max(keys).intValue());
+            assertEquals(50, table.size());
+            for (int i = 1; i < 100; i += 2) {
+                assertEquals(i + "", table.get("row" + (i % 3), "col" + i));
+            }
+            table.put("row0", "new", "new");
+            assertEquals("new", table.get("row0", "new"));
+            assertEquals(51, table.columnKeySet().size());
+        }
+
+        @Test
+        public void compactWithoutReleasedColumnsKeepsRows() {
+            table.put("row", "col", "value");
+            table.compact();
+            assertEquals(1, rowMaps.size());
+            assertEquals("value", table.get("row", "col"));
+        }
+
+    }
+
+    @Nested
+    class ColumnView {
+
+        private final TableBikeyMap<String, String, String> table = new TableBikeyMap<>();
+
+        @BeforeEach
+        void beforeEach() {
+            for (int i = 0; i < 50; i++) {
+                table.put("row" + i, "col" + (i % 5), "value" + i);
+            }
+        }
+
+        private void assertColumnContent(TableBikeyMap<String, String, String> source) {
+            for (int c = 0; c < 5; c++) {
+                String column = "col" + c;
+                Map<String, String> expected = new HashMap<>();
+                source.forEach((r, col, v) -> {
+                    if (col.equals(column)) {
+                        expected.put(r, v);
+                    }
+                });
+                Map<String, String> view = source.column(column);
+                assertEquals(expected, view);
+                assertEquals(expected.size(), view.size());
+                Map<String, String> iterated = new HashMap<>();
+                view.forEach(iterated::put);
+                assertEquals(expected, iterated);
+            }
+        }
+
+        @Test
+        public void columnViewHasColumnValues() {
+            assertColumnContent(table);
+            Map<String, String> column = table.column("col2");
+            assertEquals(10, column.size());
+            assertEquals("value7", column.get("row7"));
+            assertNull(column.get("row8"));
+            assertTrue(column.containsKey("row12"));
+            assertTrue(table.column("unknown").isEmpty());
+        }
+
+        @Test
+        public void columnViewIsLive() {
+            Map<String, String> column = table.column("new");
+            assertTrue(column.isEmpty());
+            table.put("row1", "new", "v");
+            assertEquals(1, column.size());
+            assertEquals("v", column.get("row1"));
+            column.put("row2", "w");
+            assertEquals("w", table.get("row2", "new"));
+            assertEquals("v", column.remove("row1"));
+            assertNull(table.get("row1", "new"));
+            column.remove("row2");
+            assertTrue(column.isEmpty());
+            assertFalse(table.containsColumn("new"));
+        }
+
+        @Test
+        public void indexedColumnsHaveSameContent() {
+            assertFalse(table.isColumnIndexed());
+            table.indexColumns();
+            assertTrue(table.isColumnIndexed());
+            assertColumnContent(table);
+            for (int i = 0; i < 50; i += 3) {
+                table.remove("row" + i, "col" + (i % 5));
+            }
+            table.put("other", "col1", "other");
+            table.put("other", "new", "other");
+            assertColumnContent(table);
+            assertEquals(Collections.singletonMap("other", "other"), table.column("new"));
+        }
+
+        @Test
+        public void indexSurvivesRecyclingAndCompact() {
+            table.indexColumns();
+            for (int i = 0; i < 50; i += 5) {
+                table.remove("row" + i, "col0");
+            }
+            assertTrue(table.column("col0").isEmpty());
+            table.put("row0", "reused", "reused");
+            assertEquals(Collections.singletonMap("row0", "reused"), table.column("reused"));
+            table.remove("row0", "reused");
+            table.compact();
+            assertColumnContent(table);
+            table.put("row1", "after", "after");
+            assertEquals(Collections.singletonMap("row1", "after"), table.column("after"));
+        }
+
+        @Test
+        public void indexFollowsComputeOperations() {
+            table.indexColumns();
+            for (int i = 0; i < 50; i += 2) {
+                table.compute("row" + i, "col" + (i % 5), (r, c, v) -> null);
+                table.merge("row" + i, "merged", "merged", (a, b) -> a + b);
+            }
+            table.computeIfPresent("row1", "col1", (r, c, v) -> null);
+            table.computeIfAbsent("new", "col1", (r, c) -> "new");
+            assertColumnContent(table);
+            assertEquals(25, table.column("merged").size());
+            assertFalse(table.column("col1").containsKey("row1"));
+            assertEquals("new", table.column("col1").get("new"));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void indexIsClonedAndCleared() {
+            table.indexColumns();
+            TableBikeyMap<String, String, String> cloned = (TableBikeyMap<String, String, String>) table.clone();
+            assertTrue(cloned.isColumnIndexed());
+            cloned.put("cloned", "col1", "cloned");
+            assertFalse(table.column("col1").containsKey("cloned"));
+            assertColumnContent(cloned);
+            table.clear();
+            assertTrue(table.column("col1").isEmpty());
+            table.put("row", "col1", "value");
+            assertColumnContent(table);
+        }
+
+        @Test
+        public void clearRemovesColumnFromMap() {
+            table.column("col1").clear();
+            assertTrue(table.column("col1").isEmpty());
+            assertFalse(table.containsColumn("col1"));
+            assertEquals(40, table.size());
+            assertFalse(table.containsRow("row1"));
+            assertColumnContent(table);
+        }
+
+        @Test
+        public void keySetRemoveRemovesValue() {
+            Map<String, String> column = table.column("col2");
+            assertTrue(column.keySet().remove("row7"));
+            assertFalse(column.keySet().remove("row7"));
+            assertFalse(column.keySet().remove("row8"));
+            assertNull(table.get("row7", "col2"));
+            assertEquals(9, column.size());
+            assertEquals(49, table.size());
+            assertColumnContent(table);
+        }
+
+        @Test
+        public void removeIfRemovesMatchingValues() {
+            table.put("row3", "col0", "extra");
+            Map<String, String> column = table.column("col3");
+            assertTrue(column.values().removeIf(v -> v.endsWith("3")));
+            assertEquals(5, column.size());
+            assertEquals(46, table.size());
+            assertTrue(table.containsRow("row3"));
+            assertColumnContent(table);
+            assertTrue(column.entrySet().removeIf(e -> true));
+            assertFalse(table.containsColumn("col3"));
+            assertColumnContent(table);
+        }
+
+        @Test
+        public void indexedColumnSupportsRemoval() {
+            table.indexColumns();
+            Iterator<Map.Entry<String, String>> it = table.column("col4").entrySet().iterator();
+            assertThrows(IllegalStateException.class, it::remove);
+            int seen = 0;
+            while (it.hasNext()) {
+                it.next();
+                seen++;
+                if (seen % 2 == 0) {
+                    it.remove();
+                    assertThrows(IllegalStateException.class, it::remove);
+                }
+            }
+            assertEquals(10, seen);
+            assertEquals(5, table.column("col4").size());
+            assertColumnContent(table);
+            table.column("col4").clear();
+            assertFalse(table.containsColumn("col4"));
+            table.put("row4", "col4", "again");
+            assertEquals(Collections.singletonMap("row4", "again"), table.column("col4"));
+        }
+
+    }
+
+    @Nested
+    class RowView {
+
+        private final TableBikeyMap<String, String, String> table = new TableBikeyMap<>();
+
+        @BeforeEach
+        void beforeEach() {
+            for (int i = 0; i < 50; i++) {
+                table.put("row" + (i % 2), "col" + i, "value" + i);
+            }
+            table.put("other", "col0", "other");
+        }
+
+        @Test
+        public void clearRemovesRowFromMap() {
+            table.row("row0").clear();
+            assertTrue(table.row("row0").isEmpty());
+            assertFalse(table.containsRow("row0"));
+            assertEquals(26, table.size());
+            assertEquals(25, table.row("row1").size());
+            assertEquals("other", table.get("other", "col0"));
+            assertFalse(table.containsColumn("col2"));
+            assertTrue(table.containsColumn("col0"));
+        }
+
+        @Test
+        public void keySetRemoveRemovesValue() {
+            Map<String, String> row = table.row("row1");
+            assertTrue(row.keySet().remove("col3"));
+            assertFalse(row.keySet().remove("col3"));
+            assertFalse(row.keySet().remove("col2"));
+            assertNull(table.get("row1", "col3"));
+            assertFalse(table.containsColumn("col3"));
+            assertEquals(24, row.size());
+            assertEquals(50, table.size());
+        }
+
+        @Test
+        public void removeIfRemovesMatchingValues() {
+            Map<String, String> row = table.row("row0");
+            assertTrue(row.entrySet().removeIf(e -> e.getKey().endsWith("0")));
+            assertEquals(20, row.size());
+            assertEquals(46, table.size());
+            assertNull(table.get("row0", "col10"));
+            assertEquals("value12", table.get("row0", "col12"));
+            assertEquals("other", table.get("other", "col0"));
+            assertTrue(row.values().removeIf(v -> true));
+            assertFalse(table.containsRow("row0"));
+            assertEquals(26, table.size());
+        }
+
+        @Test
+        public void iteratorRemoveFollowsInnerMapResize() {
+            TableBikeyMap<String, String, String> adaptive = new TableBikeyMap<>(AdaptiveIntKeyMap::new);
+            adaptive.putAll(table);
+            Iterator<Map.Entry<String, String>> it = adaptive.row("row0").entrySet().iterator();
+            assertThrows(IllegalStateException.class, it::remove);
+            Set<String> seen = new HashSet<>();
+            while (it.hasNext()) {
+                seen.add(it.next().getKey());
+                it.remove();
+                assertThrows(IllegalStateException.class, it::remove);
+            }
+            assertEquals(25, seen.size());
+            assertFalse(adaptive.containsRow("row0"));
+            assertEquals(table.row("row1"), adaptive.row("row1"));
+        }
+
+    }
+
+    @Nested
+    class BulkLoad {
+
+        private final TableBikeyMap<String, String, String> table = new TableBikeyMap<>();
+
+        private BikeyEntry<String, String, String> entry(String row, String column, String value) {
+            return new TableBikeyMap.SimpleBikeyEntry<>(row, column, value);
+        }
+
+        @Test
+        public void streamIsStoredLikeSequentialPuts() {
+            TableBikeyMap<String, String, String> expected = new TableBikeyMap<>();
+            List<BikeyEntry<String, String, String>> entries = new ArrayList<>();
+            Random random = new Random(22);
+            for (int i = 0; i < 5000; i++) {
+                BikeyEntry<String, String, String> entry = entry("row" + random.nextInt(100),
+                        "col" + random.nextInt(300), Integer.toString(i));
+                entries.add(entry);
+                expected.put(entry.getRow(), entry.getColumn(), entry.getValue());
+            }
+            table.putAll(entries.stream());
+            assertEquals(expected, table);
+            assertEquals(expected.size(), table.size());
+            assertEquals(expected.columnKeySet(), table.columnKeySet());
+        }
+
+        @Test
+        public void lastValueOfRepeatedBikeyIsStored() {
+            table.put("row", "col", "first");
+            table.putAll(Stream.of(entry("row", "col", "second"), entry("other", "col", "other"),
+                    entry("row", "col", "third"), entry("row", "next", "next")));
+            assertEquals("third", table.get("row", "col"));
+            assertEquals("next", table.get("row", "next"));
+            assertEquals("other", table.get("other", "col"));
+            assertEquals(3, table.size());
+            table.remove("row", "col");
+            table.remove("other", "col");
+            assertFalse(table.containsColumn("col"));
+        }
+
+        @Test
+        public void nullValuesDontModifyTheMap() {
+            table.put("row", "col", "value");
+            assertThrows(NullPointerException.class,
+                    () -> table.putAll(Stream.of(entry("row", "new", "new"), entry("row", "col", null))));
+            assertEquals(1, table.size());
+            assertFalse(table.containsColumn("new"));
+        }
+
+        @Test
+        public void putAllOfMapFollowsIndexes() {
+            table.indexColumns();
+            BikeyMap<String, String, String> source = new TableBikeyMap<>();
+            for (int i = 0; i < 30; i++) {
+                source.put("row" + (i % 4), "col" + (i % 7), "value" + i);
+            }
+            table.put("row0", "col0", "existing");
+            table.putAll(source);
+            assertEquals(source, table);
+            assertEquals(source.column("col3"), table.column("col3"));
+            HybridBikeyMap<String, String, String> hybrid = new HybridBikeyMap<>(source);
+            assertEquals(source, hybrid);
+            assertTrue(hybrid.rowMaps().get("row0") instanceof IntArrayMap);
+        }
+
+    }
+
     @Nested
     class CopyMap {
 
@@ -59,6 +521,33 @@ public class TableBikeyMapTest extends BikeyMapTest {
             assertContainsAll(copy);
         }
 
+        @Test
+        @SuppressWarnings("unchecked")
+        public void cloneIsIndependent() {
+            HybridBikeyMap<String, Integer, String> hybrid = new HybridBikeyMap<>();
+            TableBikeyMap<String, Integer, String> table = new TableBikeyMap<>(AdaptiveIntKeyMap::new);
+            for (int i = 0; i < 100; i++) {
+                hybrid.put("dense", i, "dense" + i);
+                hybrid.put("sparse" + i, i, "sparse" + i);
+                table.put("row" + (i % 3), i * (i % 3), "value" + i);
+            }
+            for (TableBikeyMap<String, Integer, String> source : Arrays.asList(hybrid, table)) {
+                TableBikeyMap<String, Integer, String> expected = new TableBikeyMap<>(source);
+                TableBikeyMap<String, Integer, String> cloned = (TableBikeyMap<String, Integer, String>) source.clone();
+                assertEquals(source, cloned);
+                assertEquals(source.rowMaps().keySet(), cloned.rowMaps().keySet());
+                source.rowMaps().forEach((row, rowMap) -> {
+                    assertEquals(rowMap.getClass(), cloned.rowMaps().get(row).getClass());
+                    assertNotSame(rowMap, cloned.rowMaps().get(row));
+                });
+                cloned.replaceAll((r, c, v) -> "changed");
+                cloned.put("new", 1, "new");
+                cloned.remove("row1", 1);
+                cloned.remove("dense", 1);
+                assertEquals(expected, source);
+            }
+        }
+
         void assertContainsAll(BikeyMap<String, String, String> copy) {
             assertEquals("1-one", copy.get("1", "one"));
             assertEquals("1-1", copy.get("1", "1"));
@@ -19,239 +19,20 @@ import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-public class TableBikeySetTest {
+public class TableBikeySetTest extends BikeySetTest {
 
-    private TableBikeySet<String, Integer> set = new TableBikeySet<>();
+    private final TableBikeySet<String, Integer> table = (TableBikeySet<String, Integer>) set;
 
-    @Test
-    public void justCreatedIsEmpty() {
-        assertEquals(0, set.size());
-        assertTrue(set.isEmpty());
-    }
-
-    @Test
-    public void withAnElementIsNotEmpty() {
-        set.add("one", 1);
-        assertFalse(set.isEmpty());
-    }
-
-    @Test
-    public void nullElementsCanNotBeAdded() {
-        assertThrows(NullPointerException.class, () -> {
-            set.add(null, 1);
-        });
-        assertThrows(NullPointerException.class, () -> {
-            set.add("one", null);
-        });
-    }
-
-    @Test
-    public void nullBikeyCanNotBeAdded() {
-        assertThrows(NullPointerException.class, () -> {
-            set.add(null);
-        });
-    }
-
-    @Test
-    public void bikeyCanBeAdded() {
-        set.add(new BikeyImpl<>("one", 1));
-        assertFalse(set.isEmpty());
-        assertTrue(set.contains("one", 1));
-    }
-
-    @Test
-    public void inAnEmptySetCanAddAnInexistentElement() {
-        assertTrue(set.add("one", 1));
-        assertEquals(1, set.size());
-    }
-
-    @Test
-    public void ifAnElementExistsIsNotAdded() {
-        set.add("one", 1);
-        assertFalse(set.add(new String("one"), 1));
-        assertEquals(1, set.size());
-    }
-
-    @Test
-    public void addMoreElementsPerRow() {
-        set.add("one", 1);
-        set.add("one", 2);
-        assertEquals(2, set.size());
-    }
-
-    @Test
-    public void addMultipleRows() {
-        set.add("one", 1);
-        set.add("two", 2);
-        assertEquals(2, set.size());
-    }
-
-    @Test
-    public void addMoreElementsInMultipleRows() {
-        set.add("one", 1);
-        set.add("one", 2);
-        set.add("two", 2);
-        set.add("two", 3);
-        assertEquals(4, set.size());
-    }
-
-    @Test
-    public void nullElementsCanNotBeRemoved() {
-        assertThrows(NullPointerException.class, () -> {
-            set.remove(null, 1);
-        });
-        assertThrows(NullPointerException.class, () -> {
-            set.remove("one", null);
-        });
-    }
-
-    @Test
-    public void nullBikeyCanNotBeRemoved() {
-        assertThrows(NullPointerException.class, () -> {
-            set.remove(null);
-        });
-    }
-
-    @Test
-    public void anExistentElementCanBeRemoved() {
-        set.add("one", 1);
-        assertEquals(1, set.size());
-        assertTrue(set.remove("one", 1));
-        assertTrue(set.isEmpty());
-    }
-
-    @Test
-    public void anExistentBikeyCanBeRemoved() {
-        set.add("one", 1);
-        assertEquals(1, set.size());
-        assertTrue(set.remove(new BikeyImpl<>("one", 1)));
-        assertTrue(set.isEmpty());
-    }
-
-    @Test
-    public void anUnexistentElementCanNotBeRemoved() {
-        set.add("one", 1);
-        assertEquals(1, set.size());
-        assertFalse(set.remove("one", 2));
-        assertFalse(set.remove("two", 1));
-        assertEquals(1, set.size());
-    }
-
-    @Test
-    public void multipleElementsFromMultiplerowsCanBeRemoved() {
-        set.add("one", 1);
-        set.add("one", 2);
-        set.add("two", 2);
-        set.add("two", 3);
-        assertEquals(4, set.size());
-        set.remove("one", 1);
-        set.remove("one", 2);
-        set.remove("two", 2);
-        set.remove("two", 3);
-        assertTrue(set.isEmpty());
-    }
-
-    @Test
-    public void anNonAddedElementIsNotCointained() {
-        set.add("one", 1);
-        assertFalse(set.contains("one", 2));
-        assertFalse(set.contains("two", 1));
-    }
-
-    @Test
-    public void anAddedElementIsCointanied() {
-        set.add("one", 1);
-        assertTrue(set.contains("one", 1));
-    }
-
-    @Test
-    public void anAddedBikeyIsCointanied() {
-        set.add("one", 1);
-        assertTrue(set.contains(new BikeyImpl<>("one", 1)));
-    }
-
-    @Test
-    public void multipleAddedElementsInMultipleRowsAreContained() {
-        set.add("one", 1);
-        set.add("one", 2);
-        set.add("two", 2);
-        set.add("two", 3);
-        assertTrue(set.contains("one", 1));
-        assertTrue(set.contains("one", 2));
-        assertTrue(set.contains("two", 2));
-        assertTrue(set.contains("two", 3));
-    }
-
-    @Test
-    public void canGetDistinctRowsValues() {
-        set.add("one", 1);
-        set.add("one", 2);
-        set.add("two", 3);
-        set.add("two", 4);
-        set.add("tree", 5);
-        set.add("four", 6);
-        Set<String> rows = set.rowKeySet();
-        assertEquals(4, rows.size());
-        assertTrue(rows.contains("one"));
-        assertTrue(rows.contains("two"));
-        assertTrue(rows.contains("tree"));
-        assertTrue(rows.contains("four"));
-
-        set.remove("tree", 5);
-        assertEquals(3, rows.size());
-        assertFalse(rows.contains("tree"));
-
-        set.remove("four", 6);
-        assertEquals(2, rows.size());
-        assertFalse(rows.contains("four"));
-    }
-
-    @Test
-    public void canGetDistinctColumnsValues() {
-        set.add("one", 1);
-        set.add("two", 2);
-        set.add("tree", 1);
-        set.add("four", 3);
-        set.add("six", 5);
-        Set<Integer> cols = set.columnKeySet();
-        assertEquals(4, cols.size());
-        assertTrue(cols.contains(1));
-        assertTrue(cols.contains(2));
-        assertTrue(cols.contains(3));
-        assertTrue(cols.contains(5));
-
-        set.remove("four", 3);
-        assertEquals(3, cols.size());
-        assertFalse(cols.contains(3));
-
-        set.remove("six", 5);
-        assertEquals(2, cols.size());
-        assertFalse(cols.contains(5));
-    }
-
-    @Test
-    public void aClearedSetHasNoElements() {
-        set.add("one", 1);
-        set.add("two", 2);
-        set.clear();
-        assertTrue(set.isEmpty());
-        assertFalse(set.contains("one", 1));
-        assertFalse(set.contains("two", 2));
-    }
-
-    @Test
-    public void emptyBikeySetDoesNotHaveNextIteration() {
-        Iterator<Bikey<String, Integer>> it = set.iterator();
-        assertFalse(it.hasNext());
-        assertThrows(NoSuchElementException.class, () -> {
-            it.next();
-        });
+    @Override
+    public BikeySet<String, Integer> getNewBikeySet() {
+        return new TableBikeySet<>();
     }
 
     @Test
@@ -271,199 +52,351 @@ public class TableBikeySetTest {
         set.add("one", 11);
         set.add("two", 2);
         set.add("three", 3);
-        BikeySet<String, Integer> clone = (TableBikeySet<String, Integer>) set.clone();
+        BikeySet<String, Integer> clone = (TableBikeySet<String, Integer>) table.clone();
         assertEquals(set.size(), clone.size());
         set.forEach((r, c) -> assertTrue(clone.contains(r, c)));
     }
 
     @Test
-    public void hasHashCode() {
-        set.add("one", 1);
-        int hashCode1 = set.hashCode();
-        set.add("two", 2);
-        int hashCode2 = set.hashCode();
-        set.add("three", 3);
-        int hashCode3 = set.hashCode();
-        assertNotEquals(hashCode1, hashCode2);
-        assertNotEquals(hashCode2, hashCode3);
-        assertNotEquals(hashCode1, hashCode3);
+    public void compactKeepsContent() {
+        for (int i = 0; i < 1000; i++) {
+            set.add("row" + (i % 7), i);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            set.remove("row" + (i % 7), i);
+        }
+        TableBikeySet<String, Integer> expected = new TableBikeySet<>(set);
+        table.compact();
+        assertEquals(expected, set);
+        set.forEach((r, c) -> assertEquals("row" + (c % 7), r));
+        set.add("row0", 3);
+        assertTrue(set.contains("row0", 3));
+        assertEquals(expected.size() + 1, set.size());
     }
 
-    @Test
-    public void twoEmtpyBikeysAreEquals() {
-        assertTrue(set.equals(new TableBikeySet<>()));
+    @Nested
+    class DefaultRowView {
+
+        private final BikeySet<String, Integer> scanning = new ScanningBikeySet<>(set);
+
+        @BeforeEach
+        void beforeEach() {
+            for (int i = 0; i < 20; i++) {
+                set.add("one", i);
+                set.add("two", i);
+            }
+        }
+
+        @Test
+        public void iteratorRemovesFromSet() {
+            Set<Integer> row = scanning.row("one");
+            Iterator<Integer> it = row.iterator();
+            assertThrows(IllegalStateException.class, it::remove);
+            int seen = 0;
+            while (it.hasNext()) {
+                it.next();
+                seen++;
+                if (seen % 2 == 0) {
+                    it.remove();
+                    assertThrows(IllegalStateException.class, it::remove);
+                }
+            }
+            assertEquals(20, seen);
+            assertEquals(10, row.size());
+            assertEquals(30, set.size());
+            assertEquals(20, set.row("two").size());
+        }
+
+        @Test
+        public void bulkOperationsRemoveFromSet() {
+            Set<Integer> row = scanning.row("one");
+            assertTrue(row.removeIf(c -> c >= 10));
+            assertEquals(10, row.size());
+            assertTrue(row.retainAll(Arrays.asList(1, 2, 3)));
+            assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), row);
+            row.clear();
+            assertTrue(row.isEmpty());
+            assertFalse(set.rowKeySet().contains("one"));
+            assertEquals(20, set.size());
+        }
+
     }
 
-    @Test
-    public void hasEquals() {
-        BikeySet<String, Integer> other = new TableBikeySet<>();
+    /**
+     * BikeySet that delegates to other set without overriding row, to test
+     * the default row view.
+     */
+    private static class ScanningBikeySet<R, C> extends AbstractSet<Bikey<R, C>> implements BikeySet<R, C> {
 
-        set.add("one", 1);
+        private final BikeySet<R, C> delegate;
 
-        assertTrue(set.equals(set));
+        ScanningBikeySet(BikeySet<R, C> delegate) {
+            this.delegate = delegate;
+        }
 
-        BikeySet<String, Integer> sameSize = new TableBikeySet<>();
-        sameSize.add("1", 1);
-        assertFalse(set.equals(sameSize));
+        @Override
+        public boolean add(R row, C column) {
+            return delegate.add(row, column);
+        }
 
-        assertFalse(set.equals(other));
-        other.add("one", 1);
-        assertTrue(set.equals(other));
+        @Override
+        public boolean add(Bikey<R, C> key) {
+            return delegate.add(key);
+        }
 
-        set.add("two", 2);
-        assertFalse(set.equals(other));
-        other.add("two", 22);
-        assertFalse(set.equals(other));
-        other.remove("two", 22);
-        other.add("two", 2);
-        assertTrue(set.equals(other));
+        @Override
+        public boolean remove(R row, C column) {
+            return delegate.remove(row, column);
+        }
 
-        set.add("one", 11);
-        assertFalse(set.equals(other));
-        other.add("one", 11);
-        assertTrue(set.equals(other));
+        @Override
+        public Set<R> rowKeySet() {
+            return delegate.rowKeySet();
+        }
+
+        @Override
+        public Set<C> columnKeySet() {
+            return delegate.columnKeySet();
+        }
+
+        @Override
+        public boolean contains(R row, C column) {
+            return delegate.contains(row, column);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super R, ? super C> action) {
+            delegate.forEach(action);
+        }
+
+        @Override
+        public Iterator<Bikey<R, C>> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
 
-        assertFalse(set.equals(null));
     }
 
     @Nested
-    class Iteration {
+    class BulkOperations {
 
-        @BeforeEach
-        void beforeEachTest() {
-            set.add("one", 1);
-            set.add("one", 2);
-            set.add("two", 2);
-            set.add("two", 3);
+        private final Random rnd = new Random();
+        private TableBikeySet<String, Integer> other = new TableBikeySet<>();
+
+        private void fill(BikeySet<String, Integer> target, int elements, int rows, int columns) {
+            for (int i = 0; i < elements; i++) {
+                target.add("row" + rnd.nextInt(rows), rnd.nextInt(columns));
+            }
+        }
+
+        private void assertConsistent(Set<Bikey<String, Integer>> expected) {
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected, new HashSet<>(set));
+            Set<String> rows = expected.stream().map(Bikey::getRow).collect(toSet());
+            Set<Integer> columns = expected.stream().map(Bikey::getColumn).collect(toSet());
+            assertEquals(rows, set.rowKeySet());
+            assertEquals(columns, set.columnKeySet());
+            TableBikeySet<String, Integer> copy = new TableBikeySet<>();
+            expected.forEach(copy::add);
+            assertEquals(copy, set);
         }
 
         @Test
-        public void iteratorHasAllElements() {
-            Set<String> founded = new HashSet<>();
-            Iterator<Bikey<String, Integer>> iterator = set.iterator();
-            while (iterator.hasNext()) {
-                Bikey<String, Integer> next = iterator.next();
-                founded.add(next.getRow() + " - " + next.getColumn());
-            }
-            assertContainsAll(founded);
+        public void addAllMergesRows() {
+            fill(set, 2000, 50, 300);
+            fill(other, 2000, 80, 400);
+            Set<Bikey<String, Integer>> expected = new HashSet<>(set);
+            expected.addAll(other);
+            assertEquals(expected.size() != set.size(), set.addAll(other));
+            assertConsistent(expected);
+            assertFalse(set.addAll(other));
         }
 
         @Test
-        public void foreachWithBiConsumerHasAllElements() {
-            Set<String> founded = new HashSet<>();
-            set.forEach((r, c) -> {
-                founded.add(r + " - " + c);
-            });
-            assertContainsAll(founded);
+        public void retainAllIntersectsRows() {
+            fill(set, 2000, 50, 300);
+            fill(other, 2000, 80, 400);
+            Set<Bikey<String, Integer>> expected = new HashSet<>(set);
+            expected.retainAll(other);
+            assertTrue(set.retainAll(other));
+            assertConsistent(expected);
+            assertFalse(set.retainAll(other));
         }
 
         @Test
-        public void foreachWithConsumerHasAllElements() {
-            Set<String> founded = new HashSet<>();
-            set.forEach(bikey -> {
-                founded.add(bikey.getRow() + " - " + bikey.getColumn());
-            });
-            assertContainsAll(founded);
+        public void removeAllSubtractsRows() {
+            fill(set, 2000, 50, 300);
+            fill(other, 2000, 80, 400);
+            Set<Bikey<String, Integer>> expected = new HashSet<>(set);
+            expected.removeAll(other);
+            assertTrue(set.removeAll(other));
+            assertConsistent(expected);
+            assertFalse(set.removeAll(other));
         }
 
         @Test
-        public void forLoopHasAllElements() {
-            Set<String> founded = new HashSet<>();
-            for (Bikey<String, Integer> bikey : set) {
-                founded.add(bikey.getRow() + " - " + bikey.getColumn());
-            }
-            assertContainsAll(founded);
+        public void containsAllComparesRows() {
+            fill(set, 2000, 50, 300);
+            other.addAll(set);
+            assertTrue(set.containsAll(other));
+            other.remove(other.iterator().next());
+            assertTrue(set.containsAll(other));
+            other.add("row0", 1000);
+            assertFalse(set.containsAll(other));
+            other.remove("row0", 1000);
+            other.add("unknown", 1);
+            assertFalse(set.containsAll(other));
         }
 
         @Test
-        public void streamHasAllElements() {
-            Set<String> founded = set.stream().map(bikey -> bikey.getRow() + " - " + bikey.getColumn())
-                    .collect(toSet());
-            assertContainsAll(founded);
+        public void alignedColumnsUseSameBitSets() {
+            fill(set, 1000, 20, 100);
+            other = (TableBikeySet<String, Integer>) table.clone();
+            fill(other, 1000, 20, 100);
+            Set<Bikey<String, Integer>> expected = new HashSet<>(other);
+            set.addAll(other);
+            assertConsistent(expected);
+            assertTrue(set.containsAll(other));
+            assertTrue(other.containsAll(set));
         }
 
         @Test
-        public void iterateWithoutCallingHasNext() {
-            Iterator<Bikey<String, Integer>> iterator = set.iterator();
-            Set<String> founded = new HashSet<>();
-            Bikey<String, Integer> next = iterator.next();
-            founded.add(next.getRow() + " - " + next.getColumn());
-            next = iterator.next();
-            founded.add(next.getRow() + " - " + next.getColumn());
-            next = iterator.next();
-            founded.add(next.getRow() + " - " + next.getColumn());
-            next = iterator.next();
-            founded.add(next.getRow() + " - " + next.getColumn());
-            assertFalse(iterator.hasNext());
-            assertContainsAll(founded);
+        public void columnsWithoutValuesAreReleased() {
+            set.add("one", 1);
+            set.add("one", 2);
+            set.add("two", 3);
+            other.add("one", 2);
+            set.retainAll(other);
+            assertEquals(Collections.singleton(2), set.columnKeySet());
+            set.add("three", 4);
+            set.removeAll(other);
+            assertEquals(Collections.singleton(4), set.columnKeySet());
+            assertEquals(Collections.singleton("three"), set.rowKeySet());
         }
 
         @Test
-        public void whenNoMoreElementsNextFails() {
-            Iterator<Bikey<String, Integer>> iterator = set.iterator();
-            while (iterator.hasNext()) {
-                iterator.next();
-            }
-            assertThrows(NoSuchElementException.class, () -> {
-                iterator.next();
-            });
+        public void operationsWithItself() {
+            set.add("one", 1);
+            assertFalse(set.addAll(set));
+            assertFalse(set.retainAll(set));
+            assertTrue(set.containsAll(set));
+            assertTrue(set.removeAll(set));
+            assertTrue(set.isEmpty());
         }
 
-        void assertContainsAll(Set<String> founded) {
-            assertTrue(founded.contains("one - 1"));
-            assertTrue(founded.contains("one - 2"));
-            assertTrue(founded.contains("two - 2"));
-            assertTrue(founded.contains("two - 3"));
-            assertEquals(4, founded.size());
+        @Test
+        public void otherCollectionsUseElementByElementOperations() {
+            set.add("one", 1);
+            set.add("one", 2);
+            List<Bikey<String, Integer>> list = Arrays.asList(new BikeyImpl<>("one", 2), new BikeyImpl<>("two", 3));
+            assertTrue(set.addAll(list));
+            assertTrue(set.containsAll(list));
+            assertTrue(set.removeAll(Collections.singleton(new BikeyImpl<>("one", 1))));
+            assertFalse(set.retainAll(list));
+            assertEquals(new HashSet<>(list), new HashSet<>(set));
         }
 
     }
 
-    @Test
-    public void randomlyAddAndRemoveValuesSparse() {
-        randomlyAddAndRemoveValues(100_000, 10_000);
-    }
+    @Nested
+    class RowSetTypes {
 
-    @Test
-    public void randomlyAddAndRemoveValuesDense() {
-        randomlyAddAndRemoveValues(10_000, 10_000);
-    }
+        @Test
+        public void allRowSetTypesHaveSameContent() {
+            List<Supplier<IntSet>> suppliers = Arrays.asList(CompressedIntSet::new, SortedArrayIntSet::new,
+                    RadixTrieIntSet::new);
+            Random rnd = new Random(5);
+            List<TableBikeySet<String, Integer>> sets = new ArrayList<>();
+            suppliers.forEach(supplier -> sets.add(new TableBikeySet<>(supplier)));
+            for (int i = 0; i < 10000; i++) {
+                String row = "row" + rnd.nextInt(50);
+                int column = rnd.nextInt(i % 2 == 0 ? 100 : 100000);
+                boolean add = rnd.nextInt(4) > 0;
+                boolean changed = add ? set.add(row, column) : set.remove(row, column);
+                for (TableBikeySet<String, Integer> other : sets) {
+                    assertEquals(changed, add ? other.add(row, column) : other.remove(row, column));
+                }
+            }
+            for (TableBikeySet<String, Integer> other : sets) {
+                assertEquals(set, other);
+                assertEquals(new HashSet<>(set), new HashSet<>(other));
+                assertEquals(set.row("row1"), other.row("row1"));
+                TableBikeySet<String, Integer> copy = (TableBikeySet<String, Integer>) other.clone();
+                copy.removeAll(set);
+                assertTrue(copy.isEmpty());
+                copy.addAll(other);
+                assertEquals(set, copy);
+            }
+        }
 
-    @Test
-    public void randomlyAddAndRemoveValuesRepeated() {
-        randomlyAddAndRemoveValues(10_000, 100_000);
     }
 
-    public void randomlyAddAndRemoveValues(int maxValue, int number) {
-        Random rnd = new Random();
-        Set<Bikey<String, Integer>> present = new HashSet<>();
-        for (int i = 0; i < number; i++) {
-            String row = Integer.toString(rnd.nextInt(maxValue));
-            Integer col = rnd.nextInt(maxValue / 10);
-            boolean added = set.add(row, col);
-            if (added) {
-                assertTrue(set.contains(new BikeyImpl<>(row, col)));
+    @Nested
+    class CompressedRows {
+
+        private final TableBikeySet<String, Integer> compressed = new TableBikeySet<>(CompressedIntSet::new);
+
+        @Test
+        public void hasSameContentThanDefaultRows() {
+            Random rnd = new Random(3);
+            for (int i = 0; i < 20000; i++) {
+                String row = "row" + rnd.nextInt(100);
+                int column = rnd.nextInt(200000);
+                assertEquals(set.add(row, column), compressed.add(row, column));
+                if (i % 3 == 0) {
+                    column = rnd.nextInt(200000);
+                    assertEquals(set.remove(row, column), compressed.remove(row, column));
+                }
             }
-            present.add(new BikeyImpl<>(row, col));
+            assertEquals(set, compressed);
+            assertEquals(compressed, set);
+            assertEquals(set.hashCode(), compressed.hashCode());
+            assertEquals(new HashSet<>(set), new HashSet<>(compressed));
+            assertTrue(compressed.rowSets().values().stream().allMatch(CompressedIntSet.class::isInstance));
         }
-        assertEquals(present.size(), set.size());
-        for (Bikey<String, Integer> item : present) {
-            assertTrue(set.contains(item.getRow(), item.getColumn()));
-            assertTrue(set.contains(item));
+
+        @Test
+        public void bulkOperationsMixingRowTypes() {
+            Random rnd = new Random(4);
+            for (int i = 0; i < 5000; i++) {
+                set.add("row" + rnd.nextInt(50), rnd.nextInt(100000));
+                compressed.add("row" + rnd.nextInt(50), rnd.nextInt(100000));
+            }
+            Set<Bikey<String, Integer>> expected = new HashSet<>(compressed);
+            expected.addAll(set);
+            TableBikeySet<String, Integer> union = (TableBikeySet<String, Integer>) compressed.clone();
+            union.addAll(set);
+            assertEquals(expected, new HashSet<>(union));
+            assertTrue(union.containsAll(set));
+            assertTrue(union.containsAll(compressed));
+            assertTrue(union.rowSets().values().stream().allMatch(CompressedIntSet.class::isInstance));
+            union.removeAll(set);
+            expected.removeAll(set);
+            assertEquals(expected, new HashSet<>(union));
+            compressed.retainAll(set);
+            assertTrue(compressed.isEmpty() || set.containsAll(compressed));
         }
 
-        List<Bikey<String, Integer>> toRemove = present.stream().collect(Collectors.toList());
-        Collections.shuffle(toRemove);
-        int size = set.size();
-        for (Bikey<String, Integer> remove : toRemove) {
-            set.remove(remove.getRow(), remove.getColumn());
-            assertFalse(set.contains(remove.getRow(), remove.getColumn()));
-            assertFalse(set.contains(remove));
-            size--;
-            assertEquals(size, set.size());
+        @Test
+        public void compactKeepsRowType() {
+            for (int i = 0; i < 100; i++) {
+                compressed.add("row" + (i % 5), i);
+            }
+            for (int i = 0; i < 100; i += 2) {
+                compressed.remove("row" + (i % 5), i);
+            }
+            compressed.compact();
+            assertEquals(50, compressed.size());
+            for (int i = 1; i < 100; i += 2) {
+                assertTrue(compressed.contains("row" + (i % 5), i));
+            }
+            assertTrue(compressed.rowSets().values().stream().allMatch(CompressedIntSet.class::isInstance));
         }
-        assertTrue(set.isEmpty());
-        assertTrue(set.rowKeySet().isEmpty());
-        assertTrue(set.columnKeySet().isEmpty());
+
     }
+
 }
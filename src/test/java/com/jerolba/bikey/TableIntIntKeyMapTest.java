@@ -0,0 +1,190 @@
+/**
+ * Copyright 2019 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.jerolba.bikey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class TableIntIntKeyMapTest {
+
+    private TableIntIntKeyMap<String> map = new TableIntIntKeyMap<>();
+
+    @Test
+    public void justCreatedIsEmpty() {
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1, 2));
+    }
+
+    @Test
+    public void canPutAndGetValues() {
+        assertNull(map.put(1, 2, "one-two"));
+        assertNull(map.put(1, 3, "one-three"));
+        assertNull(map.put(-5, Integer.MAX_VALUE, "extremes"));
+        assertEquals(3, map.size());
+        assertEquals("one-two", map.get(1, 2));
+        assertEquals("one-three", map.get(1, 3));
+        assertEquals("extremes", map.get(-5, Integer.MAX_VALUE));
+        assertNull(map.get(2, 1));
+    }
+
+    @Test
+    public void putReplacesPreviousValue() {
+        map.put(1, 2, "first");
+        assertEquals("first", map.put(1, 2, "second"));
+        assertEquals(1, map.size());
+        assertEquals("second", map.get(1, 2));
+    }
+
+    @Test
+    public void nullValuesCanNotBePut() {
+        assertThrows(NullPointerException.class, () -> map.put(1, 2, null));
+    }
+
+    @Test
+    public void canRemoveValues() {
+        map.put(1, 2, "one-two");
+        map.put(1, 3, "one-three");
+        assertNull(map.remove(2, 2));
+        assertNull(map.remove(1, 4));
+        assertEquals("one-two", map.remove(1, 2));
+        assertEquals(1, map.size());
+        assertTrue(map.containsRow(1));
+        assertEquals("one-three", map.remove(1, 3));
+        assertFalse(map.containsRow(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void containsKeysAndValues() {
+        map.put(1, 2, "one-two");
+        assertTrue(map.containsKey(1, 2));
+        assertFalse(map.containsKey(2, 1));
+        assertTrue(map.containsRow(1));
+        assertFalse(map.containsRow(2));
+        assertTrue(map.containsValue("one-two"));
+        assertFalse(map.containsValue("two-one"));
+    }
+
+    @Test
+    public void defaultMethods() {
+        map.put(1, 2, "one-two");
+        assertEquals("one-two", map.getOrDefault(1, 2, "none"));
+        assertEquals("none", map.getOrDefault(2, 1, "none"));
+        assertEquals("one-two", map.putIfAbsent(1, 2, "other"));
+        assertNull(map.putIfAbsent(2, 1, "two-one"));
+        assertEquals("two-one", map.get(2, 1));
+    }
+
+    @Test
+    public void clearRemovesAll() {
+        map.put(1, 2, "one-two");
+        map.put(3, 4, "three-four");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1, 2));
+        assertTrue(map.rowKeySet().isEmpty());
+    }
+
+    @Test
+    public void canUseOtherInnerMap() {
+        TableIntIntKeyMap<String> arrayMap = new TableIntIntKeyMap<>(IntArrayMap::new);
+        arrayMap.put(1, 2, "one-two");
+        arrayMap.put(1, 20, "one-twenty");
+        assertEquals("one-twenty", arrayMap.get(1, 20));
+        assertEquals(2, arrayMap.size());
+    }
+
+    @Nested
+    class Iteration {
+
+        @BeforeEach
+        void beforeEach() {
+            map.put(2, 1, "two-one");
+            map.put(1, 3, "one-three");
+            map.put(1, 2, "one-two");
+        }
+
+        @Test
+        public void forEachIteratesInKeyOrder() {
+            List<String> values = new ArrayList<>();
+            map.forEach((r, c, v) -> values.add(r + "," + c + "=" + v));
+            assertEquals(Arrays.asList("1,2=one-two", "1,3=one-three", "2,1=two-one"), values);
+        }
+
+        @Test
+        public void forEachKeyIteratesInKeyOrder() {
+            List<String> keys = new ArrayList<>();
+            map.forEachKey((r, c) -> keys.add(r + "," + c));
+            assertEquals(Arrays.asList("1,2", "1,3", "2,1"), keys);
+        }
+
+        @Test
+        public void rowKeySetContainsRows() {
+            assertEquals(new HashSet<>(Arrays.asList(1, 2)), map.rowKeySet());
+        }
+
+        @Test
+        public void toStringContainsAllMappings() {
+            assertEquals("{[1, 2]=one-two, [1, 3]=one-three, [2, 1]=two-one}", map.toString());
+        }
+
+    }
+
+    @Nested
+    class EqualsAndClone {
+
+        @Test
+        public void equalMapsHaveSameHashCode() {
+            map.put(1, 2, "one-two");
+            map.put(3, 4, "three-four");
+            TableIntIntKeyMap<String> other = new TableIntIntKeyMap<>(IntArrayMap::new);
+            other.put(3, 4, "three-four");
+            other.put(1, 2, "one-two");
+            assertEquals(map, other);
+            assertEquals(map.hashCode(), other.hashCode());
+            other.put(1, 2, "changed");
+            assertNotEquals(map, other);
+        }
+
+        @Test
+        public void copyConstructorCopiesAll() {
+            map.put(1, 2, "one-two");
+            map.put(3, 4, "three-four");
+            assertEquals(map, new TableIntIntKeyMap<>(map));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void cloneIsIndependent() {
+            map.put(1, 2, "one-two");
+            TableIntIntKeyMap<String> cloned = (TableIntIntKeyMap<String>) map.clone();
+            assertEquals(map, cloned);
+            cloned.put(1, 3, "one-three");
+            map.remove(1, 2);
+            assertNull(map.get(1, 3));
+            assertEquals("one-two", cloned.get(1, 2));
+            assertEquals(2, cloned.size());
+        }
+
+    }
+
+}